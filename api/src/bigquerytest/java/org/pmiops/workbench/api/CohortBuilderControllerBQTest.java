@@ -33,6 +33,7 @@ import org.pmiops.workbench.cdr.model.DbDataFilter;
 import org.pmiops.workbench.cdr.model.DbPerson;
 import org.pmiops.workbench.cohortbuilder.CohortBuilderService;
 import org.pmiops.workbench.cohortbuilder.CohortBuilderServiceImpl;
+import org.pmiops.workbench.cohortbuilder.CohortCountCache;
 import org.pmiops.workbench.cohortbuilder.CohortQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.SearchGroupItemQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.VariantQueryBuilder;
@@ -112,12 +113,15 @@ public class CohortBuilderControllerBQTest extends BigQueryBaseTest {
 
   @TestConfiguration
   @Import({
+    BigQueryClientPool.class,
+    CdrTableSchemaCache.class,
     BigQueryTestService.class,
     CohortQueryBuilder.class,
     ChartServiceImpl.class,
     ChartQueryBuilder.class,
     CommonMappers.class,
     CohortBuilderServiceImpl.class,
+    CohortCountCache.class,
     SearchGroupItemQueryBuilder.class,
     CdrVersionService.class,
     CohortBuilderMapperImpl.class,
@@ -24,6 +24,7 @@ import org.pmiops.workbench.access.AccessTierService;
 import org.pmiops.workbench.actionaudit.auditors.BillingProjectAuditor;
 import org.pmiops.workbench.cohortbuilder.CohortBuilderService;
 import org.pmiops.workbench.cohortbuilder.CohortBuilderServiceImpl;
+import org.pmiops.workbench.cohortbuilder.CohortCountCache;
 import org.pmiops.workbench.cohortbuilder.CohortQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.SearchGroupItemQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.chart.ChartQueryBuilder;
@@ -119,6 +120,8 @@ public class CohortReviewControllerBQTest extends BigQueryBaseTest {
 
   @TestConfiguration
   @Import({
+    BigQueryClientPool.class,
+    CdrTableSchemaCache.class,
     BigQueryTestService.class,
     ChartServiceImpl.class,
     ChartQueryBuilder.class,
@@ -141,7 +144,8 @@ public class CohortReviewControllerBQTest extends BigQueryBaseTest {
     WorkspaceServiceImpl.class,
     WorkspaceAuthService.class,
     CohortBuilderMapperImpl.class,
-    CohortBuilderServiceImpl.class
+    CohortBuilderServiceImpl.class,
+    CohortCountCache.class
   })
   static class Configuration {
     @Bean
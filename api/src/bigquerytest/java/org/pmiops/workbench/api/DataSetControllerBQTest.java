@@ -36,6 +36,7 @@ import org.pmiops.workbench.cdr.model.DbCriteria;
 import org.pmiops.workbench.cdr.model.DbDSLinking;
 import org.pmiops.workbench.cohortbuilder.CohortBuilderService;
 import org.pmiops.workbench.cohortbuilder.CohortBuilderServiceImpl;
+import org.pmiops.workbench.cohortbuilder.CohortCountCache;
 import org.pmiops.workbench.cohortbuilder.CohortQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.mapper.CohortBuilderMapperImpl;
 import org.pmiops.workbench.cohorts.CohortCloningService;
@@ -210,10 +211,13 @@ public class DataSetControllerBQTest extends BigQueryBaseTest {
   @TestConfiguration
   @Import({
     AnalysisLanguageMapperImpl.class,
+    BigQueryClientPool.class,
+    CdrTableSchemaCache.class,
     BigQueryTestService.class,
     CdrVersionService.class,
     CohortBuilderMapperImpl.class,
     CohortBuilderServiceImpl.class,
+    CohortCountCache.class,
     CohortMapperImpl.class,
     CohortQueryBuilder.class,
     CohortService.class,
@@ -8,6 +8,7 @@ import static org.pmiops.workbench.firecloud.IntegrationTestUsers.NON_COMPLIANT_
 
 import java.io.IOException;
 import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.auth.AccessTokenBroker;
 import org.pmiops.workbench.firecloud.ApiClient;
 import org.pmiops.workbench.firecloud.ApiException;
 import org.pmiops.workbench.firecloud.FireCloudService;
@@ -29,6 +30,7 @@ public class FireCloudIntegrationTest extends BaseIntegrationTest {
   @TestConfiguration
   @ComponentScan(basePackageClasses = FireCloudServiceImpl.class)
   @Import({
+    AccessTokenBroker.class,
     FirecloudApiClientFactory.class,
     FireCloudServiceImpl.class,
     StorageConfig.class,
@@ -3,6 +3,7 @@ package org.pmiops.workbench;
 import static com.google.common.truth.Truth.assertThat;
 
 import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.auth.AccessTokenBroker;
 import org.pmiops.workbench.db.dao.WorkspaceDao;
 import org.pmiops.workbench.firecloud.FireCloudService;
 import org.pmiops.workbench.firecloud.FirecloudApiClientFactory;
@@ -35,6 +36,7 @@ public class NotebooksIntegrationTest extends BaseIntegrationTest {
   // where the class under test is defined. Adding that annotation
   @ComponentScan(basePackageClasses = LeonardoApiClientImpl.class)
   @Import({
+    AccessTokenBroker.class,
     FirecloudApiClientFactory.class,
     LeonardoApiClientImpl.class,
     LeonardoApiClientFactory.class,
@@ -1,6 +1,8 @@
 package org.pmiops.workbench.access;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.pmiops.workbench.db.model.DbAccessTier;
 import org.pmiops.workbench.db.model.DbUser;
@@ -54,6 +56,16 @@ public interface AccessTierService {
    */
   List<DbAccessTier> getAccessTiersForUser(DbUser user);
 
+  /**
+   * Return the list of tiers each of the users has access to, as getAccessTiersForUser does, with
+   * a single query
+   *
+   * @param users the users whose access we're checking
+   * @return The Lists of DbAccessTiers the users have access to in this environment, in
+   *     alphabetical order by shortName, keyed by userId. Users with no access are absent.
+   */
+  Map<Long, List<DbAccessTier>> getAccessTiersForUsers(Collection<DbUser> users);
+
   /**
    * Return the list of tiers a user has access to, as shortNames
    *
@@ -2,8 +2,10 @@ package org.pmiops.workbench.access;
 
 import java.sql.Timestamp;
 import java.time.Clock;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -166,6 +168,28 @@ public class AccessTierServiceImpl implements AccessTierService {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Return the list of tiers each of the users has access to, as getAccessTiersForUser does, with
+   * a single query
+   *
+   * @param users the users whose access we're checking
+   * @return The Lists of DbAccessTiers the users have access to in this environment, in
+   *     alphabetical order by shortName, keyed by userId. Users with no access are absent.
+   */
+  @Override
+  public Map<Long, List<DbAccessTier>> getAccessTiersForUsers(Collection<DbUser> users) {
+    if (users.isEmpty()) {
+      return Map.of();
+    }
+    return userAccessTierDao.getAllByUserIn(users).stream()
+        .filter(uat -> uat.getTierAccessStatusEnum() == TierAccessStatus.ENABLED)
+        .sorted(Comparator.comparing(uat -> uat.getAccessTier().getShortName()))
+        .collect(
+            Collectors.groupingBy(
+                uat -> uat.getUser().getUserId(),
+                Collectors.mapping(DbUserAccessTier::getAccessTier, Collectors.toList())));
+  }
+
   /**
    * Return the list of tiers a user has access to, as shortNames
    *
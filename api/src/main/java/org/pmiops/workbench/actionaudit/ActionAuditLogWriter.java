@@ -0,0 +1,219 @@
+package org.pmiops.workbench.actionaudit;
+
+import com.google.cloud.logging.LogEntry;
+import com.google.cloud.logging.Logging;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes action audit log entries to Cloud Logging in the background, so that audited endpoints
+ * don't wait on a Cloud Logging round trip.
+ *
+ * <p>Entries are held in a bounded queue. Flusher threads write them in batches of up to {@link
+ * #MAX_BATCH_SIZE}, or whatever has arrived within {@link #MAX_BATCH_DELAY} of the first entry of
+ * a batch. When the queue is full, the {@link OverflowPolicy} decides whether the caller writes
+ * its entries itself or they are dropped; either way, the overflow is counted. Queued entries are
+ * written on shutdown.
+ */
+@Component
+public class ActionAuditLogWriter {
+  private static final Logger log = Logger.getLogger(ActionAuditLogWriter.class.getName());
+
+  @VisibleForTesting static final int QUEUE_CAPACITY = 10_000;
+  @VisibleForTesting static final int MAX_BATCH_SIZE = 500;
+  @VisibleForTesting static final Duration MAX_BATCH_DELAY = Duration.ofSeconds(1);
+  private static final int FLUSHER_COUNT = 2;
+  private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+  private static final Duration SHUTDOWN_CHECK_INTERVAL = Duration.ofMillis(100);
+  private static final long SHUTDOWN_CHECK_NANOS = SHUTDOWN_CHECK_INTERVAL.toNanos();
+
+  /** What to do with entries which don't fit in the queue. */
+  public enum OverflowPolicy {
+    /** Write the entries on the calling thread, as if there were no queue. */
+    WRITE_THROUGH,
+    /** Drop the entries, so that a Cloud Logging backlog never slows down requests. */
+    DROP
+  }
+
+  private final Logging cloudLogging;
+  private final BlockingQueue<LogEntry> queue;
+  private final int maxBatchSize;
+  private final Duration maxBatchDelay;
+  private final ExecutorService flushers;
+  private volatile boolean shuttingDown = false;
+
+  private final LongAdder enqueuedCount = new LongAdder();
+  private final LongAdder writtenCount = new LongAdder();
+  private final LongAdder failedCount = new LongAdder();
+  private final LongAdder writtenThroughCount = new LongAdder();
+  private final LongAdder droppedCount = new LongAdder();
+
+  @Autowired
+  public ActionAuditLogWriter(Logging cloudLogging) {
+    this(cloudLogging, QUEUE_CAPACITY, MAX_BATCH_SIZE, MAX_BATCH_DELAY, FLUSHER_COUNT);
+  }
+
+  @VisibleForTesting
+  ActionAuditLogWriter(
+      Logging cloudLogging,
+      int queueCapacity,
+      int maxBatchSize,
+      Duration maxBatchDelay,
+      int flusherCount) {
+    this.cloudLogging = cloudLogging;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchDelay = maxBatchDelay;
+    this.flushers =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setNameFormat("action-audit-flusher-%d")
+                .setDaemon(true)
+                .build());
+    for (int i = 0; i < flusherCount; i++) {
+      flushers.execute(this::runFlusher);
+    }
+  }
+
+  /** Queues entries to be written. Never throws for Cloud Logging failures. */
+  public void write(List<LogEntry> entries, OverflowPolicy overflowPolicy) {
+    final List<LogEntry> overflow = new ArrayList<>();
+    for (LogEntry entry : entries) {
+      if (!shuttingDown && queue.offer(entry)) {
+        enqueuedCount.increment();
+      } else {
+        overflow.add(entry);
+      }
+    }
+    if (overflow.isEmpty()) {
+      return;
+    }
+    if (overflowPolicy == OverflowPolicy.DROP && !shuttingDown) {
+      droppedCount.add(overflow.size());
+      log.warning(
+          String.format("Action audit queue is full; dropped %d log entries", overflow.size()));
+    } else {
+      writtenThroughCount.add(overflow.size());
+      writeBatch(overflow);
+    }
+  }
+
+  /** Writes everything currently queued on the calling thread. */
+  public void flush() {
+    final List<LogEntry> batch = new ArrayList<>(maxBatchSize);
+    while (queue.drainTo(batch, maxBatchSize) > 0) {
+      writeBatch(batch);
+      batch.clear();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    shuttingDown = true;
+    flushers.shutdown();
+    try {
+      if (!flushers.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+        log.warning("Timed out waiting for action audit flushers to finish");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // anything the flushers didn't get to, including entries queued during shutdown
+    flush();
+  }
+
+  public long getQueueSize() {
+    return queue.size();
+  }
+
+  public long getEnqueuedCount() {
+    return enqueuedCount.sum();
+  }
+
+  public long getWrittenCount() {
+    return writtenCount.sum();
+  }
+
+  public long getFailedCount() {
+    return failedCount.sum();
+  }
+
+  public long getWrittenThroughCount() {
+    return writtenThroughCount.sum();
+  }
+
+  public long getDroppedCount() {
+    return droppedCount.sum();
+  }
+
+  private void runFlusher() {
+    final List<LogEntry> batch = new ArrayList<>(maxBatchSize);
+    try {
+      while (!shuttingDown || !queue.isEmpty()) {
+        fillBatch(batch);
+        if (!batch.isEmpty()) {
+          writeBatch(batch);
+          batch.clear();
+        }
+      }
+    } catch (InterruptedException e) {
+      // shutdown() writes whatever is left in the queue
+      if (!batch.isEmpty()) {
+        writeBatch(batch);
+      }
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Waits for an entry, then collects entries until the batch is full or {@link #maxBatchDelay}
+   * has passed since the first one. Waits are capped at {@link #SHUTDOWN_CHECK_INTERVAL}, so that
+   * flushers notice shutdown promptly.
+   */
+  private void fillBatch(List<LogEntry> batch) throws InterruptedException {
+    final LogEntry first =
+        queue.poll(Math.min(maxBatchDelay.toNanos(), SHUTDOWN_CHECK_NANOS), TimeUnit.NANOSECONDS);
+    if (first == null) {
+      return;
+    }
+    batch.add(first);
+    final long deadline = System.nanoTime() + maxBatchDelay.toNanos();
+    while (batch.size() < maxBatchSize && !shuttingDown) {
+      queue.drainTo(batch, maxBatchSize - batch.size());
+      final long remaining = deadline - System.nanoTime();
+      if (batch.size() >= maxBatchSize || remaining <= 0) {
+        return;
+      }
+      final LogEntry next =
+          queue.poll(Math.min(remaining, SHUTDOWN_CHECK_NANOS), TimeUnit.NANOSECONDS);
+      if (next != null) {
+        batch.add(next);
+      }
+    }
+  }
+
+  private void writeBatch(List<LogEntry> batch) {
+    try {
+      // copied, since callers reuse the batch list
+      cloudLogging.write(List.copyOf(batch));
+      writtenCount.add(batch.size());
+    } catch (RuntimeException e) {
+      failedCount.add(batch.size());
+      log.log(Level.SEVERE, "Exception encountered writing log entries to Cloud Logging.", e);
+    }
+  }
+}
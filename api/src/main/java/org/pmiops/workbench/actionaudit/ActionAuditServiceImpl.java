@@ -2,15 +2,17 @@ package org.pmiops.workbench.actionaudit;
 
 import com.google.cloud.MonitoredResource;
 import com.google.cloud.logging.LogEntry;
-import com.google.cloud.logging.Logging;
 import com.google.cloud.logging.Payload.JsonPayload;
 import com.google.cloud.logging.Severity;
 import jakarta.inject.Provider;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.pmiops.workbench.actionaudit.ActionAuditLogWriter.OverflowPolicy;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -24,23 +26,51 @@ public class ActionAuditServiceImpl implements ActionAuditService {
   private static final Logger LOG = Logger.getLogger(ActionAuditServiceImpl.class.getName());
 
   private final Provider<WorkbenchConfig> configProvider;
-  private final Logging cloudLogging;
+  private final ActionAuditLogWriter logWriter;
+  // the last unrecognized queueOverflowPolicy, so that it is only warned about once
+  private final AtomicReference<String> invalidOverflowPolicy = new AtomicReference<>();
 
   @Autowired
-  public ActionAuditServiceImpl(Provider<WorkbenchConfig> configProvider, Logging cloudLogging) {
+  public ActionAuditServiceImpl(
+      Provider<WorkbenchConfig> configProvider, ActionAuditLogWriter logWriter) {
     this.configProvider = configProvider;
-    this.cloudLogging = cloudLogging;
+    this.logWriter = logWriter;
   }
 
+  /**
+   * Queues the events to be written to Cloud Logging in the background. Log entries are built
+   * here, since the config is only available on the request thread.
+   */
   @Override
   public void send(Collection<ActionAuditEvent> events) {
     try {
       List<LogEntry> logEntries = events.stream().map(this::auditEventToLogEntry).toList();
       if (!logEntries.isEmpty()) {
-        cloudLogging.write(logEntries);
+        logWriter.write(logEntries, getOverflowPolicy());
       }
     } catch (RuntimeException e) {
-      LOG.log(Level.SEVERE, "Exception encountered writing log entries to Cloud Logging.", e);
+      LOG.log(Level.SEVERE, "Exception encountered queueing action audit log entries.", e);
+    }
+  }
+
+  /**
+   * Returns the configured overflow policy. An unrecognized policy falls back to WRITE_THROUGH
+   * rather than failing, since a failure here would lose every audit entry without counting it.
+   */
+  private OverflowPolicy getOverflowPolicy() {
+    final String policy = configProvider.get().actionAudit.queueOverflowPolicy;
+    try {
+      return Optional.ofNullable(policy)
+          .map(OverflowPolicy::valueOf)
+          .orElse(OverflowPolicy.WRITE_THROUGH);
+    } catch (IllegalArgumentException e) {
+      if (!policy.equals(invalidOverflowPolicy.getAndSet(policy))) {
+        LOG.warning(
+            String.format(
+                "Unrecognized actionAudit.queueOverflowPolicy '%s', using %s",
+                policy, OverflowPolicy.WRITE_THROUGH));
+      }
+      return OverflowPolicy.WRITE_THROUGH;
     }
   }
 
@@ -0,0 +1,90 @@
+package org.pmiops.workbench.api;
+
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.BigQueryOptions;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import org.pmiops.workbench.opentelemetry.MeteredCache;
+import org.pmiops.workbench.utils.LogFormatters;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shares one BigQuery client per GCP project. Building a client sets up credentials and an HTTP
+ * transport, which is too slow to repeat for every CDR query. Clients are thread-safe, so a single
+ * instance per project can serve all requests. Projects which haven't been queried recently are
+ * evicted, and the number of projects is bounded.
+ */
+@Component
+public class BigQueryClientPool implements MeteredCache {
+  private static final Logger log = Logger.getLogger(BigQueryClientPool.class.getName());
+
+  // Each CDR version has its own project, and only a handful are in use at any time.
+  @VisibleForTesting static final long MAX_PROJECTS = 20;
+  @VisibleForTesting static final Duration IDLE_EXPIRY = Duration.ofHours(1);
+
+  private final LoadingCache<String, BigQuery> clientsByProject;
+
+  public BigQueryClientPool() {
+    this(
+        projectId -> BigQueryOptions.newBuilder().setProjectId(projectId).build().getService(),
+        Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  BigQueryClientPool(Function<String, BigQuery> clientFactory, Ticker ticker) {
+    clientsByProject =
+        CacheBuilder.newBuilder()
+            .maximumSize(MAX_PROJECTS)
+            .expireAfterAccess(IDLE_EXPIRY)
+            .ticker(ticker)
+            .recordStats()
+            .removalListener(
+                notification ->
+                    log.info(
+                        String.format(
+                            "Released BigQuery client for project %s (%s)",
+                            notification.getKey(), notification.getCause())))
+            .build(CacheLoader.from(projectId -> createClient(clientFactory, projectId)));
+  }
+
+  /** Returns the shared client for this project, building it on first use. */
+  public BigQuery get(String projectId) {
+    return clientsByProject.getUnchecked(projectId);
+  }
+
+  @Override
+  public String getCacheName() {
+    return "bigquery_clients";
+  }
+
+  /** Hit, miss, and load (client construction) statistics since startup. */
+  @Override
+  public CacheStats getStats() {
+    return clientsByProject.stats();
+  }
+
+  @Override
+  public long getSize() {
+    clientsByProject.cleanUp();
+    return clientsByProject.size();
+  }
+
+  private static BigQuery createClient(
+      Function<String, BigQuery> clientFactory, String projectId) {
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    final BigQuery client = clientFactory.apply(projectId);
+    log.info(
+        LogFormatters.duration(
+            String.format("Built BigQuery client for project %s", projectId),
+            stopwatch.elapsed()));
+    return client;
+  }
+}
@@ -2,13 +2,13 @@ package org.pmiops.workbench.api;
 
 import com.google.cloud.bigquery.BigQuery;
 import com.google.cloud.bigquery.BigQueryException;
-import com.google.cloud.bigquery.BigQueryOptions;
 import com.google.cloud.bigquery.FieldList;
 import com.google.cloud.bigquery.InsertAllRequest;
 import com.google.cloud.bigquery.InsertAllResponse;
 import com.google.cloud.bigquery.Job;
 import com.google.cloud.bigquery.JobInfo;
 import com.google.cloud.bigquery.QueryJobConfiguration;
+import com.google.cloud.bigquery.Table;
 import com.google.cloud.bigquery.TableId;
 import com.google.cloud.bigquery.TableResult;
 import com.google.common.annotations.VisibleForTesting;
@@ -22,6 +22,7 @@ import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.dataset.BigQueryDataSetTableInfo;
 import org.pmiops.workbench.db.model.DbCdrVersion;
 import org.pmiops.workbench.exceptions.ForbiddenException;
+import org.pmiops.workbench.exceptions.NotFoundException;
 import org.pmiops.workbench.exceptions.ServerErrorException;
 import org.pmiops.workbench.exceptions.ServerUnavailableException;
 import org.pmiops.workbench.model.Domain;
@@ -35,15 +36,17 @@ public class BigQueryService {
 
   @Autowired private Provider<WorkbenchConfig> workbenchConfigProvider;
   @Autowired private BigQuery defaultBigQuery;
+  @Autowired private BigQueryClientPool bigQueryClientPool;
+  @Autowired private CdrTableSchemaCache cdrTableSchemaCache;
   @Autowired private Duration defaultBigQueryTimeout;
 
   @VisibleForTesting
   protected BigQuery getBigQueryService() {
     // If a query is being executed in the context of a CDR, it must be run within that project as
     // well. By default, the query would run in the Workbench App Engine project, which would
-    // violate VPC-SC restrictions.
+    // violate VPC-SC restrictions. Clients are shared per project, see BigQueryClientPool.
     return CdrVersionContext.maybeGetBigQueryProject()
-        .map(projectId -> BigQueryOptions.newBuilder().setProjectId(projectId).build().getService())
+        .map(bigQueryClientPool::get)
         .orElse(defaultBigQuery);
   }
 
@@ -51,6 +54,22 @@ public class BigQueryService {
     return executeQuery(filterBigQueryConfig(query), defaultBigQueryTimeout.toMillis());
   }
 
+  /**
+   * Like {@link #filterBigQueryConfigAndExecuteQuery(QueryJobConfiguration)}, but the results are
+   * fetched pageSize rows at a time as they are iterated, rather than as many as fit in a response.
+   */
+  public TableResult filterBigQueryConfigAndExecuteQuery(
+      QueryJobConfiguration query, long pageSize) {
+    try {
+      return startQuery(filterBigQueryConfig(query))
+          .getQueryResults(
+              BigQuery.QueryResultsOption.maxWaitTime(defaultBigQueryTimeout.toMillis()),
+              BigQuery.QueryResultsOption.pageSize(pageSize));
+    } catch (InterruptedException e) {
+      throw new BigQueryException(500, "Something went wrong with BigQuery: " + e.getMessage());
+    }
+  }
+
   /** Execute the provided query using bigquery and wait for completion. */
   public TableResult executeQuery(QueryJobConfiguration query) {
     return executeQuery(query, defaultBigQueryTimeout.toMillis());
@@ -110,7 +129,7 @@ public class BigQueryService {
             cdrVersion.getBigqueryDataset(),
             BigQueryDataSetTableInfo.getTableName(domain));
 
-    return getBigQueryService().getTable(tableId).getDefinition().getSchema().getFields();
+    return getTableFields(tableId);
   }
 
   public FieldList getTableFieldsFromDomainForTanagra(String tableName) {
@@ -119,7 +138,21 @@ public class BigQueryService {
         TableId.of(
             cdrVersion.getBigqueryProject(), cdrVersion.getBigqueryDataset(), "T_ENT_" + tableName);
 
-    return getBigQueryService().getTable(tableId).getDefinition().getSchema().getFields();
+    return getTableFields(tableId);
+  }
+
+  private FieldList getTableFields(TableId tableId) {
+    return cdrTableSchemaCache.getFields(
+        tableId, () -> fetchTableFields(getBigQueryService(), tableId));
+  }
+
+  /** Looks up the fields of a table in BigQuery, bypassing {@link CdrTableSchemaCache}. */
+  static FieldList fetchTableFields(BigQuery bigQuery, TableId tableId) {
+    Table table = bigQuery.getTable(tableId);
+    if (table == null) {
+      throw new NotFoundException(String.format("Table %s not found", tableId));
+    }
+    return table.getDefinition().getSchema().getFields();
   }
 
   public InsertAllResponse insertAll(InsertAllRequest insertAllRequest) {
@@ -0,0 +1,71 @@
+package org.pmiops.workbench.api;
+
+import com.google.cloud.bigquery.FieldList;
+import com.google.cloud.bigquery.TableId;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.pmiops.workbench.opentelemetry.MeteredCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the schemas of CDR tables by (project, dataset, table). CDR datasets are never modified
+ * after release, so a schema stays correct for as long as the table exists; entries which
+ * haven't been read recently are dropped to release retired CDRs.
+ *
+ * <p>See {@link CdrTableSchemaPreloader} for how the tables of live CDR versions are loaded at
+ * startup.
+ */
+@Component
+public class CdrTableSchemaCache implements MeteredCache {
+  // Each CDR dataset has a few dozen tables, and only a handful of CDRs are live.
+  @VisibleForTesting static final long MAX_TABLES = 5_000;
+  @VisibleForTesting static final Duration IDLE_EXPIRY = Duration.ofDays(7);
+
+  private final Cache<TableId, FieldList> fieldsByTable =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_TABLES)
+          .expireAfterAccess(IDLE_EXPIRY)
+          .recordStats()
+          .build();
+
+  /**
+   * Returns the cached fields of this table, or calls loader and caches its result. Concurrent
+   * calls for the same table wait for a single lookup. Failures are not cached.
+   */
+  public FieldList getFields(TableId tableId, Supplier<FieldList> loader) {
+    try {
+      return fieldsByTable.get(tableId, loader::get);
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /** Returns true if this table's fields are cached. */
+  public boolean contains(TableId tableId) {
+    return fieldsByTable.asMap().containsKey(tableId);
+  }
+
+  @Override
+  public String getCacheName() {
+    return "cdr_table_schemas";
+  }
+
+  @Override
+  public CacheStats getStats() {
+    return fieldsByTable.stats();
+  }
+
+  @Override
+  public long getSize() {
+    return fieldsByTable.size();
+  }
+}
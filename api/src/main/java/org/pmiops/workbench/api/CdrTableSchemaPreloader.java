@@ -0,0 +1,79 @@
+package org.pmiops.workbench.api;
+
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.TableId;
+import com.google.common.base.Stopwatch;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.StreamSupport;
+import org.pmiops.workbench.dataset.BigQueryDataSetTableInfo;
+import org.pmiops.workbench.db.dao.CdrVersionDao;
+import org.pmiops.workbench.db.model.DbCdrVersion;
+import org.pmiops.workbench.model.ArchivalStatus;
+import org.pmiops.workbench.utils.LogFormatters;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the schemas of the dataset builder tables of every live CDR version into {@link
+ * CdrTableSchemaCache} once the server has started, so that the first dataset previews don't wait
+ * on BigQuery metadata lookups. Runs in the background, so it doesn't delay serving requests.
+ */
+@Component
+public class CdrTableSchemaPreloader {
+  private static final Logger log = Logger.getLogger(CdrTableSchemaPreloader.class.getName());
+
+  private final BigQueryClientPool bigQueryClientPool;
+  private final CdrTableSchemaCache cdrTableSchemaCache;
+  private final CdrVersionDao cdrVersionDao;
+
+  public CdrTableSchemaPreloader(
+      BigQueryClientPool bigQueryClientPool,
+      CdrTableSchemaCache cdrTableSchemaCache,
+      CdrVersionDao cdrVersionDao) {
+    this.bigQueryClientPool = bigQueryClientPool;
+    this.cdrTableSchemaCache = cdrTableSchemaCache;
+    this.cdrVersionDao = cdrVersionDao;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void preloadInBackground() {
+    final List<DbCdrVersion> liveCdrVersions =
+        StreamSupport.stream(cdrVersionDao.findAll().spliterator(), false)
+            .filter(v -> v.getArchivalStatusEnum() == ArchivalStatus.LIVE)
+            .filter(v -> v.getBigqueryProject() != null && v.getBigqueryDataset() != null)
+            .toList();
+    final Thread preloader = new Thread(() -> preload(liveCdrVersions), "cdr-schema-preloader");
+    preloader.setDaemon(true);
+    preloader.start();
+  }
+
+  void preload(List<DbCdrVersion> cdrVersions) {
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    int tableCount = 0;
+    for (DbCdrVersion cdrVersion : cdrVersions) {
+      final BigQuery bigQuery = bigQueryClientPool.get(cdrVersion.getBigqueryProject());
+      for (String tableName : BigQueryDataSetTableInfo.getTableNames()) {
+        final TableId tableId =
+            TableId.of(
+                cdrVersion.getBigqueryProject(), cdrVersion.getBigqueryDataset(), tableName);
+        try {
+          cdrTableSchemaCache.getFields(
+              tableId, () -> BigQueryService.fetchTableFields(bigQuery, tableId));
+          tableCount++;
+        } catch (RuntimeException e) {
+          // Older CDRs lack some tables; those are looked up again on demand.
+          log.log(Level.FINE, String.format("Could not preload schema of %s", tableId), e);
+        }
+      }
+    }
+    log.info(
+        LogFormatters.rate(
+            String.format("Preloaded CDR table schemas for %d CDR versions", cdrVersions.size()),
+            stopwatch.elapsed(),
+            tableCount,
+            "tables"));
+  }
+}
@@ -2,6 +2,8 @@ package org.pmiops.workbench.api;
 
 import static org.pmiops.workbench.utils.ResponseEntities.noContentRun;
 
+import org.pmiops.workbench.db.jdbc.PrimaryKeyRange;
+import org.pmiops.workbench.exceptions.BadRequestException;
 import org.pmiops.workbench.model.ReportingUploadQueueTaskRequest;
 import org.pmiops.workbench.reporting.ReportingService;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +21,17 @@ public class CloudTaskReportingController implements CloudTaskReportingApiDelega
   @Override
   public ResponseEntity<Void> processReportingUploadQueueTask(
       ReportingUploadQueueTaskRequest body) {
+    if (body.getKeyRangeStart() != null && body.getKeyRangeEnd() != null) {
+      if (body.getTables().size() != 1) {
+        throw new BadRequestException("A key range upload must specify exactly one table");
+      }
+      return noContentRun(
+          () ->
+              reportingService.collectRangeAndUpload(
+                  body.getTables().get(0),
+                  new PrimaryKeyRange(body.getKeyRangeStart(), body.getKeyRangeEnd()),
+                  body.getSnapshotTimestamp()));
+    }
     return noContentRun(
         () ->
             reportingService.collectRecordsAndUpload(
@@ -18,7 +18,6 @@ import org.pmiops.workbench.cohortreview.util.PageRequest;
 import org.pmiops.workbench.cohortreview.util.ParticipantCohortStatusDbInfo;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.db.model.DbCohort;
-import org.pmiops.workbench.db.model.DbParticipantCohortStatus;
 import org.pmiops.workbench.db.model.DbUser;
 import org.pmiops.workbench.db.model.DbWorkspace;
 import org.pmiops.workbench.exceptions.BadRequestException;
@@ -144,16 +143,12 @@ public class CohortReviewController implements CohortReviewApiDelegate {
     cohortReview.setCohortName(request.getName());
     cohortReview = cohortReviewService.saveCohortReview(cohortReview, userProvider.get());
 
-    List<DbParticipantCohortStatus> participantCohortStatuses =
-        cohortReviewService.createDbParticipantCohortStatusesList(
+    long reviewSize =
+        cohortReviewService.saveRandomParticipantCohortStatuses(
             cohort, request.getSize(), cohortReview.getCohortReviewId());
 
-    cohortReview
-        .reviewSize((long) participantCohortStatuses.size())
-        .reviewStatus(ReviewStatus.CREATED);
-
-    // when saving ParticipantCohortStatuses to the database the long value of birthdate is mutated.
-    cohortReviewService.saveFullCohortReview(cohortReview, participantCohortStatuses);
+    cohortReview.reviewSize(reviewSize).reviewStatus(ReviewStatus.CREATED);
+    cohortReview = cohortReviewService.saveCohortReview(cohortReview, userProvider.get());
 
     PageRequest pageRequest =
         new PageRequest()
@@ -522,12 +522,10 @@ public class DataSetController implements DataSetApiDelegate {
 
   @Override
   public ResponseEntity<GenomicExtractionJobListResponse> getGenomicExtractionJobs(
-      String workspaceNamespace, String workspaceTerraName) {
+      String workspaceNamespace, String workspaceTerraName, Boolean forceRefresh) {
     return ResponseEntity.ok(
-        new GenomicExtractionJobListResponse()
-            .jobs(
-                genomicExtractionService.getGenomicExtractionJobs(
-                    workspaceNamespace, workspaceTerraName)));
+        genomicExtractionService.getGenomicExtractionJobs(
+            workspaceNamespace, workspaceTerraName, Boolean.TRUE.equals(forceRefresh)));
   }
 
   // TODO(jaycarlton) create a class that knows about code cells and their properties,
@@ -0,0 +1,24 @@
+package org.pmiops.workbench.api;
+
+import org.pmiops.workbench.genomics.GenomicExtractionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Controller to keep the stored status of running genomic extraction jobs up to date */
+@RestController
+public class OfflineGenomicExtractionController implements OfflineGenomicExtractionApiDelegate {
+
+  private final GenomicExtractionService genomicExtractionService;
+
+  @Autowired
+  public OfflineGenomicExtractionController(GenomicExtractionService genomicExtractionService) {
+    this.genomicExtractionService = genomicExtractionService;
+  }
+
+  @Override
+  public ResponseEntity<Void> refreshGenomicExtractionJobs() {
+    genomicExtractionService.refreshNonTerminalExtractionJobs();
+    return ResponseEntity.noContent().build();
+  }
+}
@@ -12,6 +12,7 @@ import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.pmiops.workbench.actionaudit.auditors.WorkspaceAuditor;
 import org.pmiops.workbench.cdr.CdrVersionContext;
 import org.pmiops.workbench.cloudtasks.TaskQueueService;
@@ -47,6 +48,7 @@ import org.pmiops.workbench.utils.mappers.WorkspaceMapper;
 import org.pmiops.workbench.vwb.admin.VwbAdminQueryService;
 import org.pmiops.workbench.vwb.wsm.WsmClient;
 import org.pmiops.workbench.workspaces.WorkspaceAuthService;
+import org.pmiops.workbench.workspaces.WorkspaceListCache;
 import org.pmiops.workbench.workspaces.WorkspaceOperationMapper;
 import org.pmiops.workbench.workspaces.WorkspaceService;
 import org.pmiops.workbench.workspaces.WorkspaceServiceFactory;
@@ -74,6 +76,7 @@ public class WorkspacesController implements WorkspacesApiDelegate {
   private final WorkspaceAuditor workspaceAuditor;
   private final WorkspaceAuthService workspaceAuthService;
   private final WorkspaceDao workspaceDao;
+  private final WorkspaceListCache workspaceListCache;
   private final WorkspaceMapper workspaceMapper;
   private final WorkspaceOperationDao workspaceOperationDao;
   private final WorkspaceOperationMapper workspaceOperationMapper;
@@ -100,6 +103,7 @@ public class WorkspacesController implements WorkspacesApiDelegate {
       WorkspaceAuditor workspaceAuditor,
       WorkspaceAuthService workspaceAuthService,
       WorkspaceDao workspaceDao,
+      WorkspaceListCache workspaceListCache,
       WorkspaceMapper workspaceMapper,
       WorkspaceOperationDao workspaceOperationDao,
       WorkspaceOperationMapper workspaceOperationMapper,
@@ -123,6 +127,7 @@ public class WorkspacesController implements WorkspacesApiDelegate {
     this.workspaceAuditor = workspaceAuditor;
     this.workspaceAuthService = workspaceAuthService;
     this.workspaceDao = workspaceDao;
+    this.workspaceListCache = workspaceListCache;
     this.workspaceMapper = workspaceMapper;
     this.workspaceOperationDao = workspaceOperationDao;
     this.workspaceOperationMapper = workspaceOperationMapper;
@@ -670,6 +675,7 @@ public class WorkspacesController implements WorkspacesApiDelegate {
               });
 
       dbWorkspace = workspaceAuthService.patchWorkspaceAcl(dbWorkspace, toAcl);
+      workspaceListCache.invalidateUsers(toAcl.keySet());
     }
 
     dbWorkspace = workspaceDao.saveWithLastModified(dbWorkspace, user);
@@ -737,6 +743,11 @@ public class WorkspacesController implements WorkspacesApiDelegate {
     WorkspaceUserRolesResponse resp = new WorkspaceUserRolesResponse();
 
     dbWorkspace = workspaceAuthService.patchWorkspaceAcl(dbWorkspace, aclsByEmail);
+    // the sharer's list shows the workspace's updated access, and the recipients' lists gain or
+    // lose the workspace
+    workspaceListCache.invalidateUsers(
+        Stream.concat(Stream.of(userProvider.get().getUsername()), aclsByEmail.keySet().stream())
+            .toList());
     resp.setWorkspaceEtag(Etags.fromVersion(dbWorkspace.getVersion()));
 
     List<UserRole> userRolesAfterShare =
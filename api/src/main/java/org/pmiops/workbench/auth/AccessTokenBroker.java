@@ -0,0 +1,201 @@
+package org.pmiops.workbench.auth;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.auth.oauth2.AccessToken;
+import com.google.cloud.iam.credentials.v1.IamCredentialsClient;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSortedSet;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import org.pmiops.workbench.opentelemetry.MeteredCache;
+import org.pmiops.workbench.utils.LogFormatters;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shares OAuth access tokens across requests and threads, keyed by the principal they are minted
+ * for and their scopes.
+ *
+ * <p>Minting a token is a round trip to the metadata server or the IAM credentials API, which
+ * request scoped API clients would otherwise pay on every request. A token is reused until it's
+ * within {@link #REFRESH_MARGIN} of expiry, so callers never receive a token which is about to
+ * expire mid-call. Concurrent requests for the same token wait for a single mint. Failures are not
+ * cached.
+ *
+ * <p>Each mint counts as a load in {@link #getStats()}, so the load count and total load time
+ * report the mint rate and latency.
+ */
+@Component
+public class AccessTokenBroker implements MeteredCache {
+  private static final Logger log = Logger.getLogger(AccessTokenBroker.class.getName());
+
+  @VisibleForTesting static final long MAX_ENTRIES = 10_000;
+  @VisibleForTesting static final Duration REFRESH_MARGIN = Duration.ofMinutes(5);
+  // Tokens minted without an expiration time are assumed to live this long.
+  @VisibleForTesting static final Duration DEFAULT_LIFETIME = Duration.ofMinutes(30);
+  // Entries for principals which haven't requested a token in this long are dropped, e.g. users
+  // impersonated by a one-off admin action.
+  private static final Duration IDLE_EXPIRY = Duration.ofHours(2);
+
+  private static final String APPLICATION_DEFAULT_PRINCIPAL = "application-default";
+
+  /** Mints a new access token, e.g. by refreshing a set of credentials. */
+  @FunctionalInterface
+  public interface TokenMinter {
+    AccessToken mint() throws IOException;
+  }
+
+  /** The subject is the impersonated user for delegated credentials, and null otherwise. */
+  private record TokenKey(String principal, String subject, ImmutableSortedSet<String> scopes) {}
+
+  private final Clock clock;
+  private final Cache<TokenKey, TokenHolder> holders;
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder mintSuccessCount = new LongAdder();
+  private final LongAdder mintFailureCount = new LongAdder();
+  private final LongAdder totalMintNanos = new LongAdder();
+
+  public AccessTokenBroker() {
+    this(Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  AccessTokenBroker(Clock clock) {
+    this.clock = clock;
+    holders =
+        CacheBuilder.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterAccess(IDLE_EXPIRY)
+            .recordStats()
+            .build();
+  }
+
+  /** Returns an access token for the Workbench service credentials with the given scopes. */
+  public String getServiceAccessToken(List<String> scopes) throws IOException {
+    return getAccessToken(
+            APPLICATION_DEFAULT_PRINCIPAL,
+            null,
+            scopes,
+            () -> ServiceAccounts.getScopedServiceCredentials(scopes).getAccessToken())
+        .getTokenValue();
+  }
+
+  /**
+   * Returns an access token for the given user, minted by the given service account via
+   * domain-wide delegation. See {@link DelegatedUserCredentials}.
+   */
+  public AccessToken getDelegatedAccessToken(
+      String serviceAccountEmail,
+      String userEmail,
+      List<String> scopes,
+      IamCredentialsClient iamCredentialsClient,
+      HttpTransport httpTransport)
+      throws IOException {
+    return getAccessToken(
+        serviceAccountEmail,
+        userEmail,
+        scopes,
+        () -> {
+          final DelegatedUserCredentials credentials =
+              new DelegatedUserCredentials(
+                  serviceAccountEmail, userEmail, scopes, iamCredentialsClient, httpTransport);
+          credentials.refreshIfExpired();
+          return credentials.getAccessToken();
+        });
+  }
+
+  /**
+   * Returns the cached token of this principal, subject and scopes, or calls minter if there's no
+   * token or it's close to expiry. The order of scopes doesn't matter.
+   */
+  @VisibleForTesting
+  AccessToken getAccessToken(
+      String principal, String subject, Collection<String> scopes, TokenMinter minter)
+      throws IOException {
+    final TokenKey key = new TokenKey(principal, subject, ImmutableSortedSet.copyOf(scopes));
+    return holders.asMap().computeIfAbsent(key, k -> new TokenHolder()).get(key, minter);
+  }
+
+  @Override
+  public String getCacheName() {
+    return "access_tokens";
+  }
+
+  @Override
+  public CacheStats getStats() {
+    return new CacheStats(
+        hitCount.sum(),
+        missCount.sum(),
+        mintSuccessCount.sum(),
+        mintFailureCount.sum(),
+        totalMintNanos.sum(),
+        holders.stats().evictionCount());
+  }
+
+  @Override
+  public long getSize() {
+    return holders.size();
+  }
+
+  private boolean isFresh(AccessToken token) {
+    return token != null
+        && token.getExpirationTime().toInstant().isAfter(clock.instant().plus(REFRESH_MARGIN));
+  }
+
+  /** Holds the current token of one key; refreshes are serialized on the holder. */
+  private class TokenHolder {
+    private volatile AccessToken token;
+
+    AccessToken get(TokenKey key, TokenMinter minter) throws IOException {
+      AccessToken current = token;
+      if (isFresh(current)) {
+        hitCount.increment();
+        return current;
+      }
+      synchronized (this) {
+        current = token;
+        if (isFresh(current)) {
+          // another thread refreshed the token while we waited
+          hitCount.increment();
+          return current;
+        }
+        missCount.increment();
+        token = mint(key, minter);
+        return token;
+      }
+    }
+  }
+
+  private AccessToken mint(TokenKey key, TokenMinter minter) throws IOException {
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    final AccessToken minted;
+    try {
+      minted = Preconditions.checkNotNull(minter.mint(), "minted a null access token");
+    } catch (IOException | RuntimeException e) {
+      mintFailureCount.increment();
+      totalMintNanos.add(stopwatch.elapsed().toNanos());
+      throw e;
+    }
+    mintSuccessCount.increment();
+    totalMintNanos.add(stopwatch.elapsed().toNanos());
+    log.fine(
+        LogFormatters.duration(
+            String.format("Minted access token for %s", key.principal()), stopwatch.elapsed()));
+    return minted.getExpirationTime() == null
+        ? new AccessToken(
+            minted.getTokenValue(), Date.from(clock.instant().plus(DEFAULT_LIFETIME)))
+        : minted;
+  }
+}
@@ -0,0 +1,162 @@
+package org.pmiops.workbench.auth;
+
+import com.google.api.services.oauth2.model.Userinfo;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.pmiops.workbench.db.model.DbUser;
+import org.pmiops.workbench.model.Authority;
+import org.pmiops.workbench.opentelemetry.MeteredCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the results of authenticating API requests: the identity behind each bearer token, and
+ * the authorities granted to each user.
+ *
+ * <p>Tokens are keyed by a SHA-256 fingerprint, so raw tokens are never held in memory beyond the
+ * request. Google's userinfo endpoint doesn't report token expiry, so entries live for a short
+ * TTL, well under the lifetime of an access token; this bounds how long a revoked token keeps
+ * working. Authorities also expire after the TTL, since they can be granted from outside this
+ * process (see the set-authority tool).
+ *
+ * <p>User rows are not cached: the disabled check always reads the current row.
+ */
+@Component
+public class AuthenticationCache implements MeteredCache {
+  @VisibleForTesting static final long MAX_ENTRIES = 10_000;
+  @VisibleForTesting static final Duration TTL = Duration.ofSeconds(60);
+
+  /**
+   * The identity behind a bearer token. The username is the Workbench username, which for a pet
+   * service account is the email of the user who owns it rather than the userinfo email.
+   */
+  public record TokenIdentity(Userinfo userInfo, String username) {}
+
+  private record CachedIdentity(TokenIdentity identity, long loadedAtNanos) {}
+
+  private final Ticker ticker;
+  private final Cache<String, CachedIdentity> identitiesByTokenFingerprint;
+  private final Cache<Long, Set<Authority>> authoritiesByUserId;
+  // Invalidation times by username, so invalidating a user doesn't scan every cached token.
+  // An invalidation only needs to be remembered for as long as an identity may be cached.
+  private final Cache<String, Long> invalidationTimesByUsername;
+
+  public AuthenticationCache() {
+    this(Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  AuthenticationCache(Ticker ticker) {
+    this.ticker = ticker;
+    identitiesByTokenFingerprint = newCache(ticker);
+    authoritiesByUserId = newCache(ticker);
+    invalidationTimesByUsername = newCache(ticker);
+  }
+
+  private static <K, V> Cache<K, V> newCache(Ticker ticker) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(MAX_ENTRIES)
+        .expireAfterWrite(TTL)
+        .ticker(ticker)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Returns the cached identity for this token, or calls loader and caches its result. Concurrent
+   * calls with the same token wait for a single lookup. Failures are not cached.
+   */
+  public TokenIdentity getIdentity(String token, Supplier<TokenIdentity> loader) {
+    final String fingerprint = fingerprint(token);
+    final Callable<CachedIdentity> load = () -> new CachedIdentity(loader.get(), ticker.read());
+    CachedIdentity cached = get(identitiesByTokenFingerprint, fingerprint, load);
+    if (isInvalidated(cached)) {
+      identitiesByTokenFingerprint.invalidate(fingerprint);
+      cached = get(identitiesByTokenFingerprint, fingerprint, load);
+    }
+    return cached.identity();
+  }
+
+  /**
+   * Returns the cached authorities of this user, or calls loader and caches its result. Failures
+   * are not cached.
+   */
+  public Set<Authority> getAuthorities(long userId, Supplier<Set<Authority>> loader) {
+    return get(
+        authoritiesByUserId,
+        userId,
+        () -> {
+          final Set<Authority> authorities = loader.get();
+          return authorities == null ? ImmutableSet.of() : ImmutableSet.copyOf(authorities);
+        });
+  }
+
+  /**
+   * Drops everything cached for this user, so the next request reloads it. Call this whenever a
+   * user is disabled or their authorities change.
+   */
+  public void invalidateUser(DbUser user) {
+    authoritiesByUserId.invalidate(user.getUserId());
+    if (user.getUsername() != null) {
+      invalidationTimesByUsername.put(user.getUsername(), ticker.read());
+    }
+  }
+
+  @VisibleForTesting
+  public void invalidateAll() {
+    identitiesByTokenFingerprint.invalidateAll();
+    authoritiesByUserId.invalidateAll();
+    invalidationTimesByUsername.invalidateAll();
+  }
+
+  @Override
+  public String getCacheName() {
+    return "authentication";
+  }
+
+  /** Combined statistics of the token and authority caches. */
+  @Override
+  public CacheStats getStats() {
+    return identitiesByTokenFingerprint.stats().plus(authoritiesByUserId.stats());
+  }
+
+  @Override
+  public long getSize() {
+    return identitiesByTokenFingerprint.size() + authoritiesByUserId.size();
+  }
+
+  private boolean isInvalidated(CachedIdentity cached) {
+    final String username = cached.identity().username();
+    if (username == null) {
+      return false;
+    }
+    final Long invalidatedAt = invalidationTimesByUsername.getIfPresent(username);
+    return invalidatedAt != null && invalidatedAt - cached.loadedAtNanos() >= 0;
+  }
+
+  private static <K, V> V get(Cache<K, V> cache, K key, Callable<V> loader) {
+    try {
+      return cache.get(key, loader);
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private static String fingerprint(String token) {
+    return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+  }
+}
@@ -54,7 +54,8 @@ public class ServiceAccounts {
 
   /**
    * Retrieves an access token with the specified set of scopes derived from Workbench service
-   * credentials.
+   * credentials. This mints a new token on every call; prefer {@link
+   * AccessTokenBroker#getServiceAccessToken} where tokens can be shared.
    */
   public static String getScopedServiceAccessToken(List<String> scopes) throws IOException {
     return getScopedServiceCredentials(scopes).getAccessToken().getTokenValue();
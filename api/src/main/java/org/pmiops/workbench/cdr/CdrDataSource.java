@@ -1,78 +1,177 @@
 package org.pmiops.workbench.cdr;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListeners;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
-import com.zaxxer.hikari.pool.HikariPool;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.PersistenceException;
-import jakarta.persistence.TypedQuery;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
 import javax.sql.DataSource;
 import org.pmiops.workbench.db.model.DbCdrVersion;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.pmiops.workbench.utils.LogFormatters;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 import org.springframework.stereotype.Service;
 
+/**
+ * Routes CDR queries to the CDR index database of the CDR version in {@link CdrVersionContext}.
+ *
+ * <p>Connection pools are created on the first request for each database, so that instances
+ * don't connect to every historical CDR at startup, and newly added CDR versions are usable
+ * without a restart. Idle connections are closed within each pool, and pools which haven't been
+ * used for {@link #POOL_IDLE_EXPIRY} are shut down once none of their connections are in use.
+ */
 @Service("cdrDataSource")
 public class CdrDataSource extends AbstractRoutingDataSource {
-  private final DbParams params;
-  private final EntityManagerFactory emFactory;
+  private static final Logger log = Logger.getLogger(CdrDataSource.class.getName());
 
-  CdrDataSource(
-      DbParams params,
-      // Using CdrDbConfig.cdrEntityManagerFactory would cause a circular dependency.
-      @Qualifier("entityManagerFactory") EntityManagerFactory emFactory) {
-    this.params = params;
-    this.emFactory = emFactory;
-    resetTargetDataSources();
+  @VisibleForTesting static final Duration POOL_IDLE_EXPIRY = Duration.ofMinutes(30);
+  // Idle connections within a live pool are closed after this long.
+  private static final Duration CONNECTION_IDLE_TIMEOUT = Duration.ofMinutes(5);
+  private static final Duration POOL_CLEANUP_INTERVAL = Duration.ofMinutes(5);
+
+  private final Function<String, HikariDataSource> poolFactory;
+  private final Cache<String, HikariDataSource> poolsByDbName;
+  // Pools which have expired from poolsByDbName, but still had connections checked out, e.g. by a
+  // long-running CDR query. These are closed by a later cleanUp, once they have none.
+  private final Set<HikariDataSource> retiredPools = ConcurrentHashMap.newKeySet();
+  // Expires idle pools even when no CDR queries arrive, and closes them off the request thread,
+  // since shutting down a pool may wait for connections still in use.
+  private final ScheduledExecutorService poolMaintainer =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("cdr-pool-maintainer-%d")
+              .setDaemon(true)
+              .build());
+
+  @Autowired
+  CdrDataSource(DbParams params) {
+    this(dbName -> new HikariDataSource(createConfig(params, dbName)), Ticker.systemTicker());
   }
 
-  List<DbCdrVersion> getCdrVersions() {
-    EntityManager em = emFactory.createEntityManager();
-    // Add null check since migrating to Tanagra will not require a CloudSQL CDR index.
-    // This also allows for skipping removed datasets.
-    String jpql = "SELECT v FROM DbCdrVersion v WHERE v.cdrDbName IS NOT NULL";
-    TypedQuery<DbCdrVersion> query = em.createQuery(jpql, DbCdrVersion.class);
-    try {
-      return query.getResultList();
-    } catch (PersistenceException e) {
-      // This emits "Table 'CDR_VERSION' not found" before throwing to this catch, so it is not
-      // necessary to warn further.
-      return new ArrayList<>();
-    }
+  @VisibleForTesting
+  CdrDataSource(Function<String, HikariDataSource> poolFactory, Ticker ticker) {
+    this.poolFactory = poolFactory;
+    poolsByDbName =
+        CacheBuilder.newBuilder()
+            .expireAfterAccess(POOL_IDLE_EXPIRY)
+            .ticker(ticker)
+            .removalListener(
+                RemovalListeners.<String, HikariDataSource>asynchronous(
+                    notification -> {
+                      log.info(
+                          String.format(
+                              "Retiring connection pool for CDR database %s (%s)",
+                              notification.getKey(), notification.getCause()));
+                      retiredPools.add(notification.getValue());
+                      closeUnusedRetiredPools();
+                    },
+                    poolMaintainer))
+            .build();
+    poolMaintainer.scheduleWithFixedDelay(
+        this::cleanUp,
+        POOL_CLEANUP_INTERVAL.toMinutes(),
+        POOL_CLEANUP_INTERVAL.toMinutes(),
+        TimeUnit.MINUTES);
+    // Targets are resolved lazily in determineTargetDataSource.
+    setTargetDataSources(Map.of());
+  }
+
+  private static HikariConfig createConfig(DbParams params, String dbName) {
+    HikariConfig config = params.createConfig(dbName);
+    config.setPoolName("cdr-" + dbName);
+    config.setMinimumIdle(0);
+    config.setIdleTimeout(CONNECTION_IDLE_TIMEOUT.toMillis());
+    return config;
+  }
+
+  /** Returns the live pools by CDR database name, e.g. for metrics. */
+  public Map<String, HikariDataSource> getPools() {
+    return Map.copyOf(poolsByDbName.asMap());
+  }
+
+  /** Shuts down pools which have been idle past their expiry and have no connections in use. */
+  public void cleanUp() {
+    poolsByDbName.cleanUp();
+    closeUnusedRetiredPools();
   }
 
-  DataSource createCdrDs(String dbName) {
-    return new HikariDataSource(params.createConfig(dbName));
+  @PreDestroy
+  public void close() {
+    poolsByDbName.invalidateAll();
+    // Runs after the removal notifications queued by invalidateAll, and closes every pool.
+    poolMaintainer.execute(
+        () -> {
+          retiredPools.forEach(HikariDataSource::close);
+          retiredPools.clear();
+        });
+    poolMaintainer.shutdown();
   }
 
-  void resetTargetDataSources() {
-    // Build a map of CDR version ID -> DataSource for use later, based on all the entries in the
-    // cdr_version table. Note that if new CDR versions are inserted, we need to restart the
-    // server in order for it to be used.
-    // TODO: find a way to make sure CDR versions aren't shown in the UI until they are in use by
-    // all servers.
-    Map<Object, Object> cdrVersionDataSourceMap = new HashMap<>();
-    for (DbCdrVersion cdrVersion : getCdrVersions()) {
-      try {
-        DataSource dataSource = createCdrDs(cdrVersion.getCdrDbName());
-        if (dataSource == null) {
-          continue;
-        }
-        cdrVersionDataSourceMap.put(cdrVersion.getCdrVersionId(), dataSource);
-      } catch (HikariPool.PoolInitializationException e) {
-        // If this is caught, java.sql.SQLSyntaxErrorException: Unknown database 'name'
-        // was thrown, so no need to repeat here.
+  private void closeUnusedRetiredPools() {
+    for (HikariDataSource pool : retiredPools) {
+      // The pool MXBean is null if the pool was never started.
+      final HikariPoolMXBean poolMXBean = pool.getHikariPoolMXBean();
+      final int activeConnections = poolMXBean == null ? 0 : poolMXBean.getActiveConnections();
+      if (activeConnections > 0) {
+        log.info(
+            String.format(
+                "Not closing connection pool %s yet, %d connections are in use",
+                pool.getPoolName(), activeConnections));
+      } else if (retiredPools.remove(pool)) {
+        log.info(String.format("Closing connection pool %s", pool.getPoolName()));
+        pool.close();
       }
     }
-    setTargetDataSources(cdrVersionDataSourceMap);
+  }
+
+  private HikariDataSource createPool(String dbName) {
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    final HikariDataSource pool = poolFactory.apply(dbName);
+    log.info(
+        LogFormatters.duration(
+            String.format("Opened connection pool for CDR database %s", dbName),
+            stopwatch.elapsed()));
+    return pool;
   }
 
   @Override
   protected Object determineCurrentLookupKey() {
     return CdrVersionContext.getCdrVersion().getCdrVersionId();
   }
+
+  @Override
+  protected DataSource determineTargetDataSource() {
+    final DbCdrVersion cdrVersion = CdrVersionContext.getCdrVersion();
+    final String dbName = cdrVersion.getCdrDbName();
+    if (dbName == null) {
+      // Tanagra-only CDR versions have no CloudSQL index.
+      throw new IllegalStateException(
+          "CDR version " + cdrVersion.getCdrVersionId() + " has no CDR database");
+    }
+    try {
+      return poolsByDbName.get(dbName, () -> createPool(dbName));
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
 }
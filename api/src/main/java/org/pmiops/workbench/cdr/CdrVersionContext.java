@@ -41,6 +41,11 @@ public class CdrVersionContext {
     return version;
   }
 
+  /** The CDR version in context, or EMPTY if there is none. */
+  public static Optional<DbCdrVersion> maybeGetCdrVersion() {
+    return Optional.ofNullable(cdrVersion.get());
+  }
+
   static <T extends Throwable> T suppressStackTrace(T t) {
     t.setStackTrace(new StackTraceElement[] {});
     return t;
@@ -52,6 +57,6 @@ public class CdrVersionContext {
    * @return the CDR Context's BigQuery project if there is a CDR in context, EMPTY if not
    */
   public static Optional<String> maybeGetBigQueryProject() {
-    return Optional.ofNullable(cdrVersion.get()).map(DbCdrVersion::getBigqueryProject);
+    return maybeGetCdrVersion().map(DbCdrVersion::getBigqueryProject);
   }
 }
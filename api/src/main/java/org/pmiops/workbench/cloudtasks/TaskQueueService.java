@@ -1,25 +1,41 @@
 package org.pmiops.workbench.cloudtasks;
 
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
 import com.google.cloud.tasks.v2.AppEngineHttpRequest;
 import com.google.cloud.tasks.v2.CloudTasksClient;
 import com.google.cloud.tasks.v2.HttpMethod;
 import com.google.cloud.tasks.v2.QueueName;
 import com.google.cloud.tasks.v2.Task;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.gson.Gson;
 import com.google.protobuf.ByteString;
 import jakarta.inject.Provider;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 import org.pmiops.workbench.auth.UserAuthentication;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.config.WorkbenchConfig.OfflineBatchConfig;
 import org.pmiops.workbench.config.WorkbenchConfig.RdrExportConfig;
 import org.pmiops.workbench.config.WorkbenchLocationConfigService;
 import org.pmiops.workbench.db.dao.WorkspaceDao;
+import org.pmiops.workbench.db.jdbc.PrimaryKeyRange;
 import org.pmiops.workbench.exceptions.BadRequestException;
+import org.pmiops.workbench.exceptions.ServerErrorException;
 import org.pmiops.workbench.model.*;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor.FanOutReport;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -112,10 +128,32 @@ public class TaskQueueService {
 
   private static final Logger LOGGER = Logger.getLogger(TaskQueueService.class.getName());
 
+  // Pushes which fail with these are retried, with exponential backoff. Some of them leave it
+  // unknown whether the task was created, so retried tasks are named; see createTaskWithRetry.
+  private static final Set<StatusCode.Code> RETRYABLE_STATUS_CODES =
+      Set.of(
+          StatusCode.Code.UNAVAILABLE,
+          StatusCode.Code.RESOURCE_EXHAUSTED,
+          StatusCode.Code.DEADLINE_EXCEEDED,
+          StatusCode.Code.INTERNAL);
+  @VisibleForTesting static final int MAX_PUSH_ATTEMPTS = 3;
+  private static final Duration INITIAL_RETRY_BACKOFF = Duration.ofMillis(200);
+  // Long enough for every attempt at a push, and the backoff between them.
+  private static final Duration PUSH_TIMEOUT = Duration.ofMinutes(2);
+
+  /** A batch's task, named in logs by the batch's position. */
+  private record PushTarget(int batch, Task task) {
+    @Override
+    public String toString() {
+      return "batch " + batch;
+    }
+  }
+
   private final WorkbenchLocationConfigService locationConfigService;
   private final Provider<CloudTasksClient> cloudTasksClientProvider;
   private final Provider<WorkbenchConfig> workbenchConfigProvider;
   private final Provider<UserAuthentication> userAuthenticationProvider;
+  private final RemoteFanOutExecutor remoteFanOutExecutor;
 
   private final Gson gson;
 
@@ -133,11 +171,13 @@ public class TaskQueueService {
       WorkbenchLocationConfigService locationConfigService,
       Provider<CloudTasksClient> cloudTasksClientProvider,
       Provider<WorkbenchConfig> configProvider,
-      Provider<UserAuthentication> userAuthenticationProvider) {
+      Provider<UserAuthentication> userAuthenticationProvider,
+      RemoteFanOutExecutor remoteFanOutExecutor) {
     this.locationConfigService = locationConfigService;
     this.cloudTasksClientProvider = cloudTasksClientProvider;
     this.workbenchConfigProvider = configProvider;
     this.userAuthenticationProvider = userAuthenticationProvider;
+    this.remoteFanOutExecutor = remoteFanOutExecutor;
     this.gson = intializeGson();
   }
 
@@ -289,6 +329,17 @@ public class TaskQueueService {
             .snapshotTimestamp(captureSnapshotTime));
   }
 
+  public void pushReportingUploadTask(
+      String table, Long captureSnapshotTime, PrimaryKeyRange keyRange) {
+    createAndPushTask(
+        REPORTING_UPLOAD,
+        new ReportingUploadQueueTaskRequest()
+            .tables(List.of(table))
+            .snapshotTimestamp(captureSnapshotTime)
+            .keyRangeStart(keyRange.afterKey())
+            .keyRangeEnd(keyRange.upToKey()));
+  }
+
   public void pushWorkspaceUserCacheTask(List<WorkspaceDao.WorkspaceUserCacheView> workspaces) {
     OfflineBatchConfig config = workbenchConfigProvider.get().offlineBatch;
     var request =
@@ -336,21 +387,118 @@ public class TaskQueueService {
     return new TaskQueuePair(pair.queueName(), pair.endpoint() + "?backfill=true");
   }
 
+  /**
+   * Pushes one task per batch, and returns the task names in batch order. With {@code
+   * offlineBatch.cloudTasksEnqueueParallelism} and {@code offlineBatch.cloudTasksEnqueueQps}, up to
+   * that many tasks are pushed concurrently, at up to that rate. Pushes which fail transiently are
+   * retried with backoff. A batch which still fails doesn't stop the others from being pushed, but
+   * fails the whole call once they have been.
+   */
   private <T> List<String> createAndPushAll(List<List<T>> batches, TaskQueuePair pair) {
     LOGGER.info("Pushing " + batches.size() + " tasks onto " + pair.queueName());
-    return batches.stream()
-        .map(
-            batch -> {
-              LOGGER.info("Task contains " + batch.size() + " items");
-              return createAndPushTask(pair, batch);
-            })
-        .toList();
+    // the client and config are request scoped, so they are looked up once rather than per push
+    final OfflineBatchConfig config = workbenchConfigProvider.get().offlineBatch;
+    final CloudTasksClient cloudTasksClient = cloudTasksClientProvider.get();
+    final String queuePath = getQueuePath(pair);
+    final List<Task> tasks =
+        batches.stream()
+            .map(
+                batch -> {
+                  LOGGER.info("Task contains " + batch.size() + " items");
+                  return buildTask(pair, batch, Map.of());
+                })
+            .toList();
+
+    final int parallelism =
+        Math.max(1, Objects.requireNonNullElse(config.cloudTasksEnqueueParallelism, 1));
+    final RateLimiter rateLimiter =
+        config.cloudTasksEnqueueQps == null
+            ? null
+            : RateLimiter.create(config.cloudTasksEnqueueQps);
+    final List<PushTarget> targets =
+        IntStream.range(0, tasks.size()).mapToObj(i -> new PushTarget(i, tasks.get(i))).toList();
+    final Map<Integer, String> taskNamesByBatch = new ConcurrentHashMap<>();
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    final FanOutReport report =
+        remoteFanOutExecutor.runAll(
+            "push tasks onto " + pair.queueName(),
+            targets,
+            target -> {
+              if (rateLimiter != null) {
+                rateLimiter.acquire();
+              }
+              try {
+                taskNamesByBatch.put(
+                    target.batch(),
+                    createTaskWithRetry(cloudTasksClient, queuePath, target.task()));
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServerErrorException("Interrupted pushing onto " + pair.queueName(), e);
+              }
+              return true;
+            },
+            parallelism,
+            PUSH_TIMEOUT);
+
+    final String summary =
+        String.format(
+            "Pushed %d of %d tasks onto %s in %s, %d failed",
+            report.succeeded(),
+            report.total(),
+            pair.queueName(),
+            stopwatch.stop(),
+            report.failed() + report.timedOut());
+    if (!report.allSucceeded()) {
+      LOGGER.severe(summary);
+      throw new ServerErrorException(summary);
+    }
+    final List<String> taskNames =
+        IntStream.range(0, tasks.size()).mapToObj(taskNamesByBatch::get).toList();
+    LOGGER.info(summary);
+    return taskNames;
   }
 
   private <T> List<String> createAndPushAll(List<T> fullList, int batchSize, TaskQueuePair pair) {
     return createAndPushAll(CloudTasksUtils.partitionList(fullList, batchSize), pair);
   }
 
+  /**
+   * Pushes the task, retrying transient failures. A push which fails with DEADLINE_EXCEEDED,
+   * INTERNAL or UNAVAILABLE may still have created the task, so the task is given a unique name
+   * before the first attempt: Cloud Tasks rejects a retry of a push which did create it with
+   * ALREADY_EXISTS, rather than queueing the batch twice.
+   */
+  private static String createTaskWithRetry(
+      CloudTasksClient cloudTasksClient, String queuePath, Task task) throws InterruptedException {
+    final Task namedTask =
+        task.toBuilder().setName(queuePath + "/tasks/" + UUID.randomUUID()).build();
+    Duration backoff = INITIAL_RETRY_BACKOFF;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return cloudTasksClient.createTask(queuePath, namedTask).getName();
+      } catch (ApiException e) {
+        if (attempt > 1 && e.getStatusCode().getCode() == StatusCode.Code.ALREADY_EXISTS) {
+          LOGGER.info(
+              String.format(
+                  "Task %s was created by an earlier attempt to push it", namedTask.getName()));
+          return namedTask.getName();
+        }
+        if (attempt >= MAX_PUSH_ATTEMPTS
+            || !RETRYABLE_STATUS_CODES.contains(e.getStatusCode().getCode())) {
+          throw e;
+        }
+        LOGGER.log(
+            Level.WARNING,
+            String.format(
+                "Attempt %d to push a task onto %s failed, retrying in %s",
+                attempt, queuePath, backoff),
+            e);
+        Thread.sleep(backoff.toMillis());
+        backoff = backoff.multipliedBy(2);
+      }
+    }
+  }
+
   private String createAndPushTask(TaskQueuePair pair, Object jsonBody) {
     return createAndPushTask(pair, jsonBody, Map.of());
   }
@@ -364,30 +512,32 @@ public class TaskQueueService {
 
   private String createAndPushTask(
       TaskQueuePair pair, Object jsonBody, Map<String, String> extraHeaders) {
-    WorkbenchConfig workbenchConfig = workbenchConfigProvider.get();
-    String queuePath =
-        QueueName.of(
-                workbenchConfig.server.projectId,
-                locationConfigService.getCloudTaskLocationId(),
-                pair.queueName())
-            .toString();
-    String body = gson.toJson(jsonBody);
     return cloudTasksClientProvider
         .get()
-        .createTask(
-            queuePath,
-            Task.newBuilder()
-                .setAppEngineHttpRequest(
-                    AppEngineHttpRequest.newBuilder()
-                        .setRelativeUri(pair.fullPath())
-                        .setBody(ByteString.copyFromUtf8(body))
-                        .setHttpMethod(HttpMethod.POST)
-                        .putHeaders("Content-type", "application/json")
-                        .putAllHeaders(extraHeaders))
-                .build())
+        .createTask(getQueuePath(pair), buildTask(pair, jsonBody, extraHeaders))
         .getName();
   }
 
+  private String getQueuePath(TaskQueuePair pair) {
+    return QueueName.of(
+            workbenchConfigProvider.get().server.projectId,
+            locationConfigService.getCloudTaskLocationId(),
+            pair.queueName())
+        .toString();
+  }
+
+  private Task buildTask(TaskQueuePair pair, Object jsonBody, Map<String, String> extraHeaders) {
+    return Task.newBuilder()
+        .setAppEngineHttpRequest(
+            AppEngineHttpRequest.newBuilder()
+                .setRelativeUri(pair.fullPath())
+                .setBody(ByteString.copyFromUtf8(gson.toJson(jsonBody)))
+                .setHttpMethod(HttpMethod.POST)
+                .putHeaders("Content-type", "application/json")
+                .putAllHeaders(extraHeaders))
+        .build();
+  }
+
   public void pushWorkspaceArchiveStatusTask(String namespace, String terraName) {
     LOGGER.info(namespace + ": pushing workspace archive status task");
     createAndPushTask(
@@ -97,6 +97,7 @@ public class CohortBuilderServiceImpl implements CohortBuilderService {
           .append(String.format("[%s_rank1]", Domain.DRUG.toString().toLowerCase()));
 
   private final BigQueryService bigQueryService;
+  private final CohortCountCache cohortCountCache;
   private final CohortQueryBuilder cohortQueryBuilder;
   private final CBCriteriaAttributeDao cbCriteriaAttributeDao;
   private final CBCriteriaDao cbCriteriaDao;
@@ -111,6 +112,7 @@ public class CohortBuilderServiceImpl implements CohortBuilderService {
   @Autowired
   public CohortBuilderServiceImpl(
       BigQueryService bigQueryService,
+      CohortCountCache cohortCountCache,
       CohortQueryBuilder cohortQueryBuilder,
       CBCriteriaAttributeDao cbCriteriaAttributeDao,
       CBCriteriaDao cbCriteriaDao,
@@ -122,6 +124,7 @@ public class CohortBuilderServiceImpl implements CohortBuilderService {
       CohortBuilderMapper cohortBuilderMapper,
       Provider<MySQLStopWords> mySQLStopWordsProvider) {
     this.bigQueryService = bigQueryService;
+    this.cohortCountCache = cohortCountCache;
     this.cohortQueryBuilder = cohortQueryBuilder;
     this.cbCriteriaAttributeDao = cbCriteriaAttributeDao;
     this.cbCriteriaDao = cbCriteriaDao;
@@ -194,12 +197,16 @@ public class CohortBuilderServiceImpl implements CohortBuilderService {
 
   @Override
   public Long countParticipants(CohortDefinition cohortDefinition) {
-    TableResult result =
-        bigQueryService.filterBigQueryConfigAndExecuteQuery(
-            cohortQueryBuilder.buildParticipantCounterQuery(
-                new ParticipantCriteria(cohortDefinition)));
-    FieldValueList row = result.iterateAll().iterator().next();
-    return row.get("count").getLongValue();
+    return cohortCountCache.getCount(
+        cohortDefinition,
+        () -> {
+          TableResult result =
+              bigQueryService.filterBigQueryConfigAndExecuteQuery(
+                  cohortQueryBuilder.buildParticipantCounterQuery(
+                      new ParticipantCriteria(cohortDefinition)));
+          FieldValueList row = result.iterateAll().iterator().next();
+          return row.get("count").getLongValue();
+        });
   }
 
   @Override
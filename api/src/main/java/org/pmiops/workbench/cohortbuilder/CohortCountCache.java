@@ -0,0 +1,142 @@
+package org.pmiops.workbench.cohortbuilder;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.gson.Gson;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.pmiops.workbench.cdr.CdrVersionContext;
+import org.pmiops.workbench.db.model.DbCdrVersion;
+import org.pmiops.workbench.model.CohortDefinition;
+import org.pmiops.workbench.model.SearchGroup;
+import org.pmiops.workbench.model.SearchGroupItem;
+import org.pmiops.workbench.model.SearchParameter;
+import org.pmiops.workbench.opentelemetry.MeteredCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches participant counts by CDR version and cohort definition. CDR datasets are never modified
+ * after release, so a count stays correct for as long as the CDR version exists; the TTL only
+ * bounds how long an unused entry occupies memory.
+ *
+ * <p>The definition is reduced to a canonical form before hashing, so that definitions which
+ * produce the same participants share an entry:
+ *
+ * <ul>
+ *   <li>client-assigned ids and display names of groups, items and parameters are dropped
+ *   <li>groups, items, parameters, modifiers and data filters are sorted, since they are
+ *       combined with AND/OR and their order doesn't affect the result
+ * </ul>
+ *
+ * Attribute lists and operands are kept in order, since e.g. BETWEEN depends on operand order.
+ */
+@Component
+public class CohortCountCache implements MeteredCache {
+  @VisibleForTesting static final long MAX_ENTRIES = 10_000;
+  @VisibleForTesting static final Duration TTL = Duration.ofHours(24);
+
+  private static final Gson GSON = new Gson();
+
+  @VisibleForTesting
+  record CountKey(long cdrVersionId, String bigqueryDataset, String definitionHash) {}
+
+  private final Cache<CountKey, Long> counts =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_ENTRIES)
+          .expireAfterWrite(TTL)
+          .recordStats()
+          .build();
+
+  /**
+   * Returns the cached count of this definition in the current CDR version, or calls counter and
+   * caches its result. Concurrent calls with the same key wait for a single count. Failures are
+   * not cached. Without a CDR version in context, counter is always called.
+   */
+  public Long getCount(CohortDefinition cohortDefinition, Supplier<Long> counter) {
+    final Optional<DbCdrVersion> cdrVersion = CdrVersionContext.maybeGetCdrVersion();
+    if (cdrVersion.isEmpty()) {
+      return counter.get();
+    }
+    final CountKey key =
+        new CountKey(
+            cdrVersion.get().getCdrVersionId(),
+            cdrVersion.get().getBigqueryDataset(),
+            hash(canonicalize(cohortDefinition)));
+    try {
+      return counts.get(key, counter::get);
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  @Override
+  public String getCacheName() {
+    return "cohort_counts";
+  }
+
+  @Override
+  public CacheStats getStats() {
+    return counts.stats();
+  }
+
+  @Override
+  public long getSize() {
+    return counts.size();
+  }
+
+  /** A JSON form of the definition which is equal for equivalent definitions. */
+  @VisibleForTesting
+  static String canonicalize(CohortDefinition cohortDefinition) {
+    // deep copy, so the caller's definition is not modified
+    final CohortDefinition canonical =
+        GSON.fromJson(GSON.toJson(cohortDefinition), CohortDefinition.class);
+    sortCanonically(canonical.getIncludes(), CohortCountCache::canonicalizeGroup);
+    sortCanonically(canonical.getExcludes(), CohortCountCache::canonicalizeGroup);
+    sortCanonically(canonical.getDataFilters(), filter -> {});
+    return GSON.toJson(canonical);
+  }
+
+  private static void canonicalizeGroup(SearchGroup group) {
+    group.setId(null);
+    group.setName(null);
+    sortCanonically(group.getItems(), CohortCountCache::canonicalizeItem);
+  }
+
+  private static void canonicalizeItem(SearchGroupItem item) {
+    item.setId(null);
+    item.setName(null);
+    sortCanonically(item.getSearchParameters(), CohortCountCache::canonicalizeParameter);
+    sortCanonically(item.getModifiers(), modifier -> {});
+  }
+
+  private static void canonicalizeParameter(SearchParameter parameter) {
+    parameter.setParameterId(null);
+    parameter.setName(null);
+  }
+
+  /** Canonicalize each element, then sort the elements by their JSON form. */
+  private static <T> void sortCanonically(List<T> elements, Consumer<T> canonicalizer) {
+    if (elements == null) {
+      return;
+    }
+    elements.forEach(canonicalizer);
+    elements.sort(Comparator.comparing(element -> GSON.toJson(element)));
+  }
+
+  private static String hash(String canonicalDefinition) {
+    return Hashing.sha256().hashString(canonicalDefinition, StandardCharsets.UTF_8).toString();
+  }
+}
@@ -5,7 +5,10 @@ import java.util.Map;
 
 public class QueryParameterUtil {
 
-  /** Generate a unique parameter name and add it to the parameter map provided. */
+  /**
+   * Generate a unique parameter name and add it to the parameter map provided. Names are numbered
+   * in the order parameters are added, so building the same query again gives the same names.
+   */
   public static String addQueryParameterValue(
       Map<String, QueryParameterValue> queryParameterValueMap,
       QueryParameterValue queryParameterValue) {
@@ -19,7 +19,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ListMultimap;
 import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -113,8 +113,8 @@ public final class SearchGroupItemQueryBuilder {
   private static final String STANDARD_SQL = "is_standard = %s";
   private static final String CONCEPT_ID_UNNEST_SQL = "concept_id IN unnest(%s)";
   private static final String CONCEPT_ID_IN_SQL = "concept_id IN";
-  private static final String STANDARD_OR_SOURCE_SQL =
-      CONCEPT_ID_UNNEST_SQL + AND + STANDARD_SQL + "\n";
+  private static final SqlTemplate STANDARD_OR_SOURCE_SQL =
+      SqlTemplate.compile(CONCEPT_ID_UNNEST_SQL + AND + STANDARD_SQL + "\n");
   public static final String CHILD_LOOKUP_SQL =
       """
              (SELECT DISTINCT c.concept_id
@@ -150,63 +150,72 @@ public final class SearchGroupItemQueryBuilder {
                                     WHERE domain_id = 'SURVEY'
                                     AND type = 'PPI'
                                     AND subtype = 'QUESTION')""";
-  private static final String PARENT_STANDARD_OR_SOURCE_SQL =
-      CONCEPT_ID_IN_SQL + CHILD_LOOKUP_SQL + AND + STANDARD_SQL + "\n";
-  private static final String DRUG_SQL =
-      CONCEPT_ID_IN_SQL + DRUG_CHILD_LOOKUP_SQL + AND + STANDARD_SQL;
-  private static final String VALUE_AS_NUMBER = " value_as_number %s %s";
+  private static final SqlTemplate PARENT_STANDARD_OR_SOURCE_SQL =
+      SqlTemplate.compile(CONCEPT_ID_IN_SQL + CHILD_LOOKUP_SQL + AND + STANDARD_SQL + "\n");
+  private static final SqlTemplate DRUG_SQL =
+      SqlTemplate.compile(CONCEPT_ID_IN_SQL + DRUG_CHILD_LOOKUP_SQL + AND + STANDARD_SQL);
+  private static final SqlTemplate VALUE_AS_NUMBER = SqlTemplate.compile(" value_as_number %s %s");
   private static final String VALUE_AS_NUMBER_IS_NOT_NULL = " AND value_as_number IS NOT NULL";
-  private static final String VALUE_AS_CONCEPT_ID = " value_as_concept_id %s unnest(%s)";
-  private static final String VALUE_SOURCE_CONCEPT_ID = " value_source_concept_id %s unnest(%s)";
-  private static final String SOURCE_CONCEPT_SURVEY_ID =
-      " AND survey_version_concept_id %s unnest(%s)";
-  private static final String SYSTOLIC_SQL = " AND systolic %s %s";
-  private static final String DIASTOLIC_SQL = " AND diastolic %s %s";
+  private static final SqlTemplate VALUE_AS_CONCEPT_ID =
+      SqlTemplate.compile(" value_as_concept_id %s unnest(%s)");
+  private static final SqlTemplate VALUE_SOURCE_CONCEPT_ID =
+      SqlTemplate.compile(" value_source_concept_id %s unnest(%s)");
+  private static final SqlTemplate SOURCE_CONCEPT_SURVEY_ID =
+      SqlTemplate.compile(" AND survey_version_concept_id %s unnest(%s)");
+  private static final SqlTemplate SYSTOLIC_SQL = SqlTemplate.compile(" AND systolic %s %s");
+  private static final SqlTemplate DIASTOLIC_SQL = SqlTemplate.compile(" AND diastolic %s %s");
 
   // sql parts to help construct Temporal BigQuery sql
   private static final String SAME_ENC =
       "temp1.person_id = temp2.person_id AND IFNULL(temp1.visit_occurrence_id, 0) = IFNULL(temp2.visit_occurrence_id, 0) AND temp1.entry_date = temp2.entry_date\n";
-  private static final String X_DAYS_BEFORE =
-      "temp1.person_id = temp2.person_id AND temp1.entry_date <= DATE_SUB(temp2.entry_date, INTERVAL %s DAY)\n";
-  private static final String X_DAYS_AFTER =
-      "temp1.person_id = temp2.person_id AND temp1."
-          + "entry_date >= DATE_ADD(temp2.entry_date, INTERVAL %s DAY)\n";
-  private static final String WITHIN_X_DAYS_OF =
-      "temp1.person_id = temp2.person_id AND temp1.entry_date between "
-          + "DATE_SUB(temp2.entry_date, INTERVAL %s DAY) and DATE_ADD(temp2.entry_date, INTERVAL %s DAY)\n";
-  private static final String TEMPORAL_EXIST =
-      """
+  private static final SqlTemplate X_DAYS_BEFORE =
+      SqlTemplate.compile(
+          "temp1.person_id = temp2.person_id AND temp1.entry_date <= DATE_SUB(temp2.entry_date, INTERVAL %s DAY)\n");
+  private static final SqlTemplate X_DAYS_AFTER =
+      SqlTemplate.compile(
+          "temp1.person_id = temp2.person_id AND temp1."
+              + "entry_date >= DATE_ADD(temp2.entry_date, INTERVAL %s DAY)\n");
+  private static final SqlTemplate WITHIN_X_DAYS_OF =
+      SqlTemplate.compile(
+          "temp1.person_id = temp2.person_id AND temp1.entry_date between "
+              + "DATE_SUB(temp2.entry_date, INTERVAL %s DAY) and DATE_ADD(temp2.entry_date, INTERVAL %s DAY)\n");
+  private static final SqlTemplate TEMPORAL_EXIST =
+      SqlTemplate.compile(
+          """
             SELECT temp1.person_id
             FROM (%s) temp1
             WHERE EXISTS (SELECT 1
                           FROM (%s) temp2
                           WHERE (%s))
-            """;
-  private static final String TEMPORAL_JOIN =
-      """
+            """);
+  private static final SqlTemplate TEMPORAL_JOIN =
+      SqlTemplate.compile(
+          """
              SELECT temp1.person_id
              FROM (%s) temp1
              JOIN (SELECT person_id, visit_occurrence_id, entry_date
                    FROM (%s)
              ) temp2 on (%s)
-             """;
-  private static final String TEMPORAL_SQL =
-      """
+             """);
+  private static final SqlTemplate TEMPORAL_SQL =
+      SqlTemplate.compile(
+          """
              SELECT person_id, visit_occurrence_id, entry_date%s
              FROM `${projectId}.${dataSetId}.cb_search_all_events`
-             WHERE %s""";
-  private static final String RANK_1_SQL =
-      ", RANK() OVER (PARTITION BY person_id ORDER BY entry_date%s) rn";
-  private static final String TEMPORAL_RANK_1_SQL =
-      """
+             WHERE %s""");
+  private static final SqlTemplate RANK_1_SQL =
+      SqlTemplate.compile(", RANK() OVER (PARTITION BY person_id ORDER BY entry_date%s) rn");
+  private static final SqlTemplate TEMPORAL_RANK_1_SQL =
+      SqlTemplate.compile(
+          """
              SELECT person_id, visit_occurrence_id, entry_date
              FROM (%s) a
              WHERE rn = 1
-             """;
+             """);
 
   // sql parts to help construct Modifiers BigQuery sql
-  private static final String MODIFIER_SQL_TEMPLATE =
-      "SELECT criteria.person_id FROM (%s) criteria\n";
+  private static final String MODIFIER_SQL_START = "SELECT criteria.person_id FROM (";
+  private static final String MODIFIER_SQL_END = ") criteria\n";
   private static final String OCCURRENCES_SQL_TEMPLATE =
       "GROUP BY criteria.person_id, criteria.concept_id\n" + "HAVING COUNT(criteria.person_id) ";
   private static final String AGE_AT_EVENT_SQL_TEMPLATE = " AND age_at_event ";
@@ -230,37 +239,41 @@ public final class SearchGroupItemQueryBuilder {
              FROM `${projectId}.${dataSetId}.person` p
              WHERE
              """;
-  private static final String AGE_SQL =
-      """
+  private static final SqlTemplate AGE_SQL =
+      SqlTemplate.compile(
+          """
              SELECT person_id
              FROM `${projectId}.${dataSetId}.cb_search_person` p
              WHERE %s %s %s
-             """;
+             """);
   private static final String AGE_DEC_SQL = "AND NOT " + DEC_SQL;
-  private static final String DEMO_IN_SQL = "%s IN unnest(%s)\n";
-  private static final String HAS_DATA_SQL =
-      """
+  private static final SqlTemplate DEMO_IN_SQL = SqlTemplate.compile("%s IN unnest(%s)\n");
+  private static final SqlTemplate HAS_DATA_SQL =
+      SqlTemplate.compile(
+          """
               SELECT person_id
               FROM `${projectId}.${dataSetId}.cb_search_person` p
               WHERE %s = 1
-              """;
+              """);
   private static final String CB_SEARCH_ALL_EVENTS_WHERE =
       "SELECT person_id FROM `${projectId}.${dataSetId}.cb_search_all_events`\nWHERE ";
   private static final String PERSON_ID_IN = "person_id IN (";
-  private static final String VARIANT_SQL_UNNEST =
-      """
+  private static final SqlTemplate VARIANT_SQL_UNNEST =
+      SqlTemplate.compile(
+          """
              SELECT person_id
              FROM `${projectId}.${dataSetId}.cb_variant_to_person`
              CROSS JOIN UNNEST(person_ids) AS person_id
              WHERE vid IN unnest(%s)
-             """;
-  private static final String VARIANT_SQL =
-      """
+             """);
+  private static final SqlTemplate VARIANT_SQL =
+      SqlTemplate.compile(
+          """
                  SELECT person_id
                  FROM `${projectId}.${dataSetId}.cb_variant_to_person`
                  CROSS JOIN UNNEST(person_ids) AS person_id
                  WHERE vid IN (%s)
-                 """;
+                 """);
 
   /** Build the innermost sql using search parameters, modifiers and attributes. */
   public static void buildQuery(
@@ -290,8 +303,10 @@ public final class SearchGroupItemQueryBuilder {
       Map<String, QueryParameterValue> queryParams,
       SearchGroupItem searchGroupItem,
       TemporalMention mention) {
-    Set<SearchParameter> standardSearchParameters = new HashSet<>();
-    Set<SearchParameter> sourceSearchParameters = new HashSet<>();
+    // keep the search parameters in request order, so a cohort definition always builds the same
+    // sql and query parameters
+    Set<SearchParameter> standardSearchParameters = new LinkedHashSet<>();
+    Set<SearchParameter> sourceSearchParameters = new LinkedHashSet<>();
     List<String> queryParts = new ArrayList<>();
 
     if (CollectionUtils.isEmpty(searchGroupItem.getSearchParameters())) {
@@ -312,7 +327,7 @@ public final class SearchGroupItemQueryBuilder {
       return buildDemoSql(queryParams, searchGroupItem);
     }
     if (hasDataDomains(searchGroupItem)) {
-      return String.format(HAS_DATA_SQL, HAS_DATA_DOMAINS.get(domain));
+      return HAS_DATA_SQL.render(HAS_DATA_DOMAINS.get(domain));
     }
     // Otherwise build sql against flat denormalized search table
     for (SearchParameter param : searchGroupItem.getSearchParameters()) {
@@ -344,10 +359,9 @@ public final class SearchGroupItemQueryBuilder {
     } else {
       queryPartsSql = "(" + String.join(OR + "\n", queryParts) + ")";
     }
-    // format the base sql with all query parts
-    String baseSql = BASE_SQL + queryPartsSql;
-    // build modifier sql if modifiers exists
-    String modifiedSql = buildModifierSql(baseSql, queryParams, searchGroupItem.getModifiers());
+    // build the base sql with all query parts and modifier sql if modifiers exists
+    String modifiedSql =
+        buildModifierSql(queryPartsSql, queryParams, searchGroupItem.getModifiers());
     // build the inner temporal sql if this search group item is temporal
     // otherwise return modifiedSql
     return buildInnerTemporalQuery(
@@ -361,33 +375,33 @@ public final class SearchGroupItemQueryBuilder {
     SearchParameter param = parameters.get(0);
     switch (CriteriaType.valueOf(param.getType())) {
       case AGE:
-        List<String> queryParts = new ArrayList<>();
-        parameters.forEach(
-            searchParameter -> {
-              Attribute attribute = searchParameter.getAttributes().get(0);
-              String ageNamedParameter =
-                  QueryParameterUtil.addQueryParameterValue(
-                      queryParams,
-                      QueryParameterValue.int64(Long.valueOf(attribute.getOperands().get(0))));
-              if (attribute.getOperands().size() > 1) {
-                String ageNamedParameter1 =
-                    QueryParameterUtil.addQueryParameterValue(
-                        queryParams,
-                        QueryParameterValue.int64(Long.valueOf(attribute.getOperands().get(1))));
-                ageNamedParameter = ageNamedParameter + AND + ageNamedParameter1;
-              }
-              String ageSql =
-                  String.format(
-                      AGE_SQL,
-                      AGE_COLUMN_SQL_MAP.get(attribute.getName()),
-                      OperatorUtils.getSqlOperator(attribute.getOperator()),
-                      ageNamedParameter);
-              queryParts.add(
-                  AttrName.AGE_AT_CONSENT.equals(attribute.getName())
-                      ? ageSql
-                      : ageSql + AGE_DEC_SQL);
-            });
-        return String.join(UNION_DISTINCT_TEMPLATE, queryParts);
+        StringBuilder ageSql = new StringBuilder();
+        for (SearchParameter searchParameter : parameters) {
+          Attribute attribute = searchParameter.getAttributes().get(0);
+          String ageNamedParameter =
+              QueryParameterUtil.addQueryParameterValue(
+                  queryParams,
+                  QueryParameterValue.int64(Long.valueOf(attribute.getOperands().get(0))));
+          if (attribute.getOperands().size() > 1) {
+            String ageNamedParameter1 =
+                QueryParameterUtil.addQueryParameterValue(
+                    queryParams,
+                    QueryParameterValue.int64(Long.valueOf(attribute.getOperands().get(1))));
+            ageNamedParameter = ageNamedParameter + AND + ageNamedParameter1;
+          }
+          if (ageSql.length() > 0) {
+            ageSql.append(UNION_DISTINCT_TEMPLATE);
+          }
+          AGE_SQL.appendTo(
+              ageSql,
+              AGE_COLUMN_SQL_MAP.get(attribute.getName()),
+              OperatorUtils.getSqlOperator(attribute.getOperator()),
+              ageNamedParameter);
+          if (!AttrName.AGE_AT_CONSENT.equals(attribute.getName())) {
+            ageSql.append(AGE_DEC_SQL);
+          }
+        }
+        return ageSql.toString();
       case GENDER:
       case SEX:
       case ETHNICITY:
@@ -403,12 +417,14 @@ public final class SearchGroupItemQueryBuilder {
                 queryParams, QueryParameterValue.array(conceptIds, Long.class));
 
         CriteriaType criteriaType = CriteriaType.fromValue(param.getType());
-        return DEMO_BASE
-            + String.format(DEMO_IN_SQL, DEMO_COLUMN_SQL_MAP.get(criteriaType), namedParameter);
+        return DEMO_IN_SQL
+            .appendTo(
+                new StringBuilder(DEMO_BASE), DEMO_COLUMN_SQL_MAP.get(criteriaType), namedParameter)
+            .toString();
       case DECEASED:
         return DEMO_BASE + DEC_SQL;
       case HAS_EHR_DATA:
-        return String.format(HAS_DATA_SQL, "has_ehr_data");
+        return HAS_DATA_SQL.render("has_ehr_data");
       default:
         throw new BadRequestException(
             "Search unsupported for demographics type " + param.getType());
@@ -430,7 +446,7 @@ public final class SearchGroupItemQueryBuilder {
       String namedParameter =
           QueryParameterUtil.addQueryParameterValue(
               queryParams, QueryParameterValue.array(variantIds, String.class));
-      queryParts.add(String.format(VARIANT_SQL_UNNEST, namedParameter));
+      queryParts.add(VARIANT_SQL_UNNEST.render(namedParameter));
     }
 
     // build variant filter SQL
@@ -442,8 +458,7 @@ public final class SearchGroupItemQueryBuilder {
     variantFilters.forEach(
         variantFilter ->
             queryParts.add(
-                String.format(
-                    VARIANT_SQL,
+                VARIANT_SQL.render(
                     VariantQueryBuilder.buildCohortBuilderQuery(variantFilter, queryParams))));
     return String.join(UNION_DISTINCT_TEMPLATE, queryParts);
   }
@@ -462,30 +477,29 @@ public final class SearchGroupItemQueryBuilder {
     if (mention == null) {
       return modifiedSql;
     }
-    // if modifiers exists we need to add them again to the inner temporal sql
-    List<String> temporalModifiedParts =
-        conditionsSql.stream()
-            .map(s -> s + getAgeDateAndEncounterSql(queryParams, modifiers))
-            .toList();
-    if (TemporalMention.ANY_MENTION.equals(mention)) {
-      List<String> temporalSqlParts =
-          temporalModifiedParts.stream().map(s -> String.format(TEMPORAL_SQL, "", s)).toList();
-      return String.join(UNION_DISTINCT_TEMPLATE, temporalSqlParts);
-    } else if (TemporalMention.FIRST_MENTION.equals(mention)) {
-      String rank1Sql = String.format(RANK_1_SQL, "");
-      List<String> temporalSqlParts =
-          temporalModifiedParts.stream()
-              .map(
-                  s -> String.format(TEMPORAL_RANK_1_SQL, String.format(TEMPORAL_SQL, rank1Sql, s)))
-              .toList();
-      return String.join(UNION_DISTINCT_TEMPLATE, temporalSqlParts);
+    // any mention selects every event, first and last mention only the top ranked one
+    String rank1Sql = null;
+    if (TemporalMention.FIRST_MENTION.equals(mention)) {
+      rank1Sql = RANK_1_SQL.render("");
+    } else if (!TemporalMention.ANY_MENTION.equals(mention)) {
+      rank1Sql = RANK_1_SQL.render(DESC);
     }
-    String rank1Sql = String.format(RANK_1_SQL, DESC);
-    List<String> temporalSqlParts =
-        temporalModifiedParts.stream()
-            .map(s -> String.format(TEMPORAL_RANK_1_SQL, String.format(TEMPORAL_SQL, rank1Sql, s)))
-            .toList();
-    return String.join(UNION_DISTINCT_TEMPLATE, temporalSqlParts);
+    StringBuilder temporalSql = new StringBuilder();
+    for (String conditionSql : conditionsSql) {
+      // if modifiers exists we need to add them again to the inner temporal sql
+      StringBuilder temporalModifiedSql = new StringBuilder(conditionSql);
+      appendAgeDateAndEncounterSql(temporalModifiedSql, queryParams, modifiers);
+      if (temporalSql.length() > 0) {
+        temporalSql.append(UNION_DISTINCT_TEMPLATE);
+      }
+      if (rank1Sql == null) {
+        TEMPORAL_SQL.appendTo(temporalSql, "", temporalModifiedSql);
+      } else {
+        TEMPORAL_RANK_1_SQL.appendTo(
+            temporalSql, TEMPORAL_SQL.render(rank1Sql, temporalModifiedSql));
+      }
+    }
+    return temporalSql.toString();
   }
 
   /**
@@ -517,23 +531,23 @@ public final class SearchGroupItemQueryBuilder {
       String parameterName =
           QueryParameterUtil.addQueryParameterValue(
               params, QueryParameterValue.int64(searchGroup.getTimeValue()));
-      conditions = String.format(WITHIN_X_DAYS_OF, parameterName, parameterName);
+      conditions = WITHIN_X_DAYS_OF.render(parameterName, parameterName);
     } else if (TemporalTime.X_DAYS_BEFORE.equals(searchGroup.getTime())) {
       String parameterName =
           QueryParameterUtil.addQueryParameterValue(
               params, QueryParameterValue.int64(searchGroup.getTimeValue()));
-      conditions = String.format(X_DAYS_BEFORE, parameterName);
+      conditions = X_DAYS_BEFORE.render(parameterName);
     } else if (TemporalTime.X_DAYS_AFTER.equals(searchGroup.getTime())) {
       String parameterName =
           QueryParameterUtil.addQueryParameterValue(
               params, QueryParameterValue.int64(searchGroup.getTimeValue()));
-      conditions = String.format(X_DAYS_AFTER, parameterName);
+      conditions = X_DAYS_AFTER.render(parameterName);
     }
-    return String.format(
-        temporalQueryParts2.size() == 1 ? TEMPORAL_EXIST : TEMPORAL_JOIN,
-        String.join(UNION_DISTINCT_TEMPLATE, temporalQueryParts1),
-        String.join(UNION_DISTINCT_TEMPLATE, temporalQueryParts2),
-        conditions);
+    return (temporalQueryParts2.size() == 1 ? TEMPORAL_EXIST : TEMPORAL_JOIN)
+        .render(
+            String.join(UNION_DISTINCT_TEMPLATE, temporalQueryParts1),
+            String.join(UNION_DISTINCT_TEMPLATE, temporalQueryParts2),
+            conditions);
   }
 
   /**
@@ -560,24 +574,24 @@ public final class SearchGroupItemQueryBuilder {
     return itemMap;
   }
 
-  /** Helper method to build blood pressure sql. */
-  private static String processBloodPressureSql(
-      Map<String, QueryParameterValue> queryParams, List<Attribute> attributes) {
-    StringBuilder sqlBuilder = new StringBuilder();
+  /** Helper method to append blood pressure sql. */
+  private static void appendBloodPressureSql(
+      StringBuilder sqlBuilder,
+      Map<String, QueryParameterValue> queryParams,
+      List<Attribute> attributes) {
+    boolean systolic = true;
     for (Attribute attribute : attributes) {
       if (!AttrName.ANY.equals(attribute.getName())) {
         // this makes an assumption that the UI adds systolic attribute first. Otherwise, we will
         // have to hard code the conceptId which is not optimal.
-        String sqlTemplate =
-            sqlBuilder.toString().contains("systolic") ? DIASTOLIC_SQL : SYSTOLIC_SQL;
-        sqlBuilder.append(
-            String.format(
-                sqlTemplate,
-                OperatorUtils.getSqlOperator(attribute.getOperator()),
-                getOperandsExpression(queryParams, attribute)));
+        SqlTemplate sqlTemplate = systolic ? SYSTOLIC_SQL : DIASTOLIC_SQL;
+        sqlTemplate.appendTo(
+            sqlBuilder,
+            OperatorUtils.getSqlOperator(attribute.getOperator()),
+            getOperandsExpression(queryParams, attribute));
+        systolic = false;
       }
     }
-    return sqlBuilder.toString();
   }
 
   private static String processAttributeSql(
@@ -618,19 +632,18 @@ public final class SearchGroupItemQueryBuilder {
                     : conceptIds.toArray(new Long[0]),
                 Long.class));
     StringBuilder sqlBuilder =
-        new StringBuilder(String.format(STANDARD_OR_SOURCE_SQL, conceptIdParam, standardParam));
+        STANDARD_OR_SOURCE_SQL.appendTo(new StringBuilder(), conceptIdParam, standardParam);
     if (!nums.isEmpty()) {
       if (!conceptIds.isEmpty()) {
         // attribute.conceptId is unique to blood pressure attributes
         // this indicates we need to build a blood pressure sql statement
-        sqlBuilder.append(processBloodPressureSql(queryParams, parameter.getAttributes()));
+        appendBloodPressureSql(sqlBuilder, queryParams, parameter.getAttributes());
       } else {
         String parens = cats.isEmpty() ? "" : "(";
-        sqlBuilder.append(
-            String.format(
-                AND + parens + VALUE_AS_NUMBER,
-                OperatorUtils.getSqlOperator(nums.get(0).getOperator()),
-                getOperandsExpression(queryParams, nums.get(0))));
+        VALUE_AS_NUMBER.appendTo(
+            sqlBuilder.append(AND).append(parens),
+            OperatorUtils.getSqlOperator(nums.get(0).getOperator()),
+            getOperandsExpression(queryParams, nums.get(0)));
       }
     }
     if (!cats.isEmpty()) {
@@ -642,15 +655,16 @@ public final class SearchGroupItemQueryBuilder {
               QueryParameterValue.array(
                   cats.get(0).getOperands().stream().map(Long::parseLong).toArray(Long[]::new),
                   Long.class));
-      String catsSql =
+      SqlTemplate catsSql =
           Domain.SURVEY.toString().equals(parameter.getDomain())
               ? VALUE_SOURCE_CONCEPT_ID
               : VALUE_AS_CONCEPT_ID;
-      sqlBuilder.append(
-          String.format(
-              andOrSql + catsSql + parens,
+      catsSql
+          .appendTo(
+              sqlBuilder.append(andOrSql),
               OperatorUtils.getSqlOperator(cats.get(0).getOperator()),
-              catsParam));
+              catsParam)
+          .append(parens);
     }
     if (!versions.isEmpty()) {
       versionParam =
@@ -659,11 +673,10 @@ public final class SearchGroupItemQueryBuilder {
               QueryParameterValue.array(
                   versions.get(0).getOperands().stream().map(Long::parseLong).toArray(Long[]::new),
                   Long.class));
-      sqlBuilder.append(
-          String.format(
-              SOURCE_CONCEPT_SURVEY_ID,
-              OperatorUtils.getSqlOperator(versions.get(0).getOperator()),
-              versionParam));
+      SOURCE_CONCEPT_SURVEY_ID.appendTo(
+          sqlBuilder,
+          OperatorUtils.getSqlOperator(versions.get(0).getOperator()),
+          versionParam);
     }
     if (!any.isEmpty() && parameter.getDomain().equals(Domain.SURVEY.toString())) {
       sqlBuilder.append(VALUE_AS_NUMBER_IS_NOT_NULL);
@@ -694,27 +707,33 @@ public final class SearchGroupItemQueryBuilder {
 
   /** Helper method to build modifier sql if needed. */
   private static String buildModifierSql(
-      String baseSql, Map<String, QueryParameterValue> queryParams, List<Modifier> modifiers) {
+      String queryPartsSql,
+      Map<String, QueryParameterValue> queryParams,
+      List<Modifier> modifiers) {
     validateModifiers(modifiers);
-    String ageDateAndEncounterSql = getAgeDateAndEncounterSql(queryParams, modifiers);
+    StringBuilder modifiedSql =
+        new StringBuilder(MODIFIER_SQL_START).append(BASE_SQL).append(queryPartsSql);
+    appendAgeDateAndEncounterSql(modifiedSql, queryParams, modifiers);
+    modifiedSql.append(MODIFIER_SQL_END);
     // Number of Occurrences has to be last because of the group by
-    String occurrenceSql =
-        buildOccurrencesSql(queryParams, getModifier(modifiers, ModifierType.NUM_OF_OCCURRENCES));
-    return String.format(MODIFIER_SQL_TEMPLATE, baseSql + ageDateAndEncounterSql) + occurrenceSql;
+    appendOccurrencesSql(
+        modifiedSql, queryParams, getModifier(modifiers, ModifierType.NUM_OF_OCCURRENCES));
+    return modifiedSql.toString();
   }
 
   /**
-   * Helper method to build all modifiers together except occurrences since it has to be last
+   * Helper method to append all modifiers together except occurrences since it has to be last
    * because of the group by.
    */
-  private static String getAgeDateAndEncounterSql(
-      Map<String, QueryParameterValue> queryParams, List<Modifier> modifiers) {
+  private static void appendAgeDateAndEncounterSql(
+      StringBuilder modifierSql,
+      Map<String, QueryParameterValue> queryParams,
+      List<Modifier> modifiers) {
     List<Modifier> ageDateAndEncounterModifiers = new ArrayList<>();
     ageDateAndEncounterModifiers.add(getModifier(modifiers, ModifierType.AGE_AT_EVENT));
     ageDateAndEncounterModifiers.add(getModifier(modifiers, ModifierType.EVENT_DATE));
     ageDateAndEncounterModifiers.add(getModifier(modifiers, ModifierType.ENCOUNTERS));
     ageDateAndEncounterModifiers.add(getModifier(modifiers, ModifierType.CATI));
-    StringBuilder modifierSql = new StringBuilder();
     for (Modifier modifier : ageDateAndEncounterModifiers) {
       if (modifier == null) {
         continue;
@@ -759,13 +778,13 @@ public final class SearchGroupItemQueryBuilder {
             .append("\n");
       }
     }
-    return modifierSql.toString();
   }
 
-  /** Helper method to build occurrences modifier sql. */
-  private static String buildOccurrencesSql(
-      Map<String, QueryParameterValue> queryParams, Modifier occurrences) {
-    StringBuilder modifierSql = new StringBuilder();
+  /** Helper method to append occurrences modifier sql. */
+  private static void appendOccurrencesSql(
+      StringBuilder modifierSql,
+      Map<String, QueryParameterValue> queryParams,
+      Modifier occurrences) {
     if (occurrences != null) {
       List<String> modifierParamList = new ArrayList<>();
       for (String operand : occurrences.getOperands()) {
@@ -781,7 +800,6 @@ public final class SearchGroupItemQueryBuilder {
           .append(String.join(AND, modifierParamList))
           .append("\n");
     }
-    return modifierSql.toString();
   }
 
   /** Add source or standard concept ids and set params * */
@@ -807,16 +825,13 @@ public final class SearchGroupItemQueryBuilder {
               queryParams, QueryParameterValue.array(conceptIds.toArray(new Long[0]), Long.class));
       if (!parents.isEmpty() || Domain.DRUG.toString().equals(domain)) {
         // Lookup child nodes
+        SqlTemplate parentsSql =
+            Domain.DRUG.toString().equals(domain) ? DRUG_SQL : PARENT_STANDARD_OR_SOURCE_SQL;
         queryParts.add(
-            String.format(
-                Domain.DRUG.toString().equals(domain) ? DRUG_SQL : PARENT_STANDARD_OR_SOURCE_SQL,
-                conceptIdsParam,
-                standardOrSourceParam,
-                standardOrSourceParam));
+            parentsSql.render(conceptIdsParam, standardOrSourceParam, standardOrSourceParam));
       } else {
         // Children only
-        queryParts.add(
-            String.format(STANDARD_OR_SOURCE_SQL, conceptIdsParam, standardOrSourceParam));
+        queryParts.add(STANDARD_OR_SOURCE_SQL.render(conceptIdsParam, standardOrSourceParam));
       }
     }
   }
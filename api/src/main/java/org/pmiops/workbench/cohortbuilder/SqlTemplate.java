@@ -0,0 +1,77 @@
+package org.pmiops.workbench.cohortbuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A SQL template with %s placeholders, parsed once so that rendering it only appends the literal
+ * parts and the arguments to a buffer. Templates follow {@link String#format} syntax, limited to
+ * %s and %%, and render to the same text as String.format with the same arguments.
+ */
+final class SqlTemplate {
+  // literals.get(i) precedes argument i, and the last literal follows the last argument
+  private final List<String> literals;
+  private final int literalLength;
+
+  private SqlTemplate(List<String> literals) {
+    this.literals = List.copyOf(literals);
+    this.literalLength = literals.stream().mapToInt(String::length).sum();
+  }
+
+  static SqlTemplate compile(String template) {
+    final List<String> literals = new ArrayList<>();
+    final StringBuilder literal = new StringBuilder();
+    int i = 0;
+    while (i < template.length()) {
+      final char c = template.charAt(i);
+      if (c != '%') {
+        literal.append(c);
+        i++;
+        continue;
+      }
+      final char conversion = i + 1 < template.length() ? template.charAt(i + 1) : 0;
+      if (conversion == '%') {
+        literal.append('%');
+      } else if (conversion == 's') {
+        literals.add(literal.toString());
+        literal.setLength(0);
+      } else {
+        throw new IllegalArgumentException(
+            "Only %s and %% are supported, at index " + i + " of template: " + template);
+      }
+      i += 2;
+    }
+    literals.add(literal.toString());
+    return new SqlTemplate(literals);
+  }
+
+  int getArgumentCount() {
+    return literals.size() - 1;
+  }
+
+  /** Appends the template, with its placeholders replaced by the arguments in order. */
+  StringBuilder appendTo(StringBuilder sql, Object... args) {
+    if (args.length != getArgumentCount()) {
+      throw new IllegalArgumentException(
+          String.format("Expected %d arguments but got %d", getArgumentCount(), args.length));
+    }
+    sql.append(literals.get(0));
+    for (int i = 0; i < args.length; i++) {
+      if (args[i] instanceof CharSequence) {
+        sql.append((CharSequence) args[i]);
+      } else {
+        sql.append(args[i]);
+      }
+      sql.append(literals.get(i + 1));
+    }
+    return sql;
+  }
+
+  String render(Object... args) {
+    int length = literalLength;
+    for (Object arg : args) {
+      length += arg instanceof CharSequence ? ((CharSequence) arg).length() : 16;
+    }
+    return appendTo(new StringBuilder(length), args).toString();
+  }
+}
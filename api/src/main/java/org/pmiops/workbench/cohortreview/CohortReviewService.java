@@ -44,12 +44,6 @@ public interface CohortReviewService {
   /** Save the specified {@link CohortReview}. */
   CohortReview saveCohortReview(CohortReview cohortReview, DbUser creator);
 
-  /**
-   * Save the {@link DbCohortReview} as well as the collection of {@link DbParticipantCohortStatus}.
-   */
-  void saveFullCohortReview(
-      CohortReview cohortReview, List<DbParticipantCohortStatus> participantCohortStatuses);
-
   CohortReview updateCohortReview(
       CohortReview cohortReview, Long cohortReviewId, Timestamp lastModified);
 
@@ -105,10 +99,14 @@ public interface CohortReviewService {
   CohortReview initializeCohortReview(Long cdrVersionId, DbCohort dbCohort);
 
   /**
-   * Create a list of {@link DbParticipantCohortStatus} for the specified cohort, requestSize and
-   * review id.
+   * Save a {@link DbParticipantCohortStatus} for each of a random sample of up to requestSize
+   * participants of the specified cohort. The sample is saved in chunks as it is read from
+   * BigQuery, so memory use doesn't grow with the review size. If saving fails, none of the sample
+   * is kept.
+   *
+   * @return the number of participants saved
    */
-  List<DbParticipantCohortStatus> createDbParticipantCohortStatusesList(
+  long saveRandomParticipantCohortStatuses(
       DbCohort dbCohort, Integer requestSize, Long cohortReviewId);
 
   /** Find participant count. */
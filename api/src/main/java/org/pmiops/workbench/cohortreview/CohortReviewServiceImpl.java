@@ -2,7 +2,9 @@ package org.pmiops.workbench.cohortreview;
 
 import com.google.cloud.bigquery.FieldValueList;
 import com.google.cloud.bigquery.TableResult;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Table;
 import com.google.gson.Gson;
 import jakarta.inject.Provider;
@@ -13,9 +15,11 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.pmiops.workbench.api.BigQueryService;
@@ -58,10 +62,13 @@ import org.pmiops.workbench.model.Vocabulary;
 import org.pmiops.workbench.model.WorkspaceActiveStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CohortReviewServiceImpl implements CohortReviewService {
+  private static final Logger log = Logger.getLogger(CohortReviewServiceImpl.class.getName());
+
+  // Participants are read from BigQuery and saved in chunks of this many
+  @VisibleForTesting static final int PARTICIPANT_CHUNK_SIZE = 1000;
 
   private BigQueryService bigQueryService;
   private CohortAnnotationDefinitionDao cohortAnnotationDefinitionDao;
@@ -74,6 +81,7 @@ public class CohortReviewServiceImpl implements CohortReviewService {
   private ParticipantCohortAnnotationMapper participantCohortAnnotationMapper;
   private ParticipantCohortStatusDao participantCohortStatusDao;
   private ParticipantCohortStatusMapper participantCohortStatusMapper;
+  private ParticipantDataCache participantDataCache;
   private ReviewQueryBuilder reviewQueryBuilder;
   private Clock clock;
   private Provider<DbUser> userProvider;
@@ -91,6 +99,7 @@ public class CohortReviewServiceImpl implements CohortReviewService {
       ParticipantCohortAnnotationMapper participantCohortAnnotationMapper,
       ParticipantCohortStatusDao participantCohortStatusDao,
       ParticipantCohortStatusMapper participantCohortStatusMapper,
+      ParticipantDataCache participantDataCache,
       ReviewQueryBuilder reviewQueryBuilder,
       Clock clock,
       Provider<DbUser> userProvider) {
@@ -105,6 +114,7 @@ public class CohortReviewServiceImpl implements CohortReviewService {
     this.participantCohortAnnotationMapper = participantCohortAnnotationMapper;
     this.participantCohortStatusDao = participantCohortStatusDao;
     this.participantCohortStatusMapper = participantCohortStatusMapper;
+    this.participantDataCache = participantDataCache;
     this.reviewQueryBuilder = reviewQueryBuilder;
     this.clock = clock;
     this.userProvider = userProvider;
@@ -190,15 +200,6 @@ public class CohortReviewServiceImpl implements CohortReviewService {
         cohortReviewDao.save(cohortReviewMapper.clientToDbModel(cohortReview, creator)));
   }
 
-  @Override
-  @Transactional
-  public void saveFullCohortReview(
-      CohortReview cohortReview, List<DbParticipantCohortStatus> participantCohortStatuses) {
-    cohortReview.setLastModifiedBy(userProvider.get().getUsername());
-    cohortReviewDao.save(cohortReviewMapper.clientToDbModel(cohortReview));
-    participantCohortStatusDao.saveParticipantCohortStatusesCustom(participantCohortStatuses);
-  }
-
   public CohortReview updateCohortReview(
       CohortReview cohortReview, Long cohortReviewId, Timestamp lastModified) {
     DbCohortReview dbCohortReview = findDbCohortReview(cohortReviewId);
@@ -369,21 +370,55 @@ public class CohortReviewServiceImpl implements CohortReviewService {
   }
 
   @Override
-  public List<DbParticipantCohortStatus> createDbParticipantCohortStatusesList(
+  public long saveRandomParticipantCohortStatuses(
       DbCohort dbCohort, Integer requestSize, Long cohortReviewId) {
     CohortDefinition cohortDefinition =
         new Gson().fromJson(getCohortDefinition(dbCohort), CohortDefinition.class);
     TableResult result =
         bigQueryService.filterBigQueryConfigAndExecuteQuery(
             cohortQueryBuilder.buildRandomParticipantQuery(
-                new ParticipantCriteria(cohortDefinition), requestSize, 0L));
-
-    return participantCohortStatusMapper.tableResultToDbParticipantCohortStatus(
-        result, cohortReviewId);
+                new ParticipantCriteria(cohortDefinition), requestSize, 0L),
+            PARTICIPANT_CHUNK_SIZE);
+
+    // Rows are fetched a page at a time as the chunks are read, so only one chunk of participants
+    // is held in memory
+    Iterator<List<DbParticipantCohortStatus>> chunks =
+        Iterators.partition(
+            Iterators.transform(
+                result.iterateAll().iterator(),
+                row ->
+                    participantCohortStatusMapper.fieldValueListToDbParticipantCohortStatus(
+                        row, cohortReviewId)),
+            PARTICIPANT_CHUNK_SIZE);
+    long saved = 0;
+    try {
+      while (chunks.hasNext()) {
+        List<DbParticipantCohortStatus> chunk = chunks.next();
+        participantCohortStatusDao.saveParticipantCohortStatusesCustom(chunk);
+        saved += chunk.size();
+        log.info(
+            String.format(
+                "Saved %d of %d participants for cohort review %d",
+                saved, result.getTotalRows(), cohortReviewId));
+      }
+    } catch (RuntimeException e) {
+      // don't leave the review with part of its sample
+      participantCohortStatusDao.deleteByCohortReviewId(cohortReviewId);
+      throw e;
+    }
+    return saved;
   }
 
   @Override
   public Long findParticipantCount(Long participantId, Domain domain, PageRequest pageRequest) {
+    final Optional<ParticipantDataCache.ParticipantRows> cached =
+        findCachedParticipantRows(participantId, domain);
+    final Optional<ParticipantDataQuery> query =
+        cached.flatMap(rows -> ParticipantDataQuery.compile(rows.schema(), pageRequest));
+    if (query.isPresent()) {
+      return query.get().count(cached.get().rows());
+    }
+
     TableResult result =
         bigQueryService.filterBigQueryConfigAndExecuteQuery(
             reviewQueryBuilder.buildCountQuery(participantId, domain, pageRequest));
@@ -394,6 +429,18 @@ public class CohortReviewServiceImpl implements CohortReviewService {
   @Override
   public List<ParticipantData> findParticipantData(
       Long participantId, Domain domain, PageRequest pageRequest) {
+    final Optional<ParticipantDataCache.ParticipantRows> cached =
+        findCachedParticipantRows(participantId, domain);
+    final Optional<List<FieldValueList>> page =
+        cached
+            .flatMap(rows -> ParticipantDataQuery.compile(rows.schema(), pageRequest))
+            .flatMap(query -> query.page(cached.get().rows()));
+    if (page.isPresent()) {
+      return page.get().stream()
+          .map(row -> cohortReviewMapper.fieldValueListToParticipantData(row, domain))
+          .toList();
+    }
+
     TableResult result =
         bigQueryService.filterBigQueryConfigAndExecuteQuery(
             reviewQueryBuilder.buildQuery(participantId, domain, pageRequest));
@@ -401,6 +448,21 @@ public class CohortReviewServiceImpl implements CohortReviewService {
     return cohortReviewMapper.tableResultToVocabulary(result, domain);
   }
 
+  /**
+   * All of the participant's rows in this domain, read from BigQuery once per CDR version and then
+   * served from memory. Empty if the participant has too many rows to cache.
+   */
+  private Optional<ParticipantDataCache.ParticipantRows> findCachedParticipantRows(
+      Long participantId, Domain domain) {
+    return participantDataCache.getRows(
+        participantId,
+        domain,
+        () ->
+            bigQueryService.filterBigQueryConfigAndExecuteQuery(
+                reviewQueryBuilder.buildAllRowsQuery(
+                    participantId, domain, participantDataCache.getLoadLimit())));
+  }
+
   @Override
   public List<Vocabulary> findVocabularies() {
     TableResult result =
@@ -0,0 +1,119 @@
+package org.pmiops.workbench.cohortreview;
+
+import com.google.cloud.bigquery.FieldValueList;
+import com.google.cloud.bigquery.Schema;
+import com.google.cloud.bigquery.TableResult;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.pmiops.workbench.cdr.CdrVersionContext;
+import org.pmiops.workbench.db.model.DbCdrVersion;
+import org.pmiops.workbench.model.Domain;
+import org.pmiops.workbench.opentelemetry.MeteredCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the cohort review rows of a participant by CDR version, participant and domain, so that
+ * paging, sorting and filtering a participant's data in the review drill-down is served from
+ * memory instead of running a BigQuery job per request. CDR datasets are never modified after
+ * release; entries expire only to release memory held for participants no longer being reviewed.
+ *
+ * <p>The cache is bounded by the total number of rows it holds. A participant with more than
+ * {@link #MAX_ROWS_PER_ENTRY} rows in a domain is remembered as too large to cache, and callers
+ * query BigQuery for each of their pages as before.
+ */
+@Component
+public class ParticipantDataCache implements MeteredCache {
+  @VisibleForTesting static final long MAX_ROWS = 200_000;
+  @VisibleForTesting static final int MAX_ROWS_PER_ENTRY = 10_000;
+  @VisibleForTesting static final Duration TTL = Duration.ofHours(1);
+
+  @VisibleForTesting
+  record ParticipantKey(
+      long cdrVersionId, String bigqueryDataset, long participantId, Domain domain) {}
+
+  /** The rows of a participant in a domain, in no particular order. */
+  public record ParticipantRows(Schema schema, List<FieldValueList> rows) {}
+
+  // An empty optional marks a participant with too many rows to cache.
+  private final Cache<ParticipantKey, Optional<ParticipantRows>> rowsByParticipant =
+      CacheBuilder.newBuilder()
+          .maximumWeight(MAX_ROWS)
+          .weigher(
+              (ParticipantKey key, Optional<ParticipantRows> value) ->
+                  1 + value.map(rows -> rows.rows().size()).orElse(0))
+          .expireAfterAccess(TTL)
+          .recordStats()
+          .build();
+
+  /**
+   * Returns the cached rows of this participant in the current CDR version, or calls loader and
+   * caches its result. The loader should select every row of the participant in the domain, but
+   * no more than {@link #getLoadLimit()} rows. Concurrent calls with the same key wait for a
+   * single load. Failures are not cached.
+   *
+   * @return the participant's rows, or empty if there is no CDR version in context or the
+   *     participant has too many rows to cache
+   */
+  public Optional<ParticipantRows> getRows(
+      long participantId, Domain domain, Supplier<TableResult> loader) {
+    final Optional<DbCdrVersion> cdrVersion = CdrVersionContext.maybeGetCdrVersion();
+    if (cdrVersion.isEmpty()) {
+      return Optional.empty();
+    }
+    final ParticipantKey key =
+        new ParticipantKey(
+            cdrVersion.get().getCdrVersionId(),
+            cdrVersion.get().getBigqueryDataset(),
+            participantId,
+            domain);
+    try {
+      return rowsByParticipant.get(key, () -> load(loader.get()));
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /** The row limit for loaders: one more than is cached, to detect participants over it. */
+  public int getLoadLimit() {
+    return MAX_ROWS_PER_ENTRY + 1;
+  }
+
+  @Override
+  public String getCacheName() {
+    return "cohort_review_participant_data";
+  }
+
+  @Override
+  public CacheStats getStats() {
+    return rowsByParticipant.stats();
+  }
+
+  @Override
+  public long getSize() {
+    return rowsByParticipant.size();
+  }
+
+  private static Optional<ParticipantRows> load(TableResult result) {
+    final ImmutableList.Builder<FieldValueList> rows = ImmutableList.builder();
+    int rowCount = 0;
+    for (FieldValueList row : result.iterateAll()) {
+      if (++rowCount > MAX_ROWS_PER_ENTRY) {
+        return Optional.empty();
+      }
+      rows.add(row);
+    }
+    return Optional.of(new ParticipantRows(result.getSchema(), rows.build()));
+  }
+}
@@ -0,0 +1,301 @@
+package org.pmiops.workbench.cohortreview;
+
+import static org.pmiops.workbench.model.FilterColumns.AGE_AT_EVENT;
+import static org.pmiops.workbench.model.FilterColumns.NUM_MENTIONS;
+import static org.pmiops.workbench.model.FilterColumns.VALUE_AS_NUMBER;
+
+import com.google.cloud.bigquery.Field;
+import com.google.cloud.bigquery.FieldValue;
+import com.google.cloud.bigquery.FieldValueList;
+import com.google.cloud.bigquery.LegacySQLTypeName;
+import com.google.cloud.bigquery.Schema;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import org.pmiops.workbench.cohortreview.util.PageRequest;
+import org.pmiops.workbench.model.Filter;
+import org.pmiops.workbench.model.FilterColumns;
+import org.pmiops.workbench.model.Operator;
+import org.pmiops.workbench.model.SortOrder;
+
+/**
+ * Evaluates a participant data page request against rows cached by {@link ParticipantDataCache},
+ * with the semantics of the query {@link ReviewQueryBuilder} builds for it:
+ *
+ * <ul>
+ *   <li>text filters other than BETWEEN compare lower(column) to the lowercased values, and LIKE
+ *       is a prefix match
+ *   <li>AGE_AT_EVENT, NUM_MENTIONS and VALUE_AS_NUMBER filters compare numbers
+ *   <li>NULL values match no filter
+ *   <li>rows are sorted by the sort column with BigQuery's NULL ordering (first when ascending,
+ *       last when descending), then by dataId
+ * </ul>
+ *
+ * Requests whose SQL this can't reproduce exactly, e.g. LIKE values with wildcards or filters on
+ * columns of other types, are left to BigQuery.
+ */
+class ParticipantDataQuery {
+  private static final String DATA_ID = "dataId";
+  private static final ImmutableList<FilterColumns> LONG_NUMBERS =
+      ImmutableList.of(AGE_AT_EVENT, NUM_MENTIONS);
+  private static final ImmutableList<FilterColumns> DOUBLE_NUMBERS =
+      ImmutableList.of(VALUE_AS_NUMBER);
+  // BigQuery compares strings by their UTF-8 bytes, which is code point order
+  private static final Comparator<String> CODE_POINT_ORDER =
+      (a, b) -> {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+          final int aCodePoint = a.codePointAt(i);
+          final int bCodePoint = b.codePointAt(j);
+          if (aCodePoint != bCodePoint) {
+            return Integer.compare(aCodePoint, bCodePoint);
+          }
+          i += Character.charCount(aCodePoint);
+          j += Character.charCount(bCodePoint);
+        }
+        return Boolean.compare(i < a.length(), j < b.length());
+      };
+
+  private final Predicate<FieldValueList> filter;
+  // empty if the sort can't be reproduced, which only affects pages
+  private final Optional<Comparator<FieldValueList>> order;
+  private final int offset;
+  private final int limit;
+
+  private ParticipantDataQuery(
+      Predicate<FieldValueList> filter,
+      Optional<Comparator<FieldValueList>> order,
+      int offset,
+      int limit) {
+    this.filter = filter;
+    this.order = order;
+    this.offset = offset;
+    this.limit = limit;
+  }
+
+  /**
+   * Compiles the page request for rows of this schema.
+   *
+   * @return the query, or empty if its filters can't be evaluated in memory
+   */
+  static Optional<ParticipantDataQuery> compile(Schema schema, PageRequest pageRequest) {
+    if (schema == null) {
+      return Optional.empty();
+    }
+    final Map<String, LegacySQLTypeName> columnTypes = new HashMap<>();
+    for (Field field : schema.getFields()) {
+      columnTypes.put(field.getName(), field.getType());
+    }
+
+    Predicate<FieldValueList> filter = row -> true;
+    for (Filter pageFilter : pageRequest.getFilters()) {
+      final Optional<Predicate<FieldValueList>> predicate = compileFilter(pageFilter, columnTypes);
+      if (predicate.isEmpty()) {
+        return Optional.empty();
+      }
+      filter = filter.and(predicate.get());
+    }
+
+    final Optional<Comparator<FieldValueList>> dataIdOrder = compileOrder(DATA_ID, columnTypes);
+    final Optional<Comparator<FieldValueList>> order =
+        compileOrder(pageRequest.getSortColumn(), columnTypes)
+            .map(sort -> pageRequest.getSortOrder() == SortOrder.DESC ? sort.reversed() : sort)
+            .flatMap(sort -> dataIdOrder.map(idOrder -> sort.thenComparing(idOrder)));
+
+    return Optional.of(
+        new ParticipantDataQuery(
+            filter,
+            order,
+            pageRequest.getPage() * pageRequest.getPageSize(),
+            pageRequest.getPageSize()));
+  }
+
+  /** The number of rows which match the request's filters. */
+  long count(List<FieldValueList> rows) {
+    return rows.stream().filter(filter).count();
+  }
+
+  /**
+   * The requested page of the rows which match the request's filters.
+   *
+   * @return the page, or empty if the request's sort can't be evaluated in memory
+   */
+  Optional<List<FieldValueList>> page(List<FieldValueList> rows) {
+    if (order.isEmpty()) {
+      return Optional.empty();
+    }
+    final List<FieldValueList> matches = new ArrayList<>();
+    for (FieldValueList row : rows) {
+      if (filter.test(row)) {
+        matches.add(row);
+      }
+    }
+    matches.sort(order.get());
+    return Optional.of(matches.stream().skip(offset).limit(limit).toList());
+  }
+
+  private static Optional<Predicate<FieldValueList>> compileFilter(
+      Filter filter, Map<String, LegacySQLTypeName> columnTypes) {
+    final String column = filter.getProperty().toString();
+    final LegacySQLTypeName type = columnTypes.get(column);
+    if (type == null) {
+      return Optional.empty();
+    }
+    final Operator operator = filter.getOperator();
+    final List<String> values = filter.getValues();
+    final Optional<IntPredicate> comparison = comparisonMatcher(operator);
+
+    if (LONG_NUMBERS.contains(filter.getProperty())
+        || DOUBLE_NUMBERS.contains(filter.getProperty())) {
+      if (!type.equals(LegacySQLTypeName.INTEGER) && !type.equals(LegacySQLTypeName.FLOAT)) {
+        return Optional.empty();
+      }
+      final Function<String, Number> parse =
+          LONG_NUMBERS.contains(filter.getProperty()) ? Long::valueOf : Double::valueOf;
+      if (comparison.isPresent()) {
+        final Number operand = parse.apply(values.get(0));
+        return Optional.of(
+            row ->
+                matchesNonNull(
+                    row,
+                    column,
+                    value -> comparison.get().test(compareNumbers(value, type, operand))));
+      }
+      if (operator == Operator.BETWEEN) {
+        final Number low = parse.apply(values.get(0));
+        final Number high = parse.apply(values.get(1));
+        return Optional.of(
+            row ->
+                matchesNonNull(
+                    row,
+                    column,
+                    value ->
+                        compareNumbers(value, type, low) >= 0
+                            && compareNumbers(value, type, high) <= 0));
+      }
+      // the SQL doesn't support numeric IN either
+      return Optional.empty();
+    }
+
+    if (!type.equals(LegacySQLTypeName.STRING)) {
+      return Optional.empty();
+    }
+    if (comparison.isPresent()) {
+      final String operand = values.get(0).toLowerCase();
+      return Optional.of(
+          row ->
+              matchesNonNull(
+                  row,
+                  column,
+                  value ->
+                      comparison.get().test(CODE_POINT_ORDER.compare(lower(value), operand))));
+    }
+    switch (operator) {
+      case LIKE:
+        final String prefix = values.get(0).toLowerCase();
+        if (prefix.contains("%") || prefix.contains("_") || prefix.contains("\\")) {
+          return Optional.empty();
+        }
+        return Optional.of(
+            row -> matchesNonNull(row, column, value -> lower(value).startsWith(prefix)));
+      case IN:
+        final List<String> operands = values.stream().map(String::toLowerCase).toList();
+        return Optional.of(
+            row -> matchesNonNull(row, column, value -> operands.contains(lower(value))));
+      case BETWEEN:
+        // the SQL compares the column itself, not lower(column), to the lowercased values
+        final String low = values.get(0).toLowerCase();
+        final String high = values.get(1).toLowerCase();
+        return Optional.of(
+            row ->
+                matchesNonNull(
+                    row,
+                    column,
+                    value ->
+                        CODE_POINT_ORDER.compare(value.getStringValue(), low) >= 0
+                            && CODE_POINT_ORDER.compare(value.getStringValue(), high) <= 0));
+      default:
+        return Optional.empty();
+    }
+  }
+
+  /** Tests the result of comparing a value to the operand, for comparison operators. */
+  private static Optional<IntPredicate> comparisonMatcher(Operator operator) {
+    switch (operator) {
+      case EQUAL:
+        return Optional.of(comparison -> comparison == 0);
+      case NOT_EQUAL:
+        return Optional.of(comparison -> comparison != 0);
+      case LESS_THAN:
+        return Optional.of(comparison -> comparison < 0);
+      case GREATER_THAN:
+        return Optional.of(comparison -> comparison > 0);
+      case LESS_THAN_OR_EQUAL_TO:
+        return Optional.of(comparison -> comparison <= 0);
+      case GREATER_THAN_OR_EQUAL_TO:
+        return Optional.of(comparison -> comparison >= 0);
+      default:
+        return Optional.empty();
+    }
+  }
+
+  private static Optional<Comparator<FieldValueList>> compileOrder(
+      String column, Map<String, LegacySQLTypeName> columnTypes) {
+    final LegacySQLTypeName type = columnTypes.get(column);
+    if (type == null) {
+      return Optional.empty();
+    }
+    final Comparator<FieldValue> valueOrder;
+    if (type.equals(LegacySQLTypeName.INTEGER)) {
+      valueOrder = Comparator.comparingLong(FieldValue::getLongValue);
+    } else if (type.equals(LegacySQLTypeName.FLOAT)) {
+      valueOrder = Comparator.comparingDouble(FieldValue::getDoubleValue);
+    } else if (type.equals(LegacySQLTypeName.TIMESTAMP)) {
+      valueOrder = Comparator.comparingLong(FieldValue::getTimestampValue);
+    } else if (type.equals(LegacySQLTypeName.BOOLEAN)) {
+      valueOrder = Comparator.comparing(FieldValue::getBooleanValue);
+    } else if (type.equals(LegacySQLTypeName.STRING)
+        || type.equals(LegacySQLTypeName.DATE)
+        || type.equals(LegacySQLTypeName.DATETIME)
+        || type.equals(LegacySQLTypeName.TIME)) {
+      // the canonical forms of date and time types sort like the values they represent
+      valueOrder = Comparator.comparing(FieldValue::getStringValue, CODE_POINT_ORDER);
+    } else {
+      return Optional.empty();
+    }
+    return Optional.of(
+        Comparator.comparing(
+            (FieldValueList row) -> nullableValue(row, column).orElse(null),
+            Comparator.nullsFirst(valueOrder)));
+  }
+
+  private static int compareNumbers(FieldValue value, LegacySQLTypeName type, Number operand) {
+    if (type.equals(LegacySQLTypeName.INTEGER) && operand instanceof Long) {
+      return Long.compare(value.getLongValue(), operand.longValue());
+    }
+    return Double.compare(value.getDoubleValue(), operand.doubleValue());
+  }
+
+  private static boolean matchesNonNull(
+      FieldValueList row, String column, Predicate<FieldValue> predicate) {
+    return nullableValue(row, column).filter(predicate).isPresent();
+  }
+
+  private static Optional<FieldValue> nullableValue(FieldValueList row, String column) {
+    final FieldValue value = row.get(column);
+    return value.isNull() ? Optional.empty() : Optional.of(value);
+  }
+
+  private static String lower(FieldValue value) {
+    return value.getStringValue().toLowerCase(Locale.ROOT);
+  }
+}
@@ -96,6 +96,7 @@ public class ReviewQueryBuilder {
 
   private static final String DOMAIN_SQL = "and domain = @" + DOMAIN_PARAM + "\n";
   private static final String ORDER_BY = "order by %s %s, dataId\n limit %s offset %s\n";
+  private static final String LIMIT_SQL = "limit %s\n";
   private static final String BASE_SQL_TEMPLATE =
       "select person_id as personId,\n"
           + "data_id as dataId,\n"
@@ -170,6 +171,41 @@ public class ReviewQueryBuilder {
     return buildQueryJobConfiguration(participantId, domain, pageRequest, true);
   }
 
+  /** Selects up to limit rows of the participant in this domain, unfiltered and in no order. */
+  public QueryJobConfiguration buildAllRowsQuery(Long participantId, Domain domain, int limit) {
+    String sql;
+    Map<String, QueryParameterValue> params = new HashMap<>();
+    params.put(PART_ID, QueryParameterValue.int64(participantId));
+
+    switch (domain) {
+      case SURVEY:
+        sql = String.format(SURVEY_SQL_TEMPLATE, SURVEY_ARGS);
+        break;
+      case ALL_EVENTS:
+        sql = String.format(BASE_SQL_TEMPLATE, BASE_SQL_ARGS);
+        break;
+      case CONDITION:
+      case DEVICE:
+      case DRUG:
+      case LAB:
+      case OBSERVATION:
+      case PHYSICAL_MEASUREMENT:
+      case PROCEDURE:
+      case VISIT:
+      case VITAL:
+        sql = String.format(BASE_SQL_TEMPLATE + DOMAIN_SQL, BASE_SQL_ARGS);
+        params.put(DOMAIN_PARAM, QueryParameterValue.string(domain.name()));
+        break;
+      default:
+        // Not supported for other domain(s) : MEASUREMENT, DEATH, FITBIT....
+        throw new BadRequestException("Not supported for domain named: " + domain);
+    }
+    return QueryJobConfiguration.newBuilder(sql + String.format(LIMIT_SQL, limit))
+        .setNamedParameters(params)
+        .setUseLegacySql(false)
+        .build();
+  }
+
   public QueryJobConfiguration buildVocabularyDataQuery() {
     return QueryJobConfiguration.newBuilder(String.format(VOCAB_DATA_TEMPLATE, REVIEW_TABLE))
         .setUseLegacySql(false)
@@ -2,12 +2,9 @@ package org.pmiops.workbench.cohortreview.mapper;
 
 import com.google.cloud.bigquery.BigQueryException;
 import com.google.cloud.bigquery.FieldValueList;
-import com.google.cloud.bigquery.TableResult;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Table;
 import java.sql.Date;
 import java.time.Instant;
-import java.util.stream.StreamSupport;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Context;
 import org.mapstruct.Mapper;
@@ -77,13 +74,6 @@ public interface ParticipantCohortStatusMapper {
     return dbParticipantCohortStatus;
   }
 
-  default ImmutableList<DbParticipantCohortStatus> tableResultToDbParticipantCohortStatus(
-      TableResult tableResult, Long cohortReviewId) {
-    return StreamSupport.stream(tableResult.iterateAll().spliterator(), false)
-        .map(row -> fieldValueListToDbParticipantCohortStatus(row, cohortReviewId))
-        .collect(ImmutableList.toImmutableList());
-  }
-
   default Date getBirthDate(FieldValueList row) {
     String birthDateTimeString = FieldValues.getString(row, "birth_datetime").orElse(null);
     if (birthDateTimeString == null) {
@@ -132,6 +132,14 @@ public class WorkbenchConfig {
     // The name of the view in the BigQuery billing export dataset that contains the VWB workspaces
     // usage costs.
     public String vwbExportBigQueryTable;
+
+    // Optional. When true, checkInitialCreditsUsage keeps running cost totals per project in the
+    // database and only sums the billing export rows exported since its last refresh, instead of
+    // summing the whole export table on every run. Defaults to false.
+    public Boolean incrementalCostAggregation;
+    // Optional. How often incrementally maintained cost totals are replaced by a full recompute,
+    // which reconciles them with the billing export. Defaults to 24 hours.
+    public Integer costAggregationFullRecomputeHours;
   }
 
   public static class FireCloudConfig {
@@ -169,6 +177,12 @@ public class WorkbenchConfig {
     // The zone that is selected by default when creating a GCE VM. This must be one of the values
     // specified in gceVmZones.
     public String defaultGceVmZone;
+    // Optional. Number of Leonardo calls to run at once when stopping or deleting all of a user's
+    // environments. Defaults to 8.
+    public Integer leonardoBulkOperationParallelism;
+    // Optional. Seconds to allow each of those calls, including retries, before giving up on it.
+    // Defaults to 120.
+    public Integer leonardoBulkOperationTimeoutSeconds;
   }
 
   public static class AuthConfig {
@@ -189,6 +203,9 @@ public class WorkbenchConfig {
     // This should not exceed the value of GenomicExtractionService.MAX_EXTRACTION_SCATTER.
     public int minExtractionScatterTasks;
     public float extractionScatterTasksPerSample;
+    // Optional. Number of running extraction jobs to check in Terra at once when refreshing their
+    // statuses. Defaults to 5.
+    public Integer statusRefreshParallelism;
 
     public abstract static class VersionedConfig {
       // 'method' values refer to both the stored Method and the generated Method Configuration
@@ -365,6 +382,12 @@ public class WorkbenchConfig {
     public boolean enableWorkspaceArchiveRecovery;
     // if true, blocks access to RW1.0 functionality for non-admin users
     public boolean restrictLegacyAccess;
+    // If true, egress audits fetch all runtime log groups with one scan of the log table, rather
+    // than one query per log pattern.
+    public boolean enableSingleScanEgressLogQuery;
+    // If true, each unshared environment cleanup batch lists runtimes, apps and disks across all
+    // projects once, rather than three Leonardo calls per workspace.
+    public boolean enableSnapshotUnsharedEnvironmentCleanup;
   }
 
   public static class ActionAuditConfig {
@@ -386,6 +409,10 @@ public class WorkbenchConfig {
     public String bigQueryTable;
     // The column used to partition the action audit dataset.
     public String partitionColumn;
+    // What to do with audit log entries when the in-memory write queue is full: WRITE_THROUGH
+    // (the default) writes them on the request thread, DROP discards them. Both are counted in
+    // the workbench.action_audit metrics.
+    public String queueOverflowPolicy;
   }
 
   public static class BucketAuditConfig {
@@ -399,6 +426,9 @@ public class WorkbenchConfig {
     public String host;
     // Number of ids per task
     public Integer exportObjectsPerTask;
+    // Optional. Number of workspace ACLs to fetch from Rawls at once while exporting a task's
+    // workspaces. Defaults to 5.
+    public Integer workspaceAclFetchParallelism;
   }
 
   public static class CaptchaConfig {
@@ -424,6 +454,16 @@ public class WorkbenchConfig {
     // OPTIONAL: overrides for batch sizes for specific tables
     // uses the BQ table name when it differs from the RWB table name (or none exists)
     public Map<String, Integer> batchSizeOverrides;
+
+    // OPTIONAL: the number of primary key ranges to split a table into, each of which is uploaded
+    // by its own Cloud Task. Only applies to tables which support keyset batching and whose BQ
+    // table includes the primary key. Uses the BQ table name.
+    public Map<String, Integer> uploadRangeCounts;
+
+    // Optional. When greater than 1, the next batch is read from MySQL while up to this many
+    // earlier batches are uploaded to BigQuery concurrently. Memory use grows by one batch
+    // (maxRowsPerInsert rows) per in-flight upload. Defaults to sequential upload.
+    public Integer maxInFlightUploadBatches;
   }
 
   /** RAS(Researcher Auth Service) configurations. */
@@ -460,6 +500,12 @@ public class WorkbenchConfig {
     public Integer workspacesPerCleanupOrphanedWorkspacesTask;
     // Number of workspaces to process within a single workspace user cache task.
     public Integer workspacesPerWorkspaceUserCacheTask;
+    // Optional. Number of tasks to push onto a queue concurrently when fanning out a batch process.
+    // Defaults to 1, i.e. tasks are pushed one at a time.
+    public Integer cloudTasksEnqueueParallelism;
+    // Optional. Maximum number of tasks per second to push onto a queue when fanning out a batch
+    // process. Unlimited by default.
+    public Double cloudTasksEnqueueQps;
   }
 
   /**
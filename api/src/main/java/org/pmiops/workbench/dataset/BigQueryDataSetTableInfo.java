@@ -3,6 +3,10 @@ package org.pmiops.workbench.dataset;
 import static org.pmiops.workbench.cohortbuilder.SearchGroupItemQueryBuilder.CHILD_LOOKUP_SQL;
 import static org.pmiops.workbench.cohortbuilder.SearchGroupItemQueryBuilder.DRUG_CHILD_LOOKUP_SQL;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.pmiops.workbench.model.Domain;
 
 public enum BigQueryDataSetTableInfo {
@@ -96,6 +100,13 @@ public enum BigQueryDataSetTableInfo {
     return null;
   }
 
+  /** The distinct names of all dataset builder tables. */
+  public static Set<String> getTableNames() {
+    return Arrays.stream(values())
+        .map(info -> info.tableName)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
   public static String getConceptIdIn(Domain domain, boolean standard) {
     for (BigQueryDataSetTableInfo info : values()) {
       if (info.domain.equals(domain)) {
@@ -1,6 +1,5 @@
 package org.pmiops.workbench.dataset;
 
-import static com.google.cloud.bigquery.StandardSQLTypeName.ARRAY;
 import static org.pmiops.workbench.cohortbuilder.SearchGroupItemQueryBuilder.CHILD_LOOKUP_SQL;
 import static org.pmiops.workbench.cohortbuilder.SearchGroupItemQueryBuilder.QUESTION_LOOKUP_SQL;
 import static org.pmiops.workbench.model.PrePackagedConceptSetEnum.SURVEY;
@@ -33,7 +32,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -102,7 +100,7 @@ public class DataSetServiceImpl implements DataSetService {
 
   private static final String MISSING_EXTRACTION_DIR_PLACEHOLDER =
       "\"WORKSPACE_STORAGE_VCF_DIRECTORY_GOES_HERE\"";
-  private static final String CDR_STRING = "\\$\\{projectId}.\\$\\{dataSetId}.";
+  private static final String CDR_STRING = "${projectId}.${dataSetId}.";
 
   private static final String LOCAL_CDR_STRING = "all-of-us-ehr-dev";
 
@@ -1477,52 +1475,7 @@ public class DataSetServiceImpl implements DataSetService {
       String query, AnalysisLanguage analysisLanguage) {
     return new BasicFormatterImpl()
         .format(
-            query.replaceAll(
-                CDR_STRING, ANALYSIS_LANGUAGE_TO_ENV_VARIABLE_MAP.get(analysisLanguage)));
-  }
-
-  // This takes the query, and string replaces in the values for each of the named
-  // parameters generated. For example:
-  //    SELECT * FROM cdr.dataset.person WHERE criteria IN unnest(@p1_1)
-  // becomes:
-  //    SELECT * FROM cdr.dataset.person WHERE criteria IN (1, 2, 3)
-  private static String fillInQueryParams(
-      String query, Map<String, QueryParameterValue> queryParameterValueMap) {
-    return queryParameterValueMap.entrySet().stream()
-        .map(param -> (Function<String, String>) s -> replaceParameter(s, param))
-        .reduce(Function.identity(), Function::andThen)
-        .apply(query)
-        .replaceAll("unnest", "");
-  }
-
-  private static String replaceParameter(
-      String s, Map.Entry<String, QueryParameterValue> parameter) {
-    String value =
-        ARRAY.equals(parameter.getValue().getType())
-            ? nullableListToEmpty(parameter.getValue().getArrayValues()).stream()
-                .map(DataSetServiceImpl::convertSqlTypeToString)
-                .collect(Collectors.joining(", "))
-            : convertSqlTypeToString(parameter.getValue());
-    String key = String.format("@%s", parameter.getKey());
-    return s.replaceAll(key, value);
-  }
-
-  private static String convertSqlTypeToString(QueryParameterValue parameter) {
-    switch (parameter.getType()) {
-      case BOOL:
-        return Boolean.valueOf(parameter.getValue()) ? "1" : "0";
-      case INT64:
-      case FLOAT64:
-      case NUMERIC:
-      case BIGNUMERIC:
-        return parameter.getValue();
-      case STRING:
-      case TIMESTAMP:
-      case DATE:
-        return String.format("'%s'", parameter.getValue());
-      default:
-        throw new RuntimeException();
-    }
+            query.replace(CDR_STRING, ANALYSIS_LANGUAGE_TO_ENV_VARIABLE_MAP.get(analysisLanguage)));
   }
 
   private static List<String> generateDataframeNotebookCells(
@@ -1550,7 +1503,7 @@ public class DataSetServiceImpl implements DataSetService {
     String sasSqlComment = "/* " + sqlComment + " */";
 
     String rawSqlQuery =
-        fillInQueryParams(
+        SqlParameterInliner.inline(
             generateSqlWithEnvironmentVariables(queryJobConfiguration.getQuery(), analysisLanguage),
             queryJobConfiguration.getNamedParameters());
 
@@ -1707,10 +1660,6 @@ public class DataSetServiceImpl implements DataSetService {
     }
   }
 
-  private static <T> List<T> nullableListToEmpty(List<T> nullableList) {
-    return Optional.ofNullable(nullableList).orElse(new ArrayList<>());
-  }
-
   private DbConceptSet buildPrePackagedAllSurveyConceptSet() {
     final DbConceptSet surveyConceptSet = new DbConceptSet();
     surveyConceptSet.setName("SURVEY");
@@ -0,0 +1,132 @@
+package org.pmiops.workbench.dataset;
+
+import static com.google.cloud.bigquery.StandardSQLTypeName.ARRAY;
+
+import com.google.cloud.bigquery.QueryParameterValue;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Inlines the values of named parameters into a BigQuery query, for display in generated notebook
+ * code. For example:
+ *
+ * <pre>
+ *    SELECT * FROM cdr.dataset.person WHERE criteria IN unnest(@p1_1)
+ * </pre>
+ *
+ * becomes:
+ *
+ * <pre>
+ *    SELECT * FROM cdr.dataset.person WHERE criteria IN (1, 2, 3)
+ * </pre>
+ *
+ * The query is scanned once, so the cost is linear in the length of the query plus the size of
+ * the parameter values, however many parameters there are. Only whole parameter names are
+ * replaced, so {@code @p1} doesn't match the start of {@code @p10}, and inlined values are not
+ * rescanned. Quoted strings and identifiers are copied unchanged.
+ */
+final class SqlParameterInliner {
+  private static final String UNNEST = "unnest";
+
+  private SqlParameterInliner() {}
+
+  static String inline(String query, Map<String, QueryParameterValue> queryParameterValueMap) {
+    // Render each value once, however many times it's referenced.
+    final Map<String, String> renderedValues = new HashMap<>();
+    queryParameterValueMap.forEach((name, value) -> renderedValues.put(name, render(value)));
+
+    final int length = query.length();
+    final StringBuilder result = new StringBuilder(length);
+    int i = 0;
+    while (i < length) {
+      final char c = query.charAt(i);
+      if (c == '\'' || c == '`') {
+        final int end = endOfQuoted(query, i);
+        result.append(query, i, end);
+        i = end;
+      } else if (c == '@' && i + 1 < length && isIdentifierStart(query.charAt(i + 1))) {
+        final int end = endOfIdentifier(query, i + 1);
+        final String value = renderedValues.get(query.substring(i + 1, end));
+        if (value == null) {
+          result.append(query, i, end);
+        } else {
+          result.append(value);
+        }
+        i = end;
+      } else if (isIdentifierPart(c)) {
+        final int end = endOfIdentifier(query, i);
+        // Array parameters are inlined as parenthesized lists, so unnest() is dropped.
+        if (end - i != UNNEST.length() || !query.startsWith(UNNEST, i)) {
+          result.append(query, i, end);
+        }
+        i = end;
+      } else {
+        result.append(c);
+        i++;
+      }
+    }
+    return result.toString();
+  }
+
+  private static String render(QueryParameterValue parameter) {
+    return ARRAY.equals(parameter.getType())
+        ? Optional.ofNullable(parameter.getArrayValues()).orElse(List.of()).stream()
+            .map(SqlParameterInliner::convertSqlTypeToString)
+            .collect(Collectors.joining(", "))
+        : convertSqlTypeToString(parameter);
+  }
+
+  private static String convertSqlTypeToString(QueryParameterValue parameter) {
+    switch (parameter.getType()) {
+      case BOOL:
+        return Boolean.valueOf(parameter.getValue()) ? "1" : "0";
+      case INT64:
+      case FLOAT64:
+      case NUMERIC:
+      case BIGNUMERIC:
+        return parameter.getValue();
+      case STRING:
+      case TIMESTAMP:
+      case DATE:
+        return String.format("'%s'", parameter.getValue());
+      default:
+        throw new RuntimeException();
+    }
+  }
+
+  /** Returns the index after the closing quote, or the end of the query if it's unterminated. */
+  private static int endOfQuoted(String query, int openingQuote) {
+    final char quote = query.charAt(openingQuote);
+    int i = openingQuote + 1;
+    while (i < query.length()) {
+      final char c = query.charAt(i);
+      if (c == '\\') {
+        i += 2;
+      } else if (c == quote) {
+        return i + 1;
+      } else {
+        i++;
+      }
+    }
+    return query.length();
+  }
+
+  private static int endOfIdentifier(String query, int start) {
+    int i = start;
+    while (i < query.length() && isIdentifierPart(query.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isIdentifierStart(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return isIdentifierStart(c) || (c >= '0' && c <= '9');
+  }
+}
@@ -0,0 +1,37 @@
+package org.pmiops.workbench.db.dao;
+
+import java.sql.Timestamp;
+import org.pmiops.workbench.db.model.DbBillingCostAggregate;
+import org.pmiops.workbench.db.model.DbBillingCostAggregate.DbBillingCostSource;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface BillingCostAggregateDao
+    extends CrudRepository<DbBillingCostAggregate, DbBillingCostSource> {
+
+  /**
+   * Marks a refresh of this aggregate as started, unless it was refreshed after dueBefore or
+   * another refresh started after abandonedBefore.
+   *
+   * @return 1 if the caller should refresh the aggregate, 0 otherwise
+   */
+  @Transactional
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE DbBillingCostAggregate a SET a.refreshStartedTime = :now WHERE a.source = :source"
+          + " AND (a.lastRefreshTime IS NULL OR a.lastRefreshTime < :dueBefore)"
+          + " AND (a.refreshStartedTime IS NULL OR a.refreshStartedTime < :abandonedBefore)")
+  int claimRefresh(
+      @Param("source") DbBillingCostSource source,
+      @Param("now") Timestamp now,
+      @Param("dueBefore") Timestamp dueBefore,
+      @Param("abandonedBefore") Timestamp abandonedBefore);
+
+  @Transactional
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE DbBillingCostAggregate a SET a.refreshStartedTime = NULL WHERE a.source = :source")
+  void releaseRefresh(@Param("source") DbBillingCostSource source);
+}
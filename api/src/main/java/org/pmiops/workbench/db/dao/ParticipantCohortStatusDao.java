@@ -49,6 +49,13 @@ public interface ParticipantCohortStatusDao
       @Param("personIds") List<Long> personIds,
       @Param("cohortReviewId") Long cohortReviewId);
 
+  @Modifying
+  @Query(
+      value = "DELETE FROM participant_cohort_status WHERE cohort_review_id = :cohortReviewId",
+      nativeQuery = true)
+  @Transactional
+  int deleteByCohortReviewId(@Param("cohortReviewId") Long cohortReviewId);
+
   @Query(
       value =
           "SELECT participant_id"
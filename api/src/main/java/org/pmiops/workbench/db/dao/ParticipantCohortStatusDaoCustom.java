@@ -6,8 +6,9 @@ import org.pmiops.workbench.db.model.DbParticipantCohortStatus;
 
 /**
  * This implementation manually creates batched sql statements. For unknown reasons Spring JPA nor
- * JDBC batching works in appengine running in the cloud. It's old school but it solves our batching
- * issue and can handle inserts up to 10,000 participants.
+ * JDBC batching works in appengine running in the cloud. Inserts use parameterized multi-row
+ * statements (see {@link org.pmiops.workbench.db.jdbc.MultiRowInsert}), so they don't depend on the
+ * driver rewriting batches.
  */
 public interface ParticipantCohortStatusDaoCustom {
 
@@ -4,15 +4,19 @@ import com.google.common.collect.ImmutableList;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.pmiops.workbench.cohortreview.util.PageRequest;
 import org.pmiops.workbench.cohortreview.util.ParticipantCohortStatusDbInfo;
+import org.pmiops.workbench.db.jdbc.MultiRowInsert;
 import org.pmiops.workbench.db.model.DbParticipantCohortStatus;
 import org.pmiops.workbench.db.model.DbParticipantCohortStatusKey;
+import org.pmiops.workbench.db.model.DbStorageEnums;
+import org.pmiops.workbench.model.CohortStatus;
 import org.pmiops.workbench.model.Filter;
 import org.pmiops.workbench.model.FilterColumns;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,13 +55,37 @@ public class ParticipantCohortStatusDaoImpl implements ParticipantCohortStatusDa
 
   private static final String LIMIT_SQL_TEMPLATE = "limit %d, %d";
 
-  private static final String INSERT_SQL_TEMPLATE =
-      "insert into participant_cohort_status("
-          + "birth_date, ethnicity_concept_id, gender_concept_id, race_concept_id, sex_at_birth_concept_id,"
-          + "status, cohort_review_id, participant_id, deceased) "
-          + "values";
-  private static final String NEXT_INSERT = " (%s, %d, %d, %d, %d, %d, %d, %d, %s)";
-  private static final int BATCH_SIZE = 50;
+  // 9 columns of 1000 rows is well under the placeholder limit of a statement, and 1000 rows are
+  // well under the default max_allowed_packet
+  private static final int ROWS_PER_INSERT = 1000;
+  private static final int INSERTS_PER_BATCH = 10;
+
+  private static final MultiRowInsert<DbParticipantCohortStatus> MULTI_ROW_INSERT =
+      new MultiRowInsert<>(
+          "participant_cohort_status",
+          List.of(
+              new MultiRowInsert.Column("birth_date", Types.DATE),
+              new MultiRowInsert.Column("ethnicity_concept_id", Types.BIGINT),
+              new MultiRowInsert.Column("gender_concept_id", Types.BIGINT),
+              new MultiRowInsert.Column("race_concept_id", Types.BIGINT),
+              new MultiRowInsert.Column("sex_at_birth_concept_id", Types.BIGINT),
+              new MultiRowInsert.Column("status", Types.SMALLINT),
+              new MultiRowInsert.Column("cohort_review_id", Types.BIGINT),
+              new MultiRowInsert.Column("participant_id", Types.BIGINT),
+              new MultiRowInsert.Column("deceased", Types.BOOLEAN)),
+          ROWS_PER_INSERT,
+          INSERTS_PER_BATCH,
+          pcs ->
+              Arrays.asList(
+                  pcs.getBirthDate(),
+                  pcs.getEthnicityConceptId(),
+                  pcs.getGenderConceptId(),
+                  pcs.getRaceConceptId(),
+                  pcs.getSexAtBirthConceptId(),
+                  DbStorageEnums.cohortStatusToStorage(CohortStatus.NOT_REVIEWED),
+                  pcs.getParticipantKey().getCohortReviewId(),
+                  pcs.getParticipantKey().getParticipantId(),
+                  pcs.getDeceased()));
 
   @Autowired private JdbcTemplate jdbcTemplate;
 
@@ -69,46 +97,13 @@ public class ParticipantCohortStatusDaoImpl implements ParticipantCohortStatusDa
   @Override
   public void saveParticipantCohortStatusesCustom(
       List<DbParticipantCohortStatus> participantCohortStatuses) {
-    Statement statement = null;
     Connection connection = null;
-    int index = 0;
-    String sqlStatement = INSERT_SQL_TEMPLATE;
 
     try {
       connection = jdbcTemplate.getDataSource().getConnection();
-      statement = connection.createStatement();
       connection.setAutoCommit(false);
 
-      for (DbParticipantCohortStatus pcs : participantCohortStatuses) {
-        String birthDate =
-            pcs.getBirthDate() == null ? "NULL" : "'" + pcs.getBirthDate().toString() + "'";
-        String nextSql =
-            String.format(
-                NEXT_INSERT,
-                birthDate,
-                pcs.getEthnicityConceptId(),
-                pcs.getGenderConceptId(),
-                pcs.getRaceConceptId(),
-                pcs.getSexAtBirthConceptId(),
-                // this represents NOT_REVIEWED
-                3,
-                pcs.getParticipantKey().getCohortReviewId(),
-                pcs.getParticipantKey().getParticipantId(),
-                pcs.getDeceased());
-        sqlStatement =
-            sqlStatement.equals(INSERT_SQL_TEMPLATE)
-                ? sqlStatement + nextSql
-                : sqlStatement + ", " + nextSql;
-
-        if (++index % BATCH_SIZE == 0) {
-          statement.execute(sqlStatement);
-          sqlStatement = INSERT_SQL_TEMPLATE;
-        }
-      }
-
-      if (!sqlStatement.equals(INSERT_SQL_TEMPLATE)) {
-        statement.execute(sqlStatement);
-      }
+      MULTI_ROW_INSERT.insert(connection, participantCohortStatuses);
 
       connection.commit();
 
@@ -118,7 +113,6 @@ public class ParticipantCohortStatusDaoImpl implements ParticipantCohortStatusDa
       throw new RuntimeException("SQLException: " + ex.getMessage(), ex);
     } finally {
       turnOnAutoCommit(connection);
-      close(statement);
       close(connection);
     }
   }
@@ -224,17 +218,6 @@ public class ParticipantCohortStatusDaoImpl implements ParticipantCohortStatusDa
     }
   }
 
-  private void close(Statement statement) {
-    if (statement != null) {
-      try {
-        statement.close();
-      } catch (SQLException e) {
-        log.log(Level.INFO, "Problem closing prepared statement: " + e.getMessage());
-        throw new RuntimeException("SQLException: " + e.getMessage(), e);
-      }
-    }
-  }
-
   private void rollback(Connection connection) {
     if (connection != null) {
       try {
@@ -2,6 +2,7 @@ package org.pmiops.workbench.db.dao;
 
 import jakarta.transaction.Transactional;
 import java.math.BigInteger;
+import java.util.Collection;
 import java.util.List;
 import org.pmiops.workbench.db.model.DbRdrExport;
 import org.springframework.data.jpa.repository.Query;
@@ -44,6 +45,9 @@ public interface RdrExportDao extends CrudRepository<DbRdrExport, Long> {
 
   DbRdrExport findByEntityTypeAndEntityId(short entityType, long entityId);
 
+  List<DbRdrExport> findAllByEntityTypeAndEntityIdIn(
+      short entityType, Collection<Long> entityIds);
+
   @Transactional
   void deleteDbRdrExportsByEntityTypeAndEntityId(short entityType, Long entityId);
 }
@@ -1,5 +1,6 @@
 package org.pmiops.workbench.db.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.pmiops.workbench.db.model.DbAccessTier;
@@ -11,4 +12,6 @@ public interface UserAccessTierDao extends CrudRepository<DbUserAccessTier, Long
   Optional<DbUserAccessTier> getByUserAndAccessTier(DbUser user, DbAccessTier accessTier);
 
   List<DbUserAccessTier> getAllByUser(DbUser user);
+
+  List<DbUserAccessTier> getAllByUserIn(Collection<DbUser> users);
 }
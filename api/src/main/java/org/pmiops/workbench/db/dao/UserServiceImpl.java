@@ -33,6 +33,7 @@ import org.pmiops.workbench.access.AccessSyncService;
 import org.pmiops.workbench.access.AccessTierService;
 import org.pmiops.workbench.actionaudit.Agent;
 import org.pmiops.workbench.actionaudit.auditors.UserServiceAuditor;
+import org.pmiops.workbench.auth.AuthenticationCache;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.db.model.DbAccessModule.DbAccessModuleName;
 import org.pmiops.workbench.db.model.DbAddress;
@@ -62,6 +63,8 @@ import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * A higher-level service class containing user manipulation and business logic which can't be
@@ -93,6 +96,7 @@ public class UserServiceImpl implements UserService {
   private final FireCloudService fireCloudService;
   private final MailService mailService;
   private final DiscoverySourceMapper discoverySourceMapper;
+  private final AuthenticationCache authenticationCache;
   private final AccessSyncService accessSyncService;
 
   private static final Logger log = Logger.getLogger(UserServiceImpl.class.getName());
@@ -114,7 +118,8 @@ public class UserServiceImpl implements UserService {
       AccessTierService accessTierService,
       MailService mailService,
       AccessSyncService accessSyncService,
-      DiscoverySourceMapper discoverySourceMapper) {
+      DiscoverySourceMapper discoverySourceMapper,
+      AuthenticationCache authenticationCache) {
     this.configProvider = configProvider;
     this.userProvider = userProvider;
     this.clock = clock;
@@ -131,13 +136,15 @@ public class UserServiceImpl implements UserService {
     this.mailService = mailService;
     this.accessSyncService = accessSyncService;
     this.discoverySourceMapper = discoverySourceMapper;
+    this.authenticationCache = authenticationCache;
   }
 
   /**
    * Updates a user record with a modifier function.
    *
    * <p>Ensures that the data access tiers for the user reflect the state of other fields on the
-   * user; handles conflicts with concurrent updates by retrying.
+   * user; handles conflicts with concurrent updates by retrying. Cached authentication data for
+   * the user is dropped, so that e.g. disabling takes effect on their next request.
    */
   @Override
   public DbUser updateUserWithRetries(
@@ -148,7 +155,9 @@ public class UserServiceImpl implements UserService {
       dbUser = userModifier.apply(dbUser);
       dbUser = accessSyncService.updateUserAccessTiers(dbUser, agent);
       try {
-        return userDao.save(dbUser);
+        final DbUser savedUser = userDao.save(dbUser);
+        invalidateCachedAuthentication(savedUser);
+        return savedUser;
       } catch (ObjectOptimisticLockingFailureException e) {
         if (objectLockingFailureCount < MAX_RETRIES) {
           long userId = dbUser.getUserId();
@@ -334,6 +343,23 @@ public class UserServiceImpl implements UserService {
     return dbUser;
   }
 
+  /**
+   * Drops the user's cached authentication data now, and again once the caller's transaction
+   * commits: until then, a concurrent request still reads the old row and may cache it again.
+   */
+  private void invalidateCachedAuthentication(DbUser user) {
+    authenticationCache.invalidateUser(user);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              authenticationCache.invalidateUser(user);
+            }
+          });
+    }
+  }
+
   private void setDiscoverySources(
       DbUser dbUser,
       List<GeneralDiscoverySource> generalDiscoverySources,
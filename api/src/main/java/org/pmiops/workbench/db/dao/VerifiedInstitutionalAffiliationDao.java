@@ -1,15 +1,25 @@
 package org.pmiops.workbench.db.dao;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.pmiops.workbench.db.model.DbInstitution;
 import org.pmiops.workbench.db.model.DbUser;
 import org.pmiops.workbench.db.model.DbVerifiedInstitutionalAffiliation;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface VerifiedInstitutionalAffiliationDao
     extends CrudRepository<DbVerifiedInstitutionalAffiliation, Long> {
   Collection<DbVerifiedInstitutionalAffiliation> findAllByInstitution(DbInstitution institution);
 
   Optional<DbVerifiedInstitutionalAffiliation> findFirstByUser(DbUser user);
+
+  // Fetches the institutions as well, rather than one query per institution.
+  @Query(
+      "SELECT a FROM DbVerifiedInstitutionalAffiliation a JOIN FETCH a.institution"
+          + " WHERE a.user IN (:users)")
+  List<DbVerifiedInstitutionalAffiliation> findAllByUserIn(
+      @Param("users") Collection<DbUser> users);
 }
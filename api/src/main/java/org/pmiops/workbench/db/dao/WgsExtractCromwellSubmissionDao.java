@@ -8,7 +8,11 @@ import org.pmiops.workbench.db.model.DbStorageEnums;
 import org.pmiops.workbench.db.model.DbWgsExtractCromwellSubmission;
 import org.pmiops.workbench.db.model.DbWorkspace;
 import org.pmiops.workbench.model.TerraJobStatus;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface WgsExtractCromwellSubmissionDao
     extends CrudRepository<DbWgsExtractCromwellSubmission, Long> {
@@ -22,6 +26,43 @@ public interface WgsExtractCromwellSubmissionDao
       findFirstByDatasetAndTerraStatusInOrderByCreationTimeDesc(
           DbDataset dataset, List<Short> terraStatuses);
 
+  List<DbWgsExtractCromwellSubmission> findAllByTerraStatusIsNullOrTerraStatusIn(
+      List<Short> terraStatuses);
+
+  /** Returns the submissions, in any workspace, which may still be running in Terra. */
+  default List<DbWgsExtractCromwellSubmission> findAllNonTerminal() {
+    return findAllByTerraStatusIsNullOrTerraStatusIn(
+        ImmutableList.of(
+            DbStorageEnums.terraJobStatusToStorage(TerraJobStatus.RUNNING),
+            DbStorageEnums.terraJobStatusToStorage(TerraJobStatus.ABORTING)));
+  }
+
+  /**
+   * Sets the submission's stored status, unless it is already that status.
+   *
+   * @return 1 if the status was changed, 0 otherwise
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE DbWgsExtractCromwellSubmission s SET s.terraStatus = :terraStatus"
+          + " WHERE s.wgsExtractCromwellSubmissionId = :id"
+          + " AND (s.terraStatus IS NULL OR s.terraStatus <> :terraStatus)")
+  int updateTerraStatusIfChanged(@Param("id") long id, @Param("terraStatus") Short terraStatus);
+
+  /**
+   * Stores that the submission failed, so that of several concurrent refreshes which see the
+   * failure, only one acts on it.
+   *
+   * @return whether this call stored the failure, rather than another refresh
+   */
+  default boolean markFailed(DbWgsExtractCromwellSubmission dbSubmission) {
+    return updateTerraStatusIfChanged(
+            dbSubmission.getWgsExtractCromwellSubmissionId(),
+            DbStorageEnums.terraJobStatusToStorage(TerraJobStatus.FAILED))
+        == 1;
+  }
+
   default Optional<DbWgsExtractCromwellSubmission> findMostRecentValidExtractionByDataset(
       DbDataset dataset) {
     return findFirstByDatasetAndTerraStatusInOrderByCreationTimeDesc(
@@ -76,8 +76,26 @@ public interface WorkspaceDao extends CrudRepository<DbWorkspace, Long>, Workspa
 
   List<DbWorkspace> findAllByFirecloudUuidIn(Collection<String> firecloudUuids);
 
+  // For workspace listings: fetches the CDR version and creator of each workspace along with the
+  // workspaces, rather than one at a time. Hibernate loads the inverse one-to-one associations of
+  // a user eagerly, one query each, so they are all fetched here as well.
+  @Query(
+      "SELECT w FROM DbWorkspace w"
+          + " LEFT JOIN FETCH w.cdrVersion v LEFT JOIN FETCH v.accessTier"
+          + " LEFT JOIN FETCH w.creator c"
+          + " LEFT JOIN FETCH c.userInitialCreditsExpiration LEFT JOIN FETCH c.vwbUserPod"
+          + " LEFT JOIN FETCH c.duccAgreement LEFT JOIN FETCH c.demographicSurvey"
+          + " LEFT JOIN FETCH c.demographicSurveyV2 LEFT JOIN FETCH c.address"
+          + " LEFT JOIN FETCH c.newUserSatisfactionSurvey"
+          + " LEFT JOIN FETCH c.newUserSatisfactionSurveyOneTimeCode"
+          + " WHERE w.firecloudUuid IN (:firecloudUuids)")
+  List<DbWorkspace> findAllWithCreatorsByFirecloudUuidIn(
+      @Param("firecloudUuids") Collection<String> firecloudUuids);
+
   default List<DbWorkspace> findActiveByFirecloudUuidIn(Collection<String> firecloudUuids) {
-    return findAllByFirecloudUuidIn(firecloudUuids).stream().filter(DbWorkspace::isActive).toList();
+    return findAllWithCreatorsByFirecloudUuidIn(firecloudUuids).stream()
+        .filter(DbWorkspace::isActive)
+        .toList();
   }
 
   List<DbWorkspace> findAllByWorkspaceIdIn(Collection<Long> dbIds);
@@ -1,6 +1,8 @@
 package org.pmiops.workbench.db.dao;
 
 import jakarta.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import org.pmiops.workbench.db.model.DbUser;
 import org.pmiops.workbench.db.model.DbWorkspace;
@@ -30,4 +32,16 @@ public interface WorkspaceFreeTierUsageDao extends CrudRepository<DbWorkspaceFre
 
   @Query("SELECT SUM(cost) FROM DbWorkspaceFreeTierUsage u WHERE user = :user")
   Double totalCostByUser(@Param("user") DbUser user);
+
+  interface UserCostResult {
+    Long getUserId();
+
+    Double getCost();
+  }
+
+  // Batched form of totalCostByUser. Users without any usage rows are absent from the results.
+  @Query(
+      "SELECT u.user.userId AS userId, SUM(u.cost) AS cost FROM DbWorkspaceFreeTierUsage u"
+          + " WHERE u.user IN (:users) GROUP BY u.user.userId")
+  List<UserCostResult> totalCostByUserIn(@Param("users") Collection<DbUser> users);
 }
@@ -0,0 +1,128 @@
+package org.pmiops.workbench.db.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts rows into a table with parameterized multi-row INSERT statements, e.g. "insert into
+ * t(a, b) values (?, ?), (?, ?)". Each statement inserts up to rowsPerStatement rows. Full
+ * statements reuse one prepared statement, and are sent to the database in JDBC batches of
+ * statementsPerBatch. The rows are bound as they are read, but the driver holds the bound values of
+ * a whole batch until it is sent, so up to rowsPerStatement * statementsPerBatch rows' worth of
+ * values are held at a time.
+ */
+public class MultiRowInsert<T> {
+  // MySQL rejects statements with more placeholders than this
+  private static final int MAX_PLACEHOLDERS = 65535;
+
+  /** A column to insert, and the java.sql.Types type to bind its values as. */
+  public record Column(String name, int sqlType) {}
+
+  private final String table;
+  private final List<Column> columns;
+  private final int rowsPerStatement;
+  private final int statementsPerBatch;
+  private final Function<T, List<?>> rowValues;
+
+  /** @param rowValues the values of a row, in column order */
+  public MultiRowInsert(
+      String table,
+      List<Column> columns,
+      int rowsPerStatement,
+      int statementsPerBatch,
+      Function<T, List<?>> rowValues) {
+    if (rowsPerStatement < 1 || statementsPerBatch < 1) {
+      throw new IllegalArgumentException(
+          "rowsPerStatement and statementsPerBatch must be positive");
+    }
+    if ((long) rowsPerStatement * columns.size() > MAX_PLACEHOLDERS) {
+      throw new IllegalArgumentException(
+          String.format(
+              "%d rows of %d columns is more than %d parameters per statement",
+              rowsPerStatement, columns.size(), MAX_PLACEHOLDERS));
+    }
+    this.table = table;
+    this.columns = List.copyOf(columns);
+    this.rowsPerStatement = rowsPerStatement;
+    this.statementsPerBatch = statementsPerBatch;
+    this.rowValues = rowValues;
+  }
+
+  /**
+   * Inserts the rows using the given connection. Transactions are left to the caller.
+   *
+   * @return the number of rows inserted
+   */
+  public int insert(Connection connection, Iterable<T> rows) throws SQLException {
+    final List<T> pending = new ArrayList<>(rowsPerStatement);
+    int inserted = 0;
+    PreparedStatement fullStatement = null;
+    int batchedStatements = 0;
+    try {
+      for (T row : rows) {
+        pending.add(row);
+        if (pending.size() < rowsPerStatement) {
+          continue;
+        }
+        if (fullStatement == null) {
+          fullStatement = connection.prepareStatement(getSql(rowsPerStatement));
+        }
+        bind(fullStatement, pending);
+        fullStatement.addBatch();
+        inserted += pending.size();
+        pending.clear();
+        if (++batchedStatements == statementsPerBatch) {
+          fullStatement.executeBatch();
+          batchedStatements = 0;
+        }
+      }
+      if (batchedStatements > 0) {
+        fullStatement.executeBatch();
+      }
+    } finally {
+      if (fullStatement != null) {
+        fullStatement.close();
+      }
+    }
+
+    if (!pending.isEmpty()) {
+      try (PreparedStatement statement = connection.prepareStatement(getSql(pending.size()))) {
+        bind(statement, pending);
+        statement.executeUpdate();
+      }
+      inserted += pending.size();
+    }
+    return inserted;
+  }
+
+  /** The SQL of a statement which inserts rowCount rows. */
+  public String getSql(int rowCount) {
+    final String placeholders =
+        "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    return String.format(
+        "insert into %s(%s) values %s",
+        table,
+        columns.stream().map(Column::name).collect(Collectors.joining(", ")),
+        String.join(", ", Collections.nCopies(rowCount, placeholders)));
+  }
+
+  private void bind(PreparedStatement statement, List<T> rows) throws SQLException {
+    int parameterIndex = 1;
+    for (T row : rows) {
+      final List<?> values = rowValues.apply(row);
+      if (values.size() != columns.size()) {
+        throw new IllegalArgumentException(
+            String.format("Expected %d values but got %d", columns.size(), values.size()));
+      }
+      for (int i = 0; i < values.size(); i++) {
+        statement.setObject(parameterIndex++, values.get(i), columns.get(i).sqlType());
+      }
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package org.pmiops.workbench.db.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A half-open range of numeric primary keys: (afterKey, upToKey]. Used for keyset (seek-by-primary
+ * key) batching of the reporting snapshot, and to split a large table into ranges which can be
+ * uploaded by separate Cloud Tasks.
+ */
+public record PrimaryKeyRange(long afterKey, long upToKey) {
+
+  /** Every key of an auto-incremented primary key column. */
+  public static PrimaryKeyRange all() {
+    return new PrimaryKeyRange(0, Long.MAX_VALUE);
+  }
+
+  /**
+   * Split this range into at most rangeCount contiguous ranges of (nearly) equal key width. The
+   * ranges are not balanced by row count, which works well for dense auto-incremented keys.
+   */
+  public List<PrimaryKeyRange> split(int rangeCount) {
+    final long keyCount = upToKey - afterKey;
+    if (rangeCount <= 1 || keyCount <= 1) {
+      return List.of(this);
+    }
+    final long width = keyCount / rangeCount + (keyCount % rangeCount == 0 ? 0 : 1);
+    final List<PrimaryKeyRange> ranges = new ArrayList<>();
+    long start = afterKey;
+    while (start < upToKey) {
+      final long end = upToKey - start <= width ? upToKey : start + width;
+      ranges.add(new PrimaryKeyRange(start, end));
+      start = end;
+    }
+    return ranges;
+  }
+
+  /** This range with no upper bound, so that it includes every key after afterKey. */
+  public PrimaryKeyRange toUnbounded() {
+    return new PrimaryKeyRange(afterKey, Long.MAX_VALUE);
+  }
+
+  /** A short human-readable label, e.g. "(0,5000]" */
+  public String label() {
+    return String.format("(%d,%d]", afterKey, upToKey);
+  }
+}
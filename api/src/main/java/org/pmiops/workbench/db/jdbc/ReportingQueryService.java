@@ -2,6 +2,8 @@ package org.pmiops.workbench.db.jdbc;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -23,6 +25,19 @@ import org.pmiops.workbench.model.ReportingWorkspaceUser;
 
 /** Expose handy, performant queries that don't require Dao, Entity, or Projection classes. */
 public interface ReportingQueryService {
+
+  /** A batch of rows returned by a keyset query, along with the primary key of its last row. */
+  record KeysetBatch<T>(List<T> rows, long lastKey) {}
+
+  /**
+   * A keyset (seek-by-primary-key) batch query: returns at most limit rows with primary keys in
+   * the given range, ordered by primary key.
+   */
+  @FunctionalInterface
+  interface KeysetBatchQuery<T> {
+    KeysetBatch<T> getBatch(long limit, PrimaryKeyRange keyRange);
+  }
+
   List<ReportingDataset> getDatasetBatch(long limit, long offset);
 
   List<ReportingDatasetDomainIdValue> getDatasetDomainIdValueBatch(long limit, long offset);
@@ -33,10 +48,17 @@ public interface ReportingQueryService {
 
   List<ReportingWorkspace> getWorkspaceBatch(long limit, long offset);
 
+  KeysetBatch<ReportingWorkspace> getWorkspaceKeysetBatch(long limit, PrimaryKeyRange keyRange);
+
   List<ReportingWorkspaceUser> getWorkspaceUserBatch(long limit, long offset);
 
+  KeysetBatch<ReportingWorkspaceUser> getWorkspaceUserKeysetBatch(
+      long limit, PrimaryKeyRange keyRange);
+
   List<ReportingUser> getUserBatch(long limit, long offset);
 
+  KeysetBatch<ReportingUser> getUserKeysetBatch(long limit, PrimaryKeyRange keyRange);
+
   List<ReportingCohort> getCohortBatch(long limit, long offset);
 
   List<ReportingNewUserSatisfactionSurvey> getNewUserSatisfactionSurveyBatch(
@@ -118,7 +140,76 @@ public interface ReportingQueryService {
     return StreamSupport.stream(iterable.spliterator(), false);
   }
 
+  /**
+   * Get an iterator to batches of rows, seeking past the last primary key of the previous batch
+   * instead of using an OFFSET, so the cost of each batch does not grow with its position in the
+   * table.
+   *
+   * @param getter - keyset method to retrieve a batch, typically a method reference against this
+   *     interface
+   * @param keyRange - the range of primary keys to iterate over
+   * @param <T> - DTO type
+   */
+  default <T> Iterator<List<T>> getKeysetBatchIterator(
+      KeysetBatchQuery<T> getter, long batchSize, PrimaryKeyRange keyRange) {
+    return new Iterator<>() {
+      private long afterKey = keyRange.afterKey();
+      private KeysetBatch<T> nextBatch = null;
+      private boolean exhausted = false;
+
+      @Override
+      public boolean hasNext() {
+        if (nextBatch == null && !exhausted) {
+          final KeysetBatch<T> batch =
+              getter.getBatch(batchSize, new PrimaryKeyRange(afterKey, keyRange.upToKey()));
+          if (batch.rows().isEmpty()) {
+            exhausted = true;
+          } else {
+            nextBatch = batch;
+          }
+        }
+        return nextBatch != null;
+      }
+
+      @Override
+      public List<T> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final KeysetBatch<T> batch = nextBatch;
+        nextBatch = null;
+        afterKey = batch.lastKey();
+        // a short batch means there's nothing left in the range, so we can skip the final query
+        exhausted = batch.rows().size() < batchSize;
+        return batch.rows();
+      }
+    };
+  }
+
+  /**
+   * Construct a Stream of batches from one of the keyset query methods
+   *
+   * @param getter - keyset version of query method
+   * @param keyRange - the range of primary keys to stream
+   * @param <T> - DTO type
+   */
+  default <T> Stream<List<T>> getKeysetBatchedStream(
+      KeysetBatchQuery<T> getter, long batchSize, PrimaryKeyRange keyRange) {
+    final Iterator<List<T>> batchIterator = getKeysetBatchIterator(getter, batchSize, keyRange);
+    final Iterable<List<T>> iterable = () -> batchIterator;
+    return StreamSupport.stream(iterable.spliterator(), false);
+  }
+
   int getTableRowCount(String rwbTableName);
 
+  /** Count the rows of a table with primary keys in the given range. */
+  int getTableRowCount(String rwbTableName, String keyColumn, PrimaryKeyRange keyRange);
+
+  /**
+   * Get the range of primary keys present in a table, from just below the minimum to the maximum.
+   * Empty if the table has no rows.
+   */
+  Optional<PrimaryKeyRange> getPrimaryKeyBounds(String rwbTableName, String keyColumn);
+
   int getAppUsageRowCount();
 }
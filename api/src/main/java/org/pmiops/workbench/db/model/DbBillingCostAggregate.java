@@ -0,0 +1,109 @@
+package org.pmiops.workbench.db.model;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.Table;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running billing cost totals by project for one billing export table, and the export time up to
+ * which they include billing rows.
+ */
+@Entity
+@Table(name = "billing_cost_aggregate")
+public class DbBillingCostAggregate {
+
+  public enum DbBillingCostSource {
+    // Terra workspaces, by Google project
+    TERRA_WORKSPACES,
+    // VWB pods, by pod ID
+    VWB_PODS
+  }
+
+  private DbBillingCostSource source;
+  private Map<String, Double> totalCostByProject = new HashMap<>();
+  private Timestamp exportTimeWatermark;
+  private Timestamp lastFullRecomputeTime;
+  private Timestamp lastRefreshTime;
+  private Timestamp refreshStartedTime;
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  @Column(name = "source")
+  public DbBillingCostSource getSource() {
+    return source;
+  }
+
+  public DbBillingCostAggregate setSource(DbBillingCostSource source) {
+    this.source = source;
+    return this;
+  }
+
+  @ElementCollection(fetch = FetchType.EAGER)
+  @CollectionTable(
+      name = "billing_cost_aggregate_total",
+      joinColumns = @JoinColumn(name = "source"))
+  @MapKeyColumn(name = "project_id")
+  @Column(name = "total_cost")
+  public Map<String, Double> getTotalCostByProject() {
+    return totalCostByProject;
+  }
+
+  public DbBillingCostAggregate setTotalCostByProject(Map<String, Double> totalCostByProject) {
+    this.totalCostByProject = totalCostByProject;
+    return this;
+  }
+
+  // The totals include exactly the billing export rows with an export_time up to this time
+  @Column(name = "export_time_watermark")
+  public Timestamp getExportTimeWatermark() {
+    return exportTimeWatermark;
+  }
+
+  public DbBillingCostAggregate setExportTimeWatermark(Timestamp exportTimeWatermark) {
+    this.exportTimeWatermark = exportTimeWatermark;
+    return this;
+  }
+
+  @Column(name = "last_full_recompute_time")
+  public Timestamp getLastFullRecomputeTime() {
+    return lastFullRecomputeTime;
+  }
+
+  public DbBillingCostAggregate setLastFullRecomputeTime(Timestamp lastFullRecomputeTime) {
+    this.lastFullRecomputeTime = lastFullRecomputeTime;
+    return this;
+  }
+
+  @Column(name = "last_refresh_time")
+  public Timestamp getLastRefreshTime() {
+    return lastRefreshTime;
+  }
+
+  public DbBillingCostAggregate setLastRefreshTime(Timestamp lastRefreshTime) {
+    this.lastRefreshTime = lastRefreshTime;
+    return this;
+  }
+
+  // Set while a refresh is in progress, so that concurrent checkInitialCreditsUsage tasks don't
+  // all query BigQuery
+  @Column(name = "refresh_started_time")
+  public Timestamp getRefreshStartedTime() {
+    return refreshStartedTime;
+  }
+
+  public DbBillingCostAggregate setRefreshStartedTime(Timestamp refreshStartedTime) {
+    this.refreshStartedTime = refreshStartedTime;
+    return this;
+  }
+}
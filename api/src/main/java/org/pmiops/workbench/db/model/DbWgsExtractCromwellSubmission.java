@@ -31,6 +31,7 @@ public class DbWgsExtractCromwellSubmission {
   private Timestamp completionTime;
   private Short terraStatus;
   private Timestamp terraSubmissionDate;
+  private Timestamp lastStatusCheckTime;
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -178,6 +179,17 @@ public class DbWgsExtractCromwellSubmission {
     return this;
   }
 
+  // When the status was last checked in Terra, null if it never has been
+  @Column(name = "last_status_check_time")
+  public Timestamp getLastStatusCheckTime() {
+    return lastStatusCheckTime;
+  }
+
+  public DbWgsExtractCromwellSubmission setLastStatusCheckTime(Timestamp lastStatusCheckTime) {
+    this.lastStatusCheckTime = lastStatusCheckTime;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -197,7 +209,8 @@ public class DbWgsExtractCromwellSubmission {
         && Objects.equals(creationTime, that.creationTime)
         && Objects.equals(completionTime, that.completionTime)
         && Objects.equals(terraStatus, that.terraStatus)
-        && Objects.equals(terraSubmissionDate, that.terraSubmissionDate);
+        && Objects.equals(terraSubmissionDate, that.terraSubmissionDate)
+        && Objects.equals(lastStatusCheckTime, that.lastStatusCheckTime);
   }
 
   @Override
@@ -213,6 +226,7 @@ public class DbWgsExtractCromwellSubmission {
         creationTime,
         completionTime,
         terraStatus,
-        terraSubmissionDate);
+        terraSubmissionDate,
+        lastStatusCheckTime);
   }
 }
@@ -27,6 +27,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.pmiops.workbench.db.model.DbFeaturedWorkspace.DbFeaturedCategory;
 import org.pmiops.workbench.model.DisseminateResearchEnum;
 import org.pmiops.workbench.model.MigrationState;
@@ -380,6 +382,7 @@ public class DbWorkspace {
   }
 
   @ElementCollection(fetch = FetchType.EAGER)
+  @Fetch(FetchMode.SUBSELECT)
   @CollectionTable(name = "specific_populations", joinColumns = @JoinColumn(name = "workspace_id"))
   @Column(name = "specific_population")
   private Set<Short> getPopulationDetails() {
@@ -410,6 +413,7 @@ public class DbWorkspace {
   }
 
   @ElementCollection(fetch = FetchType.EAGER)
+  @Fetch(FetchMode.SUBSELECT)
   @CollectionTable(
       name = "workspace_disseminate_research",
       joinColumns = @JoinColumn(name = "workspace_id"))
@@ -453,6 +457,7 @@ public class DbWorkspace {
   }
 
   @ElementCollection(fetch = FetchType.EAGER)
+  @Fetch(FetchMode.SUBSELECT)
   @CollectionTable(
       name = "workspace_research_outcomes",
       joinColumns = @JoinColumn(name = "workspace_id"))
@@ -1,11 +1,16 @@
 package org.pmiops.workbench.environments;
 
 import jakarta.annotation.Nullable;
+import jakarta.inject.Provider;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.broadinstitute.dsde.workbench.client.leonardo.model.ListPersistentDiskResponse;
+import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.db.model.DbWorkspace;
 import org.pmiops.workbench.exceptions.WorkbenchException;
 import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoListRuntimeResponse;
@@ -13,6 +18,7 @@ import org.pmiops.workbench.leonardo.LeonardoApiClient;
 import org.pmiops.workbench.leonardo.LeonardoStatusUtils;
 import org.pmiops.workbench.model.UserAppEnvironment;
 import org.pmiops.workbench.model.UserRole;
+import org.pmiops.workbench.utils.mappers.LeonardoMapper;
 import org.pmiops.workbench.workspaces.WorkspaceService;
 import org.pmiops.workbench.workspaces.WorkspaceUserCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,15 +32,21 @@ public class EnvironmentsAdminServiceImpl implements EnvironmentsAdminService {
   private final WorkspaceService workspaceService;
   private final LeonardoApiClient leonardoApiClient;
   private final WorkspaceUserCacheService workspaceUserCacheService;
+  private final LeonardoMapper leonardoMapper;
+  private final Provider<WorkbenchConfig> workbenchConfigProvider;
 
   @Autowired
   public EnvironmentsAdminServiceImpl(
       WorkspaceService workspaceService,
       LeonardoApiClient leonardoApiClient,
-      WorkspaceUserCacheService workspaceUserCacheService) {
+      WorkspaceUserCacheService workspaceUserCacheService,
+      LeonardoMapper leonardoMapper,
+      Provider<WorkbenchConfig> workbenchConfigProvider) {
     this.workspaceService = workspaceService;
     this.leonardoApiClient = leonardoApiClient;
     this.workspaceUserCacheService = workspaceUserCacheService;
+    this.leonardoMapper = leonardoMapper;
+    this.workbenchConfigProvider = workbenchConfigProvider;
   }
 
   /**
@@ -46,7 +58,12 @@ public class EnvironmentsAdminServiceImpl implements EnvironmentsAdminService {
    */
   @Override
   public long deleteUnsharedWorkspaceEnvironmentsBatch(List<String> workspaceNamespaces) {
-    return workspaceService.lookupWorkspacesByNamespace(workspaceNamespaces).stream()
+    List<DbWorkspace> workspaces =
+        workspaceService.lookupWorkspacesByNamespace(workspaceNamespaces);
+    if (workbenchConfigProvider.get().featureFlags.enableSnapshotUnsharedEnvironmentCleanup) {
+      return deleteUnsharedFromSnapshot(workspaces);
+    }
+    return workspaces.stream()
         .filter(
             ws -> {
               boolean successfulGetFirecloudUserRoles = deleteUnshared(ws);
@@ -55,6 +72,79 @@ public class EnvironmentsAdminServiceImpl implements EnvironmentsAdminService {
         .count();
   }
 
+  /**
+   * Delete unshared environments in the given workspaces, using one listing each of all runtimes,
+   * apps, and disks rather than listing them per workspace. Most workspaces have nothing to delete,
+   * so the batch makes three Leonardo list calls however many workspaces it covers, and only looks
+   * up users for workspaces which have environments.
+   *
+   * @param workspaces the workspaces to check for unshared environments
+   * @return the number of workspaces that failed to fetch workspace ACLs
+   */
+  private long deleteUnsharedFromSnapshot(List<DbWorkspace> workspaces) {
+    if (workspaces.isEmpty()) {
+      return 0;
+    }
+    Set<String> googleProjects =
+        workspaces.stream()
+            .map(DbWorkspace::getGoogleProject)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    var runtimesByProject =
+        indexByProject(
+            leonardoApiClient.listRuntimesAsService(),
+            runtime -> leonardoMapper.toGoogleProject(runtime.getCloudContext()),
+            googleProjects);
+    var appsByProject =
+        indexByProject(
+            leonardoApiClient.listAppsAsService(),
+            UserAppEnvironment::getGoogleProject,
+            googleProjects);
+    var disksByProject =
+        indexByProject(
+            leonardoApiClient.listDisksAsService(),
+            disk -> leonardoMapper.toGoogleProject(disk.getCloudContext()),
+            googleProjects);
+
+    return workspaces.stream()
+        .filter(
+            ws -> {
+              var runtimes = runtimesByProject.getOrDefault(ws.getGoogleProject(), List.of());
+              var apps = appsByProject.getOrDefault(ws.getGoogleProject(), List.of());
+              var disks = disksByProject.getOrDefault(ws.getGoogleProject(), List.of());
+              if (runtimes.isEmpty() && apps.isEmpty() && disks.isEmpty()) {
+                return false;
+              }
+              boolean successfulGetFirecloudUserRoles = deleteUnshared(ws, runtimes, apps, disks);
+              return !successfulGetFirecloudUserRoles;
+            })
+        .count();
+  }
+
+  /** Group the given environments by Google project, keeping only those in the given projects. */
+  private static <T> Map<String, List<T>> indexByProject(
+      List<T> environments, Function<T, String> toGoogleProject, Set<String> googleProjects) {
+    return environments.stream()
+        .filter(env -> googleProjects.contains(toGoogleProject.apply(env)))
+        .collect(Collectors.groupingBy(toGoogleProject));
+  }
+
+  /**
+   * Delete unshared environments in the given workspace, listing its runtimes, apps, and disks from
+   * Leonardo.
+   *
+   * @param dbWorkspace the workspace to check for unshared environments and disks
+   * @return true if we were able to get current users from Rawls, false if that call failed
+   */
+  private boolean deleteUnshared(DbWorkspace dbWorkspace) {
+    // this call often fails on Test.  TODO: investigate.
+    return deleteUnshared(
+        dbWorkspace,
+        leonardoApiClient.listRuntimesByProjectAsService(dbWorkspace.getGoogleProject()),
+        leonardoApiClient.listAppsInProjectAsService(dbWorkspace.getGoogleProject()),
+        /* listedDisks */ null);
+  }
+
   /**
    * Delete runtimes, apps, and disks in the given workspace that are not owned by any user with
    * access to the workspace. In most cases, we have nothing to delete. If we find any potential
@@ -71,17 +161,25 @@ public class EnvironmentsAdminServiceImpl implements EnvironmentsAdminService {
    * refetch workspace current users, use those 11. Confirm that disk candidates should still be
    * deleted based on current ACL 12. Delete candidates
    *
+   * <p>Disks listed before any runtimes or apps were deleted may include disks deleted along with
+   * them, so disks are only taken from {@code listedDisks} if nothing else was deleted.
+   *
    * @param dbWorkspace the workspace to check for unshared environments and disks
+   * @param runtimes all runtimes in the workspace
+   * @param apps all apps in the workspace
+   * @param listedDisks all disks in the workspace, or null to list them after deleting runtimes
+   *     and apps
    * @return true if we were able to get current users from Rawls, false if that call failed
    */
-  private boolean deleteUnshared(DbWorkspace dbWorkspace) {
-    // this call often fails on Test.  TODO: investigate.
-
+  private boolean deleteUnshared(
+      DbWorkspace dbWorkspace,
+      List<LeonardoListRuntimeResponse> runtimes,
+      List<UserAppEnvironment> apps,
+      @Nullable List<ListPersistentDiskResponse> listedDisks) {
     // get users out of cache
     var cachedUsers = workspaceUserCacheService.getWorkspaceUsers(dbWorkspace.getWorkspaceId());
 
     // check for runtimes and apps to delete
-    var runtimes = leonardoApiClient.listRuntimesByProjectAsService(dbWorkspace.getGoogleProject());
     var deletableRuntimes =
         runtimes.stream().filter(LeonardoStatusUtils::canDeleteRuntime).toList();
     var possibleRuntimesToDelete =
@@ -89,13 +187,13 @@ public class EnvironmentsAdminServiceImpl implements EnvironmentsAdminService {
             .filter(runtime -> !cachedUsers.contains(runtime.getAuditInfo().getCreator()))
             .toList();
 
-    var apps = leonardoApiClient.listAppsInProjectAsService(dbWorkspace.getGoogleProject());
     var deletableApps = apps.stream().filter(LeonardoStatusUtils::canDeleteApp).toList();
     var possibleAppsToDelete =
         deletableApps.stream().filter(app -> !cachedUsers.contains(app.getCreator())).toList();
 
     // if we have any apps or runtimes to delete, refetch current users before trying to delete
     final Set<String> currentUsers;
+    boolean deletedRuntimesOrApps = false;
     if (!possibleRuntimesToDelete.isEmpty() || !possibleAppsToDelete.isEmpty()) {
       try {
         currentUsers = getCurrentUsers(dbWorkspace);
@@ -104,13 +202,16 @@ public class EnvironmentsAdminServiceImpl implements EnvironmentsAdminService {
       }
 
       // maybe delete runtimes and apps
-      maybeDeleteRuntimes(dbWorkspace, deletableRuntimes, currentUsers, runtimes.size());
-      maybeDeleteApps(dbWorkspace, deletableApps, currentUsers, apps.size());
+      boolean deletedRuntimes =
+          maybeDeleteRuntimes(dbWorkspace, deletableRuntimes, currentUsers, runtimes.size());
+      boolean deletedApps = maybeDeleteApps(dbWorkspace, deletableApps, currentUsers, apps.size());
+      deletedRuntimesOrApps = deletedRuntimes || deletedApps;
     } else {
       currentUsers = null;
     }
 
-    return deleteUnsharedDisks(dbWorkspace, cachedUsers, currentUsers);
+    return deleteUnsharedDisks(
+        dbWorkspace, cachedUsers, currentUsers, deletedRuntimesOrApps ? null : listedDisks);
   }
 
   /**
@@ -121,8 +222,9 @@ public class EnvironmentsAdminServiceImpl implements EnvironmentsAdminService {
    * @param deletableRuntimes all runtimes in the workspace that are in a deletable state
    * @param currentUsers the current users with access to the workspace
    * @param totalRuntimes the total number of runtimes in the workspace
+   * @return true if we tried to delete any runtimes
    */
-  private void maybeDeleteRuntimes(
+  private boolean maybeDeleteRuntimes(
       DbWorkspace dbWorkspace,
       List<LeonardoListRuntimeResponse> deletableRuntimes,
       Set<String> currentUsers,
@@ -154,6 +256,7 @@ public class EnvironmentsAdminServiceImpl implements EnvironmentsAdminService {
             }
           });
     }
+    return !runtimesToDelete.isEmpty();
   }
 
   /**
@@ -164,8 +267,9 @@ public class EnvironmentsAdminServiceImpl implements EnvironmentsAdminService {
    * @param deletableApps all apps in the workspace that are in a deletable state
    * @param currentUsers the current users with access to the workspace
    * @param totalApps the total number of apps in the workspace
+   * @return true if we tried to delete any apps
    */
-  private void maybeDeleteApps(
+  private boolean maybeDeleteApps(
       DbWorkspace dbWorkspace,
       List<UserAppEnvironment> deletableApps,
       Set<String> currentUsers,
@@ -195,6 +299,7 @@ public class EnvironmentsAdminServiceImpl implements EnvironmentsAdminService {
             }
           });
     }
+    return !appsToDelete.isEmpty();
   }
 
   /**
@@ -206,15 +311,22 @@ public class EnvironmentsAdminServiceImpl implements EnvironmentsAdminService {
    * @param cachedUsers the users with access to the workspace according to the workspace user cache
    * @param currentUsers the users with access to the workspace according to a live call to Rawls,
    *     or null if we haven't made that call yet
+   * @param listedDisks all disks in the workspace, or null to list them now
    * @return true if we were able to get current users from Rawls if needed, false if that call
    *     failed
    */
   private boolean deleteUnsharedDisks(
-      DbWorkspace dbWorkspace, Set<String> cachedUsers, @Nullable Set<String> currentUsers) {
+      DbWorkspace dbWorkspace,
+      Set<String> cachedUsers,
+      @Nullable Set<String> currentUsers,
+      @Nullable List<ListPersistentDiskResponse> listedDisks) {
     // check for disks to delete
     // (check disks after runtime and app deletion, because these will delete their associated
     // disks)
-    var disks = leonardoApiClient.listDisksByProjectAsService(dbWorkspace.getGoogleProject());
+    var disks =
+        Objects.requireNonNullElseGet(
+            listedDisks,
+            () -> leonardoApiClient.listDisksByProjectAsService(dbWorkspace.getGoogleProject()));
     var deletableDisks = disks.stream().filter(LeonardoStatusUtils::canDeleteDisk).toList();
     var potentialDisksToDelete =
         deletableDisks.stream()
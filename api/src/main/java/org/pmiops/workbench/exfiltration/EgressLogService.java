@@ -100,17 +100,19 @@ public class EgressLogService {
                 QueryParameterValue.timestamp(FieldValues.toTimestampMicroseconds(endTime)))
             .build();
 
+    String datasetId = getDatasetId(maybeSumologicEvent);
+    String textColumn = getTextColumnName(maybeSumologicEvent);
+    if (workbenchConfigProvider.get().featureFlags.enableSingleScanEgressLogQuery) {
+      return getRuntimeLogGroupsInOneScan(baseParams, datasetId, textColumn);
+    }
+
     Map<EgressTerraRuntimeLogPattern, Job> bigQueryLogJobs =
         terraRuntimeLogPatterns.stream()
             .collect(
                 Collectors.toMap(
                     Function.identity(),
                     (runtimeLogPattern) ->
-                        startBigQueryJob(
-                            runtimeLogPattern,
-                            baseParams,
-                            getDatasetId(maybeSumologicEvent),
-                            getTextColumnName(maybeSumologicEvent))));
+                        startBigQueryJob(runtimeLogPattern, baseParams, datasetId, textColumn)));
 
     return terraRuntimeLogPatterns.stream()
         .map(
@@ -129,6 +131,42 @@ public class EgressLogService {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Fetches the runtime log groups with a single query, so that the log table is scanned once
+   * rather than once per pattern. Each row is returned once for every pattern it matches, tagged
+   * with the pattern's index and total number of matching rows, and the rows are then split into
+   * groups here.
+   */
+  private List<AuditEgressRuntimeLogGroup> getRuntimeLogGroupsInOneScan(
+      Map<String, QueryParameterValue> baseParams, String datasetId, String textColumn) {
+    TableResult result;
+    try {
+      result =
+          startSingleScanBigQueryJob(baseParams, datasetId, textColumn)
+              .getQueryResults(QueryResultsOption.pageSize(RUNTIME_LOG_LIMIT));
+    } catch (InterruptedException e) {
+      throw new ServerErrorException("failed while waiting for BigQuery job", e);
+    }
+
+    List<AuditEgressRuntimeLogGroup> logGroups =
+        terraRuntimeLogPatterns.stream()
+            .map(
+                (pattern) ->
+                    new AuditEgressRuntimeLogGroup()
+                        .name(pattern.getName())
+                        .pattern(pattern.getLogMessagePattern())
+                        .entries(new ArrayList<>())
+                        .totalEntries(0))
+            .collect(Collectors.toList());
+    for (FieldValueList row : result.iterateAll()) {
+      AuditEgressRuntimeLogGroup logGroup =
+          logGroups.get((int) row.get("pattern_index").getLongValue());
+      logGroup.addEntriesItem(toRuntimeLogEntry(row));
+      logGroup.setTotalEntries((int) row.get("pattern_entries").getLongValue());
+    }
+    return logGroups;
+  }
+
   private Optional<SumologicEgressEvent> maybeParseSumologicEvent(@Nullable String sumologicEvent) {
     if (sumologicEvent == null) {
       return Optional.empty();
@@ -206,4 +244,42 @@ public class EgressLogService {
                     .build())
             .build());
   }
+
+  private Job startSingleScanBigQueryJob(
+      Map<String, QueryParameterValue> baseParams, String datasetId, String textColumn) {
+    return bigQueryService.startQuery(
+        QueryJobConfiguration.newBuilder(
+                String.format(
+                    "SELECT timestamp, message, pattern_index, pattern_entries"
+                        + " FROM ("
+                        + "  SELECT timestamp, message, pattern_index,"
+                        + "   ROW_NUMBER() OVER ("
+                        + "    PARTITION BY pattern_index ORDER BY timestamp DESC) AS pattern_row,"
+                        + "   COUNT(*) OVER (PARTITION BY pattern_index) AS pattern_entries"
+                        + "  FROM ("
+                        + "   SELECT timestamp, %s AS message"
+                        + "   FROM %s"
+                        + "   WHERE resource.labels.project_id = @project_id"
+                        + "    AND timestamp BETWEEN @start_time AND @end_time"
+                        + "  ) AS logs"
+                        + "  JOIN UNNEST(@log_patterns) AS log_pattern WITH OFFSET AS pattern_index"
+                        + "   ON logs.message LIKE log_pattern"
+                        + " )"
+                        + " WHERE pattern_row <= @log_limit"
+                        + " ORDER BY pattern_index, timestamp DESC",
+                    textColumn, datasetId))
+            .setNamedParameters(
+                ImmutableMap.<String, QueryParameterValue>builder()
+                    .putAll(baseParams)
+                    .put(
+                        "log_patterns",
+                        QueryParameterValue.array(
+                            terraRuntimeLogPatterns.stream()
+                                .map(EgressTerraRuntimeLogPattern::getLogMessagePattern)
+                                .toArray(String[]::new),
+                            String.class))
+                    .put("log_limit", QueryParameterValue.int64(RUNTIME_LOG_LIMIT))
+                    .build())
+            .build());
+  }
 }
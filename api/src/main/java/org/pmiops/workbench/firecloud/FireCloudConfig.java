@@ -8,7 +8,7 @@ import com.google.protobuf.Duration;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
-import org.pmiops.workbench.auth.ServiceAccounts;
+import org.pmiops.workbench.auth.AccessTokenBroker;
 import org.pmiops.workbench.auth.UserAuthentication;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.exceptions.ServerErrorException;
@@ -72,10 +72,11 @@ public class FireCloudConfig {
 
   @Bean(name = SERVICE_ACCOUNT_API_CLIENT)
   @RequestScope(proxyMode = ScopedProxyMode.DEFAULT)
-  public ApiClient allOfUsApiClient(FirecloudApiClientFactory factory) {
+  public ApiClient allOfUsApiClient(
+      FirecloudApiClientFactory factory, AccessTokenBroker accessTokenBroker) {
     ApiClient apiClient = factory.newApiClient();
     try {
-      apiClient.setAccessToken(ServiceAccounts.getScopedServiceAccessToken(BILLING_SCOPES));
+      apiClient.setAccessToken(accessTokenBroker.getServiceAccessToken(BILLING_SCOPES));
     } catch (IOException e) {
       throw new ServerErrorException(e);
     }
@@ -1,6 +1,7 @@
 package org.pmiops.workbench.genomics;
 
 import com.google.cloud.storage.Blob;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -11,12 +12,15 @@ import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -52,10 +56,12 @@ import org.pmiops.workbench.jira.JiraService.IssueType;
 import org.pmiops.workbench.jira.model.AtlassianContent;
 import org.pmiops.workbench.jira.model.CreatedIssue;
 import org.pmiops.workbench.model.GenomicExtractionJob;
+import org.pmiops.workbench.model.GenomicExtractionJobListResponse;
 import org.pmiops.workbench.model.TanagraGenomicDataRequest;
 import org.pmiops.workbench.model.TerraJobStatus;
 import org.pmiops.workbench.model.WorkspaceAccessLevel;
 import org.pmiops.workbench.rawls.model.RawlsWorkspaceDetails;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
 import org.pmiops.workbench.utils.mappers.CommonMappers;
 import org.pmiops.workbench.workspaces.WorkspaceAuthService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -79,6 +85,14 @@ public class GenomicExtractionService {
 
   private static final BigDecimal MEMORY_RETRY_MULTIPLIER = BigDecimal.valueOf(1.5);
 
+  // A running job's status is checked in Terra every tenth of its age, within these bounds.
+  @VisibleForTesting static final Duration MIN_STATUS_CHECK_INTERVAL = Duration.ofMinutes(1);
+  @VisibleForTesting static final Duration MAX_STATUS_CHECK_INTERVAL = Duration.ofMinutes(15);
+  private static final int STATUS_CHECK_INTERVAL_AGE_DIVISOR = 10;
+
+  private static final int DEFAULT_STATUS_REFRESH_PARALLELISM = 5;
+  private static final Duration STATUS_FETCH_TIMEOUT = Duration.ofMinutes(2);
+
   private final FireCloudService fireCloudService;
   private final GenomicDatasetService genomicDatasetService;
   private final JiraService jiraService;
@@ -90,6 +104,7 @@ public class GenomicExtractionService {
   private final Provider<DbUser> userProvider;
   private final Provider<WorkbenchConfig> workbenchConfigProvider;
   private final WorkspaceAuthService workspaceAuthService;
+  private final RemoteFanOutExecutor remoteFanOutExecutor;
   private final Clock clock;
 
   @Autowired
@@ -106,6 +121,7 @@ public class GenomicExtractionService {
       Provider<DbUser> userProvider,
       Provider<WorkbenchConfig> workbenchConfigProvider,
       WorkspaceAuthService workspaceAuthService,
+      RemoteFanOutExecutor remoteFanOutExecutor,
       Clock clock) {
     this.fireCloudService = fireCloudService;
     this.genomicDatasetService = genomicDatasetService;
@@ -119,6 +135,7 @@ public class GenomicExtractionService {
     this.userProvider = userProvider;
     this.workbenchConfigProvider = workbenchConfigProvider;
     this.workspaceAuthService = workspaceAuthService;
+    this.remoteFanOutExecutor = remoteFanOutExecutor;
     this.clock = clock;
   }
 
@@ -139,59 +156,196 @@ public class GenomicExtractionService {
     return !(status == TerraJobStatus.RUNNING || status == TerraJobStatus.ABORTING);
   }
 
-  public List<GenomicExtractionJob> getGenomicExtractionJobs(
-      String workspaceNamespace, String workspaceTerraName) {
+  private boolean isNonTerminal(DbWgsExtractCromwellSubmission dbSubmission) {
+    return dbSubmission.getTerraStatusEnum() == null
+        || !isTerminal(dbSubmission.getTerraStatusEnum());
+  }
+
+  /**
+   * Lists the workspace's extraction jobs as stored in the database, which the background refresh
+   * keeps up to date. When forceRefresh is set, the running jobs are checked in Terra first.
+   */
+  public GenomicExtractionJobListResponse getGenomicExtractionJobs(
+      String workspaceNamespace, String workspaceTerraName, boolean forceRefresh) {
     DbWorkspace dbWorkspace =
         workspaceAuthService.getWorkspaceEnforceAccessLevelAndSetCdrVersion(
             workspaceNamespace, workspaceTerraName, WorkspaceAccessLevel.READER);
 
-    return wgsExtractCromwellSubmissionDao.findAllByWorkspace(dbWorkspace).stream()
-        .map(
-            dbSubmission -> {
-              try {
-                // Don't bother checking if we already know the job is in a terminal status.
-                if (dbSubmission.getTerraStatusEnum() == null
-                    || !isTerminal(dbSubmission.getTerraStatusEnum())) {
-                  WgsCohortExtractionConfig cohortExtractionConfig =
-                      workbenchConfigProvider.get().wgsCohortExtraction;
-                  FirecloudSubmission firecloudSubmission =
-                      submissionApiProvider
-                          .get()
-                          .getSubmission(
-                              cohortExtractionConfig.operationalTerraWorkspaceNamespace,
-                              cohortExtractionConfig.operationalTerraWorkspaceName,
-                              dbSubmission.getSubmissionId());
-
-                  TerraJobStatus oldStatus = dbSubmission.getTerraStatusEnum();
-                  TerraJobStatus status =
-                      genomicExtractionMapper.convertWorkflowStatus(
-                          // Extraction submissions should only have one workflow.
-                          firecloudSubmission.getWorkflows().get(0).getStatus());
-                  dbSubmission.setTerraStatusEnum(status);
-
-                  if (TerraJobStatus.SUCCEEDED.equals(status)) {
-                    dbSubmission.setVcfSizeMb(getWorkflowSize(firecloudSubmission));
-                  }
-
-                  if (isTerminal(status)) {
-                    OffsetDateTime completionTime =
-                        firecloudSubmission.getWorkflows().get(0).getStatusLastChangedDate();
-                    Timestamp completionTimestamp = convertToSystemTimestamp(completionTime);
-                    dbSubmission.setCompletionTime(completionTimestamp);
-                  }
-
-                  if (TerraJobStatus.FAILED.equals(status) && !status.equals(oldStatus)) {
-                    maybeNotifyOnJobFailure(dbSubmission, firecloudSubmission);
-                  }
-
-                  wgsExtractCromwellSubmissionDao.save(dbSubmission);
-                }
-                return genomicExtractionMapper.toApi(dbSubmission);
-              } catch (ApiException e) {
-                throw new ServerErrorException("Could not fetch submission status from Terra", e);
-              }
-            })
-        .toList();
+    List<DbWgsExtractCromwellSubmission> dbSubmissions =
+        wgsExtractCromwellSubmissionDao.findAllByWorkspace(dbWorkspace);
+    if (forceRefresh) {
+      refreshStatuses(dbSubmissions.stream().filter(this::isNonTerminal).toList());
+    }
+
+    return new GenomicExtractionJobListResponse()
+        .jobs(dbSubmissions.stream().map(genomicExtractionMapper::toApi).toList())
+        .lastRefreshedTime(
+            dbSubmissions.stream()
+                .filter(this::isNonTerminal)
+                // a job which hasn't been checked yet was last known to be running when created
+                .map(
+                    dbSubmission ->
+                        Optional.ofNullable(dbSubmission.getLastStatusCheckTime())
+                            .orElse(dbSubmission.getCreationTime()))
+                .filter(Objects::nonNull)
+                .map(Timestamp::getTime)
+                .min(Long::compare)
+                .orElse(null));
+  }
+
+  /**
+   * Checks Terra for the status of running extraction jobs in all workspaces. Each job is checked
+   * at an interval which grows with its age, so that a job which has just been submitted is
+   * checked every minute while one which has run for hours is checked every quarter hour.
+   */
+  public void refreshNonTerminalExtractionJobs() {
+    Instant now = clock.instant();
+    List<DbWgsExtractCromwellSubmission> dueSubmissions =
+        wgsExtractCromwellSubmissionDao.findAllNonTerminal().stream()
+            .filter(dbSubmission -> isStatusCheckDue(dbSubmission, now))
+            .toList();
+    log.info(
+        String.format(
+            "Refreshing the status of %d running genomic extraction jobs",
+            dueSubmissions.size()));
+    refreshStatuses(dueSubmissions);
+  }
+
+  @VisibleForTesting
+  static boolean isStatusCheckDue(DbWgsExtractCromwellSubmission dbSubmission, Instant now) {
+    if (dbSubmission.getLastStatusCheckTime() == null) {
+      return true;
+    }
+    Timestamp submissionTime =
+        Optional.ofNullable(dbSubmission.getTerraSubmissionDate())
+            .orElse(dbSubmission.getCreationTime());
+    Duration age =
+        submissionTime == null ? Duration.ZERO : Duration.between(submissionTime.toInstant(), now);
+    Duration interval = age.dividedBy(STATUS_CHECK_INTERVAL_AGE_DIVISOR);
+    if (interval.compareTo(MIN_STATUS_CHECK_INTERVAL) < 0) {
+      interval = MIN_STATUS_CHECK_INTERVAL;
+    } else if (interval.compareTo(MAX_STATUS_CHECK_INTERVAL) > 0) {
+      interval = MAX_STATUS_CHECK_INTERVAL;
+    }
+    return !dbSubmission.getLastStatusCheckTime().toInstant().plus(interval).isAfter(now);
+  }
+
+  /**
+   * Fetches the submissions' statuses from Terra concurrently, and stores them. A submission whose
+   * status can't be fetched is logged and left as it was.
+   */
+  private void refreshStatuses(List<DbWgsExtractCromwellSubmission> dbSubmissions) {
+    if (dbSubmissions.isEmpty()) {
+      return;
+    }
+    int parallelism =
+        Math.max(
+            1,
+            Math.min(
+                dbSubmissions.size(),
+                Objects.requireNonNullElse(
+                    workbenchConfigProvider.get().wgsCohortExtraction.statusRefreshParallelism,
+                    DEFAULT_STATUS_REFRESH_PARALLELISM)));
+    final Map<Long, TerraSubmissionState> statesByExtractionId = new ConcurrentHashMap<>();
+    remoteFanOutExecutor.runAll(
+        "refresh genomic extraction statuses",
+        dbSubmissions.stream()
+            .map(
+                dbSubmission ->
+                    new StatusFetchTarget(
+                        dbSubmission.getWgsExtractCromwellSubmissionId(),
+                        dbSubmission.getSubmissionId()))
+            .toList(),
+        target -> {
+          try {
+            statesByExtractionId.put(
+                target.extractionId(), fetchSubmissionState(target.submissionId()));
+            return true;
+          } catch (ApiException e) {
+            log.log(
+                Level.WARNING,
+                String.format(
+                    "Could not fetch submission status from Terra for genomic extraction %d",
+                    target.extractionId()),
+                e);
+            return false;
+          }
+        },
+        parallelism,
+        STATUS_FETCH_TIMEOUT);
+
+    // Store the results on this thread, which owns the persistence context.
+    for (DbWgsExtractCromwellSubmission dbSubmission : dbSubmissions) {
+      final TerraSubmissionState state =
+          statesByExtractionId.get(dbSubmission.getWgsExtractCromwellSubmissionId());
+      if (state != null) {
+        updateSubmission(dbSubmission, state);
+      }
+    }
+  }
+
+  /** A submission whose status is fetched, named in logs by its genomic extraction's id. */
+  private record StatusFetchTarget(long extractionId, String submissionId) {
+    @Override
+    public String toString() {
+      return "genomic extraction " + extractionId;
+    }
+  }
+
+  private record TerraSubmissionState(
+      FirecloudSubmission firecloudSubmission, TerraJobStatus status, Long vcfSizeMb) {}
+
+  private TerraSubmissionState fetchSubmissionState(String submissionId) throws ApiException {
+    WgsCohortExtractionConfig cohortExtractionConfig =
+        workbenchConfigProvider.get().wgsCohortExtraction;
+    FirecloudSubmission firecloudSubmission =
+        submissionApiProvider
+            .get()
+            .getSubmission(
+                cohortExtractionConfig.operationalTerraWorkspaceNamespace,
+                cohortExtractionConfig.operationalTerraWorkspaceName,
+                submissionId);
+
+    TerraJobStatus status =
+        genomicExtractionMapper.convertWorkflowStatus(
+            // Extraction submissions should only have one workflow.
+            firecloudSubmission.getWorkflows().get(0).getStatus());
+    Long vcfSizeMb =
+        TerraJobStatus.SUCCEEDED.equals(status) ? getWorkflowSize(firecloudSubmission) : null;
+    return new TerraSubmissionState(firecloudSubmission, status, vcfSizeMb);
+  }
+
+  private void updateSubmission(
+      DbWgsExtractCromwellSubmission dbSubmission, TerraSubmissionState state) {
+    FirecloudSubmission firecloudSubmission = state.firecloudSubmission();
+    TerraJobStatus oldStatus = dbSubmission.getTerraStatusEnum();
+    TerraJobStatus status = state.status();
+    // A user's refresh can race the background one, so the failure is stored conditionally, and
+    // only the refresh which stores it notifies. This runs before the entity is modified, which
+    // would otherwise be flushed first.
+    boolean notifyOnFailure =
+        TerraJobStatus.FAILED.equals(status)
+            && !status.equals(oldStatus)
+            && wgsExtractCromwellSubmissionDao.markFailed(dbSubmission);
+    dbSubmission.setTerraStatusEnum(status);
+    dbSubmission.setLastStatusCheckTime(Timestamp.from(clock.instant()));
+
+    if (TerraJobStatus.SUCCEEDED.equals(status)) {
+      dbSubmission.setVcfSizeMb(state.vcfSizeMb());
+    }
+
+    if (isTerminal(status)) {
+      OffsetDateTime completionTime =
+          firecloudSubmission.getWorkflows().get(0).getStatusLastChangedDate();
+      Timestamp completionTimestamp = convertToSystemTimestamp(completionTime);
+      dbSubmission.setCompletionTime(completionTimestamp);
+    }
+
+    if (notifyOnFailure) {
+      maybeNotifyOnJobFailure(dbSubmission, firecloudSubmission);
+    }
+
+    wgsExtractCromwellSubmissionDao.save(dbSubmission);
   }
 
   // Convert a given offset date time to a timestamp in the system's default time zone.
@@ -521,6 +675,8 @@ public class GenomicExtractionService {
     dbSubmission.setDataset(dataSet);
     dbSubmission.setCreator(userProvider.get());
     dbSubmission.setCreationTime(new Timestamp(clock.instant().toEpochMilli()));
+    // Terra has just accepted the submission, so it's known to be running as of now.
+    dbSubmission.setLastStatusCheckTime(dbSubmission.getCreationTime());
     OffsetDateTime submissionDate = submissionResponse.getSubmissionDate();
     Timestamp timestamp = convertToSystemTimestamp(submissionDate);
     dbSubmission.setTerraSubmissionDate(timestamp);
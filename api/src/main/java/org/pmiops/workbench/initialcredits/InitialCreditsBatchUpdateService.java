@@ -33,7 +33,7 @@ public class InitialCreditsBatchUpdateService {
   private static final Logger log =
       Logger.getLogger(InitialCreditsBatchUpdateService.class.getName());
 
-  private final InitialCreditsBigQueryService initialCreditsBigQueryService;
+  private final InitialCreditsCostAggregationService initialCreditsCostAggregationService;
   private final InitialCreditsService initialCreditsService;
   private final Provider<Stopwatch> stopwatchProvider;
   private final UserDao userDao;
@@ -42,13 +42,13 @@ public class InitialCreditsBatchUpdateService {
 
   @Autowired
   public InitialCreditsBatchUpdateService(
-      InitialCreditsBigQueryService initialCreditsBigQueryService,
+      InitialCreditsCostAggregationService initialCreditsCostAggregationService,
       InitialCreditsService initialCreditsService,
       Provider<Stopwatch> stopwatchProvider,
       UserDao userDao,
       WorkspaceDao workspaceDao,
       Provider<WorkbenchConfig> workbenchConfigProvider) {
-    this.initialCreditsBigQueryService = initialCreditsBigQueryService;
+    this.initialCreditsCostAggregationService = initialCreditsCostAggregationService;
     this.initialCreditsService = initialCreditsService;
     this.userDao = userDao;
     this.stopwatchProvider = stopwatchProvider;
@@ -84,7 +84,7 @@ public class InitialCreditsBatchUpdateService {
     Set<String> googleProjects = workspaceDao.getWorkspaceGoogleProjectsForCreators(userIdList);
     Stopwatch stopwatch = stopwatchProvider.get().start();
     Map<String, Double> userWorkspaceCosts =
-        initialCreditsBigQueryService.getAllTerraWorkspaceCostsFromBQ().entrySet().stream()
+        initialCreditsCostAggregationService.getAllTerraWorkspaceCosts().entrySet().stream()
             .filter(entry -> googleProjects.contains(entry.getKey()))
             .collect(
                 Collectors.groupingBy(Entry::getKey, Collectors.summingDouble(Entry::getValue)));
@@ -113,7 +113,7 @@ public class InitialCreditsBatchUpdateService {
     Set<String> activeVwbPodIds = activePodIdToUserPodMap.keySet();
 
     // Map VWB project costs to user IDs
-    return initialCreditsBigQueryService.getAllVWBProjectCostsFromBQ().entrySet().stream()
+    return initialCreditsCostAggregationService.getAllVWBProjectCosts().entrySet().stream()
         .filter(entry -> activeVwbPodIds.contains(entry.getKey()))
         .collect(
             Collectors.toMap(
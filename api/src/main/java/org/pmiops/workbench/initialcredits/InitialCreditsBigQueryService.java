@@ -2,11 +2,15 @@ package org.pmiops.workbench.initialcredits;
 
 import com.google.cloud.bigquery.FieldValueList;
 import com.google.cloud.bigquery.QueryJobConfiguration;
+import com.google.cloud.bigquery.QueryParameterValue;
+import jakarta.annotation.Nullable;
 import jakarta.inject.Provider;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import org.pmiops.workbench.api.BigQueryService;
 import org.pmiops.workbench.config.WorkbenchConfig;
+import org.pmiops.workbench.utils.FieldValues;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -22,16 +26,31 @@ public class InitialCreditsBigQueryService {
   }
 
   Map<String, Double> getAllTerraWorkspaceCostsFromBQ() {
-    final QueryJobConfiguration queryConfig =
+    return getTerraWorkspaceCostsFromBQ(null, null);
+  }
+
+  /**
+   * Gets Terra workspace costs from the billing rows exported in a time range, aggregated by
+   * Google project.
+   *
+   * @param exportedAfter exclusive lower bound on export_time, or null for no lower bound
+   * @param exportedUpTo inclusive upper bound on export_time, or null for no upper bound
+   * @return a map of Google project to its cost within the range.
+   */
+  Map<String, Double> getTerraWorkspaceCostsFromBQ(
+      @Nullable Instant exportedAfter, @Nullable Instant exportedUpTo) {
+    final QueryJobConfiguration.Builder queryBuilder =
         QueryJobConfiguration.newBuilder(
-                "SELECT id, SUM(cost) cost FROM `"
-                    + workbenchConfigProvider.get().billing.exportBigQueryTable
-                    + "` WHERE id IS NOT NULL "
-                    + "GROUP BY id ORDER BY cost desc;")
-            .build();
+            "SELECT id, SUM(cost) cost FROM `"
+                + workbenchConfigProvider.get().billing.exportBigQueryTable
+                + "` WHERE id IS NOT NULL "
+                + exportTimeFilter(exportedAfter, exportedUpTo)
+                + "GROUP BY id;");
+    addExportTimeParameters(queryBuilder, exportedAfter, exportedUpTo);
 
     final Map<String, Double> liveCostByWorkspace = new HashMap<>();
-    for (FieldValueList tableRow : bigQueryService.executeQuery(queryConfig).getValues()) {
+    for (FieldValueList tableRow :
+        bigQueryService.executeQuery(queryBuilder.build()).iterateAll()) {
       final String googleProject = tableRow.get("id").getStringValue();
       liveCostByWorkspace.put(googleProject, tableRow.get("cost").getDoubleValue());
     }
@@ -45,23 +64,34 @@ public class InitialCreditsBigQueryService {
    * @return a map of vwb_pod_id to total cost.
    */
   Map<String, Double> getAllVWBProjectCostsFromBQ() {
-    StringBuilder queryBuilder = new StringBuilder();
-    queryBuilder
-        .append("SELECT sum(cost) cost, vwb_pod_id ")
-        .append("FROM `")
-        .append(workbenchConfigProvider.get().billing.vwbExportBigQueryTable)
-        .append("` ")
-        .append("WHERE vwb_org_id = \"")
-        .append(workbenchConfigProvider.get().vwb.organizationId)
-        .append("\"")
-        .append(" group by vwb_pod_id order by cost desc; ");
+    return getVWBProjectCostsFromBQ(null, null);
+  }
 
-    final QueryJobConfiguration queryConfig =
-        QueryJobConfiguration.newBuilder(queryBuilder.toString()).build();
+  /**
+   * Gets VWB project costs from the billing rows exported in a time range, aggregated by
+   * vwb_pod_id.
+   *
+   * @param exportedAfter exclusive lower bound on export_time, or null for no lower bound
+   * @param exportedUpTo inclusive upper bound on export_time, or null for no upper bound
+   * @return a map of vwb_pod_id to its cost within the range.
+   */
+  Map<String, Double> getVWBProjectCostsFromBQ(
+      @Nullable Instant exportedAfter, @Nullable Instant exportedUpTo) {
+    final WorkbenchConfig config = workbenchConfigProvider.get();
+    final QueryJobConfiguration.Builder queryBuilder =
+        QueryJobConfiguration.newBuilder(
+                "SELECT sum(cost) cost, vwb_pod_id FROM `"
+                    + config.billing.vwbExportBigQueryTable
+                    + "` WHERE vwb_org_id = @vwb_org_id "
+                    + exportTimeFilter(exportedAfter, exportedUpTo)
+                    + "group by vwb_pod_id;")
+            .addNamedParameter("vwb_org_id", QueryParameterValue.string(config.vwb.organizationId));
+    addExportTimeParameters(queryBuilder, exportedAfter, exportedUpTo);
 
     // Group by the pod
     final Map<String, Double> costByVwbPodId = new HashMap<>();
-    for (FieldValueList tableRow : bigQueryService.executeQuery(queryConfig).getValues()) {
+    for (FieldValueList tableRow :
+        bigQueryService.executeQuery(queryBuilder.build()).iterateAll()) {
       final String vwbPodId =
           tableRow.get("vwb_pod_id").isNull() ? null : tableRow.get("vwb_pod_id").getStringValue();
       final double totalCost = tableRow.get("cost").getDoubleValue();
@@ -72,4 +102,26 @@ public class InitialCreditsBigQueryService {
 
     return costByVwbPodId;
   }
+
+  private static String exportTimeFilter(
+      @Nullable Instant exportedAfter, @Nullable Instant exportedUpTo) {
+    return (exportedAfter == null ? "" : "AND export_time > @exported_after ")
+        + (exportedUpTo == null ? "" : "AND export_time <= @exported_up_to ");
+  }
+
+  private static void addExportTimeParameters(
+      QueryJobConfiguration.Builder queryBuilder,
+      @Nullable Instant exportedAfter,
+      @Nullable Instant exportedUpTo) {
+    if (exportedAfter != null) {
+      queryBuilder.addNamedParameter(
+          "exported_after",
+          QueryParameterValue.timestamp(FieldValues.toTimestampMicroseconds(exportedAfter)));
+    }
+    if (exportedUpTo != null) {
+      queryBuilder.addNamedParameter(
+          "exported_up_to",
+          QueryParameterValue.timestamp(FieldValues.toTimestampMicroseconds(exportedUpTo)));
+    }
+  }
 }
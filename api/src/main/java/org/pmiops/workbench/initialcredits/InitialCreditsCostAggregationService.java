@@ -0,0 +1,217 @@
+package org.pmiops.workbench.initialcredits;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Sets;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Provider;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+import org.pmiops.workbench.config.WorkbenchConfig;
+import org.pmiops.workbench.db.dao.BillingCostAggregateDao;
+import org.pmiops.workbench.db.model.DbBillingCostAggregate;
+import org.pmiops.workbench.db.model.DbBillingCostAggregate.DbBillingCostSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Provides the live cost of every Terra workspace and VWB pod for checkInitialCreditsUsage.
+ *
+ * <p>By default, every call sums the whole billing export table in BigQuery. With {@code
+ * billing.incrementalCostAggregation}, the totals are kept in the database instead, along with the
+ * export time up to which they include billing rows. A refresh adds the costs of the rows exported
+ * since then, and at most one checkInitialCreditsUsage task refreshes the totals at a time; the
+ * others use the totals as they are, or query BigQuery directly while there are no totals yet. A
+ * periodic full recompute replaces the totals, and logs how far they had drifted from the billing
+ * export.
+ */
+@Service
+public class InitialCreditsCostAggregationService {
+  private static final Logger log =
+      Logger.getLogger(InitialCreditsCostAggregationService.class.getName());
+
+  // The batches of a checkInitialCreditsUsage run share one refresh
+  @VisibleForTesting static final Duration REFRESH_INTERVAL = Duration.ofMinutes(10);
+  // Rows exported more recently than this may not be visible to queries yet, so an incremental
+  // refresh leaves them for the next one. A full recompute includes everything, and any rows it
+  // misses are picked up by the next full recompute.
+  @VisibleForTesting static final Duration SETTLE_TIME = Duration.ofHours(1);
+  // A refresh which hasn't finished by now has failed without releasing its claim
+  private static final Duration ABANDONED_AFTER = Duration.ofMinutes(30);
+  private static final int DEFAULT_FULL_RECOMPUTE_HOURS = 24;
+  private static final double DRIFT_TOLERANCE = 0.01;
+
+  /** Sums the costs of the billing rows exported in (exportedAfter, exportedUpTo]. */
+  @FunctionalInterface
+  private interface CostQuery {
+    Map<String, Double> run(@Nullable Instant exportedAfter, Instant exportedUpTo);
+  }
+
+  private final BillingCostAggregateDao billingCostAggregateDao;
+  private final Clock clock;
+  private final InitialCreditsBigQueryService initialCreditsBigQueryService;
+  private final Provider<WorkbenchConfig> workbenchConfigProvider;
+
+  public InitialCreditsCostAggregationService(
+      BillingCostAggregateDao billingCostAggregateDao,
+      Clock clock,
+      InitialCreditsBigQueryService initialCreditsBigQueryService,
+      Provider<WorkbenchConfig> workbenchConfigProvider) {
+    this.billingCostAggregateDao = billingCostAggregateDao;
+    this.clock = clock;
+    this.initialCreditsBigQueryService = initialCreditsBigQueryService;
+    this.workbenchConfigProvider = workbenchConfigProvider;
+  }
+
+  /** Returns a map of Google project to its total cost. */
+  public Map<String, Double> getAllTerraWorkspaceCosts() {
+    if (!isIncremental()) {
+      return initialCreditsBigQueryService.getAllTerraWorkspaceCostsFromBQ();
+    }
+    return getAggregatedCosts(
+        DbBillingCostSource.TERRA_WORKSPACES,
+        initialCreditsBigQueryService::getTerraWorkspaceCostsFromBQ);
+  }
+
+  /** Returns a map of vwb_pod_id to its total cost. */
+  public Map<String, Double> getAllVWBProjectCosts() {
+    if (!isIncremental()) {
+      return initialCreditsBigQueryService.getAllVWBProjectCostsFromBQ();
+    }
+    return getAggregatedCosts(
+        DbBillingCostSource.VWB_PODS, initialCreditsBigQueryService::getVWBProjectCostsFromBQ);
+  }
+
+  private boolean isIncremental() {
+    return Boolean.TRUE.equals(workbenchConfigProvider.get().billing.incrementalCostAggregation);
+  }
+
+  private Map<String, Double> getAggregatedCosts(DbBillingCostSource source, CostQuery query) {
+    final Instant now = clock.instant();
+    final DbBillingCostAggregate aggregate = findOrCreate(source);
+    if (!isRefreshDue(aggregate, now)
+        || billingCostAggregateDao.claimRefresh(
+                source,
+                Timestamp.from(now),
+                Timestamp.from(now.minus(REFRESH_INTERVAL)),
+                Timestamp.from(now.minus(ABANDONED_AFTER)))
+            == 0) {
+      // Until the first refresh finishes, there are no totals to return
+      return aggregate.getExportTimeWatermark() == null
+          ? query.run(null, now.truncatedTo(ChronoUnit.SECONDS))
+          : aggregate.getTotalCostByProject();
+    }
+
+    try {
+      return refresh(billingCostAggregateDao.findById(source).orElseThrow(), query, now);
+    } catch (RuntimeException e) {
+      billingCostAggregateDao.releaseRefresh(source);
+      throw e;
+    }
+  }
+
+  private DbBillingCostAggregate findOrCreate(DbBillingCostSource source) {
+    return billingCostAggregateDao
+        .findById(source)
+        .orElseGet(
+            () -> {
+              try {
+                return billingCostAggregateDao.save(new DbBillingCostAggregate().setSource(source));
+              } catch (DataIntegrityViolationException e) {
+                // created by a concurrent task
+                return billingCostAggregateDao.findById(source).orElseThrow();
+              }
+            });
+  }
+
+  private static boolean isRefreshDue(DbBillingCostAggregate aggregate, Instant now) {
+    return aggregate.getLastRefreshTime() == null
+        || aggregate.getLastRefreshTime().toInstant().isBefore(now.minus(REFRESH_INTERVAL));
+  }
+
+  private Map<String, Double> refresh(
+      DbBillingCostAggregate aggregate, CostQuery query, Instant now) {
+    final Instant watermark =
+        aggregate.getExportTimeWatermark() == null
+            ? null
+            : aggregate.getExportTimeWatermark().toInstant();
+    // Updated in place, so that only the changed entries are written
+    final Map<String, Double> totals = aggregate.getTotalCostByProject();
+    // Whole seconds, to match the precision of the database
+    Instant exportedUpTo;
+    if (watermark == null || isFullRecomputeDue(aggregate, now)) {
+      exportedUpTo = now.truncatedTo(ChronoUnit.SECONDS);
+      final Map<String, Double> recomputedTotals = query.run(null, exportedUpTo);
+      if (watermark != null) {
+        logDrift(aggregate.getSource(), totals, recomputedTotals);
+      }
+      totals.keySet().retainAll(recomputedTotals.keySet());
+      recomputedTotals.forEach(
+          (project, cost) -> {
+            if (!cost.equals(totals.get(project))) {
+              totals.put(project, cost);
+            }
+          });
+      aggregate.setLastFullRecomputeTime(Timestamp.from(now));
+    } else {
+      // Never moves backwards, or rows which are already counted would be counted again
+      exportedUpTo = now.minus(SETTLE_TIME).truncatedTo(ChronoUnit.SECONDS);
+      if (exportedUpTo.isAfter(watermark)) {
+        query
+            .run(watermark, exportedUpTo)
+            .forEach((project, cost) -> totals.merge(project, cost, Double::sum));
+      } else {
+        exportedUpTo = watermark;
+      }
+    }
+
+    billingCostAggregateDao.save(
+        aggregate
+            .setExportTimeWatermark(Timestamp.from(exportedUpTo))
+            .setLastRefreshTime(Timestamp.from(now))
+            .setRefreshStartedTime(null));
+    return totals;
+  }
+
+  private boolean isFullRecomputeDue(DbBillingCostAggregate aggregate, Instant now) {
+    final int fullRecomputeHours =
+        Objects.requireNonNullElse(
+            workbenchConfigProvider.get().billing.costAggregationFullRecomputeHours,
+            DEFAULT_FULL_RECOMPUTE_HOURS);
+    return aggregate.getLastFullRecomputeTime() == null
+        || aggregate
+            .getLastFullRecomputeTime()
+            .toInstant()
+            .isBefore(now.minus(Duration.ofHours(fullRecomputeHours)));
+  }
+
+  private static void logDrift(
+      DbBillingCostSource source,
+      Map<String, Double> incrementalTotals,
+      Map<String, Double> recomputedTotals) {
+    int driftedProjects = 0;
+    double totalDrift = 0;
+    for (String project : Sets.union(incrementalTotals.keySet(), recomputedTotals.keySet())) {
+      final double drift =
+          recomputedTotals.getOrDefault(project, 0.0)
+              - incrementalTotals.getOrDefault(project, 0.0);
+      if (Math.abs(drift) > DRIFT_TOLERANCE) {
+        driftedProjects++;
+        totalDrift += drift;
+      }
+    }
+    if (driftedProjects > 0) {
+      log.warning(
+          String.format(
+              "Full recompute of %s costs corrected %d projects by a total of $%.2f",
+              source, driftedProjects, totalDrift));
+    } else {
+      log.info(String.format("Full recompute of %s costs matched the running totals", source));
+    }
+  }
+}
@@ -14,6 +14,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -23,6 +24,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.pmiops.workbench.actionaudit.auditors.UserServiceAuditor;
 import org.pmiops.workbench.cloudtasks.TaskQueueService;
@@ -31,6 +34,7 @@ import org.pmiops.workbench.db.dao.UserDao;
 import org.pmiops.workbench.db.dao.VwbUserPodDao;
 import org.pmiops.workbench.db.dao.WorkspaceDao;
 import org.pmiops.workbench.db.dao.WorkspaceFreeTierUsageDao;
+import org.pmiops.workbench.db.dao.WorkspaceFreeTierUsageDao.UserCostResult;
 import org.pmiops.workbench.db.model.DbUser;
 import org.pmiops.workbench.db.model.DbUserInitialCreditsExpiration;
 import org.pmiops.workbench.db.model.DbVwbUserPod;
@@ -42,6 +46,7 @@ import org.pmiops.workbench.firecloud.FireCloudService;
 import org.pmiops.workbench.institution.InstitutionService;
 import org.pmiops.workbench.leonardo.LeonardoApiClient;
 import org.pmiops.workbench.mail.MailService;
+import org.pmiops.workbench.model.InitialCreditResponse;
 import org.pmiops.workbench.model.WorkspaceActiveStatus;
 import org.pmiops.workbench.user.VwbUserService;
 import org.pmiops.workbench.utils.BillingUtils;
@@ -226,11 +231,16 @@ public class InitialCreditsService {
    */
   @Nullable
   public Double getCachedInitialCreditsUsage(DbUser user) {
+    return getCachedInitialCreditsUsage(user, workspaceFreeTierUsageDao.totalCostByUser(user));
+  }
+
+  @Nullable
+  private static Double getCachedInitialCreditsUsage(
+      DbUser user, @Nullable Double legacyInitialCreditsCost) {
     double totalCost = 0.0d;
     if (user != null && user.getVwbUserPod() != null) {
       totalCost += Optional.ofNullable(user.getVwbUserPod().getCost()).orElse(0.0d);
     }
-    Double legacyInitialCreditsCost = workspaceFreeTierUsageDao.totalCostByUser(user);
     if (legacyInitialCreditsCost != null) {
       totalCost += legacyInitialCreditsCost;
     }
@@ -319,13 +329,77 @@ public class InitialCreditsService {
    *     double
    */
   public double getWorkspaceCreatorInitialCreditsRemaining(DbWorkspace dbWorkspace) {
-    Double creatorCachedUsage = this.getCachedInitialCreditsUsage(dbWorkspace.getCreator());
-    Double creatorLimit = this.getUserInitialCreditsLimit(dbWorkspace.getCreator());
+    return getInitialCreditsRemaining(
+        dbWorkspace.getCreator(), this.getCachedInitialCreditsUsage(dbWorkspace.getCreator()));
+  }
+
+  private double getInitialCreditsRemaining(DbUser creator, @Nullable Double creatorCachedUsage) {
+    Double creatorLimit = this.getUserInitialCreditsLimit(creator);
     double creatorCreditsRemaining =
         creatorCachedUsage == null ? creatorLimit : creatorLimit - creatorCachedUsage;
     return Math.max(creatorCreditsRemaining, 0);
   }
 
+  /**
+   * The initial credits of each of the given workspace creators, as shown on their workspaces.
+   * Equivalent to calling the individual getters for each creator, but looks up usage and
+   * institutional bypasses for all creators at once, so that listing workspaces doesn't cost
+   * several queries per workspace.
+   *
+   * <p>Exhaustion is tracked per workspace, so {@link InitialCreditResponse#isExhausted()} is left
+   * for the caller to set.
+   *
+   * @param creators the workspace creators, which may include duplicates
+   * @return each creator's initial credits, keyed by user ID
+   */
+  public Map<Long, InitialCreditResponse> getWorkspaceCreatorsInitialCredits(
+      Collection<DbUser> creators) {
+    final List<DbUser> distinctCreators =
+        creators.stream()
+            .collect(Collectors.toMap(DbUser::getUserId, Function.identity(), (a, b) -> a))
+            .values()
+            .stream()
+            .toList();
+    if (distinctCreators.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    final Map<Long, Double> legacyCostByUser =
+        workspaceFreeTierUsageDao.totalCostByUserIn(distinctCreators).stream()
+            .filter(result -> result.getCost() != null)
+            .collect(Collectors.toMap(UserCostResult::getUserId, UserCostResult::getCost));
+    final Set<Long> institutionBypassedUsers =
+        institutionService.getUserIdsBypassingCreditsExpiration(distinctCreators);
+
+    return distinctCreators.stream()
+        .collect(
+            Collectors.toMap(
+                DbUser::getUserId,
+                creator ->
+                    getWorkspaceCreatorInitialCredits(
+                        creator,
+                        legacyCostByUser.get(creator.getUserId()),
+                        institutionBypassedUsers.contains(creator.getUserId()))));
+  }
+
+  private InitialCreditResponse getWorkspaceCreatorInitialCredits(
+      DbUser creator, @Nullable Double legacyInitialCreditsCost, boolean institutionBypass) {
+    final Double cachedUsage = getCachedInitialCreditsUsage(creator, legacyInitialCreditsCost);
+    final double usage = Optional.ofNullable(cachedUsage).orElse(0.0);
+    return new InitialCreditResponse()
+        .eligibleForExtension(
+            checkInitialCreditsExtensionEligibility(creator, () -> !costAboveLimit(creator, usage)))
+        .expirationEpochMillis(
+            getCreditsExpiration(creator, () -> institutionBypass)
+                .map(Timestamp::getTime)
+                .orElse(null))
+        .extensionEpochMillis(
+            getCreditsExtension(creator, () -> institutionBypass)
+                .map(Timestamp::getTime)
+                .orElse(null))
+        .expirationBypassed(isExpirationBypassed(creator, () -> institutionBypass))
+        .balance(getInitialCreditsRemaining(creator, cachedUsage));
+  }
+
   /**
    * For each of the users corresponding to the given user IDs, check if their initial credits have
    * expired, or will handle soon, and handle accordingly.
@@ -347,10 +421,15 @@ public class InitialCreditsService {
    *     institutionally.
    */
   public Optional<Timestamp> getCreditsExpiration(DbUser user) {
+    return getCreditsExpiration(
+        user, () -> institutionService.shouldBypassForCreditsExpiration(user));
+  }
+
+  private Optional<Timestamp> getCreditsExpiration(DbUser user, BooleanSupplier institutionBypass) {
     return workbenchConfigProvider.get().featureFlags.enableInitialCreditsExpiration
         ? Optional.ofNullable(user.getUserInitialCreditsExpiration())
             .filter(exp -> !exp.isBypassed()) // If the expiration is bypassed, return empty.
-            .filter(exp -> !institutionService.shouldBypassForCreditsExpiration(user))
+            .filter(exp -> !institutionBypass.getAsBoolean())
             .map(DbUserInitialCreditsExpiration::getExpirationTime)
         : Optional.empty();
   }
@@ -364,9 +443,14 @@ public class InitialCreditsService {
    *     institutionally.
    */
   public Optional<Timestamp> getCreditsExtension(DbUser user) {
+    return getCreditsExtension(
+        user, () -> institutionService.shouldBypassForCreditsExpiration(user));
+  }
+
+  private Optional<Timestamp> getCreditsExtension(DbUser user, BooleanSupplier institutionBypass) {
     return Optional.ofNullable(user.getUserInitialCreditsExpiration())
         .filter(exp -> !exp.isBypassed()) // If the expiration is bypassed, return empty.
-        .filter(exp -> !institutionService.shouldBypassForCreditsExpiration(user))
+        .filter(exp -> !institutionBypass.getAsBoolean())
         .map(DbUserInitialCreditsExpiration::getExtensionTime);
   }
 
@@ -438,6 +522,11 @@ public class InitialCreditsService {
   }
 
   public boolean isExpirationBypassed(DbUser user) {
+    return isExpirationBypassed(
+        user, () -> institutionService.shouldBypassForCreditsExpiration(user));
+  }
+
+  private boolean isExpirationBypassed(DbUser user, BooleanSupplier institutionBypass) {
     DbUserInitialCreditsExpiration userInitialCreditsExpiration =
         user.getUserInitialCreditsExpiration();
 
@@ -445,7 +534,7 @@ public class InitialCreditsService {
     // except for users who have not yet finished training. Could we safely remove this?
     return userInitialCreditsExpiration != null
         && (userInitialCreditsExpiration.isBypassed()
-            || institutionService.shouldBypassForCreditsExpiration(user));
+            || institutionBypass.getAsBoolean());
   }
 
   public DbUser extendInitialCreditsExpiration(DbUser user) {
@@ -453,6 +542,12 @@ public class InitialCreditsService {
   }
 
   public boolean checkInitialCreditsExtensionEligibility(DbUser dbUser) {
+    return checkInitialCreditsExtensionEligibility(
+        dbUser, () -> userHasRemainingInitialCredits(dbUser));
+  }
+
+  private boolean checkInitialCreditsExtensionEligibility(
+      DbUser dbUser, BooleanSupplier hasRemainingInitialCredits) {
     if (checkEnableUnlinkBillingForInitialCreditsFlag()) {
       return false; // Feature is effectively disabled
     }
@@ -462,7 +557,7 @@ public class InitialCreditsService {
     Instant now = clock.instant();
     WorkbenchConfig.BillingConfig billingConfig = workbenchConfigProvider.get().billing;
 
-    return userHasRemainingInitialCredits(dbUser)
+    return hasRemainingInitialCredits.getAsBoolean()
         && initialCreditsExpiration != null
         && initialCreditsExpiration.getExtensionTime() == null
         && initialCreditsExpiration.getCreditStartTime() != null
@@ -1,8 +1,10 @@
 package org.pmiops.workbench.institution;
 
 import jakarta.annotation.Nullable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.pmiops.workbench.db.model.DbInstitution;
 import org.pmiops.workbench.db.model.DbUser;
 import org.pmiops.workbench.db.model.DbVerifiedInstitutionalAffiliation;
@@ -133,6 +135,13 @@ public interface InstitutionService {
   /** If true, this institution's users are exempt from credit expiration. */
   boolean shouldBypassForCreditsExpiration(DbUser user);
 
+  /**
+   * Batched form of {@link #shouldBypassForCreditsExpiration(DbUser)}.
+   *
+   * @return the IDs of those users whose institutions exempt them from credit expiration
+   */
+  Set<Long> getUserIdsBypassingCreditsExpiration(Collection<DbUser> users);
+
   /**
    * Process the next user to be added or removed for the specified institution.
    *
@@ -16,6 +16,8 @@ import java.sql.Timestamp;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +25,8 @@ import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -722,6 +726,28 @@ public class InstitutionServiceImpl implements InstitutionService {
     return getByUser(user).map(Institution::isBypassInitialCreditsExpiration).orElse(false);
   }
 
+  @Override
+  public Set<Long> getUserIdsBypassingCreditsExpiration(Collection<DbUser> users) {
+    if (users.isEmpty()) {
+      return Collections.emptySet();
+    }
+    // As in shouldBypassForCreditsExpiration, only each user's first affiliation counts
+    final Comparator<DbVerifiedInstitutionalAffiliation> byId =
+        Comparator.comparingLong(
+            DbVerifiedInstitutionalAffiliation::getVerifiedInstitutionalAffiliationId);
+    final Map<Long, DbVerifiedInstitutionalAffiliation> firstAffiliationsByUserId =
+        verifiedInstitutionalAffiliationDao.findAllByUserIn(users).stream()
+            .collect(
+                Collectors.toMap(
+                    affiliation -> affiliation.getUser().getUserId(),
+                    Function.identity(),
+                    BinaryOperator.minBy(byId)));
+    return firstAffiliationsByUserId.entrySet().stream()
+        .filter(entry -> entry.getValue().getInstitution().getBypassInitialCreditsExpiration())
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+  }
+
   /** Validates list of email addresses, and throw {@link BadRequestException} if not valid. */
   private static void validateEmailAddressOrThrow(Set<String> emailAddresses) {
     emailAddresses.forEach(
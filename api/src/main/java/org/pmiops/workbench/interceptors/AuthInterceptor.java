@@ -15,6 +15,8 @@ import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.pmiops.workbench.annotations.AuthorityRequired;
+import org.pmiops.workbench.auth.AuthenticationCache;
+import org.pmiops.workbench.auth.AuthenticationCache.TokenIdentity;
 import org.pmiops.workbench.auth.UserAuthentication;
 import org.pmiops.workbench.auth.UserAuthentication.UserType;
 import org.pmiops.workbench.auth.UserInfoService;
@@ -55,6 +57,7 @@ public class AuthInterceptor implements AsyncHandlerInterceptor {
   private final UserDao userDao;
   private final UserService userService;
   private final DevUserRegistrationService devUserRegistrationService;
+  private final AuthenticationCache authenticationCache;
 
   @Autowired
   public AuthInterceptor(
@@ -63,13 +66,15 @@ public class AuthInterceptor implements AsyncHandlerInterceptor {
       Provider<WorkbenchConfig> workbenchConfigProvider,
       UserDao userDao,
       UserService userService,
-      DevUserRegistrationService devUserRegistrationService) {
+      DevUserRegistrationService devUserRegistrationService,
+      AuthenticationCache authenticationCache) {
     this.userInfoService = userInfoService;
     this.fireCloudService = fireCloudService;
     this.workbenchConfigProvider = workbenchConfigProvider;
     this.userDao = userDao;
     this.userService = userService;
     this.devUserRegistrationService = devUserRegistrationService;
+    this.authenticationCache = authenticationCache;
   }
 
   /**
@@ -137,16 +142,14 @@ public class AuthInterceptor implements AsyncHandlerInterceptor {
       return false;
     }
     String token = maybeToken.get();
-    final Userinfo userInfo = userInfoService.getUserInfo(token);
-
-    // The Workbench considers the user's generated GSuite email to be their userName
-    // Don't confuse this with the user's Contact Email, which is unrelated
-    String userName = userInfo.getEmail();
+    final TokenIdentity identity =
+        authenticationCache.getIdentity(token, () -> lookUpIdentity(token));
+    final Userinfo userInfo = identity.userInfo();
+    final String userName = identity.username();
 
     // TODO: check Google group membership to ensure user is in registered user group
 
-    if (workbenchConfigProvider.get().auth.serviceAccountApiUsers.contains(userName)
-        || isVwbServiceAccount(userName)) {
+    if (isServiceAccountApiUser(userName)) {
       // Whitelisted service accounts are able to make API calls, too.
       // TODO: stop treating service accounts as normal users, have a separate table for them,
       // administrators.
@@ -160,26 +163,14 @@ public class AuthInterceptor implements AsyncHandlerInterceptor {
       log.log(Level.INFO, "{0} service account in use", userName);
       return true;
     }
-    String gsuiteDomainSuffix =
-        "@" + workbenchConfigProvider.get().googleDirectoryService.gSuiteDomain;
-    if (!userName.endsWith(gsuiteDomainSuffix) && !isVwbServiceAccount(userName)) {
-      // Temporarily set the authentication with no user, so we can look up what user this
-      // corresponds to in FireCloud.
-      SecurityContextHolder.getContext()
-          .setAuthentication(
-              new UserAuthentication(null, userInfo, token, UserType.SERVICE_ACCOUNT));
-      // If the email is neither in our GSuite domain nor VWB SA, try FireCloud; we could be
-      // dealing with a pet service account. In both AofU and FireCloud, the pet SA is treated as
-      // if it were the user it was created for.
-      userName = fireCloudService.getMe().getUserInfo().getUserEmail();
-      if (!userName.endsWith(gsuiteDomainSuffix)) {
-        log.info(
-            String.format(
-                "User %s isn't in domain %s, can't access the workbench",
-                userName, gsuiteDomainSuffix));
-        response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
-        return false;
-      }
+    String gsuiteDomainSuffix = getGsuiteDomainSuffix();
+    if (!userName.endsWith(gsuiteDomainSuffix)) {
+      log.info(
+          String.format(
+              "User %s isn't in domain %s, can't access the workbench",
+              userName, gsuiteDomainSuffix));
+      response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+      return false;
     }
     DbUser user = userDao.findUserByUsername(userName);
     if (user == null) {
@@ -217,6 +208,38 @@ public class AuthInterceptor implements AsyncHandlerInterceptor {
     return true;
   }
 
+  /**
+   * Resolves the Workbench username behind a token. This makes remote calls, so its result is
+   * cached by {@link AuthenticationCache}.
+   */
+  private TokenIdentity lookUpIdentity(String token) {
+    final Userinfo userInfo = userInfoService.getUserInfo(token);
+
+    // The Workbench considers the user's generated GSuite email to be their userName
+    // Don't confuse this with the user's Contact Email, which is unrelated
+    final String email = userInfo.getEmail();
+    if (isServiceAccountApiUser(email) || email.endsWith(getGsuiteDomainSuffix())) {
+      return new TokenIdentity(userInfo, email);
+    }
+    // Temporarily set the authentication with no user, so we can look up what user this
+    // corresponds to in FireCloud.
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UserAuthentication(null, userInfo, token, UserType.SERVICE_ACCOUNT));
+    // If the email is neither in our GSuite domain nor VWB SA, try FireCloud; we could be
+    // dealing with a pet service account. In both AofU and FireCloud, the pet SA is treated as
+    // if it were the user it was created for.
+    return new TokenIdentity(userInfo, fireCloudService.getMe().getUserInfo().getUserEmail());
+  }
+
+  private boolean isServiceAccountApiUser(String userName) {
+    return workbenchConfigProvider.get().auth.serviceAccountApiUsers.contains(userName)
+        || isVwbServiceAccount(userName);
+  }
+
+  private String getGsuiteDomainSuffix() {
+    return "@" + workbenchConfigProvider.get().googleDirectoryService.gSuiteDomain;
+  }
+
   private Optional<String> parseBearerToken(String authorizationHeader) {
     return Optional.ofNullable(authorizationHeader)
         .filter(header -> header.startsWith("Bearer "))
@@ -262,8 +285,10 @@ public class AuthInterceptor implements AsyncHandlerInterceptor {
         throw new BadRequestException("User is not initialized; please register");
       }
       // Fetch the user with authorities, since they aren't loaded during normal
-      user = userDao.findUserWithAuthorities(user.getUserId());
-      Collection<Authority> granted = user.getAuthoritiesEnum();
+      final long userId = user.getUserId();
+      Collection<Authority> granted =
+          authenticationCache.getAuthorities(
+              userId, () -> userDao.findUserWithAuthorities(userId).getAuthoritiesEnum());
 
       // DEVELOPER subsumes all other authorities.
       if (granted.contains(Authority.DEVELOPER)
@@ -131,6 +131,9 @@ public interface LeonardoApiClient {
 
   List<UserAppEnvironment> listAppsInProjectAsService(String googleProjectId);
 
+  /** Lists all apps in the environment, to be used only for admin operations */
+  List<UserAppEnvironment> listAppsAsService();
+
   /**
    * Deletes a Leonardo app
    *
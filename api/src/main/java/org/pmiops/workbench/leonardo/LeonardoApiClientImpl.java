@@ -18,8 +18,10 @@ import com.google.common.collect.ImmutableMap;
 import jakarta.inject.Provider;
 import jakarta.validation.constraints.NotNull;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -63,6 +65,8 @@ import org.pmiops.workbench.notebooks.model.LocalizationEntry;
 import org.pmiops.workbench.notebooks.model.Localize;
 import org.pmiops.workbench.notebooks.model.StorageLink;
 import org.pmiops.workbench.rawls.model.RawlsWorkspaceResponse;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor.FanOutReport;
 import org.pmiops.workbench.utils.mappers.LeonardoMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -73,6 +77,12 @@ public class LeonardoApiClientImpl implements LeonardoApiClient {
   // The Leonardo user role who creates Leonardo APP or disks.
   private static final String LEONARDO_CREATOR_ROLE = "creator";
 
+  private static final int DEFAULT_BULK_OPERATION_PARALLELISM = 8;
+  private static final int DEFAULT_BULK_OPERATION_TIMEOUT_SECONDS = 120;
+
+  /** A runtime or app to act on in a bulk operation, named for logging. */
+  private record BulkOperationTarget(String googleProject, String name) {}
+
   private static final Logger log = Logger.getLogger(LeonardoApiClientImpl.class.getName());
 
   private final LeonardoApiClientFactory leonardoApiClientFactory;
@@ -94,6 +104,7 @@ public class LeonardoApiClientImpl implements LeonardoApiClient {
   private final LegacyLeonardoRetryHandler legacyLeonardoRetryHandler;
   private final LeonardoRetryHandler leonardoRetryHandler;
   private final WorkspaceDao workspaceDao;
+  private final RemoteFanOutExecutor remoteFanOutExecutor;
 
   @Autowired
   public LeonardoApiClientImpl(
@@ -115,7 +126,8 @@ public class LeonardoApiClientImpl implements LeonardoApiClient {
       LeonardoMapper leonardoMapper,
       LegacyLeonardoRetryHandler legacyLeonardoRetryHandler,
       LeonardoRetryHandler leonardoRetryHandler,
-      WorkspaceDao workspaceDao) {
+      WorkspaceDao workspaceDao,
+      RemoteFanOutExecutor remoteFanOutExecutor) {
     this.leonardoApiClientFactory = leonardoApiClientFactory;
     this.runtimesApiProvider = runtimesApiProvider;
     this.serviceRuntimesApiProvider = serviceRuntimesApiProvider;
@@ -133,6 +145,7 @@ public class LeonardoApiClientImpl implements LeonardoApiClient {
     this.leonardoMapper = leonardoMapper;
     this.legacyLeonardoRetryHandler = legacyLeonardoRetryHandler;
     this.leonardoRetryHandler = leonardoRetryHandler;
+    this.remoteFanOutExecutor = remoteFanOutExecutor;
     this.workspaceDao = workspaceDao;
   }
 
@@ -343,7 +356,7 @@ public class LeonardoApiClientImpl implements LeonardoApiClient {
     } catch (IOException e) {
       throw new ServerErrorException(e);
     }
-    List<Boolean> results =
+    List<BulkOperationTarget> runtimesToStop =
         runtimes.stream()
             .filter(LeonardoStatusUtils::canStopRuntime)
             .filter(
@@ -360,32 +373,39 @@ public class LeonardoApiClientImpl implements LeonardoApiClient {
                   }
                   return true;
                 })
-            .parallel()
             .map(
-                r -> {
-                  String googleProject = leonardoMapper.toGoogleProject(r.getCloudContext());
-                  try {
-                    legacyLeonardoRetryHandler.runAndThrowChecked(
-                        (context) -> {
-                          runtimesApiAsImpersonatedUser.stopRuntime(
-                              googleProject, r.getRuntimeName());
-                          return null;
-                        });
-                  } catch (org.pmiops.workbench.legacy_leonardo_client.ApiException e) {
-                    log.log(
-                        Level.WARNING,
-                        String.format(
-                            "failed to stop runtime '%s/%s'", googleProject, r.getRuntimeName()),
-                        e);
-                    return e.getCode() == 404; // consider 404 a success for stopping
-                  }
-                  return true;
-                })
+                r ->
+                    new BulkOperationTarget(
+                        leonardoMapper.toGoogleProject(r.getCloudContext()), r.getRuntimeName()))
             .toList();
-    if (results.contains(false)) {
+    FanOutReport report =
+        remoteFanOutExecutor.runAll(
+            "stop runtimes created by " + userEmail,
+            runtimesToStop,
+            runtime -> {
+              try {
+                legacyLeonardoRetryHandler.runAndThrowChecked(
+                    (context) -> {
+                      runtimesApiAsImpersonatedUser.stopRuntime(
+                          runtime.googleProject(), runtime.name());
+                      return null;
+                    });
+              } catch (org.pmiops.workbench.legacy_leonardo_client.ApiException e) {
+                log.log(
+                    Level.WARNING,
+                    String.format(
+                        "failed to stop runtime '%s/%s'", runtime.googleProject(), runtime.name()),
+                    e);
+                return e.getCode() == 404; // consider 404 a success for stopping
+              }
+              return true;
+            },
+            getBulkOperationParallelism(),
+            getBulkOperationTimeout());
+    if (!report.allSucceeded()) {
       throw new ServerErrorException("failed to stop all user runtimes, see logs for details");
     }
-    return results.size();
+    return report.total();
   }
 
   @Override
@@ -637,6 +657,27 @@ public class LeonardoApiClientImpl implements LeonardoApiClient {
     return getUserAppEnvironments(googleProjectId, appsApi, null);
   }
 
+  @Override
+  public List<UserAppEnvironment> listAppsAsService() {
+    AppsApi appsApi = serviceAppsApiProvider.get();
+
+    // this call can be slow, so let a long timeout
+    appsApi
+        .getApiClient()
+        .setReadTimeout(workbenchConfigProvider.get().firecloud.lenientTimeoutInSeconds * 1000);
+
+    List<ListAppResponse> listAppResponses =
+        leonardoRetryHandler.run(
+            context ->
+                appsApi.listApp(
+                    /* labels= */ null,
+                    /* includeDeleted= */ false,
+                    /* includeLabels= */ LEONARDO_APP_LABEL_KEYS,
+                    /* role= */ null));
+
+    return listAppResponses.stream().map(leonardoMapper::toApiApp).toList();
+  }
+
   @NotNull
   private List<UserAppEnvironment> getUserAppEnvironments(
       String googleProjectId, AppsApi appsApi, String leonardoAppRole) {
@@ -702,7 +743,7 @@ public class LeonardoApiClientImpl implements LeonardoApiClient {
                     /* includeLabels= */ LEONARDO_APP_LABEL_KEYS,
                     /* role= */ null));
 
-    List<Boolean> results =
+    List<BulkOperationTarget> appsToDelete =
         apps.stream()
             .filter(LeonardoStatusUtils::canDeleteApp)
             .filter(
@@ -724,33 +765,38 @@ public class LeonardoApiClientImpl implements LeonardoApiClient {
                   }
                   return true;
                 })
-            .parallel()
             .map(
-                r -> {
-                  try {
-                    leonardoRetryHandler.runAndThrowChecked(
-                        (context) -> {
-                          appsApiAsService.deleteApp(
-                              r.getCloudContext().getCloudResource(), r.getAppName(), false);
-                          return null;
-                        });
-                  } catch (ApiException e) {
-                    log.log(
-                        Level.WARNING,
-                        String.format(
-                            "failed to stop runtime '%s/%s'",
-                            r.getCloudContext().getCloudResource(), r.getAppName()),
-                        e);
-                    return e.getCode() == 404; // consider 404 a success for stopping
-                  }
-                  return true;
-                })
+                r ->
+                    new BulkOperationTarget(
+                        r.getCloudContext().getCloudResource(), r.getAppName()))
             .toList();
-    if (results.contains(false)) {
+    FanOutReport report =
+        remoteFanOutExecutor.runAll(
+            "delete apps created by " + userEmail,
+            appsToDelete,
+            app -> {
+              try {
+                leonardoRetryHandler.runAndThrowChecked(
+                    (context) -> {
+                      appsApiAsService.deleteApp(app.googleProject(), app.name(), false);
+                      return null;
+                    });
+              } catch (ApiException e) {
+                log.log(
+                    Level.WARNING,
+                    String.format("failed to delete app '%s/%s'", app.googleProject(), app.name()),
+                    e);
+                return e.getCode() == 404; // consider 404 a success for stopping
+              }
+              return true;
+            },
+            getBulkOperationParallelism(),
+            getBulkOperationTimeout());
+    if (!report.allSucceeded()) {
       throw new ServerErrorException("failed to stop all user runtimes, see logs for details");
     }
 
-    return results.size();
+    return report.total();
   }
 
   @Override
@@ -765,4 +811,17 @@ public class LeonardoApiClientImpl implements LeonardoApiClient {
           return null;
         });
   }
+
+  private int getBulkOperationParallelism() {
+    return Objects.requireNonNullElse(
+        workbenchConfigProvider.get().firecloud.leonardoBulkOperationParallelism,
+        DEFAULT_BULK_OPERATION_PARALLELISM);
+  }
+
+  private Duration getBulkOperationTimeout() {
+    return Duration.ofSeconds(
+        Objects.requireNonNullElse(
+            workbenchConfigProvider.get().firecloud.leonardoBulkOperationTimeoutSeconds,
+            DEFAULT_BULK_OPERATION_TIMEOUT_SECONDS));
+  }
 }
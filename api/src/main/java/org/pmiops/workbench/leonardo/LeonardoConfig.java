@@ -9,7 +9,7 @@ import java.util.logging.Logger;
 import org.broadinstitute.dsde.workbench.client.leonardo.ApiClient;
 import org.broadinstitute.dsde.workbench.client.leonardo.api.AppsApi;
 import org.broadinstitute.dsde.workbench.client.leonardo.api.DisksApi;
-import org.pmiops.workbench.auth.ServiceAccounts;
+import org.pmiops.workbench.auth.AccessTokenBroker;
 import org.pmiops.workbench.auth.UserAuthentication;
 import org.pmiops.workbench.exceptions.ServerErrorException;
 import org.pmiops.workbench.legacy_leonardo_client.api.ResourcesApi;
@@ -77,10 +77,10 @@ public class LeonardoConfig {
   @Bean(name = LEGACY_SERVICE_LEONARDO_CLIENT)
   @RequestScope(proxyMode = ScopedProxyMode.DEFAULT)
   public org.pmiops.workbench.legacy_leonardo_client.ApiClient legacyServiceApiClient(
-      LeonardoApiClientFactory factory) {
+      LeonardoApiClientFactory factory, AccessTokenBroker accessTokenBroker) {
     var apiClient = factory.newLegacyApiClient();
     try {
-      apiClient.setAccessToken(ServiceAccounts.getScopedServiceAccessToken(NOTEBOOK_SCOPES));
+      apiClient.setAccessToken(accessTokenBroker.getServiceAccessToken(NOTEBOOK_SCOPES));
     } catch (IOException e) {
       throw new ServerErrorException(e);
     }
@@ -107,10 +107,11 @@ public class LeonardoConfig {
 
   @Bean(name = SERVICE_LEONARDO_CLIENT)
   @RequestScope(proxyMode = ScopedProxyMode.DEFAULT)
-  public ApiClient leoServiceApiClient(LeonardoApiClientFactory factory) {
+  public ApiClient leoServiceApiClient(
+      LeonardoApiClientFactory factory, AccessTokenBroker accessTokenBroker) {
     ApiClient apiClient = factory.newApiClient();
     try {
-      apiClient.setAccessToken(ServiceAccounts.getScopedServiceAccessToken(NOTEBOOK_SCOPES));
+      apiClient.setAccessToken(accessTokenBroker.getServiceAccessToken(NOTEBOOK_SCOPES));
     } catch (IOException e) {
       throw new ServerErrorException(e);
     }
@@ -120,10 +121,10 @@ public class LeonardoConfig {
   @Bean(name = SERVICE_NOTEBOOKS_CLIENT)
   @RequestScope(proxyMode = ScopedProxyMode.DEFAULT)
   public org.pmiops.workbench.notebooks.ApiClient workbenchServiceAccountClient(
-      LeonardoApiClientFactory factory) {
+      LeonardoApiClientFactory factory, AccessTokenBroker accessTokenBroker) {
     org.pmiops.workbench.notebooks.ApiClient apiClient = factory.newNotebooksClient();
     try {
-      apiClient.setAccessToken(ServiceAccounts.getScopedServiceAccessToken(NOTEBOOK_SCOPES));
+      apiClient.setAccessToken(accessTokenBroker.getServiceAccessToken(NOTEBOOK_SCOPES));
     } catch (IOException e) {
       throw new ServerErrorException(e);
     }
@@ -0,0 +1,44 @@
+package org.pmiops.workbench.opentelemetry;
+
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import java.util.function.LongSupplier;
+import org.pmiops.workbench.actionaudit.ActionAuditLogWriter;
+import org.springframework.stereotype.Component;
+
+/** Publishes the state of the action audit write queue as OpenTelemetry metrics. */
+@Component
+public class ActionAuditMetrics {
+
+  public ActionAuditMetrics(MeterProvider meterProvider, ActionAuditLogWriter logWriter) {
+    final Meter meter = meterProvider.get(CacheMetrics.INSTRUMENTATION_SCOPE);
+    meter
+        .gaugeBuilder("workbench.action_audit.queue_size")
+        .setDescription("Log entries waiting to be written")
+        .ofLongs()
+        .buildWithCallback(m -> m.record(logWriter.getQueueSize()));
+    registerCounter(meter, "enqueued", "Log entries queued", logWriter::getEnqueuedCount);
+    registerCounter(
+        meter, "written", "Log entries written to Cloud Logging", logWriter::getWrittenCount);
+    registerCounter(
+        meter, "failed", "Log entries which failed to be written", logWriter::getFailedCount);
+    registerCounter(
+        meter,
+        "written_through",
+        "Log entries written on the request thread because the queue was full",
+        logWriter::getWrittenThroughCount);
+    registerCounter(
+        meter,
+        "dropped",
+        "Log entries dropped because the queue was full",
+        logWriter::getDroppedCount);
+  }
+
+  private static void registerCounter(
+      Meter meter, String name, String description, LongSupplier reading) {
+    meter
+        .counterBuilder("workbench.action_audit." + name)
+        .setDescription(description)
+        .buildWithCallback(m -> m.record(reading.getAsLong()));
+  }
+}
@@ -0,0 +1,58 @@
+package org.pmiops.workbench.opentelemetry;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the statistics of every {@link MeteredCache} bean as OpenTelemetry metrics, labeled
+ * with the cache name.
+ */
+@Component
+public class CacheMetrics {
+  public static final String INSTRUMENTATION_SCOPE = "org.pmiops.workbench";
+  public static final AttributeKey<String> CACHE_NAME = AttributeKey.stringKey("cache");
+
+  public CacheMetrics(MeterProvider meterProvider, ObjectProvider<MeteredCache> caches) {
+    final Meter meter = meterProvider.get(INSTRUMENTATION_SCOPE);
+    caches.orderedStream().forEach(cache -> register(meter, cache));
+  }
+
+  static void register(Meter meter, MeteredCache cache) {
+    final Attributes attributes = Attributes.of(CACHE_NAME, cache.getCacheName());
+    meter
+        .counterBuilder("workbench.cache.hits")
+        .setDescription("Lookups which found a cached value")
+        .buildWithCallback(m -> m.record(cache.getStats().hitCount(), attributes));
+    meter
+        .counterBuilder("workbench.cache.misses")
+        .setDescription("Lookups which had to load a value")
+        .buildWithCallback(m -> m.record(cache.getStats().missCount(), attributes));
+    meter
+        .counterBuilder("workbench.cache.evictions")
+        .setDescription("Entries removed for size or expiry")
+        .buildWithCallback(m -> m.record(cache.getStats().evictionCount(), attributes));
+    meter
+        .counterBuilder("workbench.cache.load_time")
+        .setDescription("Total time spent loading values")
+        .setUnit("ms")
+        .buildWithCallback(
+            m ->
+                m.record(
+                    TimeUnit.NANOSECONDS.toMillis(cache.getStats().totalLoadTime()),
+                    attributes));
+    meter
+        .gaugeBuilder("workbench.cache.hit_ratio")
+        .setDescription("Fraction of lookups which found a cached value")
+        .buildWithCallback(m -> m.record(cache.getStats().hitRate(), attributes));
+    meter
+        .gaugeBuilder("workbench.cache.size")
+        .setDescription("Entries currently cached")
+        .ofLongs()
+        .buildWithCallback(m -> m.record(cache.getSize(), attributes));
+  }
+}
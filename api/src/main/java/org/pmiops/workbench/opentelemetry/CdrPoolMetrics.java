@@ -0,0 +1,63 @@
+package org.pmiops.workbench.opentelemetry;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import java.util.function.ToIntFunction;
+import org.pmiops.workbench.cdr.CdrDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the connection counts of each open CDR connection pool as OpenTelemetry metrics,
+ * labeled with the CDR database name.
+ */
+@Component
+public class CdrPoolMetrics {
+  public static final AttributeKey<String> CDR_DB_NAME = AttributeKey.stringKey("cdr_db");
+
+  private final CdrDataSource cdrDataSource;
+
+  public CdrPoolMetrics(MeterProvider meterProvider, CdrDataSource cdrDataSource) {
+    this.cdrDataSource = cdrDataSource;
+    final Meter meter = meterProvider.get(CacheMetrics.INSTRUMENTATION_SCOPE);
+    register(meter, "active", "Connections in use", HikariPoolMXBean::getActiveConnections);
+    register(meter, "idle", "Open connections not in use", HikariPoolMXBean::getIdleConnections);
+    register(
+        meter,
+        "pending",
+        "Threads waiting for a connection",
+        HikariPoolMXBean::getThreadsAwaitingConnection);
+    meter
+        .gaugeBuilder("workbench.cdr_pool.count")
+        .setDescription("Open CDR connection pools")
+        .ofLongs()
+        .buildWithCallback(m -> m.record(cdrDataSource.getPools().size()));
+  }
+
+  private void register(
+      Meter meter, String name, String description, ToIntFunction<HikariPoolMXBean> reading) {
+    meter
+        .gaugeBuilder("workbench.cdr_pool.connections." + name)
+        .setDescription(description)
+        .ofLongs()
+        .buildWithCallback(m -> recordPerPool(m, reading));
+  }
+
+  private void recordPerPool(
+      ObservableLongMeasurement measurement, ToIntFunction<HikariPoolMXBean> reading) {
+    cdrDataSource
+        .getPools()
+        .forEach(
+            (dbName, pool) -> {
+              // null while the pool is starting or after it has been closed
+              final HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+              if (mxBean != null) {
+                measurement.record(
+                    reading.applyAsInt(mxBean), Attributes.of(CDR_DB_NAME, dbName));
+              }
+            });
+  }
+}
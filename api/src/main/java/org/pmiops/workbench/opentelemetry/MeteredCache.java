@@ -0,0 +1,18 @@
+package org.pmiops.workbench.opentelemetry;
+
+import com.google.common.cache.CacheStats;
+
+/**
+ * Implemented by singleton beans which own an in-memory cache. {@link CacheMetrics} publishes the
+ * statistics of every such bean, so the beans themselves don't depend on the metrics setup.
+ */
+public interface MeteredCache {
+  /** Used as the "cache" metric label. Should be snake_case and unique. */
+  String getCacheName();
+
+  /** Statistics since startup. Guava caches provide these if built with recordStats(). */
+  CacheStats getStats();
+
+  /** The approximate number of entries currently cached. */
+  long getSize();
+}
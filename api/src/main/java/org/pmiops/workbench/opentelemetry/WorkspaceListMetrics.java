@@ -0,0 +1,26 @@
+package org.pmiops.workbench.opentelemetry;
+
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.MeterProvider;
+import org.pmiops.workbench.workspaces.WorkspaceListCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the latency of the Rawls workspace list calls made on cache misses of the {@link
+ * WorkspaceListCache}. Its hit ratio is published by {@link CacheMetrics}.
+ */
+@Component
+public class WorkspaceListMetrics {
+
+  public WorkspaceListMetrics(MeterProvider meterProvider, WorkspaceListCache workspaceListCache) {
+    final LongHistogram histogram =
+        meterProvider
+            .get(CacheMetrics.INSTRUMENTATION_SCOPE)
+            .histogramBuilder("workbench.rawls.list_workspaces.duration")
+            .setDescription("Latency of Rawls workspace list calls")
+            .setUnit("ms")
+            .ofLongs()
+            .build();
+    workspaceListCache.addLoadListener(elapsed -> histogram.record(elapsed.toMillis()));
+  }
+}
@@ -7,7 +7,7 @@ import com.google.common.collect.ImmutableList;
 import jakarta.inject.Provider;
 import java.io.IOException;
 import java.util.List;
-import org.pmiops.workbench.auth.DelegatedUserCredentials;
+import org.pmiops.workbench.auth.AccessTokenBroker;
 import org.pmiops.workbench.auth.ServiceAccounts;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,15 +28,18 @@ public class RawlsApiClientFactory {
   private final IamCredentialsClient iamCredentialsClient;
   private final HttpTransport httpTransport;
   private final Provider<WorkbenchConfig> workbenchConfigProvider;
+  private final AccessTokenBroker accessTokenBroker;
 
   @Autowired
   public RawlsApiClientFactory(
       IamCredentialsClient iamCredentialsClient,
       HttpTransport httpTransport,
-      Provider<WorkbenchConfig> workbenchConfigProvider) {
+      Provider<WorkbenchConfig> workbenchConfigProvider,
+      AccessTokenBroker accessTokenBroker) {
     this.iamCredentialsClient = iamCredentialsClient;
     this.httpTransport = httpTransport;
     this.workbenchConfigProvider = workbenchConfigProvider;
+    this.accessTokenBroker = accessTokenBroker;
   }
 
   /**
@@ -45,19 +48,20 @@ public class RawlsApiClientFactory {
    *
    * <p>This relies on domain-wide delegation of authority in Google's OAuth flow; see
    * /api/docs/domain-wide-delegation.md for more details.
+   *
+   * <p>The access token is shared with other callers through {@link AccessTokenBroker}; the
+   * returned credentials can't be refreshed, so don't hold on to them beyond the current call.
    */
   public OAuth2Credentials getDelegatedUserCredentials(String userEmail) throws IOException {
     WorkbenchConfig workbenchConfig = workbenchConfigProvider.get();
-    final OAuth2Credentials delegatedCreds =
-        new DelegatedUserCredentials(
+    return OAuth2Credentials.create(
+        accessTokenBroker.getDelegatedAccessToken(
             ServiceAccounts.getServiceAccountEmail(
                 ADMIN_SERVICE_ACCOUNT_NAME, workbenchConfig.server.projectId),
             userEmail,
             SCOPES,
             iamCredentialsClient,
-            httpTransport);
-    delegatedCreds.refreshIfExpired();
-    return delegatedCreds;
+            httpTransport));
   }
 
   /**
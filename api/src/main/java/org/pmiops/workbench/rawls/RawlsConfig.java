@@ -3,7 +3,7 @@ package org.pmiops.workbench.rawls;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.util.List;
-import org.pmiops.workbench.auth.ServiceAccounts;
+import org.pmiops.workbench.auth.AccessTokenBroker;
 import org.pmiops.workbench.auth.UserAuthentication;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.exceptions.ServerErrorException;
@@ -62,10 +62,11 @@ public class RawlsConfig {
 
   @Bean(name = SERVICE_ACCOUNT_API_CLIENT)
   @RequestScope(proxyMode = ScopedProxyMode.DEFAULT)
-  public ApiClient allOfUsApiClient(RawlsApiClientFactory factory) {
+  public ApiClient allOfUsApiClient(
+      RawlsApiClientFactory factory, AccessTokenBroker accessTokenBroker) {
     ApiClient apiClient = factory.newRawlsApiClient();
     try {
-      apiClient.setAccessToken(ServiceAccounts.getScopedServiceAccessToken(BILLING_SCOPES));
+      apiClient.setAccessToken(accessTokenBroker.getServiceAccessToken(BILLING_SCOPES));
     } catch (IOException e) {
       throw new ServerErrorException(e);
     }
@@ -3,7 +3,7 @@ package org.pmiops.workbench.rdr;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.util.List;
-import org.pmiops.workbench.auth.ServiceAccounts;
+import org.pmiops.workbench.auth.AccessTokenBroker;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.exceptions.ServerErrorException;
 import org.pmiops.workbench.rdr.api.RdrApi;
@@ -21,11 +21,11 @@ public class RdrExportConfig {
 
   @Bean
   @RequestScope(proxyMode = ScopedProxyMode.DEFAULT)
-  public RdrApi rdrApi(WorkbenchConfig workbenchConfig) {
+  public RdrApi rdrApi(WorkbenchConfig workbenchConfig, AccessTokenBroker accessTokenBroker) {
     RdrApi api = new RdrApi();
     org.pmiops.workbench.rdr.ApiClient apiClient = new org.pmiops.workbench.rdr.ApiClient();
     try {
-      apiClient.setAccessToken(ServiceAccounts.getScopedServiceAccessToken(SCOPES));
+      apiClient.setAccessToken(accessTokenBroker.getServiceAccessToken(SCOPES));
       apiClient.setBasePath("https://" + workbenchConfig.rdrExport.host);
 
     } catch (IOException e) {
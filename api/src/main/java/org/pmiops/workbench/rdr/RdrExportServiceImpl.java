@@ -6,9 +6,16 @@ import jakarta.inject.Provider;
 import java.math.BigInteger;
 import java.sql.Timestamp;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -18,20 +25,24 @@ import org.pmiops.workbench.db.dao.RdrExportDao;
 import org.pmiops.workbench.db.dao.UserDao;
 import org.pmiops.workbench.db.dao.VerifiedInstitutionalAffiliationDao;
 import org.pmiops.workbench.db.dao.WorkspaceDao;
+import org.pmiops.workbench.db.model.DbAccessTier;
 import org.pmiops.workbench.db.model.DbRdrExport;
 import org.pmiops.workbench.db.model.DbUser;
+import org.pmiops.workbench.db.model.DbVerifiedInstitutionalAffiliation;
 import org.pmiops.workbench.db.model.DbWorkspace;
 import org.pmiops.workbench.db.model.RdrEntityEnums;
 import org.pmiops.workbench.exceptions.ServerErrorException;
 import org.pmiops.workbench.institution.InstitutionService;
 import org.pmiops.workbench.model.RdrEntity;
-import org.pmiops.workbench.model.UserRole;
 import org.pmiops.workbench.model.WorkspaceActiveStatus;
+import org.pmiops.workbench.rawls.model.RawlsWorkspaceAccessEntry;
 import org.pmiops.workbench.rdr.api.RdrApi;
 import org.pmiops.workbench.rdr.model.RdrResearcher;
 import org.pmiops.workbench.rdr.model.RdrWorkspace;
 import org.pmiops.workbench.rdr.model.RdrWorkspaceUser;
-import org.pmiops.workbench.workspaces.WorkspaceService;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
+import org.pmiops.workbench.utils.mappers.UserMapper;
+import org.pmiops.workbench.workspaces.WorkspaceAuthService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -52,11 +63,22 @@ public class RdrExportServiceImpl implements RdrExportService {
 
   private final InstitutionService institutionService;
   private final AccessTierService accessTierService;
-  private final WorkspaceService workspaceService;
+  private final WorkspaceAuthService workspaceAuthService;
+  private final UserMapper userMapper;
+  private final RemoteFanOutExecutor remoteFanOutExecutor;
   private final VerifiedInstitutionalAffiliationDao verifiedInstitutionalAffiliationDao;
   private final RdrMapper rdrMapper;
   private static final Logger log = Logger.getLogger(RdrExportService.class.getName());
 
+  // The default number of workspace ACLs fetched from Rawls at once
+  @VisibleForTesting static final int DEFAULT_WORKSPACE_ACL_FETCH_PARALLELISM = 5;
+  // A workspace whose ACL takes longer than this to fetch is skipped, like one whose fetch fails
+  private static final Duration WORKSPACE_ACL_FETCH_TIMEOUT = Duration.ofMinutes(2);
+
+  /** An active workspace whose ACL is fetched from Firecloud. */
+  private record AclFetchTarget(
+      long workspaceId, String workspaceNamespace, String firecloudName) {}
+
   @Autowired
   public RdrExportServiceImpl(
       Clock clock,
@@ -67,7 +89,9 @@ public class RdrExportServiceImpl implements RdrExportService {
       WorkspaceDao workspaceDao,
       InstitutionService institutionService,
       AccessTierService accessTierService,
-      WorkspaceService workspaceService,
+      WorkspaceAuthService workspaceAuthService,
+      UserMapper userMapper,
+      RemoteFanOutExecutor remoteFanOutExecutor,
       UserDao userDao,
       VerifiedInstitutionalAffiliationDao verifiedInstitutionalAffiliationDao) {
     this.clock = clock;
@@ -78,7 +102,9 @@ public class RdrExportServiceImpl implements RdrExportService {
     this.workspaceDao = workspaceDao;
     this.institutionService = institutionService;
     this.accessTierService = accessTierService;
-    this.workspaceService = workspaceService;
+    this.workspaceAuthService = workspaceAuthService;
+    this.userMapper = userMapper;
+    this.remoteFanOutExecutor = remoteFanOutExecutor;
     this.userDao = userDao;
     this.verifiedInstitutionalAffiliationDao = verifiedInstitutionalAffiliationDao;
   }
@@ -145,8 +171,19 @@ public class RdrExportServiceImpl implements RdrExportService {
    */
   @Override
   public void exportUsers(List<Long> userIds, boolean backfill) {
+    List<DbUser> users = userDao.findUsersByUserIdIn(userIds);
+    Map<Long, List<DbAccessTier>> tiersByUserId = accessTierService.getAccessTiersForUsers(users);
+    Map<Long, DbVerifiedInstitutionalAffiliation> affiliationsByUserId =
+        getAffiliationsByUserId(users);
     List<RdrResearcher> rdrResearchersList =
-        userDao.findUsersByUserIdIn(userIds).stream().map(this::toRdrResearcher).toList();
+        users.stream()
+            .map(
+                dbUser ->
+                    rdrMapper.toRdrResearcher(
+                        dbUser,
+                        tiersByUserId.getOrDefault(dbUser.getUserId(), List.of()),
+                        affiliationsByUserId.get(dbUser.getUserId())))
+            .toList();
 
     try {
       rdrApiProvider.get().exportResearchers(rdrResearchersList, backfill);
@@ -174,10 +211,32 @@ public class RdrExportServiceImpl implements RdrExportService {
   @Override
   public void exportWorkspaces(List<Long> workspaceIds, boolean backfill) {
     try {
-      // toRdrWorkspace may fail and will return null, skip failures and continue.
+      List<DbWorkspace> workspaces = workspaceDao.findAllByWorkspaceIdIn(workspaceIds);
+      Map<Long, DbVerifiedInstitutionalAffiliation> creatorAffiliationsByUserId =
+          getAffiliationsByUserId(
+              workspaces.stream().map(DbWorkspace::getCreator).filter(Objects::nonNull).toList());
+      Map<Long, Map<String, RawlsWorkspaceAccessEntry>> aclsByWorkspaceId =
+          getActiveWorkspaceAcls(workspaces);
+      Map<String, DbUser> collaboratorsByUsername =
+          userDao.getUsersMappedByUsernames(
+              aclsByWorkspaceId.values().stream()
+                  .flatMap(acl -> acl.keySet().stream())
+                  .collect(Collectors.toSet()));
+
+      // toRdrWorkspace returns null for workspaces whose collaborators couldn't be fetched or
+      // mapped, skip those and continue.
       List<RdrWorkspace> rdrWorkspacesList =
-          workspaceDao.findAllByWorkspaceIdIn(workspaceIds).stream()
-              .flatMap(w -> Stream.ofNullable(toRdrWorkspace(w)))
+          workspaces.stream()
+              .flatMap(
+                  w ->
+                      Stream.ofNullable(
+                          toRdrWorkspace(
+                              w,
+                              w.getCreator() == null
+                                  ? null
+                                  : creatorAffiliationsByUserId.get(w.getCreator().getUserId()),
+                              aclsByWorkspaceId.get(w.getWorkspaceId()),
+                              collaboratorsByUsername)))
               .toList();
 
       if (!rdrWorkspacesList.isEmpty()) {
@@ -214,35 +273,92 @@ public class RdrExportServiceImpl implements RdrExportService {
     }
   }
 
-  private RdrResearcher toRdrResearcher(DbUser dbUser) {
-    var tiers = accessTierService.getAccessTiersForUser(dbUser);
-    var maybeAffiliation = verifiedInstitutionalAffiliationDao.findFirstByUser(dbUser);
-    return rdrMapper.toRdrResearcher(dbUser, tiers, maybeAffiliation.orElse(null));
+  /** Returns the users' verified institutional affiliations, keyed by userId, in one query. */
+  private Map<Long, DbVerifiedInstitutionalAffiliation> getAffiliationsByUserId(
+      Collection<DbUser> users) {
+    Map<Long, DbVerifiedInstitutionalAffiliation> affiliationsByUserId = new HashMap<>();
+    if (!users.isEmpty()) {
+      verifiedInstitutionalAffiliationDao
+          .findAllByUserIn(users)
+          .forEach(
+              affiliation ->
+                  affiliationsByUserId.putIfAbsent(affiliation.getUser().getUserId(), affiliation));
+    }
+    return affiliationsByUserId;
   }
 
+  /**
+   * Calls Firecloud for the ACLs of the active workspaces, up to
+   * rdrExport.workspaceAclFetchParallelism at a time, keyed by workspaceId. Workspaces whose ACL
+   * couldn't be fetched in time are logged and left out.
+   */
+  private Map<Long, Map<String, RawlsWorkspaceAccessEntry>> getActiveWorkspaceAcls(
+      List<DbWorkspace> workspaces) {
+    List<DbWorkspace> activeWorkspaces =
+        workspaces.stream()
+            .filter(w -> WorkspaceActiveStatus.ACTIVE.equals(w.getWorkspaceActiveStatusEnum()))
+            .toList();
+    if (activeWorkspaces.isEmpty()) {
+      return Map.of();
+    }
+    int parallelism =
+        Math.max(
+            1,
+            Math.min(
+                activeWorkspaces.size(),
+                Objects.requireNonNullElse(
+                    workbenchConfigProvider.get().rdrExport.workspaceAclFetchParallelism,
+                    DEFAULT_WORKSPACE_ACL_FETCH_PARALLELISM)));
+    Map<Long, Map<String, RawlsWorkspaceAccessEntry>> aclsByWorkspaceId =
+        new ConcurrentHashMap<>();
+    remoteFanOutExecutor.runAll(
+        "fetch workspace ACLs for RDR export",
+        activeWorkspaces.stream()
+            .map(
+                w ->
+                    new AclFetchTarget(
+                        w.getWorkspaceId(), w.getWorkspaceNamespace(), w.getFirecloudName()))
+            .toList(),
+        target -> {
+          aclsByWorkspaceId.put(
+              target.workspaceId(),
+              workspaceAuthService.getFirecloudWorkspaceAcl(
+                  target.workspaceNamespace(), target.firecloudName()));
+          return true;
+        },
+        parallelism,
+        WORKSPACE_ACL_FETCH_TIMEOUT);
+    return aclsByWorkspaceId;
+  }
+
+  /**
+   * @param acl the workspace's ACL from Firecloud, or null if it couldn't be fetched
+   * @param collaboratorsByUsername the users named in the ACLs of every workspace being exported
+   * @return the RdrWorkspace, or null if the workspace is active and its collaborators couldn't
+   *     be fetched or mapped
+   */
   @Nullable
-  private RdrWorkspace toRdrWorkspace(DbWorkspace dbWorkspace) {
+  private RdrWorkspace toRdrWorkspace(
+      DbWorkspace dbWorkspace,
+      @Nullable DbVerifiedInstitutionalAffiliation creatorAffiliation,
+      @Nullable Map<String, RawlsWorkspaceAccessEntry> acl,
+      Map<String, DbUser> collaboratorsByUsername) {
     RdrWorkspace rdrWorkspace =
         rdrMapper.toRdrWorkspace(dbWorkspace).workspaceUsers(Collections.emptyList());
-    setExcludeFromPublicDirectory(dbWorkspace.getCreator(), rdrWorkspace);
+    setExcludeFromPublicDirectory(creatorAffiliation, rdrWorkspace);
 
     if (WorkspaceActiveStatus.ACTIVE.equals(dbWorkspace.getWorkspaceActiveStatusEnum())) {
+      if (acl == null) {
+        return null;
+      }
       try {
-        // Call Firecloud to get a list of Collaborators
-        List<UserRole> collaborators =
-            workspaceService.getFirecloudUserRoles(
-                dbWorkspace.getWorkspaceNamespace(), dbWorkspace.getFirecloudName());
-
-        var userMap =
-            userDao.getUsersMappedByUsernames(
-                collaborators.stream().map(UserRole::getEmail).toList());
-
         rdrWorkspace.setWorkspaceUsers(
-            collaborators.stream()
+            userMapper.toApiUserRoles(acl, collaboratorsByUsername).stream()
                 .map(
                     userRole ->
                         new RdrWorkspaceUser()
-                            .userId((int) userMap.get(userRole.getEmail()).getUserId())
+                            .userId(
+                                (int) collaboratorsByUsername.get(userRole.getEmail()).getUserId())
                             .role(
                                 RdrWorkspaceUser.RoleEnum.fromValue(userRole.getRole().toString()))
                             .status(RdrWorkspaceUser.StatusEnum.ACTIVE))
@@ -271,14 +387,20 @@ public class RdrExportServiceImpl implements RdrExportService {
   @VisibleForTesting
   public void updateDbRdrExport(RdrEntity entity, List<Long> idList) {
     Timestamp now = new Timestamp(clock.instant().toEpochMilli());
+    short entityType = RdrEntityEnums.entityToStorage(entity);
+    Map<Long, DbRdrExport> existingExports =
+        idList.isEmpty()
+            ? Map.of()
+            : rdrExportDao.findAllByEntityTypeAndEntityIdIn(entityType, idList).stream()
+                .collect(
+                    Collectors.toMap(
+                        DbRdrExport::getEntityId, Function.identity(), (first, second) -> first));
 
     List<DbRdrExport> exportList =
         idList.stream()
             .map(
                 id -> {
-                  DbRdrExport rd =
-                      rdrExportDao.findByEntityTypeAndEntityId(
-                          RdrEntityEnums.entityToStorage(entity), id);
+                  DbRdrExport rd = existingExports.get(id);
                   // If Entry doesn't exist in rdr_export create an object else just update the
                   // export Date
                   // to right now
@@ -310,17 +432,13 @@ public class RdrExportServiceImpl implements RdrExportService {
    * Set excludeFromPublicDirectory to true if the workspace creator is an operational user i.e has
    * Institution as All of Us Program operational Use
    *
-   * @param creatorUser
+   * @param creatorAffiliation the creator's verified institutional affiliation, if any
    * @param rdrWorkspace
    */
-  void setExcludeFromPublicDirectory(DbUser creatorUser, RdrWorkspace rdrWorkspace) {
-    rdrWorkspace.setExcludeFromPublicDirectory(false);
-    verifiedInstitutionalAffiliationDao
-        .findFirstByUser(creatorUser)
-        .ifPresent(
-            verifiedInstitutionalAffiliation ->
-                rdrWorkspace.setExcludeFromPublicDirectory(
-                    institutionService.validateOperationalUser(
-                        verifiedInstitutionalAffiliation.getInstitution())));
+  void setExcludeFromPublicDirectory(
+      @Nullable DbVerifiedInstitutionalAffiliation creatorAffiliation, RdrWorkspace rdrWorkspace) {
+    rdrWorkspace.setExcludeFromPublicDirectory(
+        creatorAffiliation != null
+            && institutionService.validateOperationalUser(creatorAffiliation.getInstitution()));
   }
 }
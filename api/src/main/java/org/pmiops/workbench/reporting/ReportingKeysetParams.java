@@ -0,0 +1,23 @@
+package org.pmiops.workbench.reporting;
+
+import jakarta.annotation.Nullable;
+import org.pmiops.workbench.db.jdbc.ReportingQueryService.KeysetBatchQuery;
+import org.pmiops.workbench.model.ReportingBase;
+
+/**
+ * Parameters for tables which support keyset (seek-by-primary-key) batching, which is cheaper
+ * than LIMIT/OFFSET batching for large tables.
+ *
+ * <p>A table can also be split into primary key ranges which upload in parallel, if its
+ * destination BigQuery table includes the primary key column for range verification.
+ */
+public record ReportingKeysetParams<T extends ReportingBase>(
+    String rwbTableName,
+    String rwbKeyColumn,
+    @Nullable String bqKeyColumn,
+    KeysetBatchQuery<T> rwbKeysetBatchQueryFn) {
+
+  public boolean supportsRangeSplitting() {
+    return bqKeyColumn != null;
+  }
+}
@@ -1,6 +1,7 @@
 package org.pmiops.workbench.reporting;
 
 import java.util.List;
+import org.pmiops.workbench.db.jdbc.PrimaryKeyRange;
 
 /*
  * Captures a snapshot of analyst-facing data and uploads it to a dataset in BigQuery for this
@@ -11,4 +12,7 @@ public interface ReportingService {
   void splitUploadIntoTasksAndQueue();
 
   void collectRecordsAndUpload(List<String> tables, long captureTimestamp);
+
+  /** Upload a single primary key range of a table which was split across several tasks. */
+  void collectRangeAndUpload(String table, PrimaryKeyRange keyRange, long captureTimestamp);
 }
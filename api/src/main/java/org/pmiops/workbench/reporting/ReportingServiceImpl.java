@@ -6,6 +6,7 @@ import java.util.Optional;
 import java.util.logging.Logger;
 import org.pmiops.workbench.cloudtasks.TaskQueueService;
 import org.pmiops.workbench.db.dao.ReportingUploadVerificationDao;
+import org.pmiops.workbench.db.jdbc.PrimaryKeyRange;
 import org.pmiops.workbench.db.jdbc.ReportingQueryService;
 import org.pmiops.workbench.model.ReportingBase;
 import org.springframework.stereotype.Service;
@@ -48,9 +49,25 @@ public class ReportingServiceImpl implements ReportingService {
 
   private <T extends ReportingBase> void uploadBatchesForTable(
       ReportingTableParams<T> tableParams, long captureTimestamp) {
-    reportingQueryService
-        .getBatchedStream(tableParams.rwbBatchQueryFn(), tableParams.batchSize())
-        .forEach(batch -> reportingUploadService.uploadBatch(tableParams, batch, captureTimestamp));
+    final ReportingKeysetParams<T> keysetParams = tableParams.keysetParams();
+    if (keysetParams == null) {
+      reportingUploadService.uploadBatches(
+          tableParams,
+          reportingQueryService.getBatchedStream(
+              tableParams.rwbBatchQueryFn(), tableParams.batchSize()),
+          captureTimestamp);
+    } else {
+      uploadBatchesForRange(tableParams, PrimaryKeyRange.all(), captureTimestamp);
+    }
+  }
+
+  private <T extends ReportingBase> void uploadBatchesForRange(
+      ReportingTableParams<T> tableParams, PrimaryKeyRange keyRange, long captureTimestamp) {
+    reportingUploadService.uploadBatches(
+        tableParams,
+        reportingQueryService.getKeysetBatchedStream(
+            tableParams.keysetParams().rwbKeysetBatchQueryFn(), tableParams.batchSize(), keyRange),
+        captureTimestamp);
   }
 
   @Transactional
@@ -74,9 +91,22 @@ public class ReportingServiceImpl implements ReportingService {
         .getAll()
         .forEach(
             tableParams -> {
-              reportingUploadVerificationDao.createVerificationEntry(
-                  tableParams.bqTableName(), captureTimestamp);
-              taskQueueService.pushReportingUploadTask(tableParams.bqTableName(), captureTimestamp);
+              final String tableName = tableParams.bqTableName();
+              final List<PrimaryKeyRange> ranges =
+                  reportingTableService.getUploadRanges(tableParams);
+              if (ranges.isEmpty()) {
+                reportingUploadVerificationDao.createVerificationEntry(tableName, captureTimestamp);
+                taskQueueService.pushReportingUploadTask(tableName, captureTimestamp);
+              } else {
+                // each range is uploaded and verified independently
+                ranges.forEach(
+                    range -> {
+                      reportingUploadVerificationDao.createVerificationEntry(
+                          ReportingVerificationService.rangeVerificationName(tableName, range),
+                          captureTimestamp);
+                      taskQueueService.pushReportingUploadTask(tableName, captureTimestamp, range);
+                    });
+              }
             });
   }
 
@@ -90,7 +120,26 @@ public class ReportingServiceImpl implements ReportingService {
         .getAll(tables)
         .forEach(tableParams -> uploadBatchesForTable(tableParams, captureTimestamp));
     reportingVerificationService.verifyBatchesAndLog(tables, captureTimestamp);
+    uploadSnapshotIfVerified(captureTimestamp);
+  }
+
+  // Upload data in batches for a single primary key range of a table, verify the range's counts,
+  // and check to see if all tables in the snapshot have successfully uploaded.
+  @Transactional(isolation = Isolation.SERIALIZABLE)
+  @Override
+  public void collectRangeAndUpload(String table, PrimaryKeyRange keyRange, long captureTimestamp) {
+    reportingTableService
+        .getAll(List.of(table))
+        .forEach(
+            tableParams -> {
+              uploadBatchesForRange(tableParams, keyRange, captureTimestamp);
+              reportingVerificationService.verifyRangeAndLog(
+                  tableParams, keyRange, captureTimestamp);
+            });
+    uploadSnapshotIfVerified(captureTimestamp);
+  }
 
+  private void uploadSnapshotIfVerified(long captureTimestamp) {
     boolean batchUploadSuccess = reportingVerificationService.verifySnapshot(captureTimestamp);
     if (batchUploadSuccess) {
       reportingUploadService.uploadVerifiedSnapshot(captureTimestamp);
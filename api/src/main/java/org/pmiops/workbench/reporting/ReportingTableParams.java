@@ -1,14 +1,45 @@
 package org.pmiops.workbench.reporting;
 
+import jakarta.annotation.Nullable;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.IntSupplier;
 import org.pmiops.workbench.model.ReportingBase;
 import org.pmiops.workbench.reporting.insertion.InsertAllRequestPayloadTransformer;
+import org.pmiops.workbench.reporting.insertion.InsertAllRowEncoder;
 
 public record ReportingTableParams<T extends ReportingBase>(
     String bqTableName,
     int batchSize,
     InsertAllRequestPayloadTransformer<T> bqInsertionBuilder,
     BiFunction<Long, Long, List<T>> rwbBatchQueryFn,
-    IntSupplier rwbTableCountFn) {}
+    IntSupplier rwbTableCountFn,
+    @Nullable ReportingKeysetParams<T> keysetParams,
+    InsertAllRowEncoder<T> rowEncoder) {
+
+  public ReportingTableParams(
+      String bqTableName,
+      int batchSize,
+      InsertAllRequestPayloadTransformer<T> bqInsertionBuilder,
+      BiFunction<Long, Long, List<T>> rwbBatchQueryFn,
+      IntSupplier rwbTableCountFn,
+      @Nullable ReportingKeysetParams<T> keysetParams) {
+    this(
+        bqTableName,
+        batchSize,
+        bqInsertionBuilder,
+        rwbBatchQueryFn,
+        rwbTableCountFn,
+        keysetParams,
+        InsertAllRowEncoder.compile(bqInsertionBuilder));
+  }
+
+  public ReportingTableParams(
+      String bqTableName,
+      int batchSize,
+      InsertAllRequestPayloadTransformer<T> bqInsertionBuilder,
+      BiFunction<Long, Long, List<T>> rwbBatchQueryFn,
+      IntSupplier rwbTableCountFn) {
+    this(bqTableName, batchSize, bqInsertionBuilder, rwbBatchQueryFn, rwbTableCountFn, null);
+  }
+}
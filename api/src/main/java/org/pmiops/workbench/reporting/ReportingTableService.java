@@ -3,12 +3,14 @@ package org.pmiops.workbench.reporting;
 import static org.pmiops.workbench.reporting.insertion.InsertAllRequestPayloadTransformer.MAX_ROWS_PER_INSERT_ALL_REQUEST;
 
 import jakarta.inject.Provider;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.config.WorkbenchConfig.ReportingConfig;
+import org.pmiops.workbench.db.jdbc.PrimaryKeyRange;
 import org.pmiops.workbench.db.jdbc.ReportingQueryService;
 import org.pmiops.workbench.model.ReportingBase;
 import org.pmiops.workbench.model.ReportingCohort;
@@ -122,6 +124,35 @@ public class ReportingTableService {
     return Math.min(MAX_ROWS_PER_INSERT_ALL_REQUEST, wantedSize);
   }
 
+  /**
+   * Split a table into primary key ranges to be uploaded by separate tasks, as configured by
+   * uploadRangeCounts. Returns an empty list if the table should be uploaded by a single task.
+   *
+   * <p>The bounds are read now, but the ranges are uploaded later, so the last range has no upper
+   * bound. Like an unsplit upload of PrimaryKeyRange.all(), it then includes rows inserted in the
+   * meantime.
+   */
+  public List<PrimaryKeyRange> getUploadRanges(ReportingTableParams<?> tableParams) {
+    final ReportingKeysetParams<?> keysetParams = tableParams.keysetParams();
+    final int rangeCount =
+        Optional.ofNullable(workbenchConfigProvider.get().reporting.uploadRangeCounts)
+            .flatMap(counts -> Optional.ofNullable(counts.get(tableParams.bqTableName())))
+            .orElse(1);
+    if (rangeCount <= 1 || keysetParams == null || !keysetParams.supportsRangeSplitting()) {
+      return List.of();
+    }
+    return reportingQueryService
+        .getPrimaryKeyBounds(keysetParams.rwbTableName(), keysetParams.rwbKeyColumn())
+        .map(
+            bounds -> {
+              final List<PrimaryKeyRange> ranges = new ArrayList<>(bounds.split(rangeCount));
+              final int last = ranges.size() - 1;
+              ranges.set(last, ranges.get(last).toUnbounded());
+              return ranges;
+            })
+        .orElse(List.of());
+  }
+
   // by default:
   // * use the same table name for the BQ and RWB tables
   // * use the default batch size
@@ -160,9 +191,18 @@ public class ReportingTableService {
         reportingQueryService::getNewUserSatisfactionSurveyBatch);
   }
 
+  // user, workspace, and workspace user cache are our largest tables, so they also support keyset
+  // batching
+
   public final ReportingTableParams<ReportingUser> user() {
-    return defaultParams(
-        USER_TABLE_NAME, UserColumnValueExtractor::values, reportingQueryService::getUserBatch);
+    return new ReportingTableParams<>(
+        USER_TABLE_NAME,
+        batchSize(USER_TABLE_NAME),
+        UserColumnValueExtractor::values,
+        reportingQueryService::getUserBatch,
+        () -> reportingQueryService.getTableRowCount(USER_TABLE_NAME),
+        new ReportingKeysetParams<>(
+            USER_TABLE_NAME, "user_id", "user_id", reportingQueryService::getUserKeysetBatch));
   }
 
   public final ReportingTableParams<ReportingUserGeneralDiscoverySource>
@@ -225,7 +265,12 @@ public class ReportingTableService {
         batchSize(WORKSPACE_TABLE_NAME),
         WorkspaceColumnValueExtractor::values,
         reportingQueryService::getWorkspaceBatch,
-        () -> reportingQueryService.getTableRowCount(WORKSPACE_TABLE_NAME));
+        () -> reportingQueryService.getTableRowCount(WORKSPACE_TABLE_NAME),
+        new ReportingKeysetParams<>(
+            WORKSPACE_TABLE_NAME,
+            "workspace_id",
+            "workspace_id",
+            reportingQueryService::getWorkspaceKeysetBatch));
   }
 
   public final ReportingTableParams<ReportingWorkspaceUser> workspaceUser() {
@@ -234,7 +279,13 @@ public class ReportingTableService {
         batchSize(WORKSPACE_USER_CACHE_BQ_TABLE_NAME),
         WorkspaceUserColumnValueExtractor::values,
         reportingQueryService::getWorkspaceUserBatch,
-        () -> reportingQueryService.getTableRowCount(WORKSPACE_USER_CACHE_TABLE_NAME));
+        () -> reportingQueryService.getTableRowCount(WORKSPACE_USER_CACHE_TABLE_NAME),
+        // the BQ table does not include the cache's synthetic ID, so it can't be range-split
+        new ReportingKeysetParams<>(
+            WORKSPACE_USER_CACHE_TABLE_NAME,
+            "id",
+            null,
+            reportingQueryService::getWorkspaceUserKeysetBatch));
   }
 
   public final ReportingTableParams<ReportingFolderSync> folderSync() {
@@ -1,12 +1,21 @@
 package org.pmiops.workbench.reporting;
 
 import java.util.List;
+import java.util.stream.Stream;
 import org.pmiops.workbench.model.ReportingBase;
 
 public interface ReportingUploadService {
   <T extends ReportingBase> void uploadBatch(
       ReportingTableParams<T> uploadBatchParams, List<T> batch, long captureTimestamp);
 
+  /**
+   * Uploads every batch of the stream, then closes it. When reporting.maxInFlightUploadBatches is
+   * greater than 1, the next batch is read while earlier ones are uploaded. Logs the throughput of
+   * each stage (read, encode, upload).
+   */
+  <T extends ReportingBase> void uploadBatches(
+      ReportingTableParams<T> uploadBatchParams, Stream<List<T>> batches, long captureTimestamp);
+
   /** Uploads a record into VerifiedSnapshot table if upload result is verified. */
   void uploadVerifiedSnapshot(long captureTimestamp);
 }
@@ -9,17 +9,25 @@ import com.google.cloud.bigquery.InsertAllRequest.RowToInsert;
 import com.google.cloud.bigquery.InsertAllResponse;
 import com.google.cloud.bigquery.TableId;
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
 import jakarta.inject.Provider;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 import org.pmiops.workbench.api.BigQueryService;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.model.ReportingBase;
+import org.pmiops.workbench.reporting.ReportingUploadThroughput.Stage;
 import org.pmiops.workbench.utils.LogFormatters;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor.FanOutReport;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -33,32 +41,138 @@ public class ReportingUploadServiceImpl implements ReportingUploadService {
    */
   private static final String VERIFIED_SNAPSHOT_TABLE_NAME = "verified_snapshot";
 
+  private static final Duration BATCH_UPLOAD_TIMEOUT = Duration.ofMinutes(5);
+
+  /** A batch of rows, named in logs by its position in the table rather than by its rows. */
+  private record UploadBatch<T>(int number, List<T> rows) {
+    @Override
+    public String toString() {
+      return "batch " + number;
+    }
+  }
+
   private final BigQueryService bigQueryService;
   private final Provider<WorkbenchConfig> configProvider;
   private final Provider<Stopwatch> stopwatchProvider;
+  private final RemoteFanOutExecutor remoteFanOutExecutor;
 
   public ReportingUploadServiceImpl(
       BigQueryService bigQueryService,
       Provider<WorkbenchConfig> configProvider,
-      Provider<Stopwatch> stopwatchProvider) {
+      Provider<Stopwatch> stopwatchProvider,
+      RemoteFanOutExecutor remoteFanOutExecutor) {
     this.bigQueryService = bigQueryService;
     this.configProvider = configProvider;
     this.stopwatchProvider = stopwatchProvider;
+    this.remoteFanOutExecutor = remoteFanOutExecutor;
   }
 
   @Override
   public <T extends ReportingBase> void uploadBatch(
       ReportingTableParams<T> uploadBatchParams, List<T> batch, long captureTimestamp) {
-    InsertAllRequest request =
-        uploadBatchParams
-            .bqInsertionBuilder()
-            .build(
-                getTableId(uploadBatchParams.bqTableName()),
-                batch,
-                getFixedValues(captureTimestamp));
+    encodeAndUploadBatch(
+        uploadBatchParams,
+        getTableId(uploadBatchParams.bqTableName()),
+        getFixedValues(captureTimestamp),
+        batch,
+        new ReportingUploadThroughput(uploadBatchParams.bqTableName()));
+  }
+
+  @Override
+  public <T extends ReportingBase> void uploadBatches(
+      ReportingTableParams<T> uploadBatchParams,
+      Stream<List<T>> batches,
+      long captureTimestamp) {
+    final Stopwatch wallStopwatch = stopwatchProvider.get().reset().start();
+    final ReportingUploadThroughput throughput =
+        new ReportingUploadThroughput(uploadBatchParams.bqTableName());
+    // Resolve these on the calling thread: the config is request-scoped, and is not available to
+    // the uploader threads.
+    final TableId tableId = getTableId(uploadBatchParams.bqTableName());
+    final Map<String, Object> fixedValues = getFixedValues(captureTimestamp);
+    final int maxInFlightBatches =
+        Optional.ofNullable(configProvider.get().reporting.maxInFlightUploadBatches).orElse(1);
+
+    try (batches) {
+      final Iterator<List<T>> batchIterator = batches.iterator();
+      if (maxInFlightBatches <= 1) {
+        List<T> batch;
+        while ((batch = readNextBatch(batchIterator, throughput)) != null) {
+          encodeAndUploadBatch(uploadBatchParams, tableId, fixedValues, batch, throughput);
+        }
+      } else {
+        uploadPipelined(
+            uploadBatchParams, tableId, fixedValues, batchIterator, maxInFlightBatches, throughput);
+      }
+    }
+    log.info(throughput.summarize(wallStopwatch.stop().elapsed()));
+  }
+
+  /**
+   * Reads the next batch on the calling thread while up to maxInFlightBatches earlier batches are
+   * encoded and uploaded on the shared fan-out pool. The calling thread blocks before holding more
+   * than one batch beyond those in flight, which bounds memory use.
+   */
+  private <T extends ReportingBase> void uploadPipelined(
+      ReportingTableParams<T> uploadBatchParams,
+      TableId tableId,
+      Map<String, Object> fixedValues,
+      Iterator<List<T>> batchIterator,
+      int maxInFlightBatches,
+      ReportingUploadThroughput throughput) {
+    final Iterator<UploadBatch<T>> uploadBatches =
+        new AbstractIterator<>() {
+          private int batchNumber = 0;
+
+          @Override
+          protected UploadBatch<T> computeNext() {
+            final List<T> batch = readNextBatch(batchIterator, throughput);
+            return batch == null ? endOfData() : new UploadBatch<>(++batchNumber, batch);
+          }
+        };
+    final FanOutReport report =
+        remoteFanOutExecutor.runAll(
+            "upload reporting table " + uploadBatchParams.bqTableName(),
+            uploadBatches,
+            uploadBatch -> {
+              encodeAndUploadBatch(
+                  uploadBatchParams, tableId, fixedValues, uploadBatch.rows(), throughput);
+              return true;
+            },
+            maxInFlightBatches,
+            BATCH_UPLOAD_TIMEOUT);
+    if (!report.allSucceeded()) {
+      throw new RuntimeException(
+          String.format(
+              "%d of %d batches of table %s failed to upload",
+              report.failed() + report.timedOut(),
+              report.total(),
+              uploadBatchParams.bqTableName()));
+    }
+  }
+
+  /** Returns the next batch, or null if there are no more, recording the time spent reading. */
+  private <T> List<T> readNextBatch(
+      Iterator<List<T>> batchIterator, ReportingUploadThroughput throughput) {
+    final Stopwatch stopwatch = stopwatchProvider.get().reset().start();
+    final List<T> batch = batchIterator.hasNext() ? batchIterator.next() : null;
+    throughput.record(
+        Stage.READ, batch == null ? 0 : batch.size(), stopwatch.stop().elapsed());
+    return batch;
+  }
+
+  private <T extends ReportingBase> void encodeAndUploadBatch(
+      ReportingTableParams<T> uploadBatchParams,
+      TableId tableId,
+      Map<String, Object> fixedValues,
+      List<T> batch,
+      ReportingUploadThroughput throughput) {
+    final Stopwatch stopwatch = stopwatchProvider.get().reset().start();
+    InsertAllRequest request = uploadBatchParams.rowEncoder().build(tableId, batch, fixedValues);
+    throughput.record(Stage.ENCODE, batch.size(), stopwatch.stop().elapsed());
 
     try {
-      uploadBatchTable(request);
+      uploadBatchTable(request, throughput);
     } catch (BigQueryException e) {
       // log and continue to determine which tables failed to upload.
       // the overall snapshot will fail at the verification step.
@@ -73,13 +187,15 @@ public class ReportingUploadServiceImpl implements ReportingUploadService {
   }
 
   /** Batch uploads a reporting table. */
-  private void uploadBatchTable(InsertAllRequest insertAllRequest) {
+  private void uploadBatchTable(
+      InsertAllRequest insertAllRequest, ReportingUploadThroughput throughput) {
     final Stopwatch stopwatch = stopwatchProvider.get();
     final ImmutableMultimap.Builder<TableId, InsertAllResponse> responseMapBuilder =
         ImmutableMultimap.builder();
     final StringBuilder performanceStringBuilder = new StringBuilder();
     issueInsertAllRequest(
         stopwatch, responseMapBuilder, performanceStringBuilder, insertAllRequest);
+    throughput.record(Stage.UPLOAD, insertAllRequest.getRows().size(), stopwatch.elapsed());
     log.info(performanceStringBuilder.toString());
     // Check response and abort the process if any error happens. In this case, verify_snapshot
     // won't have the 'successful' record, hence we know that is a "bad" dataset.
@@ -118,7 +234,6 @@ public class ReportingUploadServiceImpl implements ReportingUploadService {
                 request.getRows().size(),
                 "rows"))
         .append("\n");
-    stopwatch.reset();
   }
 
   private TableId getTableId(String tableName) {
@@ -0,0 +1,66 @@
+package org.pmiops.workbench.reporting;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.pmiops.workbench.utils.LogFormatters;
+
+/**
+ * Accumulates per-stage row counts and elapsed time for the upload of a single reporting table.
+ * Safe to update from concurrent uploader threads.
+ */
+public class ReportingUploadThroughput {
+
+  public enum Stage {
+    // fetching batches from the source (usually MySQL)
+    READ,
+    // building the InsertAllRequest payload
+    ENCODE,
+    // waiting on BigQuery insertAll
+    UPLOAD
+  }
+
+  private final String tableName;
+  private final Map<Stage, LongAdder> rowsByStage = new EnumMap<>(Stage.class);
+  private final Map<Stage, LongAdder> nanosByStage = new EnumMap<>(Stage.class);
+
+  public ReportingUploadThroughput(String tableName) {
+    this.tableName = tableName;
+    for (Stage stage : Stage.values()) {
+      rowsByStage.put(stage, new LongAdder());
+      nanosByStage.put(stage, new LongAdder());
+    }
+  }
+
+  public void record(Stage stage, long rows, Duration elapsed) {
+    rowsByStage.get(stage).add(rows);
+    nanosByStage.get(stage).add(elapsed.toNanos());
+  }
+
+  public long getRows(Stage stage) {
+    return rowsByStage.get(stage).sum();
+  }
+
+  public Duration getElapsed(Stage stage) {
+    return Duration.ofNanos(nanosByStage.get(stage).sum());
+  }
+
+  /**
+   * Summarize the throughput of each stage. Stage times are summed across threads, so with
+   * pipelining they can add up to more than the wall time.
+   */
+  public String summarize(Duration wallTime) {
+    final StringBuilder sb =
+        new StringBuilder(String.format("Reporting upload throughput for table %s:\n", tableName));
+    for (Stage stage : Stage.values()) {
+      sb.append("  ")
+          .append(LogFormatters.rate(stage.name(), getElapsed(stage), getRows(stage), "rows"))
+          .append("\n");
+    }
+    sb.append("  ")
+        .append(LogFormatters.rate("TOTAL", wallTime, getRows(Stage.UPLOAD), "rows"))
+        .append("\n");
+    return sb.toString();
+  }
+}
@@ -1,14 +1,24 @@
 package org.pmiops.workbench.reporting;
 
 import java.util.List;
+import org.pmiops.workbench.db.jdbc.PrimaryKeyRange;
 
 public interface ReportingVerificationService {
   /** Verifies batched uploaded result specified tables. */
   void verifyBatchesAndLog(List<String> tables, long captureSnapshotTime);
 
+  /** Verifies the uploaded result of a single primary key range of a table. */
+  void verifyRangeAndLog(
+      ReportingTableParams<?> table, PrimaryKeyRange keyRange, long captureSnapshotTime);
+
   /**
    * Verifies all tables associated with captureSnapshotTime uploaded successfully. Returns {@code
    * true} if all are verified.
    */
   boolean verifySnapshot(long captureSnapshotTime);
+
+  /** The name under which the upload verification of a table's key range is recorded. */
+  static String rangeVerificationName(String tableName, PrimaryKeyRange keyRange) {
+    return tableName + keyRange.label();
+  }
 }
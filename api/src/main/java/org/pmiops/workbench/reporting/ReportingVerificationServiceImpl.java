@@ -10,6 +10,8 @@ import java.util.logging.Logger;
 import org.pmiops.workbench.api.BigQueryService;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.db.dao.ReportingUploadVerificationDao;
+import org.pmiops.workbench.db.jdbc.PrimaryKeyRange;
+import org.pmiops.workbench.db.jdbc.ReportingQueryService;
 import org.pmiops.workbench.utils.FieldValues;
 import org.springframework.stereotype.Service;
 
@@ -20,16 +22,19 @@ public class ReportingVerificationServiceImpl implements ReportingVerificationSe
 
   private final BigQueryService bigQueryService;
   private final Provider<WorkbenchConfig> workbenchConfigProvider;
+  private final ReportingQueryService reportingQueryService;
   private final ReportingTableService reportingTableService;
   private final ReportingUploadVerificationDao reportingUploadVerificationDao;
 
   public ReportingVerificationServiceImpl(
       BigQueryService bigQueryService,
       Provider<WorkbenchConfig> workbenchConfigProvider,
+      ReportingQueryService reportingQueryService,
       ReportingTableService reportingTableService,
       ReportingUploadVerificationDao reportingUploadVerificationDao) {
     this.bigQueryService = bigQueryService;
     this.workbenchConfigProvider = workbenchConfigProvider;
+    this.reportingQueryService = reportingQueryService;
     this.reportingTableService = reportingTableService;
     this.reportingUploadVerificationDao = reportingUploadVerificationDao;
   }
@@ -55,6 +60,34 @@ public class ReportingVerificationServiceImpl implements ReportingVerificationSe
     logger.log(Level.INFO, sb.toString());
   }
 
+  @Override
+  public void verifyRangeAndLog(
+      ReportingTableParams<?> table, PrimaryKeyRange keyRange, long captureSnapshotTime) {
+    final ReportingKeysetParams<?> keysetParams = table.keysetParams();
+    if (keysetParams == null || !keysetParams.supportsRangeSplitting()) {
+      throw new IllegalArgumentException(
+          String.format("Table %s cannot be verified by key range", table.bqTableName()));
+    }
+    final StringBuilder sb =
+        new StringBuilder(
+            String.format(
+                "Verifying range %s at %d:\n", keyRange.label(), captureSnapshotTime));
+    sb.append("Table\tSource\tDestination\tDifference(%)\n");
+
+    final String verificationName =
+        ReportingVerificationService.rangeVerificationName(table.bqTableName(), keyRange);
+    long sourceCount =
+        reportingQueryService.getTableRowCount(
+            keysetParams.rwbTableName(), keysetParams.rwbKeyColumn(), keyRange);
+    long destCount =
+        getBigQueryRowCount(
+            table.bqTableName(), captureSnapshotTime, keysetParams.bqKeyColumn(), keyRange);
+    boolean uploadOutcome = verifyCount(verificationName, sourceCount, destCount, sb);
+    reportingUploadVerificationDao.updateUploadedStatus(
+        verificationName, captureSnapshotTime, uploadOutcome);
+    logger.log(Level.INFO, sb.toString());
+  }
+
   @Override
   public boolean verifySnapshot(long captureSnapshotTime) {
     var tablesInSnapshot =
@@ -98,7 +131,26 @@ public class ReportingVerificationServiceImpl implements ReportingVerificationSe
   }
 
   private Long getBigQueryRowCount(String tableName, long snapshotTimestamp) {
-    final QueryJobConfiguration queryJobConfiguration = buildJob(tableName, snapshotTimestamp);
+    return getBigQueryRowCount(
+        tableName, buildJob(tableName, snapshotTimestamp), snapshotTimestamp);
+  }
+
+  private Long getBigQueryRowCount(
+      String tableName, long snapshotTimestamp, String keyColumn, PrimaryKeyRange keyRange) {
+    final String query =
+        buildQuery(tableName)
+            + String.format(" AND %s > @after_key AND %s <= @up_to_key", keyColumn, keyColumn);
+    final QueryJobConfiguration queryJobConfiguration =
+        QueryJobConfiguration.newBuilder(query)
+            .addNamedParameter("snapshot_timestamp", QueryParameterValue.int64(snapshotTimestamp))
+            .addNamedParameter("after_key", QueryParameterValue.int64(keyRange.afterKey()))
+            .addNamedParameter("up_to_key", QueryParameterValue.int64(keyRange.upToKey()))
+            .build();
+    return getBigQueryRowCount(tableName, queryJobConfiguration, snapshotTimestamp);
+  }
+
+  private Long getBigQueryRowCount(
+      String tableName, QueryJobConfiguration queryJobConfiguration, long snapshotTimestamp) {
     return Streams.stream(bigQueryService.executeQuery(queryJobConfiguration).getValues())
         .findFirst()
         .flatMap(fv -> FieldValues.getLong(fv, "actual_count"))
@@ -123,7 +175,7 @@ public class ReportingVerificationServiceImpl implements ReportingVerificationSe
             + "FROM\n"
             + "  `%s.%s.%s` \n"
             + "WHERE\n"
-            + "  snapshot_timestamp =  @snapshot_timestamp;";
+            + "  snapshot_timestamp =  @snapshot_timestamp";
     return String.format(queryTemplate, getProjectId(), getBigqueryDataset(), tableName);
   }
 }
@@ -0,0 +1,197 @@
+package org.pmiops.workbench.utils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pmiops.workbench.exceptions.ServerErrorException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Runs blocking calls to remote services concurrently, for operations which fan out to many
+ * resources at once. Unlike parallel streams, which share the JVM's CPU-sized common ForkJoinPool,
+ * calls run on threads reserved for remote I/O, and the number in flight is bounded both across
+ * all callers and per operation.
+ */
+@Component
+public class RemoteFanOutExecutor {
+  private static final Logger log = Logger.getLogger(RemoteFanOutExecutor.class.getName());
+
+  // The most remote calls in flight at once across all operations; further calls wait in a queue.
+  @VisibleForTesting static final int MAX_THREADS = 32;
+  private static final Duration IDLE_THREAD_TIMEOUT = Duration.ofSeconds(60);
+
+  /** The number of an operation's calls which ended each way. */
+  public record FanOutReport(int succeeded, int failed, int timedOut) {
+    public int total() {
+      return succeeded + failed + timedOut;
+    }
+
+    public boolean allSucceeded() {
+      return failed == 0 && timedOut == 0;
+    }
+  }
+
+  private final ThreadPoolExecutor executor;
+  private final ScheduledThreadPoolExecutor timer;
+
+  public RemoteFanOutExecutor() {
+    this(MAX_THREADS);
+  }
+
+  @VisibleForTesting
+  RemoteFanOutExecutor(int maxThreads) {
+    this.executor =
+        new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            IDLE_THREAD_TIMEOUT.toMillis(),
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("remote-fan-out-%d").setDaemon(true).build());
+    this.executor.allowCoreThreadTimeOut(true);
+    this.timer =
+        new ScheduledThreadPoolExecutor(
+            1,
+            new ThreadFactoryBuilder()
+                .setNameFormat("remote-fan-out-timer-%d")
+                .setDaemon(true)
+                .build());
+    this.timer.setRemoveOnCancelPolicy(true);
+  }
+
+  /**
+   * Calls {@code call} for each input, with at most {@code parallelism} of them in flight, and
+   * waits for all of them to end. A call fails if it returns false or throws, and times out if it
+   * is still running {@code perCallTimeout} after it started, in which case it is interrupted.
+   * Exceptions and timeouts are logged here; a call which returns false should log its own reason.
+   */
+  public <T> FanOutReport runAll(
+      String operation,
+      Collection<T> inputs,
+      Predicate<T> call,
+      int parallelism,
+      Duration perCallTimeout) {
+    return runAll(operation, inputs.iterator(), call, parallelism, perCallTimeout);
+  }
+
+  /**
+   * As above, but reads each input only once a call is free to take it, and doesn't hold on to an
+   * input once its call has succeeded, so that the inputs needn't all fit in memory at once.
+   */
+  public <T> FanOutReport runAll(
+      String operation,
+      Iterator<T> inputs,
+      Predicate<T> call,
+      int parallelism,
+      Duration perCallTimeout) {
+    final Semaphore inFlight = new Semaphore(Math.max(1, parallelism));
+    final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    final List<Call<T>> calls = new ArrayList<>();
+    try {
+      while (inputs.hasNext()) {
+        final Call<T> submitted = new Call<>(inputs.next(), call, requestAttributes);
+        inFlight.acquire();
+        calls.add(submitted);
+        executor.execute(
+            () -> {
+              final ScheduledFuture<?> timeout =
+                  timer.schedule(
+                      () -> submitted.task.cancel(true),
+                      perCallTimeout.toMillis(),
+                      TimeUnit.MILLISECONDS);
+              try {
+                submitted.task.run();
+              } finally {
+                timeout.cancel(false);
+                inFlight.release();
+              }
+            });
+      }
+
+      int succeeded = 0;
+      int failed = 0;
+      int timedOut = 0;
+      for (Call<T> submitted : calls) {
+        try {
+          if (submitted.task.get()) {
+            succeeded++;
+          } else {
+            failed++;
+          }
+        } catch (CancellationException e) {
+          log.warning(
+              String.format(
+                  "%s: call for %s timed out after %s",
+                  operation, submitted.input, perCallTimeout));
+          timedOut++;
+        } catch (ExecutionException e) {
+          log.log(
+              Level.WARNING,
+              String.format("%s: call for %s failed", operation, submitted.input),
+              e.getCause());
+          failed++;
+        }
+      }
+      final FanOutReport report = new FanOutReport(succeeded, failed, timedOut);
+      log.log(
+          report.allSucceeded() ? Level.INFO : Level.WARNING,
+          String.format(
+              "%s: %d of %d calls succeeded, %d failed, %d timed out",
+              operation, succeeded, report.total(), failed, timedOut));
+      return report;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      calls.forEach(submitted -> submitted.task.cancel(true));
+      throw new ServerErrorException("Interrupted while waiting for " + operation, e);
+    }
+  }
+
+  /** One input's call. The input is kept only for as long as it may need to be logged. */
+  private static final class Call<T> {
+    private volatile T input;
+    private final FutureTask<Boolean> task;
+
+    private Call(T input, Predicate<T> call, RequestAttributes requestAttributes) {
+      this.input = input;
+      this.task =
+          new FutureTask<>(
+              () -> {
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                try {
+                  final boolean succeeded = call.test(this.input);
+                  if (succeeded) {
+                    this.input = null;
+                  }
+                  return succeeded;
+                } finally {
+                  RequestContextHolder.resetRequestAttributes();
+                }
+              });
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+    timer.shutdownNow();
+  }
+}
@@ -1,5 +1,8 @@
 package org.pmiops.workbench.utils.mappers;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.pmiops.workbench.db.model.DbUser;
@@ -18,6 +21,20 @@ public interface UserMapper {
   @Mapping(source = "user.username", target = "email")
   UserRole toApiUserRole(DbUser user, RawlsWorkspaceAccessEntry acl);
 
+  /**
+   * Converts a workspace ACL to the roles of its users, ordered by role then email, both
+   * descending. Entries with no user in usersByUsername, such as groups, are left out.
+   */
+  default List<UserRole> toApiUserRoles(
+      Map<String, RawlsWorkspaceAccessEntry> acl, Map<String, DbUser> usersByUsername) {
+    return acl.entrySet().stream()
+        .filter(entry -> usersByUsername.containsKey(entry.getKey()))
+        .map(entry -> toApiUserRole(usersByUsername.get(entry.getKey()), entry.getValue()))
+        .sorted(
+            Comparator.comparing(UserRole::getRole).thenComparing(UserRole::getEmail).reversed())
+        .toList();
+  }
+
   @Mapping(source = "contactEmail", target = "email")
   @Mapping(source = "userRole.email", target = "userName")
   User toApiUser(UserRole userRole, String contactEmail);
@@ -2,10 +2,12 @@ package org.pmiops.workbench.utils.mappers;
 
 import static org.mapstruct.NullValuePropertyMappingStrategy.SET_TO_DEFAULT;
 
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.mapstruct.CollectionMappingStrategy;
 import org.mapstruct.Context;
 import org.mapstruct.Mapper;
@@ -16,6 +18,7 @@ import org.pmiops.workbench.db.model.DbStorageEnums;
 import org.pmiops.workbench.db.model.DbWorkspace;
 import org.pmiops.workbench.initialcredits.InitialCreditsService;
 import org.pmiops.workbench.model.CdrVersion;
+import org.pmiops.workbench.model.InitialCreditResponse;
 import org.pmiops.workbench.model.RecentWorkspace;
 import org.pmiops.workbench.model.ResearchPurpose;
 import org.pmiops.workbench.model.TestUserRawlsWorkspace;
@@ -40,6 +43,8 @@ import org.pmiops.workbench.wsmanager.model.WorkspaceDescription;
     })
 public interface WorkspaceMapper {
 
+  /** The mappings shared by toApiWorkspace and toApiWorkspaceWithInitialCredits. */
+  @Retention(RetentionPolicy.CLASS)
   // DEPRECATED and subject to deletion.
   // Make an explicit choice to use either displayName for UI or terraName for Terra calls.
   @Mapping(target = "name", source = "dbWorkspace.name")
@@ -53,6 +58,18 @@ public interface WorkspaceMapper {
   // Need to work with security before exposing
   // Should change to contactEmail or institutionalEmail
   @Mapping(target = "creatorUser.email", ignore = true)
+  @Mapping(target = "cdrVersionId", source = "dbWorkspace.cdrVersion")
+  @Mapping(target = "accessTierShortName", source = "dbWorkspace.cdrVersion.accessTier.shortName")
+  @Mapping(target = "googleProject", source = "dbWorkspace.googleProject")
+  @Mapping(target = "usesTanagra", source = "dbWorkspace.usesTanagra")
+  @Mapping(target = "vwbWorkspace", source = "dbWorkspace.vwbWorkspace")
+  @Mapping(target = "migratedVwbWorkspaceId", source = "dbWorkspace.migratedVwbWorkspaceId")
+  @Mapping(target = "migrationState", source = "dbWorkspace.migrationState")
+  @Mapping(target = "recoveryState", source = "dbWorkspace.recoveryState")
+  @Mapping(target = "recoveryPodId", source = "dbWorkspace.recoveryPodId")
+  @interface ToApiWorkspaceMappings {}
+
+  @ToApiWorkspaceMappings
   @Mapping(
       target = "initialCredits.eligibleForExtension",
       source = "dbWorkspace.creator",
@@ -73,21 +90,20 @@ public interface WorkspaceMapper {
       target = "initialCredits.balance",
       source = "dbWorkspace",
       qualifiedByName = "initialCreditsBalance")
-  @Mapping(target = "cdrVersionId", source = "dbWorkspace.cdrVersion")
-  @Mapping(target = "accessTierShortName", source = "dbWorkspace.cdrVersion.accessTier.shortName")
-  @Mapping(target = "googleProject", source = "dbWorkspace.googleProject")
   @Mapping(target = "initialCredits.exhausted", source = "dbWorkspace.initialCreditsExhausted")
-  @Mapping(target = "usesTanagra", source = "dbWorkspace.usesTanagra")
-  @Mapping(target = "vwbWorkspace", source = "dbWorkspace.vwbWorkspace")
-  @Mapping(target = "migratedVwbWorkspaceId", source = "dbWorkspace.migratedVwbWorkspaceId")
-  @Mapping(target = "migrationState", source = "dbWorkspace.migrationState")
-  @Mapping(target = "recoveryState", source = "dbWorkspace.recoveryState")
-  @Mapping(target = "recoveryPodId", source = "dbWorkspace.recoveryPodId")
   Workspace toApiWorkspace(
       DbWorkspace dbWorkspace,
       RawlsWorkspaceDetails fcWorkspace,
       @Context InitialCreditsService initialCreditsService);
 
+  // As toApiWorkspace, with initial credits computed by the caller.
+  @ToApiWorkspaceMappings
+  @Mapping(target = "initialCredits", source = "initialCredits")
+  Workspace toApiWorkspaceWithInitialCredits(
+      DbWorkspace dbWorkspace,
+      RawlsWorkspaceDetails fcWorkspace,
+      InitialCreditResponse initialCredits);
+
   @Mapping(
       target = "accessLevel",
       source = "accessLevel",
@@ -128,16 +144,54 @@ public interface WorkspaceMapper {
       List<DbWorkspace> dbWorkspaces,
       Map<String, RawlsWorkspaceListResponse> fcWorkspacesByUuid,
       InitialCreditsService initialCreditsService) {
-    return dbWorkspaces.stream()
-        .flatMap(
-            dbWorkspace ->
-                Stream.ofNullable(fcWorkspacesByUuid.get(dbWorkspace.getFirecloudUuid()))
-                    .map(
-                        fcResponse ->
-                            toApiWorkspaceResponse(dbWorkspace, fcResponse, initialCreditsService)))
+    List<DbWorkspace> matchingWorkspaces =
+        dbWorkspaces.stream()
+            .filter(dbWorkspace -> fcWorkspacesByUuid.containsKey(dbWorkspace.getFirecloudUuid()))
+            .toList();
+
+    // look up the initial credits of all creators at once, rather than per workspace
+    Map<Long, InitialCreditResponse> initialCreditsByCreator =
+        initialCreditsService.getWorkspaceCreatorsInitialCredits(
+            matchingWorkspaces.stream()
+                .map(DbWorkspace::getCreator)
+                .filter(Objects::nonNull)
+                .toList());
+
+    return matchingWorkspaces.stream()
+        .map(
+            dbWorkspace -> {
+              RawlsWorkspaceListResponse fcResponse =
+                  fcWorkspacesByUuid.get(dbWorkspace.getFirecloudUuid());
+              InitialCreditResponse creatorCredits =
+                  dbWorkspace.getCreator() == null
+                      ? null
+                      : initialCreditsByCreator.get(dbWorkspace.getCreator().getUserId());
+              return toApiWorkspaceResponse(
+                  toApiWorkspaceWithInitialCredits(
+                      dbWorkspace,
+                      fcResponse.getWorkspace(),
+                      toWorkspaceInitialCredits(
+                          creatorCredits, dbWorkspace.isInitialCreditsExhausted())),
+                  fcResponse.getAccessLevel());
+            })
         .toList();
   }
 
+  // a workspace's initial credits are its creator's, plus its own exhaustion status
+  default InitialCreditResponse toWorkspaceInitialCredits(
+      InitialCreditResponse creatorCredits, boolean exhausted) {
+    InitialCreditResponse workspaceCredits = new InitialCreditResponse().exhausted(exhausted);
+    if (creatorCredits == null) {
+      return workspaceCredits;
+    }
+    return workspaceCredits
+        .expirationBypassed(creatorCredits.isExpirationBypassed())
+        .eligibleForExtension(creatorCredits.isEligibleForExtension())
+        .expirationEpochMillis(creatorCredits.getExpirationEpochMillis())
+        .extensionEpochMillis(creatorCredits.getExtensionEpochMillis())
+        .balance(creatorCredits.getBalance());
+  }
+
   @Mapping(target = "timeReviewed", ignore = true)
   @Mapping(target = "populationDetails", source = "specificPopulationsEnum")
   @Mapping(target = "researchOutcomeList", source = "researchOutcomeEnumSet")
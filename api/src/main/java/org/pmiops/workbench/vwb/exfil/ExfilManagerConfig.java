@@ -1,7 +1,7 @@
 package org.pmiops.workbench.vwb.exfil;
 
 import java.io.IOException;
-import org.pmiops.workbench.auth.ServiceAccounts;
+import org.pmiops.workbench.auth.AccessTokenBroker;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.exceptions.ServerErrorException;
 import org.pmiops.workbench.vwb.common.VwbApiClientUtils;
@@ -19,12 +19,12 @@ public class ExfilManagerConfig {
 
   @Bean(name = EXFIL_SERVICE_ACCOUNT_API_CLIENT)
   @RequestScope(proxyMode = ScopedProxyMode.DEFAULT)
-  public ApiClient apiClient(WorkbenchConfig workbenchConfig) {
+  public ApiClient apiClient(WorkbenchConfig workbenchConfig, AccessTokenBroker accessTokenBroker) {
     ApiClient apiClient = new ApiClient();
     apiClient.setBasePath(workbenchConfig.vwb.exfilManagerBaseUrl);
     try {
       apiClient.setAccessToken(
-          ServiceAccounts.getScopedServiceAccessToken(VwbApiClientUtils.SCOPES));
+          accessTokenBroker.getServiceAccessToken(VwbApiClientUtils.SCOPES));
     } catch (IOException e) {
       throw new ServerErrorException(e);
     }
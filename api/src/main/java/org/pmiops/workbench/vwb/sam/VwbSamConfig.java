@@ -1,7 +1,7 @@
 package org.pmiops.workbench.vwb.sam;
 
 import java.io.IOException;
-import org.pmiops.workbench.auth.ServiceAccounts;
+import org.pmiops.workbench.auth.AccessTokenBroker;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.exceptions.ServerErrorException;
 import org.pmiops.workbench.vwb.common.VwbApiClientUtils;
@@ -18,12 +18,12 @@ public class VwbSamConfig {
 
   @Bean(name = SAM_SERVICE_ACCOUNT_API_CLIENT)
   @RequestScope(proxyMode = ScopedProxyMode.DEFAULT)
-  public ApiClient apiClient(WorkbenchConfig workbenchConfig) {
+  public ApiClient apiClient(WorkbenchConfig workbenchConfig, AccessTokenBroker accessTokenBroker) {
     ApiClient apiClient = new ApiClient();
     apiClient.setBasePath(workbenchConfig.vwb.vwbSamBaseUrl);
     try {
       apiClient.setAccessToken(
-          ServiceAccounts.getScopedServiceAccessToken(VwbApiClientUtils.SCOPES));
+          accessTokenBroker.getServiceAccessToken(VwbApiClientUtils.SCOPES));
     } catch (IOException e) {
       throw new ServerErrorException(e);
     }
@@ -5,7 +5,7 @@ import static org.pmiops.workbench.rawls.RawlsConfig.BILLING_SCOPES;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.util.List;
-import org.pmiops.workbench.auth.ServiceAccounts;
+import org.pmiops.workbench.auth.AccessTokenBroker;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.exceptions.ServerErrorException;
 import org.pmiops.workbench.rawls.RawlsApiClientFactory;
@@ -55,10 +55,11 @@ public class VwbUserManagerConfig {
 
   @Bean(name = VWB_SERVICE_ACCOUNT_USER_API_CLIENT)
   @RequestScope(proxyMode = ScopedProxyMode.DEFAULT)
-  public ApiClient serviceAccountApiClient(WorkbenchConfig workbenchConfig) {
+  public ApiClient serviceAccountApiClient(
+      WorkbenchConfig workbenchConfig, AccessTokenBroker accessTokenBroker) {
     ApiClient apiClient = newApiClient(workbenchConfig);
     try {
-      apiClient.setAccessToken(ServiceAccounts.getScopedServiceAccessToken(SCOPES));
+      apiClient.setAccessToken(accessTokenBroker.getServiceAccessToken(SCOPES));
     } catch (IOException e) {
       throw new ServerErrorException(e);
     }
@@ -67,10 +68,11 @@ public class VwbUserManagerConfig {
 
   @Bean(name = VWB_SERVICE_ACCOUNT_USER_API_CLIENT_BILLING)
   @RequestScope(proxyMode = ScopedProxyMode.DEFAULT)
-  public ApiClient serviceAccountApiClientWithBillingScope(WorkbenchConfig workbenchConfig) {
+  public ApiClient serviceAccountApiClientWithBillingScope(
+      WorkbenchConfig workbenchConfig, AccessTokenBroker accessTokenBroker) {
     ApiClient apiClient = newApiClient(workbenchConfig);
     try {
-      apiClient.setAccessToken(ServiceAccounts.getScopedServiceAccessToken(BILLING_SCOPES));
+      apiClient.setAccessToken(accessTokenBroker.getServiceAccessToken(BILLING_SCOPES));
     } catch (IOException e) {
       throw new ServerErrorException(e);
     }
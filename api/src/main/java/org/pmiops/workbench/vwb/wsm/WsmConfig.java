@@ -1,7 +1,7 @@
 package org.pmiops.workbench.vwb.wsm;
 
 import java.io.IOException;
-import org.pmiops.workbench.auth.ServiceAccounts;
+import org.pmiops.workbench.auth.AccessTokenBroker;
 import org.pmiops.workbench.auth.UserAuthentication;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.exceptions.ServerErrorException;
@@ -72,11 +72,12 @@ public class WsmConfig {
 
   @Bean(name = WSM_SERVICE_ACCOUNT_API_CLIENT)
   @RequestScope(proxyMode = ScopedProxyMode.DEFAULT)
-  public ApiClient serviceAccountApiClient(WorkbenchConfig workbenchConfig) {
+  public ApiClient serviceAccountApiClient(
+      WorkbenchConfig workbenchConfig, AccessTokenBroker accessTokenBroker) {
     ApiClient apiClient = newApiClient(workbenchConfig);
     try {
       apiClient.setAccessToken(
-          ServiceAccounts.getScopedServiceAccessToken(VwbApiClientUtils.SCOPES));
+          accessTokenBroker.getServiceAccessToken(VwbApiClientUtils.SCOPES));
     } catch (IOException e) {
       throw new ServerErrorException(e);
     }
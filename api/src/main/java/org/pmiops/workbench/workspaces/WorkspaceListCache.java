@@ -0,0 +1,145 @@
+package org.pmiops.workbench.workspaces;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.pmiops.workbench.opentelemetry.MeteredCache;
+import org.pmiops.workbench.rawls.model.RawlsWorkspaceListResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches each user's Terra workspace list for a short TTL, so that pages which list workspaces
+ * several times (e.g. all workspaces, then featured workspaces) make one Rawls call between them.
+ *
+ * <p>Workbench changes which affect a user's list invalidate it: creating, cloning and sharing
+ * invalidate the users involved, and deleting or publishing invalidates every user. A list whose
+ * Rawls call was in flight when it was invalidated is reloaded on its next use. Changes made
+ * outside this process, e.g. in Terra or by another server instance, are visible after the TTL.
+ *
+ * <p>Only the Rawls response is cached; callers still combine it with current database state.
+ * Cached responses are shared between requests and must not be modified.
+ */
+@Component
+public class WorkspaceListCache implements MeteredCache {
+  @VisibleForTesting static final long MAX_ENTRIES = 10_000;
+  @VisibleForTesting static final Duration TTL = Duration.ofSeconds(30);
+
+  private record CachedList(List<RawlsWorkspaceListResponse> workspaces, long loadStartedNanos) {}
+
+  private final Ticker ticker;
+  private final Cache<String, CachedList> listsByUsername;
+  // Invalidation times by username, so that lists loaded during an invalidation are discarded.
+  // An invalidation only needs to be remembered for as long as a list may be cached.
+  private final Cache<String, Long> invalidationTimesByUsername;
+  private volatile long lastInvalidateAllNanos;
+  private final List<Consumer<Duration>> loadListeners = new CopyOnWriteArrayList<>();
+
+  public WorkspaceListCache() {
+    this(Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  WorkspaceListCache(Ticker ticker) {
+    this.ticker = ticker;
+    listsByUsername = newCache(ticker);
+    invalidationTimesByUsername = newCache(ticker);
+    lastInvalidateAllNanos = ticker.read();
+  }
+
+  private static <K, V> Cache<K, V> newCache(Ticker ticker) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(MAX_ENTRIES)
+        .expireAfterWrite(TTL)
+        .ticker(ticker)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Returns the cached workspace list of this user, or calls loader and caches its result.
+   * Concurrent calls for the same user wait for a single load. Failures are not cached.
+   */
+  public List<RawlsWorkspaceListResponse> getWorkspaces(
+      String username, Supplier<List<RawlsWorkspaceListResponse>> loader) {
+    CachedList cached = get(username, loader);
+    if (isInvalidated(username, cached)) {
+      listsByUsername.invalidate(username);
+      cached = get(username, loader);
+    }
+    return cached.workspaces();
+  }
+
+  /** Drops the cached lists of these users, e.g. the owner and collaborators of a workspace. */
+  public void invalidateUsers(Collection<String> usernames) {
+    final long now = ticker.read();
+    for (String username : usernames) {
+      invalidationTimesByUsername.put(username, now);
+      listsByUsername.invalidate(username);
+    }
+  }
+
+  /** Drops every cached list, for changes which may affect any user. */
+  public void invalidateAll() {
+    lastInvalidateAllNanos = ticker.read();
+    listsByUsername.invalidateAll();
+  }
+
+  /** Registers a listener to be called with the duration of each successful load. */
+  public void addLoadListener(Consumer<Duration> listener) {
+    loadListeners.add(listener);
+  }
+
+  @Override
+  public String getCacheName() {
+    return "workspace_lists";
+  }
+
+  @Override
+  public CacheStats getStats() {
+    return listsByUsername.stats();
+  }
+
+  @Override
+  public long getSize() {
+    return listsByUsername.size();
+  }
+
+  private CachedList get(String username, Supplier<List<RawlsWorkspaceListResponse>> loader) {
+    try {
+      return listsByUsername.get(
+          username,
+          () -> {
+            final long loadStartedNanos = ticker.read();
+            final Stopwatch stopwatch = Stopwatch.createStarted(ticker);
+            final List<RawlsWorkspaceListResponse> workspaces = List.copyOf(loader.get());
+            final Duration elapsed = stopwatch.elapsed();
+            loadListeners.forEach(listener -> listener.accept(elapsed));
+            return new CachedList(workspaces, loadStartedNanos);
+          });
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private boolean isInvalidated(String username, CachedList cached) {
+    if (lastInvalidateAllNanos - cached.loadStartedNanos() > 0) {
+      return true;
+    }
+    final Long invalidatedAt = invalidationTimesByUsername.getIfPresent(username);
+    return invalidatedAt != null && invalidatedAt - cached.loadStartedNanos() > 0;
+  }
+}
@@ -17,7 +17,6 @@ import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.pmiops.workbench.access.AccessTierService;
 import org.pmiops.workbench.actionaudit.auditors.BillingProjectAuditor;
 import org.pmiops.workbench.cdr.CdrVersionContext;
@@ -104,6 +103,7 @@ public class WorkspaceServiceImpl implements WorkspaceService {
   private final UserRecentWorkspaceDao userRecentWorkspaceDao;
   private final WorkspaceAuthService workspaceAuthService;
   private final WorkspaceDao workspaceDao;
+  private final WorkspaceListCache workspaceListCache;
   private final WorkspaceMapper workspaceMapper;
 
   @Autowired
@@ -130,6 +130,7 @@ public class WorkspaceServiceImpl implements WorkspaceService {
       UserRecentWorkspaceDao userRecentWorkspaceDao,
       WorkspaceAuthService workspaceAuthService,
       WorkspaceDao workspaceDao,
+      WorkspaceListCache workspaceListCache,
       WorkspaceMapper workspaceMapper) {
     this.accessTierService = accessTierService;
     this.billingProjectAuditor = billingProjectAuditor;
@@ -153,19 +154,24 @@ public class WorkspaceServiceImpl implements WorkspaceService {
     this.workbenchConfigProvider = workbenchConfigProvider;
     this.workspaceAuthService = workspaceAuthService;
     this.workspaceDao = workspaceDao;
+    this.workspaceListCache = workspaceListCache;
     this.workspaceMapper = workspaceMapper;
   }
 
   @Override
   public List<WorkspaceResponse> listWorkspaces() {
     return workspaceMapper
-        .toApiWorkspaceResponseList(
-            workspaceDao, fireCloudService.listWorkspaces(), initialCreditsService)
+        .toApiWorkspaceResponseList(workspaceDao, listTerraWorkspaces(), initialCreditsService)
         .stream()
         .filter(WorkspaceServiceImpl::filterToNonPublished)
         .toList();
   }
 
+  private List<RawlsWorkspaceListResponse> listTerraWorkspaces() {
+    return workspaceListCache.getWorkspaces(
+        userProvider.get().getUsername(), fireCloudService::listWorkspaces);
+  }
+
   private static boolean filterToNonPublished(WorkspaceResponse response) {
     return response.getAccessLevel() == WorkspaceAccessLevel.OWNER
         || response.getAccessLevel() == WorkspaceAccessLevel.WRITER
@@ -175,8 +181,7 @@ public class WorkspaceServiceImpl implements WorkspaceService {
   @Override
   public List<WorkspaceResponse> getFeaturedWorkspaces() {
     return workspaceMapper
-        .toApiWorkspaceResponseList(
-            workspaceDao, fireCloudService.listWorkspaces(), initialCreditsService)
+        .toApiWorkspaceResponseList(workspaceDao, listTerraWorkspaces(), initialCreditsService)
         .stream()
         .filter(workspaceResponse -> workspaceResponse.getWorkspace().getFeaturedCategory() != null)
         .toList();
@@ -269,6 +274,8 @@ public class WorkspaceServiceImpl implements WorkspaceService {
     // This automatically handles access control to the workspace.
     fireCloudService.deleteWorkspace(
         dbWorkspace.getWorkspaceNamespace(), dbWorkspace.getFirecloudName());
+    // removed from the lists of everyone who had access
+    workspaceListCache.invalidateAll();
     dbWorkspace =
         workspaceDao.saveWithLastModified(
             dbWorkspace.setWorkspaceActiveStatusEnum(WorkspaceActiveStatus.DELETED),
@@ -374,25 +381,8 @@ public class WorkspaceServiceImpl implements WorkspaceService {
     Map<String, RawlsWorkspaceAccessEntry> emailToRole =
         workspaceAuthService.getFirecloudWorkspaceAcl(workspaceNamespace, firecloudName);
 
-    var userMap = userDao.getUsersMappedByUsernames(emailToRole.keySet());
-
-    return emailToRole.entrySet().stream()
-        .flatMap(
-            entry -> {
-              String email = entry.getKey();
-              RawlsWorkspaceAccessEntry acl = entry.getValue();
-              DbUser user = userMap.get(entry.getKey());
-              // Filter out groups
-              if (user == null) {
-                log.log(Level.WARNING, "No user found for " + email);
-                return Stream.empty();
-              } else {
-                return Stream.of(userMapper.toApiUserRole(user, acl));
-              }
-            })
-        .sorted(
-            Comparator.comparing(UserRole::getRole).thenComparing(UserRole::getEmail).reversed())
-        .toList();
+    return userMapper.toApiUserRoles(
+        emailToRole, userDao.getUsersMappedByUsernames(emailToRole.keySet()));
   }
 
   @Override
@@ -638,6 +628,7 @@ public class WorkspaceServiceImpl implements WorkspaceService {
             () -> {
               fireCloudService.updateWorkspaceAclForPublishing(
                   dbWorkspace.getWorkspaceNamespace(), dbWorkspace.getFirecloudName(), true);
+              workspaceListCache.invalidateAll();
 
               DbFeaturedWorkspace dbFeaturedWorkspaceToSave =
                   featuredWorkspaceMapper.toDbFeaturedWorkspace(
@@ -669,8 +660,11 @@ public class WorkspaceServiceImpl implements WorkspaceService {
     String billingProject = createTerraBillingProject(accessTier);
     String firecloudName = FireCloudService.toFirecloudName(workspace.getName());
 
-    return fireCloudService.createWorkspace(
-        billingProject, firecloudName, accessTier.getAuthDomainName());
+    RawlsWorkspaceDetails fcWorkspace =
+        fireCloudService.createWorkspace(
+            billingProject, firecloudName, accessTier.getAuthDomainName());
+    workspaceListCache.invalidateUsers(List.of(userProvider.get().getUsername()));
+    return fcWorkspace;
   }
 
   @Override
@@ -684,12 +678,15 @@ public class WorkspaceServiceImpl implements WorkspaceService {
     String billingProject = createTerraBillingProject(accessTier);
     String firecloudName = FireCloudService.toFirecloudName(toWorkspace.getName());
 
-    return fireCloudService.cloneWorkspace(
-        fromWorkspaceNamespace,
-        fromWorkspaceId,
-        billingProject,
-        firecloudName,
-        accessTier.getAuthDomainName());
+    RawlsWorkspaceDetails fcWorkspace =
+        fireCloudService.cloneWorkspace(
+            fromWorkspaceNamespace,
+            fromWorkspaceId,
+            billingProject,
+            firecloudName,
+            accessTier.getAuthDomainName());
+    workspaceListCache.invalidateUsers(List.of(userProvider.get().getUsername()));
+    return fcWorkspace;
   }
 
   /** Creates a Terra (FireCloud) Billing project and adds the current user as owner. */
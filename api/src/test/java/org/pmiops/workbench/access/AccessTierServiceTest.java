@@ -8,6 +8,7 @@ import java.sql.Timestamp;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -125,6 +126,31 @@ public class AccessTierServiceTest {
         .inOrder(); // enforce a consistent ordering: alphabetical by shortName
   }
 
+  @Test
+  public void test_getAccessTiersForUsers() {
+    final DbAccessTier registeredTier = accessTierDao.save(createRegisteredTier());
+    final DbAccessTier controlledTier = accessTierDao.save(createControlledTier());
+    addDaoEntry(user, registeredTier, TierAccessStatus.ENABLED);
+    addDaoEntry(user, controlledTier, TierAccessStatus.ENABLED);
+
+    final DbUser disabledUser = userDao.save(new DbUser().setUsername("disabled"));
+    addDaoEntry(disabledUser, registeredTier, TierAccessStatus.DISABLED);
+    final DbUser registeredUser = userDao.save(new DbUser().setUsername("registered"));
+    addDaoEntry(registeredUser, registeredTier, TierAccessStatus.ENABLED);
+    final DbUser otherUser = userDao.save(new DbUser().setUsername("other"));
+    addDaoEntry(otherUser, registeredTier, TierAccessStatus.ENABLED);
+
+    assertThat(
+            accessTierService.getAccessTiersForUsers(
+                List.of(user, disabledUser, registeredUser)))
+        .containsExactly(
+            user.getUserId(),
+            List.of(controlledTier, registeredTier), // alphabetical by shortName
+            registeredUser.getUserId(),
+            List.of(registeredTier));
+    assertThat(accessTierService.getAccessTiersForUsers(List.of())).isEmpty();
+  }
+
   @Test
   public void test_addUserToRegisteredTier_new() {
     assertThat(userAccessTierDao.findAll()).isEmpty();
@@ -0,0 +1,164 @@
+package org.pmiops.workbench.actionaudit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.logging.LogEntry;
+import com.google.cloud.logging.Payload.StringPayload;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.actionaudit.ActionAuditLogWriter.OverflowPolicy;
+
+public class ActionAuditLogWriterTest {
+  private static final Duration LONG_DELAY = Duration.ofSeconds(30);
+  private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(10);
+
+  private FakeLogging fakeLogging;
+  private ActionAuditLogWriter logWriter;
+
+  @BeforeEach
+  public void setUp() {
+    fakeLogging = new FakeLogging();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (logWriter != null) {
+      logWriter.shutdown();
+    }
+  }
+
+  @Test
+  public void testWrite_batchesBySize() throws InterruptedException {
+    logWriter = new ActionAuditLogWriter(fakeLogging.getLogging(), 1000, 10, LONG_DELAY, 1);
+
+    logWriter.write(entries(25), OverflowPolicy.WRITE_THROUGH);
+
+    awaitAtLeast(20, fakeLogging::getEntryCount);
+    assertThat(fakeLogging.getBatches().stream().map(List::size).toList())
+        .containsExactly(10, 10);
+  }
+
+  @Test
+  public void testWrite_batchesByTime() throws InterruptedException {
+    logWriter =
+        new ActionAuditLogWriter(fakeLogging.getLogging(), 1000, 100, Duration.ofMillis(200), 1);
+
+    logWriter.write(entries(3), OverflowPolicy.WRITE_THROUGH);
+
+    awaitAtLeast(3, fakeLogging::getEntryCount);
+    assertThat(fakeLogging.getBatches()).hasSize(1);
+    assertThat(logWriter.getWrittenCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void testWrite_overflowWrittenThrough() {
+    logWriter = new ActionAuditLogWriter(fakeLogging.getLogging(), 2, 10, LONG_DELAY, 0);
+
+    logWriter.write(entries(5), OverflowPolicy.WRITE_THROUGH);
+
+    // the overflow is written immediately, on this thread
+    assertThat(fakeLogging.getEntryCount()).isEqualTo(3);
+    assertThat(logWriter.getWrittenThroughCount()).isEqualTo(3);
+    assertThat(logWriter.getQueueSize()).isEqualTo(2);
+
+    logWriter.flush();
+    assertThat(fakeLogging.getEntryCount()).isEqualTo(5);
+  }
+
+  @Test
+  public void testWrite_overflowDroppedAndCounted() {
+    logWriter = new ActionAuditLogWriter(fakeLogging.getLogging(), 2, 10, LONG_DELAY, 0);
+
+    logWriter.write(entries(5), OverflowPolicy.DROP);
+
+    assertThat(fakeLogging.getEntryCount()).isEqualTo(0);
+    assertThat(logWriter.getDroppedCount()).isEqualTo(3);
+
+    logWriter.flush();
+    assertThat(fakeLogging.getEntryCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testWrite_failuresCounted() {
+    logWriter = new ActionAuditLogWriter(fakeLogging.getLogging(), 10, 10, LONG_DELAY, 0);
+    fakeLogging.setFailing(true);
+
+    logWriter.write(entries(3), OverflowPolicy.WRITE_THROUGH);
+    logWriter.flush();
+
+    assertThat(logWriter.getFailedCount()).isEqualTo(3);
+    assertThat(logWriter.getWrittenCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testShutdown_drainsQueue() {
+    logWriter = new ActionAuditLogWriter(fakeLogging.getLogging(), 1000, 10, LONG_DELAY, 1);
+    fakeLogging.setWriteLatency(Duration.ofMillis(20));
+
+    logWriter.write(entries(95), OverflowPolicy.WRITE_THROUGH);
+    logWriter.shutdown();
+
+    assertThat(fakeLogging.getEntryCount()).isEqualTo(95);
+    assertThat(logWriter.getQueueSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void testWrite_concurrentWritersLoseNothing() throws Exception {
+    final int writers = 8;
+    final int entriesPerWriter = 1000;
+    logWriter =
+        new ActionAuditLogWriter(fakeLogging.getLogging(), 500, 100, Duration.ofMillis(50), 2);
+    fakeLogging.setWriteLatency(Duration.ofMillis(5));
+
+    final ExecutorService executor = Executors.newFixedThreadPool(writers);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < writers; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (LogEntry entry : entries(entriesPerWriter)) {
+                    logWriter.write(List.of(entry), OverflowPolicy.WRITE_THROUGH);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    logWriter.shutdown();
+
+    final int total = writers * entriesPerWriter;
+    assertThat(fakeLogging.getEntryCount()).isEqualTo(total);
+    assertThat(logWriter.getEnqueuedCount() + logWriter.getWrittenThroughCount())
+        .isEqualTo(total);
+    assertThat(logWriter.getDroppedCount()).isEqualTo(0);
+    assertThat(fakeLogging.getBatches().stream().mapToInt(List::size).max().getAsInt())
+        .isAtMost(100);
+  }
+
+  private static List<LogEntry> entries(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> LogEntry.of(StringPayload.of("entry " + i)))
+        .toList();
+  }
+
+  private static void awaitAtLeast(int expected, IntSupplier actual) throws InterruptedException {
+    final long deadline = System.nanoTime() + AWAIT_TIMEOUT.toNanos();
+    while (actual.getAsInt() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(actual.getAsInt()).isAtLeast(expected);
+  }
+}
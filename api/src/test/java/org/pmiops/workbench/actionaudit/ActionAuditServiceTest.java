@@ -12,6 +12,7 @@ import com.google.cloud.logging.Payload.JsonPayload;
 import com.google.cloud.logging.Payload.Type;
 import com.google.common.collect.ImmutableList;
 import jakarta.inject.Provider;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -34,6 +35,7 @@ public class ActionAuditServiceTest {
 
   @Mock private Provider<WorkbenchConfig> mockConfigProvider;
 
+  private ActionAuditLogWriter logWriter;
   private ActionAuditService actionAuditService;
 
   private void stubWorkbenchConfig() {
@@ -52,13 +54,16 @@ public class ActionAuditServiceTest {
 
   @BeforeEach
   public void setUp() {
-    actionAuditService = new ActionAuditServiceImpl(mockConfigProvider, mockLogging);
+    // no background flushers, so that tests control when entries are written
+    logWriter = new ActionAuditLogWriter(mockLogging, 10, 10, Duration.ofSeconds(1), 0);
+    actionAuditService = new ActionAuditServiceImpl(mockConfigProvider, logWriter);
   }
 
   @Test
   public void testSendsSingleEvent() {
     stubWorkbenchConfig();
     actionAuditService.send(EVENT_1);
+    logWriter.flush();
     ArgumentCaptor<List<LogEntry>> captor = ArgumentCaptor.forClass(List.class);
     verify(mockLogging).write(captor.capture());
     List<LogEntry> entryList = captor.getValue();
@@ -79,6 +84,7 @@ public class ActionAuditServiceTest {
   public void testSendsExpectedColumnNames() {
     stubWorkbenchConfig();
     actionAuditService.send(EVENT_1);
+    logWriter.flush();
     ArgumentCaptor<List<LogEntry>> captor = ArgumentCaptor.forClass(List.class);
     verify(mockLogging).write(captor.capture());
     List<LogEntry> entryList = captor.getValue();
@@ -94,6 +100,7 @@ public class ActionAuditServiceTest {
   public void testSendsMultipleEventsAsSingleAction() {
     stubWorkbenchConfig();
     actionAuditService.send(ImmutableList.of(EVENT_1, EVENT_2));
+    logWriter.flush();
     ArgumentCaptor<List<LogEntry>> captor = ArgumentCaptor.forClass(List.class);
     verify(mockLogging).write(captor.capture());
     List<LogEntry> entryList = captor.getValue();
@@ -112,9 +119,45 @@ public class ActionAuditServiceTest {
   @Test
   public void testSendWithEmptyCollectionDoesNotCallCloudLoggingApi() {
     actionAuditService.send(ImmutableList.of());
+    logWriter.flush();
     verify(mockLogging, never()).write(any());
   }
 
+  @Test
+  public void testSendQueuesUntilFlushed() {
+    stubWorkbenchConfig();
+    actionAuditService.send(EVENT_1);
+    verify(mockLogging, never()).write(any());
+    assertThat(logWriter.getQueueSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void testSendDropsOverflowWhenConfigured() {
+    stubWorkbenchConfig();
+    mockConfigProvider.get().actionAudit.queueOverflowPolicy = "DROP";
+    logWriter = new ActionAuditLogWriter(mockLogging, 1, 10, Duration.ofSeconds(1), 0);
+    actionAuditService = new ActionAuditServiceImpl(mockConfigProvider, logWriter);
+
+    actionAuditService.send(ImmutableList.of(EVENT_1, EVENT_2));
+
+    verify(mockLogging, never()).write(any());
+    assertThat(logWriter.getDroppedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testSendWritesThroughOverflowWithUnrecognizedPolicy() {
+    stubWorkbenchConfig();
+    mockConfigProvider.get().actionAudit.queueOverflowPolicy = "DORP";
+    logWriter = new ActionAuditLogWriter(mockLogging, 1, 10, Duration.ofSeconds(1), 0);
+    actionAuditService = new ActionAuditServiceImpl(mockConfigProvider, logWriter);
+
+    actionAuditService.send(ImmutableList.of(EVENT_1, EVENT_2));
+
+    assertThat(logWriter.getQueueSize()).isEqualTo(1);
+    assertThat(logWriter.getWrittenThroughCount()).isEqualTo(1);
+    assertThat(logWriter.getDroppedCount()).isEqualTo(0);
+  }
+
   private static final long AGENT_ID_1 = 101L;
   private static final long AGENT_ID_2 = 102L;
   private static final String ACTION_ID = "b52a36f6-3e88-4a30-a57f-ae884838bfbf";
@@ -0,0 +1,61 @@
+package org.pmiops.workbench.actionaudit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.cloud.logging.LogEntry;
+import com.google.cloud.logging.Logging;
+import com.google.common.collect.ImmutableList;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An in-memory Cloud Logging client which records the batches written to it, optionally with a
+ * simulated write latency or failure. Only {@link Logging#write} is implemented.
+ */
+class FakeLogging {
+  private final Logging logging = mock(Logging.class, withSettings().stubOnly());
+  private final List<List<LogEntry>> batches = Collections.synchronizedList(new ArrayList<>());
+  private volatile Duration writeLatency = Duration.ZERO;
+  private volatile boolean failing = false;
+
+  FakeLogging() {
+    doAnswer(
+            invocation -> {
+              Thread.sleep(writeLatency.toMillis());
+              if (failing) {
+                throw new RuntimeException("Cloud Logging is unavailable");
+              }
+              batches.add(ImmutableList.copyOf((Iterable<LogEntry>) invocation.getArgument(0)));
+              return null;
+            })
+        .when(logging)
+        .write(any());
+  }
+
+  Logging getLogging() {
+    return logging;
+  }
+
+  List<List<LogEntry>> getBatches() {
+    synchronized (batches) {
+      return List.copyOf(batches);
+    }
+  }
+
+  int getEntryCount() {
+    return getBatches().stream().mapToInt(List::size).sum();
+  }
+
+  void setWriteLatency(Duration writeLatency) {
+    this.writeLatency = writeLatency;
+  }
+
+  void setFailing(boolean failing) {
+    this.failing = failing;
+  }
+}
@@ -0,0 +1,113 @@
+package org.pmiops.workbench.api;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.google.cloud.bigquery.BigQuery;
+import com.google.common.base.Ticker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BigQueryClientPoolTest {
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return nanos.get();
+        }
+      };
+
+  private ConcurrentHashMap<String, AtomicInteger> constructionsByProject;
+  private BigQueryClientPool pool;
+
+  @BeforeEach
+  public void setUp() {
+    constructionsByProject = new ConcurrentHashMap<>();
+    pool =
+        new BigQueryClientPool(
+            projectId -> {
+              constructionsByProject
+                  .computeIfAbsent(projectId, p -> new AtomicInteger())
+                  .incrementAndGet();
+              return mock(BigQuery.class);
+            },
+            ticker);
+  }
+
+  @Test
+  public void testGet_reusesClientPerProject() {
+    final BigQuery first = pool.get("cdr-project-a");
+    for (int i = 0; i < 100; i++) {
+      assertThat(pool.get("cdr-project-a")).isSameInstanceAs(first);
+    }
+
+    assertThat(constructionsByProject.get("cdr-project-a").get()).isEqualTo(1);
+    assertThat(pool.getStats().missCount()).isEqualTo(1);
+    assertThat(pool.getStats().hitCount()).isEqualTo(100);
+    assertThat(pool.getStats().loadSuccessCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testGet_separateClientsPerProject() {
+    final BigQuery a = pool.get("cdr-project-a");
+    final BigQuery b = pool.get("cdr-project-b");
+
+    assertThat(a).isNotSameInstanceAs(b);
+    assertThat(pool.getSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGet_evictsIdleClients() {
+    final BigQuery first = pool.get("cdr-project-a");
+
+    nanos.addAndGet(BigQueryClientPool.IDLE_EXPIRY.toNanos() - 1);
+    assertThat(pool.get("cdr-project-a")).isSameInstanceAs(first);
+
+    // idle time is measured from the last use
+    nanos.addAndGet(BigQueryClientPool.IDLE_EXPIRY.toNanos());
+    assertThat(pool.getSize()).isEqualTo(0);
+    assertThat(pool.get("cdr-project-a")).isNotSameInstanceAs(first);
+    assertThat(constructionsByProject.get("cdr-project-a").get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGet_boundedProjectCount() {
+    for (int i = 0; i < BigQueryClientPool.MAX_PROJECTS * 2; i++) {
+      pool.get("cdr-project-" + i);
+    }
+
+    assertThat(pool.getSize()).isAtMost(BigQueryClientPool.MAX_PROJECTS);
+  }
+
+  @Test
+  public void testGet_concurrentRequestsShareOneConstruction() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Callable<BigQuery>> lookups = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        lookups.add(() -> pool.get("cdr-project-a"));
+      }
+      final List<Future<BigQuery>> results = executor.invokeAll(lookups, 10, TimeUnit.SECONDS);
+
+      final BigQuery shared = results.get(0).get();
+      for (Future<BigQuery> result : results) {
+        assertThat(result.get()).isSameInstanceAs(shared);
+      }
+      assertThat(constructionsByProject.get("cdr-project-a").get()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package org.pmiops.workbench.api;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.Field;
+import com.google.cloud.bigquery.FieldList;
+import com.google.cloud.bigquery.Schema;
+import com.google.cloud.bigquery.StandardSQLTypeName;
+import com.google.cloud.bigquery.StandardTableDefinition;
+import com.google.cloud.bigquery.Table;
+import com.google.cloud.bigquery.TableId;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.dataset.BigQueryDataSetTableInfo;
+import org.pmiops.workbench.db.dao.CdrVersionDao;
+import org.pmiops.workbench.db.model.DbCdrVersion;
+
+public class CdrTableSchemaPreloaderTest {
+  private static final String PROJECT = "cdr-project";
+  private static final String DATASET = "cdr_dataset";
+  private static final FieldList FIELDS =
+      Schema.of(Field.of("person_id", StandardSQLTypeName.INT64)).getFields();
+
+  private BigQuery bigQuery;
+  private CdrTableSchemaCache cache;
+  private CdrTableSchemaPreloader preloader;
+
+  @BeforeEach
+  public void setUp() {
+    bigQuery = mock(BigQuery.class);
+    final BigQueryClientPool pool = mock(BigQueryClientPool.class);
+    when(pool.get(PROJECT)).thenReturn(bigQuery);
+    cache = new CdrTableSchemaCache();
+    preloader = new CdrTableSchemaPreloader(pool, cache, mock(CdrVersionDao.class));
+  }
+
+  @Test
+  public void testPreload_loadsDatasetTables() {
+    final Table table = mock(Table.class);
+    when(table.getDefinition()).thenReturn(StandardTableDefinition.of(Schema.of(FIELDS)));
+    when(bigQuery.getTable(any(TableId.class))).thenReturn(table);
+
+    preloader.preload(List.of(cdrVersion()));
+
+    final int tableCount = BigQueryDataSetTableInfo.getTableNames().size();
+    assertThat(cache.getSize()).isEqualTo(tableCount);
+    verify(bigQuery, times(tableCount)).getTable(any(TableId.class));
+
+    // later lookups are served from the cache
+    final TableId person = TableId.of(PROJECT, DATASET, "ds_person");
+    assertThat(cache.getFields(person, () -> BigQueryService.fetchTableFields(bigQuery, person)))
+        .isEqualTo(FIELDS);
+    verify(bigQuery, times(tableCount)).getTable(any(TableId.class));
+  }
+
+  @Test
+  public void testPreload_skipsMissingTables() {
+    final Table table = mock(Table.class);
+    when(table.getDefinition()).thenReturn(StandardTableDefinition.of(Schema.of(FIELDS)));
+    final TableId person = TableId.of(PROJECT, DATASET, "ds_person");
+    when(bigQuery.getTable(person)).thenReturn(table);
+
+    preloader.preload(List.of(cdrVersion()));
+
+    assertThat(cache.contains(person)).isTrue();
+    assertThat(cache.getSize()).isEqualTo(1);
+  }
+
+  private static DbCdrVersion cdrVersion() {
+    return new DbCdrVersion()
+        .setCdrVersionId(1L)
+        .setBigqueryProject(PROJECT)
+        .setBigqueryDataset(DATASET);
+  }
+}
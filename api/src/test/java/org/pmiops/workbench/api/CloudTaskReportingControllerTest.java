@@ -1,6 +1,7 @@
 package org.pmiops.workbench.api;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
@@ -14,6 +15,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.pmiops.workbench.db.jdbc.PrimaryKeyRange;
+import org.pmiops.workbench.exceptions.BadRequestException;
 import org.pmiops.workbench.model.ReportingUploadQueueTaskRequest;
 import org.pmiops.workbench.reporting.ReportingService;
 import org.springframework.http.HttpStatus;
@@ -71,6 +74,37 @@ class CloudTaskReportingControllerTest {
     verifyNoMoreInteractions(mockReportingService);
   }
 
+  @Test
+  void processReportingUploadQueueTask_withKeyRange_callsRangeUpload() {
+    ReportingUploadQueueTaskRequest request =
+        new ReportingUploadQueueTaskRequest()
+            .tables(List.of("user"))
+            .snapshotTimestamp(SNAPSHOT_TIMESTAMP)
+            .keyRangeStart(100L)
+            .keyRangeEnd(200L);
+
+    ResponseEntity<Void> response = controller.processReportingUploadQueueTask(request);
+
+    assertValidResponse(response);
+    verify(mockReportingService)
+        .collectRangeAndUpload("user", new PrimaryKeyRange(100, 200), SNAPSHOT_TIMESTAMP);
+    verifyNoMoreInteractions(mockReportingService);
+  }
+
+  @Test
+  void processReportingUploadQueueTask_withKeyRangeAndMultipleTables_throws() {
+    ReportingUploadQueueTaskRequest request =
+        new ReportingUploadQueueTaskRequest()
+            .tables(List.of("user", "workspace"))
+            .snapshotTimestamp(SNAPSHOT_TIMESTAMP)
+            .keyRangeStart(100L)
+            .keyRangeEnd(200L);
+
+    assertThrows(
+        BadRequestException.class, () -> controller.processReportingUploadQueueTask(request));
+    verifyNoMoreInteractions(mockReportingService);
+  }
+
   private void assertValidResponse(ResponseEntity<Void> response) {
     assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
     assertThat(response.getBody()).isNull();
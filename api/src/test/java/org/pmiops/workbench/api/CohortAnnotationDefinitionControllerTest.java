@@ -18,6 +18,7 @@ import org.pmiops.workbench.cohortreview.CohortAnnotationDefinitionService;
 import org.pmiops.workbench.cohortreview.CohortAnnotationDefinitionServiceImpl;
 import org.pmiops.workbench.cohortreview.CohortReviewService;
 import org.pmiops.workbench.cohortreview.CohortReviewServiceImpl;
+import org.pmiops.workbench.cohortreview.ParticipantDataCache;
 import org.pmiops.workbench.cohortreview.ReviewQueryBuilder;
 import org.pmiops.workbench.cohortreview.mapper.CohortAnnotationDefinitionMapper;
 import org.pmiops.workbench.cohortreview.mapper.CohortAnnotationDefinitionMapperImpl;
@@ -78,6 +79,7 @@ public class CohortAnnotationDefinitionControllerTest {
   @Mock private ParticipantCohortAnnotationMapper participantCohortAnnotationMapper;
   @Mock private ParticipantCohortStatusDao participantCohortStatusDao;
   @Mock private ParticipantCohortStatusMapper participantCohortStatusMapper;
+  @Mock private ParticipantDataCache participantDataCache;
   @Mock private ReviewQueryBuilder reviewQueryBuilder;
   @Mock private WorkspaceAuthService workspaceAuthService;
   private CohortAnnotationDefinitionController cohortAnnotationDefinitionController;
@@ -107,6 +109,7 @@ public class CohortAnnotationDefinitionControllerTest {
             participantCohortAnnotationMapper,
             participantCohortStatusDao,
             participantCohortStatusMapper,
+            participantDataCache,
             reviewQueryBuilder,
             fakeClock,
             userProvider);
@@ -38,6 +38,7 @@ import org.pmiops.workbench.cdr.model.DbPerson;
 import org.pmiops.workbench.cdr.model.DbSurveyModule;
 import org.pmiops.workbench.cohortbuilder.CohortBuilderService;
 import org.pmiops.workbench.cohortbuilder.CohortBuilderServiceImpl;
+import org.pmiops.workbench.cohortbuilder.CohortCountCache;
 import org.pmiops.workbench.cohortbuilder.CohortQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.chart.ChartQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.chart.ChartService;
@@ -132,6 +133,7 @@ public class CohortBuilderControllerTest {
     CohortBuilderService cohortBuilderService =
         new CohortBuilderServiceImpl(
             bigQueryService,
+            new CohortCountCache(),
             cohortQueryBuilder,
             cbCriteriaAttributeDao,
             cbCriteriaDao,
@@ -9,6 +9,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pmiops.workbench.utils.TestMockFactory.createDefaultCdrVersion;
 
+import com.google.api.gax.paging.Page;
+import com.google.cloud.PageImpl;
+import com.google.cloud.bigquery.BigQueryException;
 import com.google.cloud.bigquery.Field;
 import com.google.cloud.bigquery.FieldValue;
 import com.google.cloud.bigquery.FieldValueList;
@@ -18,6 +21,7 @@ import com.google.cloud.bigquery.TableResult;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Table;
 import java.sql.Timestamp;
 import java.time.Clock;
@@ -34,6 +38,7 @@ import java.util.Random;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,11 +59,13 @@ import org.pmiops.workbench.cdr.dao.CBCriteriaDao;
 import org.pmiops.workbench.cdr.model.DbCriteria;
 import org.pmiops.workbench.cloudtasks.TaskQueueService;
 import org.pmiops.workbench.cohortbuilder.CohortBuilderServiceImpl;
+import org.pmiops.workbench.cohortbuilder.CohortCountCache;
 import org.pmiops.workbench.cohortbuilder.CohortQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.chart.ChartQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.chart.ChartServiceImpl;
 import org.pmiops.workbench.cohortbuilder.mapper.CohortBuilderMapperImpl;
 import org.pmiops.workbench.cohortreview.CohortReviewServiceImpl;
+import org.pmiops.workbench.cohortreview.ParticipantDataCache;
 import org.pmiops.workbench.cohortreview.ReviewQueryBuilder;
 import org.pmiops.workbench.cohortreview.mapper.CohortReviewMapper;
 import org.pmiops.workbench.cohortreview.mapper.CohortReviewMapperImpl;
@@ -143,6 +150,7 @@ import org.pmiops.workbench.vwb.admin.VwbAdminQueryService;
 import org.pmiops.workbench.vwb.usermanager.VwbUserManagerClient;
 import org.pmiops.workbench.vwb.wsm.WsmClient;
 import org.pmiops.workbench.workspaces.WorkspaceAuthService;
+import org.pmiops.workbench.workspaces.WorkspaceListCache;
 import org.pmiops.workbench.workspaces.WorkspaceOperationMapper;
 import org.pmiops.workbench.workspaces.WorkspaceService;
 import org.pmiops.workbench.workspaces.WorkspaceServiceFactory;
@@ -169,6 +177,15 @@ import org.springframework.transaction.annotation.Transactional;
 @DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
 @Transactional(propagation = Propagation.NOT_SUPPORTED)
 public class CohortReviewControllerTest {
+  private static final Schema PARTICIPANT_SAMPLE_SCHEMA =
+      Schema.of(
+          Field.of("person_id", LegacySQLTypeName.STRING),
+          Field.of("birth_datetime", LegacySQLTypeName.DATETIME),
+          Field.of("gender_concept_id", LegacySQLTypeName.INTEGER),
+          Field.of("race_concept_id", LegacySQLTypeName.INTEGER),
+          Field.of("ethnicity_concept_id", LegacySQLTypeName.INTEGER),
+          Field.of("sex_at_birth_concept_id", LegacySQLTypeName.INTEGER),
+          Field.of("deceased", LegacySQLTypeName.BOOLEAN));
 
   @MockitoBean private AccessModuleService accessModuleService;
   @MockitoBean private AccessTierService accessTierService;
@@ -293,6 +310,7 @@ public class CohortReviewControllerTest {
     ChartQueryBuilder.class,
     CohortBuilderMapperImpl.class,
     CohortBuilderServiceImpl.class,
+    CohortCountCache.class,
     CohortReviewController.class,
     CohortReviewMapperImpl.class,
     CohortReviewServiceImpl.class,
@@ -301,11 +319,13 @@ public class CohortReviewControllerTest {
     ReviewQueryBuilder.class,
     ParticipantCohortAnnotationMapperImpl.class,
     ParticipantCohortStatusMapperImpl.class,
+    ParticipantDataCache.class,
     FirecloudMapperImpl.class,
     NotebooksServiceImpl.class,
     UserMapperImpl.class,
     UserServiceTestConfiguration.class,
     WorkspaceMapperImpl.class,
+    WorkspaceListCache.class,
     WorkspaceServiceImpl.class,
     WorkspaceAuthService.class,
     WorkspacesController.class,
@@ -660,6 +680,54 @@ public class CohortReviewControllerTest {
     assertNotFoundExceptionNoCohort(cohortId, exception);
   }
 
+  @Test
+  public void createCohortReviewSavesSampleInChunks() {
+    stubWorkspaceAccessLevel(workspace, RawlsWorkspaceAccessLevel.OWNER);
+    // pages which don't line up with the chunks the sample is saved in
+    int reviewSize = 2500;
+    stubBigQueryCreateCohortReview(pagedParticipantSample(reviewSize, 700, null));
+
+    CohortReview cohortReview =
+        cohortReviewController
+            .createCohortReview(
+                workspace.getNamespace(),
+                workspace.getTerraName(),
+                cohortWithoutReview.getCohortId(),
+                new CreateReviewRequest().size(reviewSize).name("review1"))
+            .getBody();
+
+    assertThat(cohortReview.getReviewSize()).isEqualTo(reviewSize);
+    assertThat(
+            participantCohortStatusDao.findParticipantIdsByCohortReviewId(
+                cohortReview.getCohortReviewId()))
+        .hasSize(reviewSize);
+  }
+
+  @Test
+  public void createCohortReviewSampleFailureSavesNoParticipants() {
+    stubWorkspaceAccessLevel(workspace, RawlsWorkspaceAccessLevel.OWNER);
+    // the first chunk is saved before the second page fails
+    stubBigQueryCreateCohortReview(
+        pagedParticipantSample(2500, 1500, new BigQueryException(500, "page unavailable")));
+
+    assertThrows(
+        BigQueryException.class,
+        () ->
+            cohortReviewController.createCohortReview(
+                workspace.getNamespace(),
+                workspace.getTerraName(),
+                cohortWithoutReview.getCohortId(),
+                new CreateReviewRequest().size(2500).name("review1")));
+
+    DbCohortReview cohortReview =
+        Iterables.getOnlyElement(
+            cohortReviewDao.findAllByCohortId(cohortWithoutReview.getCohortId()));
+    assertThat(
+            participantCohortStatusDao.findParticipantIdsByCohortReviewId(
+                cohortReview.getCohortReviewId()))
+        .isEmpty();
+  }
+
   @ParameterizedTest(name = "createCohortReviewAllowedAccessLevel RawlsWorkspaceAccessLevel={0}")
   @EnumSource(
       value = RawlsWorkspaceAccessLevel.class,
@@ -2516,20 +2584,13 @@ public class CohortReviewControllerTest {
   }
 
   private void stubBigQueryParticipantCount() {
-    // construct the first TableResult call
-    Field count = Field.of("count", LegacySQLTypeName.INTEGER);
-    Field birthDatetime = Field.of("birth_datetime", LegacySQLTypeName.STRING);
+    // the participant's rows are read once and counted in memory
+    Field dataId = Field.of("dataId", LegacySQLTypeName.INTEGER);
+    Field startDatetime = Field.of("START_DATETIME", LegacySQLTypeName.TIMESTAMP);
 
-    Schema schema = Schema.of(count, birthDatetime);
-    FieldValue countValue = FieldValue.of(FieldValue.Attribute.PRIMITIVE, "0");
-    FieldValue birthDatetimeValue =
-        FieldValue.of(FieldValue.Attribute.PRIMITIVE, String.valueOf(NOW.getEpochSecond()));
-    List<FieldValueList> tableRows =
-        Collections.singletonList(FieldValueList.of(Arrays.asList(countValue, birthDatetimeValue)));
+    Schema schema = Schema.of(dataId, startDatetime);
+    TableResult result = BigQueryUtils.newTableResult(schema, Collections.emptyList());
 
-    TableResult result = BigQueryUtils.newTableResult(schema, tableRows);
-
-    // return the TableResult calls in order of call
     when(bigQueryService.filterBigQueryConfigAndExecuteQuery(any())).thenReturn(result);
   }
 
@@ -2687,6 +2748,11 @@ public class CohortReviewControllerTest {
   }
 
   private void stubBigQueryCreateCohortReview() {
+    stubBigQueryCreateCohortReview(
+        BigQueryUtils.newTableResult(PARTICIPANT_SAMPLE_SCHEMA, List.of(participantSampleRow(1))));
+  }
+
+  private void stubBigQueryCreateCohortReview(TableResult participantSample) {
     // construct the first TableResult call
     Field count = Field.of("count", LegacySQLTypeName.INTEGER);
     Schema schema = Schema.of(count);
@@ -2695,45 +2761,48 @@ public class CohortReviewControllerTest {
         Collections.singletonList(FieldValueList.of(Collections.singletonList(countValue)));
     TableResult result = BigQueryUtils.newTableResult(schema, tableRows);
 
-    // construct the second TableResult call
-    Field personId = Field.of("person_id", LegacySQLTypeName.STRING);
-    Field birthDatetime = Field.of("birth_datetime", LegacySQLTypeName.DATETIME);
-    Field genderConceptId = Field.of("gender_concept_id", LegacySQLTypeName.INTEGER);
-    Field raceConceptId = Field.of("race_concept_id", LegacySQLTypeName.INTEGER);
-    Field ethnicityConceptId = Field.of("ethnicity_concept_id", LegacySQLTypeName.INTEGER);
-    Field sexAtBirthConceptId = Field.of("sex_at_birth_concept_id", LegacySQLTypeName.INTEGER);
-    Field deceased = Field.of("deceased", LegacySQLTypeName.BOOLEAN);
-    Schema schema2 =
-        Schema.of(
-            personId,
-            birthDatetime,
-            genderConceptId,
-            raceConceptId,
-            ethnicityConceptId,
-            sexAtBirthConceptId,
-            deceased);
-    FieldValue personIdValue = FieldValue.of(FieldValue.Attribute.PRIMITIVE, "1");
-    FieldValue birthDatetimeValue = FieldValue.of(FieldValue.Attribute.PRIMITIVE, "1");
-    FieldValue genderConceptIdValue = FieldValue.of(FieldValue.Attribute.PRIMITIVE, "2");
-    FieldValue raceConceptIdValue = FieldValue.of(FieldValue.Attribute.PRIMITIVE, "3");
-    FieldValue ethnicityConceptIdValue = FieldValue.of(FieldValue.Attribute.PRIMITIVE, "4");
-    FieldValue sexAtBirthConceptIdValue = FieldValue.of(FieldValue.Attribute.PRIMITIVE, "5");
-    FieldValue deceasedValue = FieldValue.of(FieldValue.Attribute.PRIMITIVE, "false");
-    List<FieldValueList> tableRows2 =
-        Collections.singletonList(
-            FieldValueList.of(
-                Arrays.asList(
-                    personIdValue,
-                    birthDatetimeValue,
-                    genderConceptIdValue,
-                    raceConceptIdValue,
-                    ethnicityConceptIdValue,
-                    sexAtBirthConceptIdValue,
-                    deceasedValue)));
-    TableResult result2 = BigQueryUtils.newTableResult(schema2, tableRows2);
-
-    // return the TableResult calls in order of call
-    when(bigQueryService.filterBigQueryConfigAndExecuteQuery(any())).thenReturn(result, result2);
+    // the participant count, then the paged random sample of participants
+    when(bigQueryService.filterBigQueryConfigAndExecuteQuery(any())).thenReturn(result);
+    when(bigQueryService.filterBigQueryConfigAndExecuteQuery(any(), anyLong()))
+        .thenReturn(participantSample);
+  }
+
+  private static FieldValueList participantSampleRow(long personId) {
+    return BigQueryUtils.tableRow(String.valueOf(personId), "1", "2", "3", "4", "5", "false");
+  }
+
+  /**
+   * A sample of participantCount participants, split into pages of pageSize. If nextPageFailure is
+   * given, fetching the second page throws it.
+   */
+  private static TableResult pagedParticipantSample(
+      int participantCount, int pageSize, RuntimeException nextPageFailure) {
+    return BigQueryUtils.newTableResult(
+        PARTICIPANT_SAMPLE_SCHEMA,
+        participantCount,
+        participantSamplePage(1, participantCount, pageSize, nextPageFailure));
+  }
+
+  private static Page<FieldValueList> participantSamplePage(
+      long firstPersonId, int participantCount, int pageSize, RuntimeException nextPageFailure) {
+    final int rowCount = Math.min(participantCount, pageSize);
+    final List<FieldValueList> rows =
+        LongStream.range(firstPersonId, firstPersonId + rowCount)
+            .mapToObj(CohortReviewControllerTest::participantSampleRow)
+            .toList();
+    if (rowCount == participantCount) {
+      return new PageImpl<>(() -> null, null, rows);
+    }
+    return new PageImpl<>(
+        () -> {
+          if (nextPageFailure != null) {
+            throw nextPageFailure;
+          }
+          return participantSamplePage(
+              firstPersonId + rowCount, participantCount - rowCount, pageSize, null);
+        },
+        "next",
+        rows);
   }
 
   private void stubWorkspaceAccessLevel(
@@ -36,6 +36,7 @@ import org.pmiops.workbench.cohortbuilder.CohortBuilderService;
 import org.pmiops.workbench.cohortbuilder.CohortQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.mapper.CohortBuilderMapper;
 import org.pmiops.workbench.cohortreview.CohortReviewServiceImpl;
+import org.pmiops.workbench.cohortreview.ParticipantDataCache;
 import org.pmiops.workbench.cohortreview.ReviewQueryBuilder;
 import org.pmiops.workbench.cohortreview.mapper.CohortReviewMapperImpl;
 import org.pmiops.workbench.cohortreview.mapper.ParticipantCohortAnnotationMapper;
@@ -141,6 +142,7 @@ public class CohortsControllerTest {
   @MockitoBean private MailService mailService;
   @MockitoBean private ParticipantCohortAnnotationMapper participantCohortAnnotationMapper;
   @MockitoBean private ParticipantCohortStatusMapper participantCohortStatusMapper;
+  @MockitoBean private ParticipantDataCache participantDataCache;
   @MockitoBean private ReviewQueryBuilder reviewQueryBuilder;
   @MockitoBean private TaskQueueService taskQueueService;
   @MockitoBean private UserServiceAuditor userServiceAuditor;
@@ -216,6 +218,7 @@ public class CohortsControllerTest {
     WorkspaceMapperImpl.class,
     WorkspaceResourceMapperImpl.class,
     WorkspaceResourcesServiceImpl.class,
+    WorkspaceListCache.class,
     WorkspaceServiceImpl.class,
     WorkspaceAuthService.class,
     WorkspacesController.class,
@@ -31,6 +31,7 @@ import org.pmiops.workbench.cdr.dao.CBCriteriaDao;
 import org.pmiops.workbench.cdr.model.DbCriteria;
 import org.pmiops.workbench.cloudtasks.TaskQueueService;
 import org.pmiops.workbench.cohortbuilder.CohortBuilderServiceImpl;
+import org.pmiops.workbench.cohortbuilder.CohortCountCache;
 import org.pmiops.workbench.cohortbuilder.CohortQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.mapper.CohortBuilderMapperImpl;
 import org.pmiops.workbench.cohortreview.CohortReviewServiceImpl;
@@ -244,6 +245,7 @@ public class ConceptSetsControllerTest {
     CommonMappers.class,
     CohortBuilderMapperImpl.class,
     CohortBuilderServiceImpl.class,
+    CohortCountCache.class,
     ConceptSetMapperImpl.class,
     ConceptSetService.class,
     ConceptSetsController.class,
@@ -252,6 +254,7 @@ public class ConceptSetsControllerTest {
     WorkspaceMapperImpl.class,
     WorkspaceResourceMapperImpl.class,
     WorkspaceResourcesServiceImpl.class,
+    WorkspaceListCache.class,
     WorkspaceServiceImpl.class,
     WorkspaceAuthService.class,
     WorkspacesController.class,
@@ -66,6 +66,7 @@ import org.pmiops.workbench.cohortbuilder.CohortBuilderService;
 import org.pmiops.workbench.cohortbuilder.CohortQueryBuilder;
 import org.pmiops.workbench.cohortbuilder.mapper.CohortBuilderMapper;
 import org.pmiops.workbench.cohortreview.CohortReviewServiceImpl;
+import org.pmiops.workbench.cohortreview.ParticipantDataCache;
 import org.pmiops.workbench.cohortreview.ReviewQueryBuilder;
 import org.pmiops.workbench.cohortreview.mapper.CohortReviewMapperImpl;
 import org.pmiops.workbench.cohortreview.mapper.ParticipantCohortAnnotationMapper;
@@ -191,6 +192,7 @@ public class DataSetControllerTest {
   @MockitoBean private MailService mailService;
   @MockitoBean private ParticipantCohortAnnotationMapper participantCohortAnnotationMapper;
   @MockitoBean private ParticipantCohortStatusMapper participantCohortStatusMapper;
+  @MockitoBean private ParticipantDataCache participantDataCache;
   @MockitoBean private ReviewQueryBuilder reviewQueryBuilder;
   @MockitoBean private TanagraApi tanagraApi;
   @MockitoBean private TaskQueueService taskQueueService;
@@ -287,6 +289,7 @@ public class DataSetControllerTest {
     WorkspaceMapperImpl.class,
     WorkspaceResourceMapperImpl.class,
     WorkspaceResourcesServiceImpl.class,
+    WorkspaceListCache.class,
     WorkspaceServiceImpl.class,
     WorkspacesController.class,
   })
@@ -1186,7 +1189,8 @@ public class DataSetControllerTest {
             () ->
                 dataSetController.abortGenomicExtractionJob(
                     workspace.getNamespace(), workspace.getName(), "lol"));
-    verify(mockGenomicExtractionService, times(0)).getGenomicExtractionJobs(any(), any());
+    verify(mockGenomicExtractionService, times(0))
+        .getGenomicExtractionJobs(any(), any(), anyBoolean());
 
     assertForbiddenException(exception);
   }
@@ -1201,7 +1205,8 @@ public class DataSetControllerTest {
             () ->
                 dataSetController.abortGenomicExtractionJob(
                     workspace.getNamespace(), workspace.getName(), "lol"));
-    verify(mockGenomicExtractionService, times(0)).getGenomicExtractionJobs(any(), any());
+    verify(mockGenomicExtractionService, times(0))
+        .getGenomicExtractionJobs(any(), any(), anyBoolean());
 
     assertForbiddenException(exception);
   }
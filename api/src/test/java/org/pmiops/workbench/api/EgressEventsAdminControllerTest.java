@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,6 +15,7 @@ import com.google.cloud.bigquery.FieldValue.Attribute;
 import com.google.cloud.bigquery.FieldValueList;
 import com.google.cloud.bigquery.Job;
 import com.google.cloud.bigquery.LegacySQLTypeName;
+import com.google.cloud.bigquery.QueryJobConfiguration;
 import com.google.cloud.bigquery.Schema;
 import com.google.cloud.bigquery.TableResult;
 import com.google.common.base.Strings;
@@ -33,6 +35,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.pmiops.workbench.FakeClockConfiguration;
 import org.pmiops.workbench.FakeJpaDateTimeConfiguration;
 import org.pmiops.workbench.actionaudit.auditors.EgressEventAuditor;
@@ -50,6 +53,7 @@ import org.pmiops.workbench.exceptions.BadRequestException;
 import org.pmiops.workbench.exceptions.FailedPreconditionException;
 import org.pmiops.workbench.exceptions.NotFoundException;
 import org.pmiops.workbench.exfiltration.EgressLogService;
+import org.pmiops.workbench.exfiltration.EgressTerraRuntimeLogPattern;
 import org.pmiops.workbench.model.AuditEgressEventRequest;
 import org.pmiops.workbench.model.AuditEgressEventResponse;
 import org.pmiops.workbench.model.AuditEgressRuntimeLogEntry;
@@ -531,6 +535,70 @@ public class EgressEventsAdminControllerTest {
     assertThat(gotEntries).containsExactlyElementsIn(expected);
   }
 
+  @Test
+  public void testAuditEgressEvent_singleScan() throws Exception {
+    workbenchConfig.featureFlags.enableSingleScanEgressLogQuery = true;
+    String eventId = saveNewEvent(user1, workspace1, TIME0);
+
+    AuditEgressRuntimeLogEntry log1 =
+        new AuditEgressRuntimeLogEntry().timestamp(TIME0.toString()).message("log1");
+    AuditEgressRuntimeLogEntry log2 =
+        new AuditEgressRuntimeLogEntry()
+            .timestamp(TIME0.minus(Duration.ofMinutes(2)).toString())
+            .message("log2");
+    AuditEgressRuntimeLogEntry log3 =
+        new AuditEgressRuntimeLogEntry()
+            .timestamp(TIME0.minus(Duration.ofMinutes(5)).toString())
+            .message("log3");
+
+    Job mockJob = mock(Job.class);
+    when(mockBigQueryService.startQuery(any())).thenReturn(mockJob);
+    // Rows are tagged with the index of the pattern they match, and that pattern's total count.
+    // log2 matches both the first and last patterns, and the first pattern's rows were capped.
+    when(mockJob.getQueryResults(any()))
+        .thenReturn(
+            taggedLogEntriesAsTableResult(
+                ImmutableList.of(
+                    taggedLogEntryRow(log1, 0, 5),
+                    taggedLogEntryRow(log2, 0, 5),
+                    taggedLogEntryRow(log2, 2, 2),
+                    taggedLogEntryRow(log3, 2, 2))));
+
+    AuditEgressEventResponse got =
+        controller.auditEgressEvent(eventId, new AuditEgressEventRequest()).getBody();
+
+    assertThat(
+            got.getRuntimeLogGroups().stream()
+                .map(AuditEgressRuntimeLogGroup::getEntries)
+                .collect(Collectors.toList()))
+        .containsExactly(
+            ImmutableList.of(log1, log2), ImmutableList.of(), ImmutableList.of(log2, log3))
+        .inOrder();
+    assertThat(
+            got.getRuntimeLogGroups().stream()
+                .map(AuditEgressRuntimeLogGroup::getTotalEntries)
+                .collect(Collectors.toList()))
+        .containsExactly(5, 0, 2)
+        .inOrder();
+    assertThat(
+            got.getRuntimeLogGroups().stream()
+                .map(AuditEgressRuntimeLogGroup::getPattern)
+                .collect(Collectors.toList()))
+        .containsExactlyElementsIn(
+            EgressLogService.terraRuntimeLogPatterns.stream()
+                .map(EgressTerraRuntimeLogPattern::getLogMessagePattern)
+                .collect(Collectors.toList()))
+        .inOrder();
+
+    // the log table is scanned once for all patterns
+    ArgumentCaptor<QueryJobConfiguration> queryCaptor =
+        ArgumentCaptor.forClass(QueryJobConfiguration.class);
+    verify(mockBigQueryService, times(1)).startQuery(queryCaptor.capture());
+    assertThat(queryCaptor.getValue().getQuery()).contains("UNNEST(@log_patterns)");
+    assertThat(queryCaptor.getValue().getNamedParameters().get("log_limit").getValue())
+        .isEqualTo(Integer.toString(EgressLogService.RUNTIME_LOG_LIMIT));
+  }
+
   private Instant timeMinusHours(long h) {
     return TIME0.minus(Duration.ofHours(h));
   }
@@ -585,23 +653,43 @@ public class EgressEventsAdminControllerTest {
     List<FieldValueList> tableRows =
         entries.stream()
             .map(
-                e -> {
-                  Instant ts = Instant.parse(e.getTimestamp());
-                  return FieldValueList.of(
-                      ImmutableList.of(
-                          FieldValue.of(
-                              Attribute.PRIMITIVE,
-                              // This reverse engineers the complicated wire encoding used by
-                              // BigQuery, per
-                              // https://github.com/googleapis/java-bigquery/blob/13cc6e608fd501067f7c5dcd2f5b9a03c078b065/google-cloud-bigquery/src/main/java/com/google/cloud/bigquery/FieldValue.java#L184-L190
-                              // The decimal contains microseconds, so we truncate before generating
-                              // the decimal portion.
-                              Double.toString(
-                                  ((double) ts.getEpochSecond()) + ts.getNano() / 1000 / 1e6)),
-                          FieldValue.of(Attribute.PRIMITIVE, e.getMessage())));
-                })
+                e ->
+                    FieldValueList.of(
+                        ImmutableList.of(
+                            timestampFieldValue(e.getTimestamp()),
+                            FieldValue.of(Attribute.PRIMITIVE, e.getMessage()))))
             .collect(Collectors.toList());
 
     return BigQueryUtils.newTableResult(schema, tableRows);
   }
+
+  private TableResult taggedLogEntriesAsTableResult(List<FieldValueList> tableRows) {
+    Schema schema =
+        Schema.of(
+            Field.of("timestamp", LegacySQLTypeName.TIMESTAMP),
+            Field.of("message", LegacySQLTypeName.STRING),
+            Field.of("pattern_index", LegacySQLTypeName.INTEGER),
+            Field.of("pattern_entries", LegacySQLTypeName.INTEGER));
+    return BigQueryUtils.newTableResult(schema, tableRows);
+  }
+
+  private FieldValueList taggedLogEntryRow(
+      AuditEgressRuntimeLogEntry entry, long patternIndex, long patternEntries) {
+    return FieldValueList.of(
+        ImmutableList.of(
+            timestampFieldValue(entry.getTimestamp()),
+            FieldValue.of(Attribute.PRIMITIVE, entry.getMessage()),
+            FieldValue.of(Attribute.PRIMITIVE, Long.toString(patternIndex)),
+            FieldValue.of(Attribute.PRIMITIVE, Long.toString(patternEntries))));
+  }
+
+  private FieldValue timestampFieldValue(String timestamp) {
+    Instant ts = Instant.parse(timestamp);
+    return FieldValue.of(
+        Attribute.PRIMITIVE,
+        // This reverse engineers the complicated wire encoding used by BigQuery, per
+        // https://github.com/googleapis/java-bigquery/blob/13cc6e608fd501067f7c5dcd2f5b9a03c078b065/google-cloud-bigquery/src/main/java/com/google/cloud/bigquery/FieldValue.java#L184-L190
+        // The decimal contains microseconds, so we truncate before generating the decimal portion.
+        Double.toString(((double) ts.getEpochSecond()) + ts.getNano() / 1000 / 1e6));
+  }
 }
@@ -25,6 +25,7 @@ import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoGetRuntimeRespo
 import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoListRuntimeResponse;
 import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoRuntimeStatus;
 import org.pmiops.workbench.leonardo.LeonardoApiClient;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
 import org.pmiops.workbench.utils.mappers.LeonardoMapper;
 import org.pmiops.workbench.utils.mappers.LeonardoMapperImpl;
 import org.pmiops.workbench.workspaces.WorkspaceService;
@@ -49,6 +50,7 @@ public class OfflineEnvironmentsControllerTest {
     FakeClockConfiguration.class,
     LeonardoMapperImpl.class,
     OfflineEnvironmentsController.class,
+    RemoteFanOutExecutor.class,
     TaskQueueService.class,
     WorkbenchLocationConfigService.class,
   })
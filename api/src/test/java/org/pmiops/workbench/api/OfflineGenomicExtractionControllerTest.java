@@ -0,0 +1,50 @@
+package org.pmiops.workbench.api;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pmiops.workbench.exceptions.ServerErrorException;
+import org.pmiops.workbench.genomics.GenomicExtractionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@ExtendWith(MockitoExtension.class)
+public class OfflineGenomicExtractionControllerTest {
+
+  @Mock private GenomicExtractionService mockGenomicExtractionService;
+
+  private OfflineGenomicExtractionController offlineGenomicExtractionController;
+
+  @BeforeEach
+  public void setUp() {
+    offlineGenomicExtractionController =
+        new OfflineGenomicExtractionController(mockGenomicExtractionService);
+  }
+
+  @Test
+  public void testRefreshGenomicExtractionJobs() {
+    ResponseEntity<Void> response =
+        offlineGenomicExtractionController.refreshGenomicExtractionJobs();
+
+    verify(mockGenomicExtractionService).refreshNonTerminalExtractionJobs();
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+  }
+
+  @Test
+  public void testRefreshGenomicExtractionJobs_failure() {
+    doThrow(new ServerErrorException("Interrupted"))
+        .when(mockGenomicExtractionService)
+        .refreshNonTerminalExtractionJobs();
+
+    assertThrows(
+        ServerErrorException.class,
+        () -> offlineGenomicExtractionController.refreshGenomicExtractionJobs());
+  }
+}
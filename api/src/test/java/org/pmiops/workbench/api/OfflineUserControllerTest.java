@@ -27,6 +27,7 @@ import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.config.WorkbenchLocationConfigService;
 import org.pmiops.workbench.db.dao.UserService;
 import org.pmiops.workbench.db.model.DbUser;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -55,6 +56,7 @@ public class OfflineUserControllerTest {
   @Import({
     FakeClockConfiguration.class,
     OfflineUserController.class,
+    RemoteFanOutExecutor.class,
     Stopwatch.class,
     TaskQueueService.class,
     WorkbenchLocationConfigService.class,
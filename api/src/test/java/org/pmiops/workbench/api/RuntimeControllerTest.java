@@ -109,6 +109,7 @@ import org.pmiops.workbench.rawls.model.RawlsWorkspaceResponse;
 import org.pmiops.workbench.test.FakeLongRandom;
 import org.pmiops.workbench.testconfig.UserServiceTestConfiguration;
 import org.pmiops.workbench.user.VwbUserService;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
 import org.pmiops.workbench.utils.mappers.CommonMappers;
 import org.pmiops.workbench.utils.mappers.FirecloudMapper;
 import org.pmiops.workbench.utils.mappers.FirecloudMapperImpl;
@@ -191,6 +192,7 @@ public class RuntimeControllerTest {
     NoBackOffPolicy.class,
     NotebooksRetryHandler.class,
     PublicInstitutionDetailsMapperImpl.class,
+    RemoteFanOutExecutor.class,
     RuntimeController.class,
     UserServiceTestConfiguration.class,
     WorkspaceMapperImpl.class,
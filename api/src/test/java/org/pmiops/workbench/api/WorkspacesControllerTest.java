@@ -70,6 +70,7 @@ import org.pmiops.workbench.cohortbuilder.chart.ChartService;
 import org.pmiops.workbench.cohortbuilder.mapper.CohortBuilderMapper;
 import org.pmiops.workbench.cohortreview.CohortAnnotationDefinitionServiceImpl;
 import org.pmiops.workbench.cohortreview.CohortReviewServiceImpl;
+import org.pmiops.workbench.cohortreview.ParticipantDataCache;
 import org.pmiops.workbench.cohortreview.ReviewQueryBuilder;
 import org.pmiops.workbench.cohortreview.mapper.CohortAnnotationDefinitionMapperImpl;
 import org.pmiops.workbench.cohortreview.mapper.CohortReviewMapperImpl;
@@ -333,6 +334,7 @@ public class WorkspacesControllerTest {
     ObjectNameLengthServiceImpl.class,
     ParticipantCohortAnnotationMapperImpl.class,
     ParticipantCohortStatusMapperImpl.class,
+    ParticipantDataCache.class,
     ReviewQueryBuilder.class,
     UserMapperImpl.class,
     WorkspaceAdminServiceImpl.class,
@@ -341,6 +343,7 @@ public class WorkspacesControllerTest {
     WorkspaceOperationMapperImpl.class,
     WorkspaceResourceMapperImpl.class,
     WorkspaceResourcesServiceImpl.class,
+    WorkspaceListCache.class,
     WorkspaceServiceImpl.class,
     WorkspacesController.class,
   })
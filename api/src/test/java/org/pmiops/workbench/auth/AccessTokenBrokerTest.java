@@ -0,0 +1,141 @@
+package org.pmiops.workbench.auth;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.auth.oauth2.AccessToken;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.test.FakeClock;
+
+public class AccessTokenBrokerTest {
+  private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+  private static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+  private static final List<String> SCOPES = List.of("scope-a", "scope-b");
+
+  private FakeClock clock;
+  private AccessTokenBroker broker;
+  private AtomicInteger mintCount;
+
+  @BeforeEach
+  public void setUp() {
+    clock = new FakeClock(NOW);
+    broker = new AccessTokenBroker(clock);
+    mintCount = new AtomicInteger();
+  }
+
+  @Test
+  public void testGetAccessToken_reusedUntilNearExpiry() throws IOException {
+    final AccessToken first = broker.getAccessToken("sa", null, SCOPES, this::mint);
+    final Duration untilRefresh = TOKEN_LIFETIME.minus(AccessTokenBroker.REFRESH_MARGIN);
+    clock.increment(untilRefresh.minusSeconds(1).toMillis());
+    assertThat(broker.getAccessToken("sa", null, SCOPES, this::mint)).isSameInstanceAs(first);
+    assertThat(mintCount.get()).isEqualTo(1);
+
+    clock.increment(Duration.ofSeconds(2).toMillis());
+    final AccessToken second = broker.getAccessToken("sa", null, SCOPES, this::mint);
+    assertThat(second.getTokenValue()).isEqualTo("token-2");
+    assertThat(mintCount.get()).isEqualTo(2);
+
+    assertThat(broker.getStats().hitCount()).isEqualTo(1);
+    assertThat(broker.getStats().loadSuccessCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGetAccessToken_keyedByPrincipalSubjectAndScopes() throws IOException {
+    broker.getAccessToken("sa", null, SCOPES, this::mint);
+    broker.getAccessToken("sa", null, List.of("scope-b", "scope-a"), this::mint);
+    assertThat(mintCount.get()).isEqualTo(1);
+
+    broker.getAccessToken("sa", null, List.of("scope-a"), this::mint);
+    broker.getAccessToken("other-sa", null, SCOPES, this::mint);
+    broker.getAccessToken("sa", "user@fake-research-aou.org", SCOPES, this::mint);
+    assertThat(mintCount.get()).isEqualTo(4);
+    assertThat(broker.getSize()).isEqualTo(4);
+  }
+
+  @Test
+  public void testGetAccessToken_noExpirationTime() throws IOException {
+    final AccessTokenBroker.TokenMinter minter =
+        () -> new AccessToken("token-" + mintCount.incrementAndGet(), null);
+
+    broker.getAccessToken("sa", null, SCOPES, minter);
+    broker.getAccessToken("sa", null, SCOPES, minter);
+    assertThat(mintCount.get()).isEqualTo(1);
+
+    clock.increment(AccessTokenBroker.DEFAULT_LIFETIME.toMillis());
+    broker.getAccessToken("sa", null, SCOPES, minter);
+    assertThat(mintCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGetAccessToken_failuresNotCached() throws IOException {
+    assertThrows(
+        IOException.class,
+        () ->
+            broker.getAccessToken(
+                "sa",
+                null,
+                SCOPES,
+                () -> {
+                  throw new IOException("metadata server unavailable");
+                }));
+
+    assertThat(broker.getAccessToken("sa", null, SCOPES, this::mint).getTokenValue())
+        .isEqualTo("token-1");
+    assertThat(broker.getStats().loadExceptionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testGetAccessToken_concurrentCallersShareOneMint() throws Exception {
+    final int callers = 8;
+    final CountDownLatch allWaiting = new CountDownLatch(callers);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AccessTokenBroker.TokenMinter slowMinter =
+        () -> {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            throw new IOException(e);
+          }
+          return mint();
+        };
+
+    final ExecutorService executor = Executors.newFixedThreadPool(callers);
+    try {
+      final List<Future<AccessToken>> futures = new ArrayList<>();
+      for (int i = 0; i < callers; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  allWaiting.countDown();
+                  return broker.getAccessToken("sa", null, SCOPES, slowMinter);
+                }));
+      }
+      allWaiting.await();
+      release.countDown();
+      for (Future<AccessToken> future : futures) {
+        assertThat(future.get().getTokenValue()).isEqualTo("token-1");
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(mintCount.get()).isEqualTo(1);
+  }
+
+  private AccessToken mint() {
+    return new AccessToken(
+        "token-" + mintCount.incrementAndGet(), Date.from(clock.instant().plus(TOKEN_LIFETIME)));
+  }
+}
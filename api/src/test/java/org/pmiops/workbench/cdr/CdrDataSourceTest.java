@@ -0,0 +1,144 @@
+package org.pmiops.workbench.cdr;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.db.model.DbCdrVersion;
+
+public class CdrDataSourceTest {
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return nanos.get();
+        }
+      };
+
+  private Map<String, HikariDataSource> createdPools;
+  private CdrDataSource cdrDataSource;
+
+  @BeforeEach
+  public void setUp() {
+    createdPools = new HashMap<>();
+    cdrDataSource =
+        new CdrDataSource(
+            dbName -> {
+              final HikariDataSource pool = mock(HikariDataSource.class);
+              createdPools.put(dbName, pool);
+              return pool;
+            },
+            ticker);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    CdrVersionContext.clearCdrVersion();
+    cdrDataSource.close();
+  }
+
+  @Test
+  public void testNoPoolsAtStartup() {
+    assertThat(cdrDataSource.getPools()).isEmpty();
+    assertThat(createdPools).isEmpty();
+  }
+
+  @Test
+  public void testGetConnection_createsPoolOnFirstUse() throws Exception {
+    useCdrVersion(1L, "cdr_a");
+    cdrDataSource.getConnection();
+    cdrDataSource.getConnection();
+
+    assertThat(createdPools.keySet()).containsExactly("cdr_a");
+    verify(createdPools.get("cdr_a"), times(2)).getConnection();
+
+    // a CDR version added after startup is picked up
+    useCdrVersion(2L, "cdr_b");
+    cdrDataSource.getConnection();
+
+    assertThat(cdrDataSource.getPools().keySet()).containsExactly("cdr_a", "cdr_b");
+  }
+
+  @Test
+  public void testGetConnection_closesIdlePools() throws Exception {
+    useCdrVersion(1L, "cdr_a");
+    cdrDataSource.getConnection();
+    final HikariDataSource first = createdPools.get("cdr_a");
+
+    nanos.addAndGet(CdrDataSource.POOL_IDLE_EXPIRY.toNanos() - 1);
+    cdrDataSource.getConnection();
+    verify(first, never()).close();
+
+    // idle time is measured from the last use
+    nanos.addAndGet(CdrDataSource.POOL_IDLE_EXPIRY.toNanos());
+    cdrDataSource.cleanUp();
+    verify(first, timeout(5000)).close();
+    assertThat(cdrDataSource.getPools()).isEmpty();
+
+    cdrDataSource.getConnection();
+    assertThat(createdPools.get("cdr_a")).isNotSameInstanceAs(first);
+  }
+
+  @Test
+  public void testCleanUp_waitsForConnectionsInUse() throws Exception {
+    useCdrVersion(1L, "cdr_a");
+    cdrDataSource.getConnection();
+    final HikariDataSource pool = createdPools.get("cdr_a");
+    final HikariPoolMXBean poolMXBean = mock(HikariPoolMXBean.class);
+    when(pool.getHikariPoolMXBean()).thenReturn(poolMXBean);
+    when(poolMXBean.getActiveConnections()).thenReturn(1);
+
+    // the pool expires while a long query still holds a connection
+    nanos.addAndGet(CdrDataSource.POOL_IDLE_EXPIRY.toNanos());
+    cdrDataSource.cleanUp();
+    verify(poolMXBean, timeout(5000)).getActiveConnections();
+    verify(pool, never()).close();
+    assertThat(cdrDataSource.getPools()).isEmpty();
+
+    when(poolMXBean.getActiveConnections()).thenReturn(0);
+    cdrDataSource.cleanUp();
+    verify(pool, timeout(5000)).close();
+  }
+
+  @Test
+  public void testGetConnection_noCdrDatabase() {
+    useCdrVersion(3L, null);
+
+    assertThrows(IllegalStateException.class, () -> cdrDataSource.getConnection());
+    assertThat(createdPools).isEmpty();
+  }
+
+  @Test
+  public void testClose_closesAllPools() throws Exception {
+    useCdrVersion(1L, "cdr_a");
+    cdrDataSource.getConnection();
+    useCdrVersion(2L, "cdr_b");
+    cdrDataSource.getConnection();
+
+    cdrDataSource.close();
+
+    verify(createdPools.get("cdr_a"), timeout(5000)).close();
+    verify(createdPools.get("cdr_b"), timeout(5000)).close();
+  }
+
+  private static void useCdrVersion(long cdrVersionId, String cdrDbName) {
+    CdrVersionContext.setCdrVersionNoCheckAuthDomain(
+        new DbCdrVersion().setCdrVersionId(cdrVersionId).setCdrDbName(cdrDbName));
+  }
+}
@@ -0,0 +1,257 @@
+package org.pmiops.workbench.cloudtasks;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.rpc.ApiCallContext;
+import com.google.api.gax.rpc.ApiExceptionFactory;
+import com.google.api.gax.rpc.UnaryCallable;
+import com.google.cloud.tasks.v2.CloudTasksClient;
+import com.google.cloud.tasks.v2.CreateTaskRequest;
+import com.google.cloud.tasks.v2.Task;
+import com.google.cloud.tasks.v2.stub.CloudTasksStub;
+import io.grpc.Status;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.config.WorkbenchConfig;
+import org.pmiops.workbench.config.WorkbenchLocationConfigService;
+import org.pmiops.workbench.exceptions.ServerErrorException;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
+
+public class TaskQueueServiceTest {
+  private static final String QUEUE_PATH =
+      "projects/test/locations/us-central1/queues/"
+          + TaskQueueService.SYNCHRONIZE_ACCESS.queueName();
+
+  private RecordingCloudTasksStub stub;
+  private CloudTasksClient cloudTasksClient;
+  private WorkbenchConfig workbenchConfig;
+  private RemoteFanOutExecutor remoteFanOutExecutor;
+  private TaskQueueService taskQueueService;
+
+  @BeforeEach
+  public void setUp() {
+    stub = new RecordingCloudTasksStub();
+    cloudTasksClient = CloudTasksClient.create(stub);
+
+    workbenchConfig = WorkbenchConfig.createEmptyConfig();
+    workbenchConfig.server.projectId = "test";
+    workbenchConfig.offlineBatch.usersPerSynchronizeAccessTask = 2;
+
+    final WorkbenchLocationConfigService locationConfigService =
+        mock(WorkbenchLocationConfigService.class);
+    when(locationConfigService.getCloudTaskLocationId()).thenReturn("us-central1");
+    remoteFanOutExecutor = new RemoteFanOutExecutor();
+    taskQueueService =
+        new TaskQueueService(
+            locationConfigService,
+            () -> cloudTasksClient,
+            () -> workbenchConfig,
+            () -> null,
+            remoteFanOutExecutor);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    cloudTasksClient.close();
+    remoteFanOutExecutor.shutdown();
+  }
+
+  @Test
+  public void groupAndPushSynchronizeAccessTasks_sequential() {
+    assertThat(taskQueueService.groupAndPushSynchronizeAccessTasks(userIds(5)))
+        .containsExactly("[1,2]", "[3,4]", "[5]")
+        .inOrder();
+    assertThat(stub.requests).hasSize(3);
+    assertThat(stub.requests.peek().getParent()).isEqualTo(QUEUE_PATH);
+    assertThat(stub.requests.peek().getTask().getAppEngineHttpRequest().getRelativeUri())
+        .isEqualTo(TaskQueueService.SYNCHRONIZE_ACCESS.fullPath());
+  }
+
+  @Test
+  public void groupAndPushSynchronizeAccessTasks_concurrent() {
+    workbenchConfig.offlineBatch.cloudTasksEnqueueParallelism = 3;
+    // the first three pushes only complete once all three are in flight
+    stub.inFlightBarrier = new CountDownLatch(3);
+
+    assertThat(taskQueueService.groupAndPushSynchronizeAccessTasks(userIds(12)))
+        .containsExactly("[1,2]", "[3,4]", "[5,6]", "[7,8]", "[9,10]", "[11,12]")
+        .inOrder();
+    assertThat(stub.maxInFlight.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void groupAndPushSynchronizeAccessTasks_rateLimited() {
+    workbenchConfig.offlineBatch.cloudTasksEnqueueParallelism = 3;
+    workbenchConfig.offlineBatch.cloudTasksEnqueueQps = 20.0;
+
+    final long startNanos = System.nanoTime();
+    assertThat(taskQueueService.groupAndPushSynchronizeAccessTasks(userIds(10))).hasSize(5);
+    // the first push is immediate, and the other four wait 50ms each
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isAtLeast(150L);
+  }
+
+  @Test
+  public void groupAndPushSynchronizeAccessTasks_retriesTransientFailures() {
+    stub.failures.put("[3,4]", new AtomicInteger(TaskQueueService.MAX_PUSH_ATTEMPTS - 1));
+
+    assertThat(taskQueueService.groupAndPushSynchronizeAccessTasks(userIds(5)))
+        .containsExactly("[1,2]", "[3,4]", "[5]")
+        .inOrder();
+    assertThat(stub.requests).hasSize(2 + TaskQueueService.MAX_PUSH_ATTEMPTS);
+  }
+
+  @Test
+  public void groupAndPushSynchronizeAccessTasks_retryAfterAmbiguousFailureIsNotDuplicated() {
+    // the first push of [3,4] creates the task, but the client sees a timeout
+    stub.ambiguousFailures.put("[3,4]", new AtomicInteger(1));
+
+    final List<String> taskNames = taskQueueService.groupAndPushSynchronizeAccessTasks(userIds(5));
+
+    assertThat(taskNames).hasSize(3);
+    final List<String> requestedNames =
+        stub.requests.stream()
+            .map(CreateTaskRequest::getTask)
+            .filter(t -> t.getAppEngineHttpRequest().getBody().toStringUtf8().equals("[3,4]"))
+            .map(Task::getName)
+            .toList();
+    assertThat(requestedNames).hasSize(2);
+    assertThat(requestedNames.get(1)).isEqualTo(requestedNames.get(0));
+    assertThat(requestedNames.get(0)).startsWith(QUEUE_PATH + "/tasks/");
+    assertThat(taskNames.get(1)).isEqualTo(requestedNames.get(0));
+    assertThat(stub.createdTaskNames).hasSize(3);
+  }
+
+  @Test
+  public void groupAndPushSynchronizeAccessTasks_pushesRemainingBatchesAfterFailure() {
+    workbenchConfig.offlineBatch.cloudTasksEnqueueParallelism = 2;
+    stub.failures.put("[1,2]", new AtomicInteger(TaskQueueService.MAX_PUSH_ATTEMPTS));
+
+    final ServerErrorException e =
+        assertThrows(
+            ServerErrorException.class,
+            () -> taskQueueService.groupAndPushSynchronizeAccessTasks(userIds(5)));
+    assertThat(e).hasMessageThat().contains("Pushed 2 of 3 tasks");
+    assertThat(
+            stub.requests.stream()
+                .map(r -> r.getTask().getAppEngineHttpRequest().getBody().toStringUtf8())
+                .toList())
+        .containsAtLeast("[3,4]", "[5]");
+  }
+
+  @Test
+  public void groupAndPushSynchronizeAccessTasks_permanentFailureNotRetried() {
+    stub.failures.put("[1,2]", new AtomicInteger(1));
+    stub.failureStatus = Status.Code.INVALID_ARGUMENT;
+
+    assertThrows(
+        ServerErrorException.class,
+        () -> taskQueueService.groupAndPushSynchronizeAccessTasks(userIds(4)));
+    assertThat(stub.requests).hasSize(2);
+  }
+
+  private static List<Long> userIds(int count) {
+    return LongStream.rangeClosed(1, count).boxed().toList();
+  }
+
+  /**
+   * Records the tasks pushed through it, and names each created task after its body. Rejects a
+   * task whose name was already created, as Cloud Tasks does. Like {@link
+   * ForwardingCloudTasksStub}, it only supports task creation.
+   */
+  private static class RecordingCloudTasksStub extends CloudTasksStub {
+    final Queue<CreateTaskRequest> requests = new ConcurrentLinkedQueue<>();
+    // task body to the number of times pushing it should still fail
+    final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+    // task body to the number of times pushing it should create it, but still fail
+    final Map<String, AtomicInteger> ambiguousFailures = new ConcurrentHashMap<>();
+    final Set<String> createdTaskNames = ConcurrentHashMap.newKeySet();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+    Status.Code failureStatus = Status.Code.UNAVAILABLE;
+    CountDownLatch inFlightBarrier = new CountDownLatch(0);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Override
+    public UnaryCallable<CreateTaskRequest, Task> createTaskCallable() {
+      return new UnaryCallable<CreateTaskRequest, Task>() {
+        @Override
+        public ApiFuture<Task> futureCall(CreateTaskRequest request, ApiCallContext context) {
+          final String body = request.getTask().getAppEngineHttpRequest().getBody().toStringUtf8();
+          final Task task = request.getTask().toBuilder().setName(body).build();
+          requests.add(request);
+          maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          try {
+            inFlightBarrier.countDown();
+            inFlightBarrier.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            inFlight.decrementAndGet();
+          }
+
+          final AtomicInteger remainingFailures = failures.get(body);
+          if (remainingFailures != null && remainingFailures.getAndDecrement() > 0) {
+            return failure(failureStatus);
+          }
+          final String requestedName = request.getTask().getName();
+          if (!requestedName.isEmpty() && !createdTaskNames.add(requestedName)) {
+            return failure(Status.Code.ALREADY_EXISTS);
+          }
+          final AtomicInteger remainingAmbiguousFailures = ambiguousFailures.get(body);
+          if (remainingAmbiguousFailures != null
+              && remainingAmbiguousFailures.getAndDecrement() > 0) {
+            return failure(Status.Code.DEADLINE_EXCEEDED);
+          }
+          return ApiFutures.immediateFuture(task);
+        }
+
+        private ApiFuture<Task> failure(Status.Code status) {
+          return ApiFutures.immediateFailedFuture(
+              ApiExceptionFactory.createException(
+                  new RuntimeException("push failed"), GrpcStatusCode.of(status), false));
+        }
+      };
+    }
+
+    @Override
+    public void close() {}
+
+    @Override
+    public void shutdown() {}
+
+    @Override
+    public boolean isShutdown() {
+      return true;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return true;
+    }
+
+    @Override
+    public void shutdownNow() {}
+
+    @Override
+    public boolean awaitTermination(long duration, TimeUnit unit) {
+      return true;
+    }
+  }
+}
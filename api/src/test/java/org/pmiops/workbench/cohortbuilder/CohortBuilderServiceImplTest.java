@@ -69,6 +69,7 @@ class CohortBuilderServiceImplTest {
     cohortBuilderService =
         new CohortBuilderServiceImpl(
             bigQueryService,
+            new CohortCountCache(),
             cohortQueryBuilder,
             cbCriteriaAttributeDao,
             cbCriteriaDao,
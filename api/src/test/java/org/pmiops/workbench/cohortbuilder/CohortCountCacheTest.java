@@ -0,0 +1,203 @@
+package org.pmiops.workbench.cohortbuilder;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.cdr.CdrVersionContext;
+import org.pmiops.workbench.db.model.DbCdrVersion;
+import org.pmiops.workbench.exceptions.BadRequestException;
+import org.pmiops.workbench.model.CohortDefinition;
+import org.pmiops.workbench.model.CriteriaType;
+import org.pmiops.workbench.model.Domain;
+import org.pmiops.workbench.model.Modifier;
+import org.pmiops.workbench.model.ModifierType;
+import org.pmiops.workbench.model.Operator;
+import org.pmiops.workbench.model.SearchGroup;
+import org.pmiops.workbench.model.SearchGroupItem;
+import org.pmiops.workbench.model.SearchParameter;
+
+public class CohortCountCacheTest {
+
+  private static final DbCdrVersion CDR_VERSION =
+      new DbCdrVersion().setCdrVersionId(1L).setBigqueryDataset("synth_r_2024q1");
+  private static final DbCdrVersion OTHER_CDR_VERSION =
+      new DbCdrVersion().setCdrVersionId(2L).setBigqueryDataset("synth_r_2025q1");
+
+  private CohortCountCache cohortCountCache;
+  private AtomicInteger bigQueryCounts;
+
+  @BeforeEach
+  public void setUp() {
+    cohortCountCache = new CohortCountCache();
+    bigQueryCounts = new AtomicInteger();
+    CdrVersionContext.setCdrVersionNoCheckAuthDomain(CDR_VERSION);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    CdrVersionContext.clearCdrVersion();
+  }
+
+  @Test
+  public void testCanonicalize_ignoresOrderIdsAndNames() {
+    final CohortDefinition definition =
+        new CohortDefinition()
+            .includes(
+                List.of(
+                    group("g1", item("i1", icd9("p1", 1L), icd9("p2", 2L))),
+                    group("g2", item("i2", icd9("p3", 3L)))))
+            .excludes(List.of())
+            .dataFilters(List.of("HAS_EHR_DATA", "HAS_PPI_SURVEY_DATA"));
+    final CohortDefinition reordered =
+        new CohortDefinition()
+            .includes(
+                List.of(
+                    group("other-g2", item("other-i2", icd9("other-p3", 3L).name("Renamed"))),
+                    group("other-g1", item("other-i1", icd9("other-p2", 2L), icd9("p1", 1L)))))
+            .excludes(List.of())
+            .dataFilters(List.of("HAS_PPI_SURVEY_DATA", "HAS_EHR_DATA"));
+
+    assertThat(CohortCountCache.canonicalize(reordered))
+        .isEqualTo(CohortCountCache.canonicalize(definition));
+  }
+
+  @Test
+  public void testCanonicalize_distinguishesCriteria() {
+    final CohortDefinition definition = definition(icd9("p1", 1L));
+    final CohortDefinition otherConcept = definition(icd9("p1", 2L));
+    final CohortDefinition excluded =
+        new CohortDefinition()
+            .includes(List.of())
+            .excludes(List.of(group("g1", item("i1", icd9("p1", 1L)))))
+            .dataFilters(List.of());
+
+    assertThat(CohortCountCache.canonicalize(otherConcept))
+        .isNotEqualTo(CohortCountCache.canonicalize(definition));
+    assertThat(CohortCountCache.canonicalize(excluded))
+        .isNotEqualTo(CohortCountCache.canonicalize(definition));
+  }
+
+  @Test
+  public void testCanonicalize_keepsOperandOrder() {
+    final CohortDefinition ascending = definitionWithAgeModifier("20", "30");
+    final CohortDefinition descending = definitionWithAgeModifier("30", "20");
+
+    assertThat(CohortCountCache.canonicalize(descending))
+        .isNotEqualTo(CohortCountCache.canonicalize(ascending));
+  }
+
+  @Test
+  public void testCanonicalize_doesNotModifyDefinition() {
+    final CohortDefinition definition =
+        definition(icd9("p2", 2L), icd9("p1", 1L).name("Named criterion"));
+
+    CohortCountCache.canonicalize(definition);
+
+    final SearchGroupItem item = definition.getIncludes().get(0).getItems().get(0);
+    assertThat(item.getId()).isEqualTo("i1");
+    assertThat(item.getSearchParameters().get(0).getParameterId()).isEqualTo("p2");
+    assertThat(item.getSearchParameters().get(1).getName()).isEqualTo("Named criterion");
+  }
+
+  @Test
+  public void testGetCount_cachedPerCdrVersion() {
+    final CohortDefinition definition = definition(icd9("p1", 1L));
+    final CohortDefinition equivalent = definition(icd9("another-id", 1L));
+
+    assertThat(cohortCountCache.getCount(definition, this::countInBigQuery)).isEqualTo(1L);
+    assertThat(cohortCountCache.getCount(equivalent, this::countInBigQuery)).isEqualTo(1L);
+    assertThat(bigQueryCounts.get()).isEqualTo(1);
+
+    CdrVersionContext.setCdrVersionNoCheckAuthDomain(OTHER_CDR_VERSION);
+    assertThat(cohortCountCache.getCount(definition, this::countInBigQuery)).isEqualTo(2L);
+    assertThat(bigQueryCounts.get()).isEqualTo(2);
+
+    assertThat(cohortCountCache.getStats().hitCount()).isEqualTo(1);
+    assertThat(cohortCountCache.getStats().missCount()).isEqualTo(2);
+    assertThat(cohortCountCache.getSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGetCount_noCdrVersion() {
+    CdrVersionContext.clearCdrVersion();
+    final CohortDefinition definition = definition(icd9("p1", 1L));
+
+    cohortCountCache.getCount(definition, this::countInBigQuery);
+    cohortCountCache.getCount(definition, this::countInBigQuery);
+
+    assertThat(bigQueryCounts.get()).isEqualTo(2);
+    assertThat(cohortCountCache.getSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void testGetCount_failuresNotCached() {
+    final CohortDefinition definition = definition(icd9("p1", 1L));
+
+    assertThrows(
+        BadRequestException.class,
+        () ->
+            cohortCountCache.getCount(
+                definition,
+                () -> {
+                  throw new BadRequestException("Bad Request: invalid definition");
+                }));
+
+    assertThat(cohortCountCache.getCount(definition, this::countInBigQuery)).isEqualTo(1L);
+  }
+
+  private Long countInBigQuery() {
+    return (long) bigQueryCounts.incrementAndGet();
+  }
+
+  private static CohortDefinition definition(SearchParameter... parameters) {
+    return new CohortDefinition()
+        .includes(List.of(group("g1", item("i1", parameters))))
+        .excludes(List.of())
+        .dataFilters(List.of());
+  }
+
+  private static CohortDefinition definitionWithAgeModifier(String... operands) {
+    final SearchGroupItem item = item("i1", icd9("p1", 1L));
+    item.setModifiers(
+        List.of(
+            new Modifier()
+                .name(ModifierType.AGE_AT_EVENT)
+                .operator(Operator.BETWEEN)
+                .operands(List.of(operands))));
+    return new CohortDefinition()
+        .includes(List.of(group("g1", item)))
+        .excludes(List.of())
+        .dataFilters(List.of());
+  }
+
+  private static SearchGroup group(String id, SearchGroupItem... items) {
+    return new SearchGroup().id(id).temporal(false).items(List.of(items));
+  }
+
+  private static SearchGroupItem item(String id, SearchParameter... parameters) {
+    return new SearchGroupItem()
+        .id(id)
+        .type(Domain.CONDITION.toString())
+        .searchParameters(List.of(parameters))
+        .modifiers(new ArrayList<>());
+  }
+
+  private static SearchParameter icd9(String parameterId, long conceptId) {
+    return new SearchParameter()
+        .parameterId(parameterId)
+        .name("Criterion " + conceptId)
+        .domain(Domain.CONDITION.toString())
+        .type(CriteriaType.ICD9CM.toString())
+        .group(false)
+        .ancestorData(false)
+        .standard(false)
+        .conceptId(conceptId)
+        .attributes(new ArrayList<>());
+  }
+}
@@ -0,0 +1,281 @@
+package org.pmiops.workbench.cohortbuilder;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.bigquery.QueryJobConfiguration;
+import com.google.cloud.bigquery.QueryParameterValue;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableMap;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.pmiops.workbench.model.AttrName;
+import org.pmiops.workbench.model.Attribute;
+import org.pmiops.workbench.model.CohortDefinition;
+import org.pmiops.workbench.model.CriteriaType;
+import org.pmiops.workbench.model.Domain;
+import org.pmiops.workbench.model.Modifier;
+import org.pmiops.workbench.model.ModifierType;
+import org.pmiops.workbench.model.Operator;
+import org.pmiops.workbench.model.SearchGroup;
+import org.pmiops.workbench.model.SearchGroupItem;
+import org.pmiops.workbench.model.SearchParameter;
+import org.pmiops.workbench.model.TemporalMention;
+import org.pmiops.workbench.model.TemporalTime;
+import org.pmiops.workbench.test.CohortDefinitions;
+
+public class SearchGroupItemQueryBuilderTest {
+  private static final Logger log =
+      Logger.getLogger(SearchGroupItemQueryBuilderTest.class.getName());
+
+  // representative cohort definitions, by name
+  private static final ImmutableMap<String, Supplier<CohortDefinition>> FIXTURES =
+      ImmutableMap.of(
+          "conditionCodesWithModifiers", CohortDefinitions::icd9CodeWithModifiers,
+          "temporalFirstMention", CohortDefinitions::temporalRequest,
+          "temporalLastMentionWithModifiers",
+              SearchGroupItemQueryBuilderTest::temporalLastMentionWithModifiers,
+          "demographics", SearchGroupItemQueryBuilderTest::demographics,
+          "bloodPressureAndSurvey", SearchGroupItemQueryBuilderTest::bloodPressureAndSurvey,
+          "manyGroups", SearchGroupItemQueryBuilderTest::manyGroups);
+
+  private final CohortQueryBuilder cohortQueryBuilder = new CohortQueryBuilder();
+
+  static List<String> fixtureNames() {
+    return FIXTURES.keySet().asList();
+  }
+
+  @ParameterizedTest
+  @MethodSource("fixtureNames")
+  public void testBuildQuery_isDeterministic(String fixtureName) {
+    final QueryJobConfiguration first = buildCountQuery(FIXTURES.get(fixtureName).get());
+    final QueryJobConfiguration second = buildCountQuery(FIXTURES.get(fixtureName).get());
+
+    assertThat(second.getQuery()).isEqualTo(first.getQuery());
+    assertThat(second.getNamedParameters()).isEqualTo(first.getNamedParameters());
+  }
+
+  @Test
+  public void testBuildQuery_conceptIdsInRequestOrder() {
+    final SearchGroupItem item = new SearchGroupItem().id("item").type(Domain.DRUG.toString());
+    for (long conceptId : new long[] {30L, 10L, 20L}) {
+      item.addSearchParametersItem(
+          parameter(Domain.DRUG, CriteriaType.ATC, conceptId).standard(true));
+    }
+
+    final QueryJobConfiguration query = buildCountQuery(definition(group(item)));
+
+    // p0 is the standard flag and p1 the concept ids
+    assertThat(
+            query.getNamedParameters().get("p1").getArrayValues().stream()
+                .map(QueryParameterValue::getValue)
+                .toList())
+        .containsExactly("30", "10", "20")
+        .inOrder();
+  }
+
+  @Test
+  public void testBuildQuery_modifiers() {
+    final String sql = buildCountQuery(CohortDefinitions.icd9CodeWithModifiers()).getQuery();
+
+    assertThat(sql).contains("SELECT criteria.person_id FROM (SELECT ");
+    assertThat(sql).contains(" AND age_at_event >= @p2\n AND visit_concept_id >= (@p3)\n");
+    assertThat(sql)
+        .contains(
+            ") criteria\nGROUP BY criteria.person_id, criteria.concept_id\n"
+                + "HAVING COUNT(criteria.person_id) >= @p4\n");
+  }
+
+  @Test
+  public void testBuildQuery_bloodPressure() {
+    final String sql = buildCountQuery(bloodPressureAndSurvey()).getQuery();
+
+    assertThat(sql).contains(" AND systolic <= @p2 AND diastolic BETWEEN @p3 AND @p4");
+    assertThat(sql).contains(" AND value_source_concept_id IN unnest(@p7)");
+  }
+
+  /**
+   * Measures building each fixture's count query. Run with WORKBENCH_BENCHMARKS=true, and compare
+   * the logged time and allocation per definition before and after changes to query building.
+   */
+  @ParameterizedTest
+  @MethodSource("fixtureNames")
+  @EnabledIfEnvironmentVariable(named = "WORKBENCH_BENCHMARKS", matches = "true")
+  public void testBuildQuery_benchmark(String fixtureName) {
+    final int warmupIterations = 5_000;
+    final int iterations = 50_000;
+    final CohortDefinition cohortDefinition = FIXTURES.get(fixtureName).get();
+    final com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    int queryLength = 0;
+    for (int i = 0; i < warmupIterations; i++) {
+      queryLength += buildCountQuery(cohortDefinition).getQuery().length();
+    }
+    final long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    for (int i = 0; i < iterations; i++) {
+      queryLength += buildCountQuery(cohortDefinition).getQuery().length();
+    }
+    stopwatch.stop();
+    final long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+    log.info(
+        String.format(
+            "Built %s in %d ns and %d allocated bytes per definition",
+            fixtureName,
+            stopwatch.elapsed(TimeUnit.NANOSECONDS) / iterations,
+            allocated / iterations));
+    assertThat(queryLength).isGreaterThan(0);
+  }
+
+  private QueryJobConfiguration buildCountQuery(CohortDefinition cohortDefinition) {
+    return cohortQueryBuilder.buildParticipantCounterQuery(
+        new ParticipantCriteria(cohortDefinition));
+  }
+
+  private static CohortDefinition temporalLastMentionWithModifiers() {
+    final Modifier ageAtEvent =
+        new Modifier()
+            .name(ModifierType.AGE_AT_EVENT)
+            .operator(Operator.BETWEEN)
+            .operands(List.of("18", "65"));
+    final Modifier eventDate =
+        new Modifier()
+            .name(ModifierType.EVENT_DATE)
+            .operator(Operator.GREATER_THAN_OR_EQUAL_TO)
+            .operands(List.of("2020-01-01"));
+    final SearchGroupItem conditions =
+        new SearchGroupItem()
+            .id("conditions")
+            .type(Domain.CONDITION.toString())
+            .addSearchParametersItem(parameter(Domain.CONDITION, CriteriaType.ICD10CM, 1L))
+            .addSearchParametersItem(
+                parameter(Domain.CONDITION, CriteriaType.SNOMED, 2L).standard(true))
+            .modifiers(List.of(ageAtEvent, eventDate))
+            .temporalGroup(0);
+    final SearchGroupItem procedures =
+        new SearchGroupItem()
+            .id("procedures")
+            .type(Domain.PROCEDURE.toString())
+            .addSearchParametersItem(parameter(Domain.PROCEDURE, CriteriaType.CPT4, 3L).group(true))
+            .temporalGroup(1);
+    final SearchGroupItem drugs =
+        new SearchGroupItem()
+            .id("drugs")
+            .type(Domain.DRUG.toString())
+            .addSearchParametersItem(
+                parameter(Domain.DRUG, CriteriaType.ATC, 4L).standard(true).group(true))
+            .temporalGroup(1);
+    return definition(
+        group(conditions, procedures, drugs)
+            .temporal(true)
+            .mention(TemporalMention.LAST_MENTION)
+            .time(TemporalTime.WITHIN_X_DAYS_OF)
+            .timeValue(30L));
+  }
+
+  private static CohortDefinition demographics() {
+    final SearchGroupItem age =
+        new SearchGroupItem()
+            .id("age")
+            .type(Domain.PERSON.toString())
+            .addSearchParametersItem(
+                parameter(Domain.PERSON, CriteriaType.AGE, null)
+                    .addAttributesItem(
+                        new Attribute()
+                            .name(AttrName.AGE)
+                            .operator(Operator.BETWEEN)
+                            .operands(List.of("18", "65"))))
+            .addSearchParametersItem(
+                parameter(Domain.PERSON, CriteriaType.AGE, null)
+                    .addAttributesItem(
+                        new Attribute()
+                            .name(AttrName.AGE_AT_CONSENT)
+                            .operator(Operator.GREATER_THAN_OR_EQUAL_TO)
+                            .operands(List.of("21"))));
+    final SearchGroupItem race =
+        new SearchGroupItem()
+            .id("race")
+            .type(Domain.PERSON.toString())
+            .addSearchParametersItem(parameter(Domain.PERSON, CriteriaType.RACE, 8515L))
+            .addSearchParametersItem(parameter(Domain.PERSON, CriteriaType.RACE, 8516L));
+    final SearchGroupItem deceased =
+        new SearchGroupItem()
+            .id("deceased")
+            .type(Domain.PERSON.toString())
+            .addSearchParametersItem(parameter(Domain.PERSON, CriteriaType.DECEASED, null));
+    return definition(group(age, race), group(deceased))
+        .addDataFiltersItem("has_ehr_data")
+        .addExcludesItem(group(deceased));
+  }
+
+  private static CohortDefinition bloodPressureAndSurvey() {
+    final SearchParameter bloodPressure =
+        parameter(Domain.MEASUREMENT, CriteriaType.LOINC, 903118L)
+            .addAttributesItem(
+                new Attribute()
+                    .name(AttrName.NUM)
+                    .operator(Operator.LESS_THAN_OR_EQUAL_TO)
+                    .operands(List.of("120"))
+                    .conceptId(903118L))
+            .addAttributesItem(
+                new Attribute()
+                    .name(AttrName.NUM)
+                    .operator(Operator.BETWEEN)
+                    .operands(List.of("60", "80"))
+                    .conceptId(903115L));
+    final SearchParameter surveyAnswer =
+        parameter(Domain.SURVEY, CriteriaType.PPI, 1585838L)
+            .addAttributesItem(
+                new Attribute()
+                    .name(AttrName.CAT)
+                    .operator(Operator.IN)
+                    .operands(List.of("1585840", "1585841")));
+    return definition(
+        group(
+            new SearchGroupItem()
+                .id("bloodPressure")
+                .type(Domain.MEASUREMENT.toString())
+                .addSearchParametersItem(bloodPressure),
+            new SearchGroupItem()
+                .id("survey")
+                .type(Domain.SURVEY.toString())
+                .addSearchParametersItem(surveyAnswer)));
+  }
+
+  private static CohortDefinition manyGroups() {
+    final CohortDefinition cohortDefinition = new CohortDefinition();
+    for (int i = 0; i < 20; i++) {
+      final CohortDefinition conditions = CohortDefinitions.icd9CodeWithModifiers();
+      cohortDefinition.addIncludesItem(conditions.getIncludes().get(0));
+      final CohortDefinition temporal = CohortDefinitions.temporalRequest();
+      cohortDefinition.addIncludesItem(temporal.getIncludes().get(0));
+    }
+    return cohortDefinition.addExcludesItem(CohortDefinitions.males().getIncludes().get(0));
+  }
+
+  private static SearchParameter parameter(Domain domain, CriteriaType type, Long conceptId) {
+    return new SearchParameter()
+        .domain(domain.toString())
+        .type(type.toString())
+        .conceptId(conceptId)
+        .group(false)
+        .standard(false)
+        .ancestorData(false);
+  }
+
+  private static SearchGroup group(SearchGroupItem... items) {
+    return new SearchGroup().id("group").temporal(false).items(List.of(items));
+  }
+
+  private static CohortDefinition definition(SearchGroup... includes) {
+    return new CohortDefinition().includes(List.of(includes));
+  }
+}
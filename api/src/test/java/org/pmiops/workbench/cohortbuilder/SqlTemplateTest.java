@@ -0,0 +1,60 @@
+package org.pmiops.workbench.cohortbuilder;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class SqlTemplateTest {
+
+  @Test
+  public void testRender_matchesStringFormat() {
+    final String template =
+        """
+           SELECT person_id, entry_date%s
+           FROM (%s) a
+           WHERE path LIKE CONCAT('%%.', a.id, '.%%') AND rn = %s
+           """;
+
+    assertThat(SqlTemplate.compile(template).render(" DESC", "SELECT 1", 1))
+        .isEqualTo(String.format(template, " DESC", "SELECT 1", 1));
+  }
+
+  @Test
+  public void testRender_placeholdersAtEnds() {
+    assertThat(SqlTemplate.compile("%s IN unnest(%s)").render("race", "@p0"))
+        .isEqualTo("race IN unnest(@p0)");
+    assertThat(SqlTemplate.compile("%s%s").render("a", "b")).isEqualTo("ab");
+    assertThat(SqlTemplate.compile("no placeholders %%").render()).isEqualTo("no placeholders %");
+  }
+
+  @Test
+  public void testAppendTo() {
+    final StringBuilder sql = new StringBuilder("SELECT person_id FROM t WHERE");
+    final StringBuilder operand = new StringBuilder("@p0");
+
+    SqlTemplate.compile(" age %s %s").appendTo(sql, ">=", operand).append("\n");
+
+    assertThat(sql.toString()).isEqualTo("SELECT person_id FROM t WHERE age >= @p0\n");
+  }
+
+  @Test
+  public void testGetArgumentCount() {
+    assertThat(SqlTemplate.compile("%s AND %s, 100%%").getArgumentCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testCompile_unsupportedConversions() {
+    assertThrows(IllegalArgumentException.class, () -> SqlTemplate.compile("LIMIT %d"));
+    assertThrows(IllegalArgumentException.class, () -> SqlTemplate.compile("%1$s"));
+    assertThrows(IllegalArgumentException.class, () -> SqlTemplate.compile("trailing %"));
+  }
+
+  @Test
+  public void testRender_wrongArgumentCount() {
+    final SqlTemplate template = SqlTemplate.compile("%s = %s");
+
+    assertThrows(IllegalArgumentException.class, () -> template.render("a"));
+    assertThrows(IllegalArgumentException.class, () -> template.render("a", "b", "c"));
+  }
+}
@@ -0,0 +1,123 @@
+package org.pmiops.workbench.cohortreview;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.cloud.bigquery.Field;
+import com.google.cloud.bigquery.FieldValueList;
+import com.google.cloud.bigquery.LegacySQLTypeName;
+import com.google.cloud.bigquery.Schema;
+import com.google.cloud.bigquery.TableResult;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.cdr.CdrVersionContext;
+import org.pmiops.workbench.cohortreview.ParticipantDataCache.ParticipantRows;
+import org.pmiops.workbench.db.model.DbCdrVersion;
+import org.pmiops.workbench.exceptions.BadRequestException;
+import org.pmiops.workbench.model.Domain;
+import org.pmiops.workbench.utils.BigQueryUtils;
+
+public class ParticipantDataCacheTest {
+
+  private static final DbCdrVersion CDR_VERSION =
+      new DbCdrVersion().setCdrVersionId(1L).setBigqueryDataset("synth_r_2024q1");
+  private static final DbCdrVersion OTHER_CDR_VERSION =
+      new DbCdrVersion().setCdrVersionId(2L).setBigqueryDataset("synth_r_2025q1");
+  private static final Schema SCHEMA = Schema.of(Field.of("dataId", LegacySQLTypeName.INTEGER));
+
+  private ParticipantDataCache participantDataCache;
+  private AtomicInteger bigQueryLoads;
+
+  @BeforeEach
+  public void setUp() {
+    participantDataCache = new ParticipantDataCache();
+    bigQueryLoads = new AtomicInteger();
+    CdrVersionContext.setCdrVersionNoCheckAuthDomain(CDR_VERSION);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    CdrVersionContext.clearCdrVersion();
+  }
+
+  @Test
+  public void testGetRows_loadsOncePerParticipantAndDomain() {
+    final ParticipantRows rows =
+        participantDataCache.getRows(1L, Domain.CONDITION, loader(3)).get();
+    assertThat(rows.schema()).isEqualTo(SCHEMA);
+    assertThat(rows.rows()).hasSize(3);
+
+    assertThat(participantDataCache.getRows(1L, Domain.CONDITION, loader(3)).get())
+        .isSameInstanceAs(rows);
+    assertThat(bigQueryLoads.get()).isEqualTo(1);
+    assertThat(participantDataCache.getStats().hitCount()).isEqualTo(1L);
+    assertThat(participantDataCache.getSize()).isEqualTo(1L);
+  }
+
+  @Test
+  public void testGetRows_keyedByCdrVersionParticipantAndDomain() {
+    participantDataCache.getRows(1L, Domain.CONDITION, loader(1));
+    participantDataCache.getRows(2L, Domain.CONDITION, loader(1));
+    participantDataCache.getRows(1L, Domain.DRUG, loader(1));
+    CdrVersionContext.setCdrVersionNoCheckAuthDomain(OTHER_CDR_VERSION);
+    participantDataCache.getRows(1L, Domain.CONDITION, loader(1));
+
+    assertThat(bigQueryLoads.get()).isEqualTo(4);
+    assertThat(participantDataCache.getSize()).isEqualTo(4L);
+  }
+
+  @Test
+  public void testGetRows_noCdrVersion() {
+    CdrVersionContext.clearCdrVersion();
+
+    assertThat(participantDataCache.getRows(1L, Domain.CONDITION, loader(1))).isEmpty();
+    assertThat(bigQueryLoads.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void testGetRows_tooManyRowsIsRemembered() {
+    final int loadLimit = participantDataCache.getLoadLimit();
+    assertThat(loadLimit).isGreaterThan(ParticipantDataCache.MAX_ROWS_PER_ENTRY);
+
+    assertThat(participantDataCache.getRows(1L, Domain.ALL_EVENTS, loader(loadLimit))).isEmpty();
+    assertThat(participantDataCache.getRows(1L, Domain.ALL_EVENTS, loader(loadLimit))).isEmpty();
+    assertThat(bigQueryLoads.get()).isEqualTo(1);
+
+    final Optional<ParticipantRows> atLimit =
+        participantDataCache.getRows(2L, Domain.ALL_EVENTS, loader(loadLimit - 1));
+    assertThat(atLimit.get().rows()).hasSize(ParticipantDataCache.MAX_ROWS_PER_ENTRY);
+  }
+
+  @Test
+  public void testGetRows_failuresAreNotCached() {
+    assertThrows(
+        BadRequestException.class,
+        () ->
+            participantDataCache.getRows(
+                1L,
+                Domain.CONDITION,
+                () -> {
+                  throw new BadRequestException("Not supported for domain named: CONDITION");
+                }));
+
+    assertThat(participantDataCache.getRows(1L, Domain.CONDITION, loader(1))).isPresent();
+    assertThat(bigQueryLoads.get()).isEqualTo(1);
+  }
+
+  private Supplier<TableResult> loader(int rowCount) {
+    return () -> {
+      bigQueryLoads.incrementAndGet();
+      final List<FieldValueList> rows =
+          IntStream.range(0, rowCount)
+              .mapToObj(dataId -> BigQueryUtils.tableRow(String.valueOf(dataId)))
+              .toList();
+      return BigQueryUtils.newTableResult(SCHEMA, rows);
+    };
+  }
+}
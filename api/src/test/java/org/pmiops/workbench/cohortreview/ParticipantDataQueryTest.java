@@ -0,0 +1,159 @@
+package org.pmiops.workbench.cohortreview;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.bigquery.Field;
+import com.google.cloud.bigquery.FieldValueList;
+import com.google.cloud.bigquery.LegacySQLTypeName;
+import com.google.cloud.bigquery.Schema;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.cohortreview.util.PageRequest;
+import org.pmiops.workbench.model.Filter;
+import org.pmiops.workbench.model.FilterColumns;
+import org.pmiops.workbench.model.Operator;
+import org.pmiops.workbench.model.SortOrder;
+import org.pmiops.workbench.utils.BigQueryUtils;
+
+public class ParticipantDataQueryTest {
+  private static final Schema SCHEMA =
+      Schema.of(
+          Field.of("dataId", LegacySQLTypeName.INTEGER),
+          Field.of("START_DATETIME", LegacySQLTypeName.TIMESTAMP),
+          Field.of("STANDARD_NAME", LegacySQLTypeName.STRING),
+          Field.of("AGE_AT_EVENT", LegacySQLTypeName.INTEGER),
+          Field.of("VALUE_AS_NUMBER", LegacySQLTypeName.FLOAT),
+          Field.of("STANDARD_CONCEPT_ID", LegacySQLTypeName.INTEGER));
+  private static final List<FieldValueList> ROWS =
+      ImmutableList.copyOf(
+          BigQueryUtils.newTableResult(
+                  SCHEMA,
+                  List.of(
+                      BigQueryUtils.tableRow("1", "300", "Aspirin", "40", "1.5", "10"),
+                      BigQueryUtils.tableRow("2", null, "aspirin 81", "35", null, "11"),
+                      BigQueryUtils.tableRow("3", "100", "Ibuprofen", null, "7.25", "12"),
+                      BigQueryUtils.tableRow("4", "100", "acetaminophen", "60", "-2", "13")))
+              .iterateAll());
+
+  @Test
+  public void testPage_ascendingSortsNullsFirstThenByDataId() {
+    assertThat(pageDataIds(pageRequest(SortOrder.ASC))).containsExactly(2L, 3L, 4L, 1L).inOrder();
+  }
+
+  @Test
+  public void testPage_descendingSortsNullsLastThenByDataId() {
+    assertThat(pageDataIds(pageRequest(SortOrder.DESC))).containsExactly(1L, 3L, 4L, 2L).inOrder();
+  }
+
+  @Test
+  public void testPage_offsetAndLimit() {
+    final PageRequest pageRequest = pageRequest(SortOrder.ASC).page(1).pageSize(3);
+    assertThat(pageDataIds(pageRequest)).containsExactly(1L);
+    assertThat(pageDataIds(pageRequest.page(2))).isEmpty();
+  }
+
+  @Test
+  public void testPage_unknownSortColumn() {
+    final PageRequest pageRequest = pageRequest(SortOrder.ASC).sortColumn("FIELD(gender)");
+    final ParticipantDataQuery query = ParticipantDataQuery.compile(SCHEMA, pageRequest).get();
+
+    assertThat(query.page(ROWS)).isEmpty();
+    // counts don't depend on the sort
+    assertThat(query.count(ROWS)).isEqualTo(4L);
+  }
+
+  @Test
+  public void testFilter_likeIsCaseInsensitivePrefix() {
+    assertThat(filteredDataIds(filter(FilterColumns.STANDARD_NAME, Operator.LIKE, "ASP")))
+        .containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void testFilter_textComparisonsAreCaseInsensitive() {
+    assertThat(filteredDataIds(filter(FilterColumns.STANDARD_NAME, Operator.EQUAL, "ASPIRIN")))
+        .containsExactly(1L);
+    assertThat(
+            filteredDataIds(filter(FilterColumns.STANDARD_NAME, Operator.LESS_THAN, "Aspirin")))
+        .containsExactly(4L);
+    assertThat(
+            filteredDataIds(
+                filter(FilterColumns.STANDARD_NAME, Operator.IN, "IBUPROFEN", "acetaminophen")))
+        .containsExactly(3L, 4L);
+  }
+
+  @Test
+  public void testFilter_numbers() {
+    assertThat(filteredDataIds(filter(FilterColumns.AGE_AT_EVENT, Operator.GREATER_THAN, "38")))
+        .containsExactly(1L, 4L);
+    assertThat(
+            filteredDataIds(filter(FilterColumns.VALUE_AS_NUMBER, Operator.BETWEEN, "-5", "2")))
+        .containsExactly(1L, 4L);
+  }
+
+  @Test
+  public void testFilter_nullsMatchNothing() {
+    assertThat(filteredDataIds(filter(FilterColumns.AGE_AT_EVENT, Operator.NOT_EQUAL, "40")))
+        .containsExactly(2L, 4L);
+  }
+
+  @Test
+  public void testFilter_combinesFilters() {
+    final PageRequest pageRequest =
+        pageRequest(SortOrder.ASC)
+            .filters(
+                List.of(
+                    filter(FilterColumns.STANDARD_NAME, Operator.LIKE, "a"),
+                    filter(FilterColumns.AGE_AT_EVENT, Operator.LESS_THAN_OR_EQUAL_TO, "40")));
+    assertThat(pageDataIds(pageRequest)).containsExactly(2L, 1L).inOrder();
+    assertThat(ParticipantDataQuery.compile(SCHEMA, pageRequest).get().count(ROWS)).isEqualTo(2L);
+  }
+
+  @Test
+  public void testCompile_leavesUnsupportedFiltersToBigQuery() {
+    // LIKE wildcards
+    assertThat(compile(filter(FilterColumns.STANDARD_NAME, Operator.LIKE, "a%n"))).isEmpty();
+    // lower() of an INT64 column
+    assertThat(compile(filter(FilterColumns.STANDARD_CONCEPT_ID, Operator.EQUAL, "10"))).isEmpty();
+    // numeric IN
+    assertThat(compile(filter(FilterColumns.AGE_AT_EVENT, Operator.IN, "40"))).isEmpty();
+    // a column which isn't in the rows
+    assertThat(compile(filter(FilterColumns.ROUTE, Operator.EQUAL, "oral"))).isEmpty();
+    assertThat(ParticipantDataQuery.compile(null, pageRequest(SortOrder.ASC))).isEmpty();
+  }
+
+  private static PageRequest pageRequest(SortOrder sortOrder) {
+    return new PageRequest()
+        .page(0)
+        .pageSize(25)
+        .sortOrder(sortOrder)
+        .sortColumn(FilterColumns.START_DATETIME.toString());
+  }
+
+  private static Filter filter(FilterColumns column, Operator operator, String... values) {
+    return new Filter().property(column).operator(operator).values(List.of(values));
+  }
+
+  private static Optional<ParticipantDataQuery> compile(Filter filter) {
+    return ParticipantDataQuery.compile(
+        SCHEMA, pageRequest(SortOrder.ASC).filters(List.of(filter)));
+  }
+
+  private static List<Long> filteredDataIds(Filter filter) {
+    final ParticipantDataQuery query = compile(filter).get();
+    final List<Long> dataIds = pageDataIds(query);
+    assertThat(query.count(ROWS)).isEqualTo((long) dataIds.size());
+    return dataIds;
+  }
+
+  private static List<Long> pageDataIds(PageRequest pageRequest) {
+    return pageDataIds(ParticipantDataQuery.compile(SCHEMA, pageRequest).get());
+  }
+
+  private static List<Long> pageDataIds(ParticipantDataQuery query) {
+    return query.page(ROWS).get().stream()
+        .map(row -> row.get("dataId").getLongValue())
+        .toList();
+  }
+}
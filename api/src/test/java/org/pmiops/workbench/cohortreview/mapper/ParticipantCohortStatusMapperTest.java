@@ -4,7 +4,6 @@ import static com.google.common.truth.Truth.assertThat;
 
 import com.google.cloud.bigquery.*;
 import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Table;
 import java.sql.Date;
 import java.util.Arrays;
@@ -79,7 +78,7 @@ public class ParticipantCohortStatusMapperTest {
   }
 
   @Test
-  public void tableResultToDbParticipantCohortStatus() {
+  public void fieldValueListToDbParticipantCohortStatus() {
     Field personId = Field.of("person_id", LegacySQLTypeName.INTEGER);
     Field birthDatetime = Field.of("birth_datetime", LegacySQLTypeName.DATETIME);
     Field genderConceptId = Field.of("gender_concept_id", LegacySQLTypeName.INTEGER);
@@ -118,8 +117,8 @@ public class ParticipantCohortStatusMapperTest {
 
     TableResult result = BigQueryUtils.newTableResult(s, tableRows);
 
-    Date birthDate =
-        participantCohortStatusMapper.getBirthDate(result.iterateAll().iterator().next());
+    FieldValueList row = result.iterateAll().iterator().next();
+    Date birthDate = participantCohortStatusMapper.getBirthDate(row);
     DbParticipantCohortStatus dbParticipantCohortStatus =
         new DbParticipantCohortStatus()
             .status(DbStorageEnums.cohortStatusToStorage(CohortStatus.NOT_REVIEWED))
@@ -130,7 +129,7 @@ public class ParticipantCohortStatusMapperTest {
             .raceConceptId(2L)
             .sexAtBirthConceptId(4L)
             .genderConceptId(1L);
-    assertThat(participantCohortStatusMapper.tableResultToDbParticipantCohortStatus(result, 1L))
-        .isEqualTo(ImmutableList.of(dbParticipantCohortStatus));
+    assertThat(participantCohortStatusMapper.fieldValueListToDbParticipantCohortStatus(row, 1L))
+        .isEqualTo(dbParticipantCohortStatus);
   }
 }
@@ -0,0 +1,95 @@
+package org.pmiops.workbench.dataset;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.cloud.bigquery.QueryParameterValue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+public class SqlParameterInlinerTest {
+
+  @Test
+  public void testInline_arrayAndScalarParameters() {
+    final Map<String, QueryParameterValue> params =
+        Map.of(
+            "p1_1", QueryParameterValue.array(new Long[] {1L, 2L, 3L}, Long.class),
+            "p2", QueryParameterValue.string("Condition"),
+            "p3", QueryParameterValue.bool(true));
+
+    assertThat(
+            SqlParameterInliner.inline(
+                "SELECT * FROM person WHERE criteria IN unnest(@p1_1) AND domain = @p2 AND x = @p3",
+                params))
+        .isEqualTo(
+            "SELECT * FROM person WHERE criteria IN (1, 2, 3) AND domain = 'Condition' AND x = 1");
+  }
+
+  @Test
+  public void testInline_matchesWholeParameterNames() {
+    final Map<String, QueryParameterValue> params =
+        Map.of(
+            "p1", QueryParameterValue.int64(1L),
+            "p10", QueryParameterValue.int64(10L));
+
+    assertThat(SqlParameterInliner.inline("a = @p1 OR a = @p10 OR a = @p100", params))
+        .isEqualTo("a = 1 OR a = 10 OR a = @p100");
+  }
+
+  @Test
+  public void testInline_doesNotRescanValues() {
+    final Map<String, QueryParameterValue> params =
+        Map.of(
+            "p1", QueryParameterValue.string("@p2 and unnest"),
+            "p2", QueryParameterValue.int64(2L));
+
+    assertThat(SqlParameterInliner.inline("a = @p1", params)).isEqualTo("a = '@p2 and unnest'");
+  }
+
+  @Test
+  public void testInline_leavesQuotedTextAndIdentifiers() {
+    final Map<String, QueryParameterValue> params = Map.of("p1", QueryParameterValue.int64(1L));
+
+    assertThat(
+            SqlParameterInliner.inline(
+                "SELECT unnest_count, 'it''s @p1', `unnest.@p1` FROM t WHERE a = @p1", params))
+        .isEqualTo("SELECT unnest_count, 'it''s @p1', `unnest.@p1` FROM t WHERE a = 1");
+  }
+
+  @Test
+  public void testInline_emptyArray() {
+    final Map<String, QueryParameterValue> params =
+        Map.of("p1", QueryParameterValue.array(new Long[] {}, Long.class));
+
+    assertThat(SqlParameterInliner.inline("a IN unnest(@p1)", params)).isEqualTo("a IN ()");
+  }
+
+  // Roughly the shape of a dataset with many cohorts and concept sets.
+  @Test
+  public void testInline_manyLargeParameters() {
+    final int paramCount = 500;
+    final Map<String, QueryParameterValue> params = new HashMap<>();
+    for (int p = 0; p < paramCount; p++) {
+      final long offset = 1000L * p;
+      params.put(
+          "p" + p,
+          QueryParameterValue.array(
+              LongStream.range(0, 1000).map(v -> v + offset).boxed().toArray(Long[]::new),
+              Long.class));
+    }
+    final String query =
+        IntStream.range(0, paramCount)
+            .mapToObj(p -> "concept_id IN unnest(@p" + p + ")")
+            .collect(Collectors.joining(" OR\n"));
+
+    final String inlined = SqlParameterInliner.inline(query, params);
+
+    assertThat(inlined).doesNotContain("@");
+    assertThat(inlined).doesNotContain("unnest");
+    assertThat(inlined).startsWith("concept_id IN (0, 1, 2,");
+    assertThat(inlined).endsWith(", 499998, 499999)");
+  }
+}
@@ -3,12 +3,21 @@ package org.pmiops.workbench.db.dao;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableList;
+import java.sql.Connection;
 import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.pmiops.workbench.FakeClockConfiguration;
 import org.pmiops.workbench.cdr.CdrVersionContext;
 import org.pmiops.workbench.cohortreview.util.PageRequest;
@@ -35,6 +44,9 @@ import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 @DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
 @SpringJUnitConfig
 public class ParticipantCohortStatusDaoTest {
+  private static final Logger log =
+      Logger.getLogger(ParticipantCohortStatusDaoTest.class.getName());
+
   private static final long COHORT_REVIEW_ID = 1L;
   private static final Date birthDate = new Date(System.currentTimeMillis());
   private static final int PAGE = 0;
@@ -128,6 +140,116 @@ public class ParticipantCohortStatusDaoTest {
     assertThat(jdbcTemplate.queryForObject(sql, Integer.class, sqlParams)).isEqualTo(expectedCount);
   }
 
+  @Test
+  public void saveParticipantCohortStatusesCustomManyStatements() {
+    // several batches of full statements, and a partial statement
+    final int rowCount = 12_345;
+    final List<DbParticipantCohortStatus> statuses = createStatuses(3, rowCount);
+    statuses.forEach(pcs -> pcs.sexAtBirthConceptId(null));
+
+    participantCohortStatusDao.saveParticipantCohortStatusesCustom(statuses);
+
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from participant_cohort_status where cohort_review_id = 3"
+                    + " and status = ? and sex_at_birth_concept_id is null",
+                Integer.class,
+                DbStorageEnums.cohortStatusToStorage(CohortStatus.NOT_REVIEWED)))
+        .isEqualTo(rowCount);
+  }
+
+  /**
+   * Compares saveParticipantCohortStatusesCustom to the string-concatenated inserts it replaced.
+   * Run with WORKBENCH_BENCHMARKS=true. Against H2 this only indicates the client-side cost; the
+   * saving in round trips to MySQL is larger.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {1_000, 10_000, 100_000})
+  @EnabledIfEnvironmentVariable(named = "WORKBENCH_BENCHMARKS", matches = "true")
+  public void saveParticipantCohortStatusesCustomBenchmark(int rowCount) throws SQLException {
+    final List<DbParticipantCohortStatus> legacyStatuses = createStatuses(10, rowCount);
+    final List<DbParticipantCohortStatus> statuses = createStatuses(11, rowCount);
+
+    final Stopwatch legacyStopwatch = Stopwatch.createStarted();
+    try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+      legacyInsert(connection, legacyStatuses);
+    }
+    legacyStopwatch.stop();
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    participantCohortStatusDao.saveParticipantCohortStatusesCustom(statuses);
+    stopwatch.stop();
+
+    log.info(
+        String.format(
+            "Inserted %d participant cohort statuses in %s, vs %s with string concatenation",
+            rowCount, stopwatch, legacyStopwatch));
+    final String countSql =
+        "select count(*) from participant_cohort_status where cohort_review_id = ?";
+    assertThat(jdbcTemplate.queryForObject(countSql, Integer.class, 11)).isEqualTo(rowCount);
+    assertThat(jdbcTemplate.queryForObject(countSql, Integer.class, 10)).isEqualTo(rowCount);
+  }
+
+  private static List<DbParticipantCohortStatus> createStatuses(long cohortReviewId, int count) {
+    return LongStream.rangeClosed(1, count)
+        .mapToObj(
+            participantId ->
+                new DbParticipantCohortStatus()
+                    .participantKey(
+                        new DbParticipantCohortStatusKey()
+                            .cohortReviewId(cohortReviewId)
+                            .participantId(participantId))
+                    .birthDate(birthDate)
+                    .ethnicityConceptId(38003564L)
+                    .genderConceptId(8507L)
+                    .raceConceptId(8515L)
+                    .sexAtBirthConceptId(8507L)
+                    .deceased(false))
+        .toList();
+  }
+
+  // The insert which MultiRowInsert replaced, as a benchmark baseline
+  private static void legacyInsert(
+      Connection connection, List<DbParticipantCohortStatus> participantCohortStatuses)
+      throws SQLException {
+    final String insertSqlTemplate =
+        "insert into participant_cohort_status("
+            + "birth_date, ethnicity_concept_id, gender_concept_id, race_concept_id,"
+            + " sex_at_birth_concept_id, status, cohort_review_id, participant_id, deceased) "
+            + "values";
+    final String nextInsert = " (%s, %d, %d, %d, %d, %d, %d, %d, %s)";
+    int index = 0;
+    String sqlStatement = insertSqlTemplate;
+    try (Statement statement = connection.createStatement()) {
+      for (DbParticipantCohortStatus pcs : participantCohortStatuses) {
+        String birthDate =
+            pcs.getBirthDate() == null ? "NULL" : "'" + pcs.getBirthDate().toString() + "'";
+        String nextSql =
+            String.format(
+                nextInsert,
+                birthDate,
+                pcs.getEthnicityConceptId(),
+                pcs.getGenderConceptId(),
+                pcs.getRaceConceptId(),
+                pcs.getSexAtBirthConceptId(),
+                3,
+                pcs.getParticipantKey().getCohortReviewId(),
+                pcs.getParticipantKey().getParticipantId(),
+                pcs.getDeceased());
+        sqlStatement =
+            sqlStatement.equals(insertSqlTemplate)
+                ? sqlStatement + nextSql
+                : sqlStatement + ", " + nextSql;
+        if (++index % 50 == 0) {
+          statement.execute(sqlStatement);
+          sqlStatement = insertSqlTemplate;
+        }
+      }
+      if (!sqlStatement.equals(insertSqlTemplate)) {
+        statement.execute(sqlStatement);
+      }
+    }
+  }
+
   @Test
   public void findAllNoMatchingConcept() {
     PageRequest pageRequest =
@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pmiops.workbench.access.AccessTierService.REGISTERED_TIER_SHORT_NAME;
@@ -36,6 +37,7 @@ import org.pmiops.workbench.access.UserAccessModuleMapperImpl;
 import org.pmiops.workbench.access.VwbAccessService;
 import org.pmiops.workbench.actionaudit.Agent;
 import org.pmiops.workbench.actionaudit.auditors.UserServiceAuditor;
+import org.pmiops.workbench.auth.AuthenticationCache;
 import org.pmiops.workbench.cloudtasks.TaskQueueService;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.db.model.DbAccessModule;
@@ -75,6 +77,8 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
@@ -103,6 +107,7 @@ public class UserServiceTest {
   @MockitoBean private UserServiceAuditor mockUserServiceAuditAdapter;
   // use a SpyBean when we need the full service for some tests and mocks for others
   @MockitoSpyBean private AccessModuleService accessModuleService;
+  @MockitoSpyBean private AuthenticationCache authenticationCache;
 
   @Autowired private AccessModuleDao accessModuleDao;
   @Autowired private AccessTierDao accessTierDao;
@@ -186,6 +191,23 @@ public class UserServiceTest {
         .thenReturn(true);
   }
 
+  @Test
+  public void testUpdateUserWithRetries_invalidatesAuthenticationAgainAfterCommit() {
+    final List<TransactionSynchronization> existingSynchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+
+    final DbUser user =
+        userService.updateUserWithRetries(
+            u -> u.setDisabled(true), userDao.findUserByUsername(USERNAME), Agent.asSystem());
+    verify(authenticationCache).invalidateUser(user);
+
+    // the test transaction is rolled back, so run the commit callbacks ourselves
+    TransactionSynchronizationManager.getSynchronizations().stream()
+        .filter(synchronization -> !existingSynchronizations.contains(synchronization))
+        .forEach(TransactionSynchronization::afterCommit);
+    verify(authenticationCache, times(2)).invalidateUser(user);
+  }
+
   @Test
   public void testClearsEraCommonsStatus() {
     // Put the test user in a state where eRA commons is completed.
@@ -0,0 +1,117 @@
+package org.pmiops.workbench.db.jdbc;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MultiRowInsertTest {
+  private static final List<MultiRowInsert.Column> COLUMNS =
+      List.of(
+          new MultiRowInsert.Column("id", Types.BIGINT),
+          new MultiRowInsert.Column("name", Types.VARCHAR),
+          new MultiRowInsert.Column("flag", Types.BOOLEAN));
+
+  private record Row(long id, String name, Boolean flag) {}
+
+  private Connection connection;
+
+  @BeforeEach
+  public void setUp() throws SQLException {
+    connection = DriverManager.getConnection("jdbc:h2:mem:multi_row_insert_test", "sa", "sa");
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(
+          "create table test_row(id bigint primary key, name varchar(20), flag boolean)");
+    }
+  }
+
+  @AfterEach
+  public void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  @Test
+  public void getSql() {
+    assertThat(newInsert(10, 10).getSql(2))
+        .isEqualTo("insert into test_row(id, name, flag) values (?, ?, ?), (?, ?, ?)");
+  }
+
+  @Test
+  public void insert_fullAndPartialStatements() throws SQLException {
+    // two batches of full statements, the second not full, and a partial statement
+    final List<Row> rows =
+        LongStream.rangeClosed(1, 17)
+            .mapToObj(id -> new Row(id, "row" + id, id % 2 == 0))
+            .toList();
+
+    assertThat(newInsert(3, 4).insert(connection, rows)).isEqualTo(17);
+    assertThat(readRows()).containsExactlyElementsIn(rows).inOrder();
+  }
+
+  @Test
+  public void insert_nullValues() throws SQLException {
+    final List<Row> rows = List.of(new Row(1, null, null), new Row(2, "two", false));
+
+    newInsert(1, 1).insert(connection, rows);
+
+    assertThat(readRows()).containsExactlyElementsIn(rows).inOrder();
+  }
+
+  @Test
+  public void insert_empty() throws SQLException {
+    assertThat(newInsert(3, 4).insert(connection, List.of())).isEqualTo(0);
+    assertThat(readRows()).isEmpty();
+  }
+
+  @Test
+  public void insert_wrongValueCount() {
+    final MultiRowInsert<Row> insert =
+        new MultiRowInsert<>("test_row", COLUMNS, 2, 2, row -> List.of(row.id()));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> insert.insert(connection, List.of(new Row(1, "one", true))));
+  }
+
+  @Test
+  public void constructor_tooManyPlaceholders() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new MultiRowInsert<Row>("test_row", COLUMNS, 30000, 1, row -> List.of()));
+  }
+
+  private static MultiRowInsert<Row> newInsert(int rowsPerStatement, int statementsPerBatch) {
+    return new MultiRowInsert<>(
+        "test_row",
+        COLUMNS,
+        rowsPerStatement,
+        statementsPerBatch,
+        row -> Arrays.asList(row.id(), row.name(), row.flag()));
+  }
+
+  private List<Row> readRows() throws SQLException {
+    final List<Row> rows = new ArrayList<>();
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet =
+            statement.executeQuery("select id, name, flag from test_row order by id")) {
+      while (resultSet.next()) {
+        final boolean flag = resultSet.getBoolean("flag");
+        final Boolean nullableFlag = resultSet.wasNull() ? null : flag;
+        rows.add(new Row(resultSet.getLong("id"), resultSet.getString("name"), nullableFlag));
+      }
+    }
+    return rows;
+  }
+}
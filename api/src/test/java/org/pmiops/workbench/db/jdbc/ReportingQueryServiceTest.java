@@ -435,6 +435,81 @@ public class ReportingQueryServiceTest {
     assertThat(totalBatches).isEqualTo(0);
   }
 
+  @Test
+  public void testWorkspaceKeysetIterator_twoAndAHalfBatches() {
+    createWorkspaces(5);
+
+    final Iterator<List<ReportingWorkspace>> iterator =
+        reportingQueryService.getKeysetBatchIterator(
+            reportingQueryService::getWorkspaceKeysetBatch, BATCH_SIZE, PrimaryKeyRange.all());
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next()).hasSize(BATCH_SIZE);
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next()).hasSize(BATCH_SIZE);
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next()).hasSize(1);
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void testWorkspaceKeysetStream_noEntries() {
+    assertThat(
+            reportingQueryService
+                .getKeysetBatchedStream(
+                    reportingQueryService::getWorkspaceKeysetBatch,
+                    BATCH_SIZE,
+                    PrimaryKeyRange.all())
+                .count())
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void testWorkspaceKeysetStream_ranges() {
+    final List<DbWorkspace> workspaces = createWorkspaces(5);
+    final PrimaryKeyRange bounds =
+        reportingQueryService.getPrimaryKeyBounds("workspace", "workspace_id").get();
+    assertThat(bounds.afterKey()).isEqualTo(workspaces.get(0).getWorkspaceId() - 1);
+    assertThat(bounds.upToKey()).isEqualTo(workspaces.get(4).getWorkspaceId());
+
+    // every workspace is streamed exactly once across the ranges, and the per-range counts add up
+    final List<Long> ids = new ArrayList<>();
+    int rangeCountTotal = 0;
+    for (PrimaryKeyRange range : bounds.split(2)) {
+      reportingQueryService
+          .getKeysetBatchedStream(
+              reportingQueryService::getWorkspaceKeysetBatch, BATCH_SIZE, range)
+          .flatMap(List::stream)
+          .map(ReportingWorkspace::getWorkspaceId)
+          .forEach(ids::add);
+      rangeCountTotal +=
+          reportingQueryService.getTableRowCount("workspace", "workspace_id", range);
+    }
+    assertThat(ids)
+        .containsExactlyElementsIn(workspaces.stream().map(DbWorkspace::getWorkspaceId).toList())
+        .inOrder();
+    assertThat(rangeCountTotal).isEqualTo(5);
+  }
+
+  @Test
+  public void testPrimaryKeyBounds_noEntries() {
+    assertThat(reportingQueryService.getPrimaryKeyBounds("workspace", "workspace_id")).isEmpty();
+  }
+
+  @Test
+  public void testUserKeysetStream_matchesOffsetStream() {
+    createUsers(5);
+
+    final List<ReportingUser> keysetUsers =
+        reportingQueryService
+            .getKeysetBatchedStream(
+                reportingQueryService::getUserKeysetBatch, BATCH_SIZE, PrimaryKeyRange.all())
+            .flatMap(List::stream)
+            .toList();
+    assertThat(keysetUsers)
+        .containsExactlyElementsIn(getBatchedUserStream().flatMap(List::stream).toList())
+        .inOrder();
+  }
+
   @Test
   public void testWorkspaceCount() {
     createWorkspaces(5);
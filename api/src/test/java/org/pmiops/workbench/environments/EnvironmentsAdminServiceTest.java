@@ -14,6 +14,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import org.broadinstitute.dsde.workbench.client.leonardo.model.AuditInfo;
+import org.broadinstitute.dsde.workbench.client.leonardo.model.CloudContext;
+import org.broadinstitute.dsde.workbench.client.leonardo.model.CloudProvider;
 import org.broadinstitute.dsde.workbench.client.leonardo.model.DiskStatus;
 import org.broadinstitute.dsde.workbench.client.leonardo.model.ListPersistentDiskResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,15 +23,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.db.model.DbWorkspace;
 import org.pmiops.workbench.exceptions.WorkbenchException;
 import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoAuditInfo;
+import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoCloudContext;
+import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoCloudProvider;
 import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoListRuntimeResponse;
 import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoRuntimeStatus;
 import org.pmiops.workbench.leonardo.LeonardoApiClient;
 import org.pmiops.workbench.model.AppStatus;
 import org.pmiops.workbench.model.UserAppEnvironment;
 import org.pmiops.workbench.model.UserRole;
+import org.pmiops.workbench.utils.mappers.LeonardoMapperImpl;
 import org.pmiops.workbench.workspaces.WorkspaceService;
 import org.pmiops.workbench.workspaces.WorkspaceUserCacheService;
 
@@ -41,6 +47,7 @@ public class EnvironmentsAdminServiceTest {
   @Mock private WorkspaceUserCacheService mockWorkspaceUserCacheService;
 
   private EnvironmentsAdminServiceImpl environmentsAdminService;
+  private WorkbenchConfig workbenchConfig;
 
   private static final String USER_EMAIL_1 = "user1@example.com";
   private static final String USER_EMAIL_2 = "user2@example.com";
@@ -48,9 +55,14 @@ public class EnvironmentsAdminServiceTest {
 
   @BeforeEach
   void setUp() {
+    workbenchConfig = WorkbenchConfig.createEmptyConfig();
     environmentsAdminService =
         new EnvironmentsAdminServiceImpl(
-            mockWorkspaceService, mockLeonardoApiClient, mockWorkspaceUserCacheService);
+            mockWorkspaceService,
+            mockLeonardoApiClient,
+            mockWorkspaceUserCacheService,
+            new LeonardoMapperImpl(),
+            () -> workbenchConfig);
   }
 
   @Test
@@ -518,6 +530,97 @@ public class EnvironmentsAdminServiceTest {
     verifyNoDeleteCalls();
   }
 
+  @Test
+  void testDeleteUnsharedWorkspaceEnvironmentsBatch_snapshotSkipsEmptyWorkspaces() {
+    workbenchConfig.featureFlags.enableSnapshotUnsharedEnvironmentCleanup = true;
+    DbWorkspace workspace1 = createMockWorkspace();
+    DbWorkspace workspace2 = createMockWorkspace();
+    workspace2.setWorkspaceId(456L);
+    workspace2.setWorkspaceNamespace("another-namespace");
+    workspace2.setFirecloudName("another-name");
+    workspace2.setGoogleProject("another-project");
+
+    when(mockWorkspaceService.lookupWorkspacesByNamespace(
+            List.of(workspace1.getWorkspaceNamespace(), workspace2.getWorkspaceNamespace())))
+        .thenReturn(List.of(workspace1, workspace2));
+
+    var runtime = createMockRuntime("runtime-1", CREATOR_EMAIL, workspace1.getGoogleProject());
+    when(mockLeonardoApiClient.listRuntimesAsService())
+        .thenReturn(
+            List.of(runtime, createMockRuntime("runtime-2", CREATOR_EMAIL, "unrelated-project")));
+    when(mockLeonardoApiClient.listAppsAsService()).thenReturn(Collections.emptyList());
+    when(mockLeonardoApiClient.listDisksAsService()).thenReturn(Collections.emptyList());
+
+    when(mockWorkspaceUserCacheService.getWorkspaceUsers(workspace1.getWorkspaceId()))
+        .thenReturn(Set.of(USER_EMAIL_1));
+    when(mockWorkspaceService.getFirecloudUserRoles(
+            workspace1.getWorkspaceNamespace(), workspace1.getFirecloudName()))
+        .thenReturn(List.of(new UserRole().email(USER_EMAIL_1)));
+
+    long failures =
+        environmentsAdminService.deleteUnsharedWorkspaceEnvironmentsBatch(
+            List.of(workspace1.getWorkspaceNamespace(), workspace2.getWorkspaceNamespace()));
+
+    assertEquals(0, failures);
+    verify(mockLeonardoApiClient)
+        .deleteRuntimeAsService(workspace1.getGoogleProject(), runtime.getRuntimeName(), true);
+    verify(mockLeonardoApiClient, never())
+        .deleteRuntimeAsService(eq("unrelated-project"), any(), anyBoolean());
+    // disks are listed again after deleting a runtime, since its disk may have been deleted too
+    verify(mockLeonardoApiClient).listDisksByProjectAsService(workspace1.getGoogleProject());
+    verify(mockWorkspaceUserCacheService, never()).getWorkspaceUsers(workspace2.getWorkspaceId());
+    verify(mockLeonardoApiClient, never()).listRuntimesByProjectAsService(any());
+    verify(mockLeonardoApiClient, never()).listAppsInProjectAsService(any());
+  }
+
+  @Test
+  void testDeleteUnsharedWorkspaceEnvironmentsBatch_snapshotUsesListedDisks() {
+    workbenchConfig.featureFlags.enableSnapshotUnsharedEnvironmentCleanup = true;
+    DbWorkspace workspace = createMockWorkspace();
+    when(mockWorkspaceService.lookupWorkspacesByNamespace(
+            List.of(workspace.getWorkspaceNamespace())))
+        .thenReturn(List.of(workspace));
+
+    var sharedApp =
+        createMockApp("app-1", USER_EMAIL_1).googleProject(workspace.getGoogleProject());
+    var disk = createMockDisk("disk-1", CREATOR_EMAIL, workspace.getGoogleProject());
+    when(mockLeonardoApiClient.listRuntimesAsService()).thenReturn(Collections.emptyList());
+    when(mockLeonardoApiClient.listAppsAsService()).thenReturn(List.of(sharedApp));
+    when(mockLeonardoApiClient.listDisksAsService()).thenReturn(List.of(disk));
+
+    when(mockWorkspaceUserCacheService.getWorkspaceUsers(workspace.getWorkspaceId()))
+        .thenReturn(Set.of(USER_EMAIL_1));
+    when(mockWorkspaceService.getFirecloudUserRoles(
+            workspace.getWorkspaceNamespace(), workspace.getFirecloudName()))
+        .thenReturn(List.of(new UserRole().email(USER_EMAIL_1)));
+
+    long failures =
+        environmentsAdminService.deleteUnsharedWorkspaceEnvironmentsBatch(
+            List.of(workspace.getWorkspaceNamespace()));
+
+    assertEquals(0, failures);
+    verify(mockLeonardoApiClient, never()).deleteAppAsService(any(), any(), anyBoolean());
+    verify(mockLeonardoApiClient)
+        .deletePersistentDiskAsService(workspace.getGoogleProject(), disk.getName());
+    verify(mockLeonardoApiClient, never()).listDisksByProjectAsService(any());
+  }
+
+  @Test
+  void testDeleteUnsharedWorkspaceEnvironmentsBatch_snapshotNoWorkspacesFound() {
+    workbenchConfig.featureFlags.enableSnapshotUnsharedEnvironmentCleanup = true;
+    when(mockWorkspaceService.lookupWorkspacesByNamespace(List.of("nonexistent-namespace")))
+        .thenReturn(Collections.emptyList());
+
+    long failures =
+        environmentsAdminService.deleteUnsharedWorkspaceEnvironmentsBatch(
+            List.of("nonexistent-namespace"));
+
+    assertEquals(0, failures);
+    verify(mockLeonardoApiClient, never()).listRuntimesAsService();
+    verify(mockLeonardoApiClient, never()).listAppsAsService();
+    verify(mockLeonardoApiClient, never()).listDisksAsService();
+  }
+
   private void verifyNoDeleteCalls() {
     verify(mockLeonardoApiClient, never()).deleteRuntimeAsService(any(), any(), anyBoolean());
     verify(mockLeonardoApiClient, never()).deleteAppAsService(any(), any(), anyBoolean());
@@ -540,6 +643,15 @@ public class EnvironmentsAdminServiceTest {
         .status(LeonardoRuntimeStatus.RUNNING);
   }
 
+  private LeonardoListRuntimeResponse createMockRuntime(
+      String name, String creator, String googleProject) {
+    return createMockRuntime(name, creator)
+        .cloudContext(
+            new LeonardoCloudContext()
+                .cloudProvider(LeonardoCloudProvider.GCP)
+                .cloudResource(googleProject));
+  }
+
   private UserAppEnvironment createMockApp(String name, String creator) {
     return new UserAppEnvironment().appName(name).creator(creator).status(AppStatus.RUNNING);
   }
@@ -550,4 +662,11 @@ public class EnvironmentsAdminServiceTest {
         .auditInfo(new AuditInfo().creator(creator))
         .status(DiskStatus.READY);
   }
+
+  private ListPersistentDiskResponse createMockDisk(
+      String name, String creator, String googleProject) {
+    return createMockDisk(name, creator)
+        .cloudContext(
+            new CloudContext().cloudProvider(CloudProvider.GCP).cloudResource(googleProject));
+  }
 }
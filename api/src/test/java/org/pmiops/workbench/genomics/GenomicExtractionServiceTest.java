@@ -8,7 +8,9 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.matches;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,6 +22,7 @@ import com.google.common.collect.ImmutableMap;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
@@ -68,12 +71,14 @@ import org.pmiops.workbench.initialcredits.InitialCreditsService;
 import org.pmiops.workbench.jira.JiraService;
 import org.pmiops.workbench.jira.model.CreatedIssue;
 import org.pmiops.workbench.model.GenomicExtractionJob;
+import org.pmiops.workbench.model.GenomicExtractionJobListResponse;
 import org.pmiops.workbench.model.TanagraGenomicDataRequest;
 import org.pmiops.workbench.model.TerraJobStatus;
 import org.pmiops.workbench.rawls.model.RawlsWorkspaceAccessLevel;
 import org.pmiops.workbench.rawls.model.RawlsWorkspaceDetails;
 import org.pmiops.workbench.rawls.model.RawlsWorkspaceResponse;
 import org.pmiops.workbench.test.FakeClock;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
 import org.pmiops.workbench.utils.mappers.CommonMappers;
 import org.pmiops.workbench.workspaces.WorkspaceAuthService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -122,6 +127,7 @@ public class GenomicExtractionServiceTest {
     CommonMappers.class,
     GenomicExtractionMapperImpl.class,
     GenomicExtractionService.class,
+    RemoteFanOutExecutor.class,
     WorkspaceAuthService.class,
   })
   static class Configuration {
@@ -262,7 +268,8 @@ public class GenomicExtractionServiceTest {
     GenomicExtractionJob wgsCohortExtractionJob =
         genomicExtractionService
             .getGenomicExtractionJobs(
-                targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName())
+                targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName(), true)
+            .getJobs()
             .get(0);
 
     assertThat(wgsCohortExtractionJob.getCost()).isEqualTo(new BigDecimal("2.05"));
@@ -297,14 +304,14 @@ public class GenomicExtractionServiceTest {
         ForbiddenException.class,
         () -> {
           genomicExtractionService.getGenomicExtractionJobs(
-              targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName());
+              targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName(), false);
         });
 
     doReturn(new RawlsWorkspaceResponse().accessLevel(RawlsWorkspaceAccessLevel.READER))
         .when(mockFireCloudService)
         .getWorkspace(targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName());
     genomicExtractionService.getGenomicExtractionJobs(
-        targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName());
+        targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName(), false);
   }
 
   @Test
@@ -354,7 +361,8 @@ public class GenomicExtractionServiceTest {
 
     genomicExtractionService
         .getGenomicExtractionJobs(
-            targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName())
+            targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName(), true)
+        .getJobs()
         .forEach(
             job -> {
               assertThat(job.getStatus())
@@ -373,7 +381,7 @@ public class GenomicExtractionServiceTest {
     assertThat(dbSubmission.getVcfSizeMb()).isNull();
 
     genomicExtractionService.getGenomicExtractionJobs(
-        targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName());
+        targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName(), true);
 
     assertThat(dbSubmission.getVcfSizeMb()).isEqualTo(expectedVcfSize.longValue());
   }
@@ -386,11 +394,164 @@ public class GenomicExtractionServiceTest {
             FirecloudSubmissionStatus.DONE, FirecloudWorkflowStatus.FAILED);
 
     genomicExtractionService.getGenomicExtractionJobs(
-        targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName());
+        targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName(), true);
 
     verify(mockJiraService).createIssue(any(), any(), any());
   }
 
+  @Test
+  public void getExtractionJobs_noJiraTicketForFailureStoredConcurrently() throws Exception {
+    workbenchConfig.wgsCohortExtraction.enableJiraTicketingOnFailure = true;
+    DbWgsExtractCromwellSubmission dbSubmission =
+        createSubmissionAndMockMonitorCall(
+            FirecloudSubmissionStatus.DONE, FirecloudWorkflowStatus.FAILED);
+    wgsExtractCromwellSubmissionDao.save(dbSubmission.setTerraStatusEnum(TerraJobStatus.RUNNING));
+    // the background refresh stores the failure after this refresh has loaded the job
+    assertThat(wgsExtractCromwellSubmissionDao.markFailed(dbSubmission)).isTrue();
+
+    genomicExtractionService.getGenomicExtractionJobs(
+        targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName(), true);
+
+    assertThat(dbSubmission.getTerraStatusEnum()).isEqualTo(TerraJobStatus.FAILED);
+    verify(mockJiraService, never()).createIssue(any(), any(), any());
+  }
+
+  @Test
+  public void getExtractionJobs_servesStoredStatus() throws ApiException {
+    DbWgsExtractCromwellSubmission running =
+        createSubmissionAndMockMonitorCall(
+            FirecloudSubmissionStatus.DONE, FirecloudWorkflowStatus.SUCCEEDED);
+    Timestamp lastCheck = Timestamp.from(CLOCK.instant().minusSeconds(60));
+    wgsExtractCromwellSubmissionDao.save(
+        running.setTerraStatusEnum(TerraJobStatus.RUNNING).setLastStatusCheckTime(lastCheck));
+    wgsExtractCromwellSubmissionDao.save(
+        createDbWgsExtractCromwellSubmission()
+            .setTerraStatusEnum(TerraJobStatus.FAILED)
+            .setLastStatusCheckTime(Timestamp.from(CLOCK.instant().minusSeconds(3600))));
+
+    GenomicExtractionJobListResponse response =
+        genomicExtractionService.getGenomicExtractionJobs(
+            targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName(), false);
+
+    assertThat(response.getJobs().stream().map(GenomicExtractionJob::getStatus).toList())
+        .containsExactly(TerraJobStatus.RUNNING, TerraJobStatus.FAILED);
+    // only running jobs count towards the last refresh
+    assertThat(response.getLastRefreshedTime()).isEqualTo(lastCheck.getTime());
+    verify(mockSubmissionsApi, never()).getSubmission(any(), any(), any());
+  }
+
+  @Test
+  public void getExtractionJobs_noRunningJobs() {
+    wgsExtractCromwellSubmissionDao.save(
+        createDbWgsExtractCromwellSubmission().setTerraStatusEnum(TerraJobStatus.SUCCEEDED));
+
+    assertThat(
+            genomicExtractionService
+                .getGenomicExtractionJobs(
+                    targetWorkspace.getWorkspaceNamespace(),
+                    targetWorkspace.getFirecloudName(),
+                    false)
+                .getLastRefreshedTime())
+        .isNull();
+  }
+
+  @Test
+  public void getExtractionJobs_forceRefresh() throws ApiException {
+    DbWgsExtractCromwellSubmission dbSubmission =
+        createSubmissionAndMockMonitorCall(
+            FirecloudSubmissionStatus.DONE, FirecloudWorkflowStatus.SUCCEEDED);
+    wgsExtractCromwellSubmissionDao.save(
+        dbSubmission
+            .setTerraStatusEnum(TerraJobStatus.RUNNING)
+            .setLastStatusCheckTime(Timestamp.from(CLOCK.instant().minusSeconds(60))));
+
+    GenomicExtractionJobListResponse response =
+        genomicExtractionService.getGenomicExtractionJobs(
+            targetWorkspace.getWorkspaceNamespace(), targetWorkspace.getFirecloudName(), true);
+
+    assertThat(response.getJobs().get(0).getStatus()).isEqualTo(TerraJobStatus.SUCCEEDED);
+    assertThat(response.getLastRefreshedTime()).isNull();
+    assertThat(dbSubmission.getLastStatusCheckTime()).isEqualTo(Timestamp.from(CLOCK.instant()));
+  }
+
+  @Test
+  public void refreshNonTerminalExtractionJobs() throws ApiException {
+    // never checked
+    DbWgsExtractCromwellSubmission unchecked =
+        createSubmissionAndMockMonitorCall(
+            FirecloudSubmissionStatus.DONE, FirecloudWorkflowStatus.SUCCEEDED);
+    // checked too recently for its age
+    DbWgsExtractCromwellSubmission recentlyChecked =
+        createSubmissionAndMockMonitorCall(
+            FirecloudSubmissionStatus.DONE, FirecloudWorkflowStatus.FAILED);
+    wgsExtractCromwellSubmissionDao.save(
+        recentlyChecked
+            .setTerraStatusEnum(TerraJobStatus.RUNNING)
+            .setLastStatusCheckTime(Timestamp.from(CLOCK.instant().minusSeconds(30))));
+    // already finished
+    DbWgsExtractCromwellSubmission finished =
+        createSubmissionAndMockMonitorCall(
+            FirecloudSubmissionStatus.DONE, FirecloudWorkflowStatus.FAILED);
+    wgsExtractCromwellSubmissionDao.save(finished.setTerraStatusEnum(TerraJobStatus.SUCCEEDED));
+
+    genomicExtractionService.refreshNonTerminalExtractionJobs();
+
+    assertThat(unchecked.getTerraStatusEnum()).isEqualTo(TerraJobStatus.SUCCEEDED);
+    assertThat(unchecked.getVcfSizeMb()).isEqualTo(12345L);
+    assertThat(unchecked.getLastStatusCheckTime()).isEqualTo(Timestamp.from(CLOCK.instant()));
+    assertThat(recentlyChecked.getTerraStatusEnum()).isEqualTo(TerraJobStatus.RUNNING);
+    assertThat(finished.getTerraStatusEnum()).isEqualTo(TerraJobStatus.SUCCEEDED);
+    verify(mockSubmissionsApi, times(1)).getSubmission(any(), any(), any());
+  }
+
+  @Test
+  public void refreshNonTerminalExtractionJobs_skipsFailures() throws ApiException {
+    DbWgsExtractCromwellSubmission failing = createDbWgsExtractCromwellSubmission();
+    doThrow(new ApiException(500, "Terra is down"))
+        .when(mockSubmissionsApi)
+        .getSubmission(any(), any(), eq(failing.getSubmissionId()));
+    DbWgsExtractCromwellSubmission succeeding =
+        createSubmissionAndMockMonitorCall(
+            FirecloudSubmissionStatus.DONE, FirecloudWorkflowStatus.ABORTED);
+
+    genomicExtractionService.refreshNonTerminalExtractionJobs();
+
+    assertThat(failing.getTerraStatusEnum()).isNull();
+    assertThat(failing.getLastStatusCheckTime()).isNull();
+    assertThat(succeeding.getTerraStatusEnum()).isEqualTo(TerraJobStatus.ABORTED);
+  }
+
+  @Test
+  public void isStatusCheckDue() {
+    Instant now = CLOCK.instant();
+    DbWgsExtractCromwellSubmission dbSubmission =
+        new DbWgsExtractCromwellSubmission()
+            .setTerraSubmissionDate(Timestamp.from(now.minus(Duration.ofMinutes(5))));
+    assertThat(GenomicExtractionService.isStatusCheckDue(dbSubmission, now)).isTrue();
+
+    // a young job is checked at the minimum interval
+    dbSubmission.setLastStatusCheckTime(Timestamp.from(now.minusSeconds(59)));
+    assertThat(GenomicExtractionService.isStatusCheckDue(dbSubmission, now)).isFalse();
+    dbSubmission.setLastStatusCheckTime(
+        Timestamp.from(now.minus(GenomicExtractionService.MIN_STATUS_CHECK_INTERVAL)));
+    assertThat(GenomicExtractionService.isStatusCheckDue(dbSubmission, now)).isTrue();
+
+    // a 100 minute old job every 10 minutes
+    dbSubmission.setTerraSubmissionDate(Timestamp.from(now.minus(Duration.ofMinutes(100))));
+    dbSubmission.setLastStatusCheckTime(Timestamp.from(now.minus(Duration.ofMinutes(9))));
+    assertThat(GenomicExtractionService.isStatusCheckDue(dbSubmission, now)).isFalse();
+    dbSubmission.setLastStatusCheckTime(Timestamp.from(now.minus(Duration.ofMinutes(10))));
+    assertThat(GenomicExtractionService.isStatusCheckDue(dbSubmission, now)).isTrue();
+
+    // and an old job at the maximum interval
+    dbSubmission.setTerraSubmissionDate(Timestamp.from(now.minus(Duration.ofDays(2))));
+    dbSubmission.setLastStatusCheckTime(Timestamp.from(now.minus(Duration.ofMinutes(14))));
+    assertThat(GenomicExtractionService.isStatusCheckDue(dbSubmission, now)).isFalse();
+    dbSubmission.setLastStatusCheckTime(
+        Timestamp.from(now.minus(GenomicExtractionService.MAX_STATUS_CHECK_INTERVAL)));
+    assertThat(GenomicExtractionService.isStatusCheckDue(dbSubmission, now)).isTrue();
+  }
+
   private DbWgsExtractCromwellSubmission createDbWgsExtractCromwellSubmission() {
     DbWgsExtractCromwellSubmission dbWgsExtractCromwellSubmission =
         new DbWgsExtractCromwellSubmission();
@@ -39,7 +39,7 @@ public class InitialCreditsBatchUpdateServiceTest {
   @MockitoBean private WorkspaceDao mockWorkspaceDao;
   @MockitoBean private InitialCreditsService mockInitialCreditsService;
   @MockitoBean private UserDao mockUserDao;
-  @MockitoBean private InitialCreditsBigQueryService mockBigQueryService;
+  @MockitoBean private InitialCreditsCostAggregationService mockCostAggregationService;
 
   private static WorkbenchConfig config;
 
@@ -127,7 +127,7 @@ public class InitialCreditsBatchUpdateServiceTest {
     when(mockUserDao.findUsersByUserIdIn(List.of(4L))).thenReturn(List.of(userWithInactivePod));
     when(mockWorkspaceDao.getWorkspaceGoogleProjectsForCreators(List.of(4L)))
         .thenReturn(Collections.emptySet());
-    when(mockBigQueryService.getAllVWBProjectCostsFromBQ()).thenReturn(Map.of("pod4", 5.5d));
+    when(mockCostAggregationService.getAllVWBProjectCosts()).thenReturn(Map.of("pod4", 5.5d));
 
     initialCreditsBatchUpdateService.checkInitialCreditsUsage(List.of(4L));
 
@@ -170,7 +170,7 @@ public class InitialCreditsBatchUpdateServiceTest {
         .thenReturn(List.of(userActive, userInactive));
     when(mockWorkspaceDao.getWorkspaceGoogleProjectsForCreators(List.of(5L, 6L)))
         .thenReturn(Collections.emptySet());
-    when(mockBigQueryService.getAllVWBProjectCostsFromBQ())
+    when(mockCostAggregationService.getAllVWBProjectCosts())
         .thenReturn(Map.of("pod5", 10.0d, "pod6", 20.0d));
 
     initialCreditsBatchUpdateService.checkInitialCreditsUsage(List.of(5L, 6L));
@@ -214,7 +214,7 @@ public class InitialCreditsBatchUpdateServiceTest {
         .thenReturn(List.of(userWithNullPodId, userWithValidPodId));
     when(mockWorkspaceDao.getWorkspaceGoogleProjectsForCreators(List.of(7L, 8L)))
         .thenReturn(Collections.emptySet());
-    when(mockBigQueryService.getAllVWBProjectCostsFromBQ()).thenReturn(Map.of("pod8", 15.0d));
+    when(mockCostAggregationService.getAllVWBProjectCosts()).thenReturn(Map.of("pod8", 15.0d));
 
     initialCreditsBatchUpdateService.checkInitialCreditsUsage(List.of(7L, 8L));
 
@@ -249,7 +249,7 @@ public class InitialCreditsBatchUpdateServiceTest {
     when(mockWorkspaceDao.getWorkspaceGoogleProjectsForCreators(List.of(9L)))
         .thenReturn(Collections.emptySet());
     // New costs appear in BQ due to delayed billing report
-    when(mockBigQueryService.getAllVWBProjectCostsFromBQ()).thenReturn(Map.of("pod9", 150.0d));
+    when(mockCostAggregationService.getAllVWBProjectCosts()).thenReturn(Map.of("pod9", 150.0d));
 
     initialCreditsBatchUpdateService.checkInitialCreditsUsage(List.of(9L));
 
@@ -309,7 +309,7 @@ public class InitialCreditsBatchUpdateServiceTest {
         .thenReturn(Collections.emptySet());
 
     // BigQuery returns costs for all pods regardless of active status
-    when(mockBigQueryService.getAllVWBProjectCostsFromBQ())
+    when(mockCostAggregationService.getAllVWBProjectCosts())
         .thenReturn(
             Map.of(
                 "pod10", 55.0d, // Active pod with updated cost
@@ -371,12 +371,12 @@ public class InitialCreditsBatchUpdateServiceTest {
   }
 
   private void mockGoogleProjectCost() {
-    when(mockBigQueryService.getAllTerraWorkspaceCostsFromBQ())
+    when(mockCostAggregationService.getAllTerraWorkspaceCosts())
         .thenReturn(Map.of("12", 0.013d, "22", 1.123d, "23", 6.5d, "32", 0.34d, "33", 0.9d));
   }
 
   private void mockVwbUserCost() {
-    when(mockBigQueryService.getAllVWBProjectCostsFromBQ())
+    when(mockCostAggregationService.getAllVWBProjectCosts())
         .thenReturn(Map.of("pod1", 1.1d, "pod2", 2.2d, "pod3", 3.3d));
   }
 
@@ -1,25 +1,34 @@
 package org.pmiops.workbench.initialcredits;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pmiops.workbench.utils.BigQueryUtils.tableRow;
 
+import com.google.api.gax.paging.Page;
+import com.google.cloud.PageImpl;
 import com.google.cloud.bigquery.Field;
 import com.google.cloud.bigquery.FieldValueList;
 import com.google.cloud.bigquery.LegacySQLTypeName;
+import com.google.cloud.bigquery.QueryJobConfiguration;
+import com.google.cloud.bigquery.QueryParameterValue;
 import com.google.cloud.bigquery.Schema;
 import com.google.common.base.Stopwatch;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.mockito.ArgumentCaptor;
 import org.pmiops.workbench.FakeClockConfiguration;
 import org.pmiops.workbench.api.BigQueryService;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.utils.BigQueryUtils;
+import org.pmiops.workbench.utils.FieldValues;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -91,6 +100,66 @@ class InitialCreditsBigQueryServiceTest {
     assertTrue(result.isEmpty());
   }
 
+  @Test
+  public void getAllTerraWorkspaceCostsFromBQ_readsEveryPage() {
+    Schema schema =
+        Schema.of(
+            Field.of("id", LegacySQLTypeName.STRING), Field.of("cost", LegacySQLTypeName.FLOAT));
+
+    Page<FieldValueList> secondPage =
+        new PageImpl<>(() -> null, null, List.of(tableRow("workspace2", "200.75")));
+    Page<FieldValueList> firstPage =
+        new PageImpl<>(() -> secondPage, "page-2", List.of(tableRow("workspace1", "100.5")));
+    when(mockBigQueryService.executeQuery(any()))
+        .thenReturn(BigQueryUtils.newTableResult(schema, 2, firstPage));
+
+    Map<String, Double> result = initialCreditsBigQueryService.getAllTerraWorkspaceCostsFromBQ();
+
+    assertEquals(Map.of("workspace1", 100.5, "workspace2", 200.75), result);
+  }
+
+  @Test
+  public void getTerraWorkspaceCostsFromBQ_filtersByExportTime() {
+    Schema schema =
+        Schema.of(
+            Field.of("id", LegacySQLTypeName.STRING), Field.of("cost", LegacySQLTypeName.FLOAT));
+    when(mockBigQueryService.executeQuery(any()))
+        .thenReturn(BigQueryUtils.newTableResult(schema, List.of()));
+    Instant exportedAfter = Instant.parse("2024-01-01T00:00:00Z");
+    Instant exportedUpTo = Instant.parse("2024-01-01T01:00:00Z");
+
+    initialCreditsBigQueryService.getTerraWorkspaceCostsFromBQ(exportedAfter, exportedUpTo);
+
+    ArgumentCaptor<QueryJobConfiguration> queryCaptor =
+        ArgumentCaptor.forClass(QueryJobConfiguration.class);
+    verify(mockBigQueryService).executeQuery(queryCaptor.capture());
+    QueryJobConfiguration query = queryCaptor.getValue();
+    assertTrue(query.getQuery().contains("export_time > @exported_after"));
+    assertTrue(query.getQuery().contains("export_time <= @exported_up_to"));
+    assertEquals(
+        QueryParameterValue.timestamp(FieldValues.toTimestampMicroseconds(exportedAfter)),
+        query.getNamedParameters().get("exported_after"));
+    assertEquals(
+        QueryParameterValue.timestamp(FieldValues.toTimestampMicroseconds(exportedUpTo)),
+        query.getNamedParameters().get("exported_up_to"));
+  }
+
+  @Test
+  public void getAllTerraWorkspaceCostsFromBQ_noExportTimeFilter() {
+    Schema schema =
+        Schema.of(
+            Field.of("id", LegacySQLTypeName.STRING), Field.of("cost", LegacySQLTypeName.FLOAT));
+    when(mockBigQueryService.executeQuery(any()))
+        .thenReturn(BigQueryUtils.newTableResult(schema, List.of()));
+
+    initialCreditsBigQueryService.getAllTerraWorkspaceCostsFromBQ();
+
+    ArgumentCaptor<QueryJobConfiguration> queryCaptor =
+        ArgumentCaptor.forClass(QueryJobConfiguration.class);
+    verify(mockBigQueryService).executeQuery(queryCaptor.capture());
+    assertFalse(queryCaptor.getValue().getQuery().contains("export_time"));
+  }
+
   @Test
   public void getAllVWBProjectCostsFromBQ_returnsCorrectCosts() {
     Schema schema =
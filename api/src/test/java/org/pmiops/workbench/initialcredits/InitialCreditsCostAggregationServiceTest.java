@@ -0,0 +1,227 @@
+package org.pmiops.workbench.initialcredits;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.FakeClockConfiguration;
+import org.pmiops.workbench.config.WorkbenchConfig;
+import org.pmiops.workbench.db.dao.BillingCostAggregateDao;
+import org.pmiops.workbench.db.model.DbBillingCostAggregate;
+import org.pmiops.workbench.db.model.DbBillingCostAggregate.DbBillingCostSource;
+import org.pmiops.workbench.test.FakeClock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Scope;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@DataJpaTest
+public class InitialCreditsCostAggregationServiceTest {
+  private static final Instant NOW = FakeClockConfiguration.NOW.toInstant();
+  // the first refresh is a full recompute, which includes every row exported so far
+  private static final Instant FIRST_WATERMARK = NOW;
+
+  @Autowired private BillingCostAggregateDao billingCostAggregateDao;
+  @Autowired private FakeClock fakeClock;
+  @Autowired private InitialCreditsCostAggregationService costAggregationService;
+
+  @MockitoBean private InitialCreditsBigQueryService mockBigQueryService;
+
+  private static WorkbenchConfig config;
+
+  @TestConfiguration
+  @Import({FakeClockConfiguration.class, InitialCreditsCostAggregationService.class})
+  static class Configuration {
+    @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public WorkbenchConfig workbenchConfig() {
+      return config;
+    }
+  }
+
+  @BeforeEach
+  public void setUp() {
+    config = WorkbenchConfig.createEmptyConfig();
+    config.billing.incrementalCostAggregation = true;
+    fakeClock.setInstant(NOW);
+  }
+
+  @Test
+  public void getAllTerraWorkspaceCosts_notIncremental() {
+    config.billing.incrementalCostAggregation = null;
+    when(mockBigQueryService.getAllTerraWorkspaceCostsFromBQ()).thenReturn(Map.of("p1", 1.0));
+
+    assertThat(costAggregationService.getAllTerraWorkspaceCosts()).containsExactly("p1", 1.0);
+    assertThat(billingCostAggregateDao.count()).isEqualTo(0);
+  }
+
+  @Test
+  public void getAllTerraWorkspaceCosts_firstRunRecomputesFully() {
+    when(mockBigQueryService.getTerraWorkspaceCostsFromBQ(null, FIRST_WATERMARK))
+        .thenReturn(Map.of("p1", 1.0, "p2", 2.0));
+
+    assertThat(costAggregationService.getAllTerraWorkspaceCosts())
+        .containsExactly("p1", 1.0, "p2", 2.0);
+
+    final DbBillingCostAggregate aggregate =
+        billingCostAggregateDao.findById(DbBillingCostSource.TERRA_WORKSPACES).orElseThrow();
+    assertThat(aggregate.getTotalCostByProject()).containsExactly("p1", 1.0, "p2", 2.0);
+    assertThat(aggregate.getExportTimeWatermark()).isEqualTo(Timestamp.from(FIRST_WATERMARK));
+    assertThat(aggregate.getRefreshStartedTime()).isNull();
+  }
+
+  @Test
+  public void getAllTerraWorkspaceCosts_notRefreshedWithinInterval() {
+    when(mockBigQueryService.getTerraWorkspaceCostsFromBQ(null, FIRST_WATERMARK))
+        .thenReturn(Map.of("p1", 1.0));
+    costAggregationService.getAllTerraWorkspaceCosts();
+
+    advance(InitialCreditsCostAggregationService.REFRESH_INTERVAL.minusMinutes(1));
+
+    assertThat(costAggregationService.getAllTerraWorkspaceCosts()).containsExactly("p1", 1.0);
+    verify(mockBigQueryService, never()).getTerraWorkspaceCostsFromBQ(eq(FIRST_WATERMARK), any());
+  }
+
+  @Test
+  public void getAllTerraWorkspaceCosts_addsNewlyExportedCosts() {
+    when(mockBigQueryService.getTerraWorkspaceCostsFromBQ(null, FIRST_WATERMARK))
+        .thenReturn(Map.of("p1", 1.0, "p2", 2.0));
+    costAggregationService.getAllTerraWorkspaceCosts();
+
+    final Duration elapsed = Duration.ofMinutes(30);
+    advance(InitialCreditsCostAggregationService.SETTLE_TIME.plus(elapsed));
+    final Instant secondWatermark = FIRST_WATERMARK.plus(elapsed);
+    when(mockBigQueryService.getTerraWorkspaceCostsFromBQ(FIRST_WATERMARK, secondWatermark))
+        .thenReturn(Map.of("p2", 0.5, "p3", 3.0));
+
+    assertThat(costAggregationService.getAllTerraWorkspaceCosts())
+        .containsExactly("p1", 1.0, "p2", 2.5, "p3", 3.0);
+    assertThat(
+            billingCostAggregateDao
+                .findById(DbBillingCostSource.TERRA_WORKSPACES)
+                .orElseThrow()
+                .getExportTimeWatermark())
+        .isEqualTo(Timestamp.from(secondWatermark));
+  }
+
+  @Test
+  public void getAllTerraWorkspaceCosts_waitsForExportsToSettle() {
+    when(mockBigQueryService.getTerraWorkspaceCostsFromBQ(null, FIRST_WATERMARK))
+        .thenReturn(Map.of("p1", 1.0));
+    costAggregationService.getAllTerraWorkspaceCosts();
+
+    advance(InitialCreditsCostAggregationService.REFRESH_INTERVAL.plusMinutes(1));
+
+    assertThat(costAggregationService.getAllTerraWorkspaceCosts()).containsExactly("p1", 1.0);
+    verify(mockBigQueryService, never()).getTerraWorkspaceCostsFromBQ(eq(FIRST_WATERMARK), any());
+    assertThat(
+            billingCostAggregateDao
+                .findById(DbBillingCostSource.TERRA_WORKSPACES)
+                .orElseThrow()
+                .getExportTimeWatermark())
+        .isEqualTo(Timestamp.from(FIRST_WATERMARK));
+  }
+
+  @Test
+  public void getAllTerraWorkspaceCosts_periodicFullRecompute() {
+    config.billing.costAggregationFullRecomputeHours = 6;
+    when(mockBigQueryService.getTerraWorkspaceCostsFromBQ(null, FIRST_WATERMARK))
+        .thenReturn(Map.of("p1", 1.0, "p3", 3.0));
+    costAggregationService.getAllTerraWorkspaceCosts();
+
+    final Duration elapsed = Duration.ofHours(7);
+    advance(elapsed);
+    final Instant secondWatermark = FIRST_WATERMARK.plus(elapsed);
+    when(mockBigQueryService.getTerraWorkspaceCostsFromBQ(null, secondWatermark))
+        .thenReturn(Map.of("p1", 1.5, "p2", 2.0));
+
+    // replaced, rather than added to
+    assertThat(costAggregationService.getAllTerraWorkspaceCosts())
+        .containsExactly("p1", 1.5, "p2", 2.0);
+    verify(mockBigQueryService, never()).getTerraWorkspaceCostsFromBQ(eq(FIRST_WATERMARK), any());
+    assertThat(
+            billingCostAggregateDao
+                .findById(DbBillingCostSource.TERRA_WORKSPACES)
+                .orElseThrow()
+                .getTotalCostByProject())
+        .containsExactly("p1", 1.5, "p2", 2.0);
+  }
+
+  @Test
+  public void getAllTerraWorkspaceCosts_skipsRefreshInProgress() {
+    billingCostAggregateDao.save(
+        new DbBillingCostAggregate()
+            .setSource(DbBillingCostSource.TERRA_WORKSPACES)
+            .setTotalCostByProject(Map.of("p1", 1.0))
+            .setExportTimeWatermark(Timestamp.from(FIRST_WATERMARK.minus(Duration.ofHours(1))))
+            .setLastFullRecomputeTime(Timestamp.from(NOW.minus(Duration.ofHours(1))))
+            .setLastRefreshTime(Timestamp.from(NOW.minus(Duration.ofHours(1))))
+            .setRefreshStartedTime(Timestamp.from(NOW.minus(Duration.ofMinutes(1)))));
+
+    assertThat(costAggregationService.getAllTerraWorkspaceCosts()).containsExactly("p1", 1.0);
+    verifyNoInteractions(mockBigQueryService);
+  }
+
+  @Test
+  public void getAllTerraWorkspaceCosts_queriesDirectlyWhileFirstRefreshInProgress() {
+    billingCostAggregateDao.save(
+        new DbBillingCostAggregate()
+            .setSource(DbBillingCostSource.TERRA_WORKSPACES)
+            .setRefreshStartedTime(Timestamp.from(NOW.minus(Duration.ofMinutes(1)))));
+    when(mockBigQueryService.getTerraWorkspaceCostsFromBQ(null, NOW))
+        .thenReturn(Map.of("p1", 1.0));
+
+    assertThat(costAggregationService.getAllTerraWorkspaceCosts()).containsExactly("p1", 1.0);
+    // left for the refresh in progress
+    final DbBillingCostAggregate aggregate =
+        billingCostAggregateDao.findById(DbBillingCostSource.TERRA_WORKSPACES).orElseThrow();
+    assertThat(aggregate.getTotalCostByProject()).isEmpty();
+    assertThat(aggregate.getExportTimeWatermark()).isNull();
+  }
+
+  @Test
+  public void getAllTerraWorkspaceCosts_failedRefreshReleasesClaim() {
+    when(mockBigQueryService.getTerraWorkspaceCostsFromBQ(isNull(), any()))
+        .thenThrow(new RuntimeException("BigQuery unavailable"));
+
+    assertThrows(RuntimeException.class, () -> costAggregationService.getAllTerraWorkspaceCosts());
+    assertThat(
+            billingCostAggregateDao
+                .findById(DbBillingCostSource.TERRA_WORKSPACES)
+                .orElseThrow()
+                .getRefreshStartedTime())
+        .isNull();
+  }
+
+  @Test
+  public void getAllVWBProjectCosts_aggregatedSeparately() {
+    when(mockBigQueryService.getTerraWorkspaceCostsFromBQ(null, FIRST_WATERMARK))
+        .thenReturn(Map.of("p1", 1.0));
+    when(mockBigQueryService.getVWBProjectCostsFromBQ(null, FIRST_WATERMARK))
+        .thenReturn(Map.of("pod1", 5.0));
+
+    costAggregationService.getAllTerraWorkspaceCosts();
+
+    assertThat(costAggregationService.getAllVWBProjectCosts()).containsExactly("pod1", 5.0);
+  }
+
+  private void advance(Duration duration) {
+    fakeClock.increment(duration.toMillis());
+  }
+}
@@ -21,6 +21,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.Doubles;
 import jakarta.mail.MessagingException;
+import jakarta.persistence.EntityManager;
 import java.sql.Timestamp;
 import java.time.Clock;
 import java.time.Instant;
@@ -32,6 +33,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -101,6 +104,7 @@ public class InitialCreditsServiceTest {
   @Autowired WorkspaceFreeTierUsageDao workspaceFreeTierUsageDao;
   @Autowired private ApplicationContext applicationContext;
   @Autowired private VwbUserPodDao vwbUserPodDao;
+  @Autowired private EntityManager entityManager;
 
   private static WorkbenchConfig workbenchConfig;
 
@@ -1992,4 +1996,39 @@ public class InitialCreditsServiceTest {
     verify(mailService, times(1)).alertUserInitialCreditsExpired(user);
     assertNotNull(user.getUserInitialCreditsExpiration().getExpirationCleanupTime());
   }
+
+  @Test
+  public void getWorkspaceCreatorsInitialCredits_queryCountIndependentOfCreatorCount() {
+    final List<String> firecloudUuids = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      final DbWorkspace ws =
+          workspaceDao.save(
+              createWorkspace(createUser("creator" + i + "@test.com"), "project-" + i)
+                  .setFirecloudUuid("uuid-" + i));
+      workspaceFreeTierUsageDao.save(new DbWorkspaceFreeTierUsage(ws).setCost(i + 1));
+      firecloudUuids.add(ws.getFirecloudUuid());
+    }
+
+    assertThat(countCreatorsInitialCreditsQueries(firecloudUuids.subList(0, 2)))
+        .isEqualTo(countCreatorsInitialCreditsQueries(firecloudUuids));
+  }
+
+  // the number of SQL statements prepared by getWorkspaceCreatorsInitialCredits, for creators
+  // loaded the way workspace listings load them
+  private long countCreatorsInitialCreditsQueries(List<String> firecloudUuids) {
+    entityManager.flush();
+    entityManager.clear();
+    final List<DbUser> creators =
+        workspaceDao.findAllWithCreatorsByFirecloudUuidIn(firecloudUuids).stream()
+            .map(DbWorkspace::getCreator)
+            .toList();
+    Statistics statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+
+    assertThat(initialCreditsService.getWorkspaceCreatorsInitialCredits(creators))
+        .hasSize(firecloudUuids.size());
+    return statistics.getPrepareStatementCount();
+  }
 }
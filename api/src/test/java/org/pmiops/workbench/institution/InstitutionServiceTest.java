@@ -9,10 +9,14 @@ import static org.pmiops.workbench.utils.TestMockFactory.createRegisteredTier;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -60,6 +64,7 @@ public class InstitutionServiceTest {
   @Autowired private UserDao userDao;
   @Autowired private AccessTierDao accessTierDao;
   @Autowired private VerifiedInstitutionalAffiliationDao verifiedInstitutionalAffiliationDao;
+  @Autowired private EntityManager entityManager;
 
   private final Institution testInst =
       new Institution()
@@ -1042,6 +1047,62 @@ public class InstitutionServiceTest {
     assertThat(service.shouldBypassForCreditsExpiration(user)).isEqualTo(bypass);
   }
 
+  @Test
+  public void testGetUserIdsBypassingCreditsExpiration() {
+    service.createInstitution(
+        new Institution()
+            .shortName("bypassed")
+            .displayName("this is a bypassed test")
+            .organizationTypeEnum(OrganizationType.INDUSTRY));
+    final DbUser bypassedUser = createUser("user1@broad.org");
+    createAffiliation(bypassedUser, "bypassed", true);
+    final DbUser notBypassedUser = createUser("user2@broad.org");
+    createAffiliation(notBypassedUser, testInst.getShortName(), false);
+    final DbUser unaffiliatedUser = createUser("user3@broad.org");
+
+    assertThat(
+            service.getUserIdsBypassingCreditsExpiration(
+                List.of(bypassedUser, notBypassedUser, unaffiliatedUser)))
+        .containsExactly(bypassedUser.getUserId());
+    assertThat(service.getUserIdsBypassingCreditsExpiration(List.of())).isEmpty();
+  }
+
+  @Test
+  public void testGetUserIdsBypassingCreditsExpiration_queryCountIndependentOfUserCount() {
+    // each user at their own institution, so that per-institution queries would also be caught
+    final List<Long> userIds = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      final String shortName = "institution" + i;
+      service.createInstitution(
+          new Institution()
+              .shortName(shortName)
+              .displayName("Institution " + i)
+              .organizationTypeEnum(OrganizationType.INDUSTRY));
+      final DbUser user = createUser("user" + i + "@broad.org");
+      createAffiliation(user, shortName, i % 2 == 0);
+      userIds.add(user.getUserId());
+    }
+
+    assertThat(countBypassQueries(userIds.subList(0, 5)))
+        .isEqualTo(countBypassQueries(userIds));
+  }
+
+  // the number of SQL statements prepared by getUserIdsBypassingCreditsExpiration, for users
+  // already loaded into an otherwise empty session
+  private long countBypassQueries(List<Long> userIds) {
+    entityManager.flush();
+    entityManager.clear();
+    final List<DbUser> users = ImmutableList.copyOf(userDao.findAllById(userIds));
+    Statistics statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+
+    assertThat(service.getUserIdsBypassingCreditsExpiration(users))
+        .hasSize((userIds.size() + 1) / 2);
+    return statistics.getPrepareStatementCount();
+  }
+
   private DbUser createUser(String contactEmail) {
     DbUser user = new DbUser();
     user.setContactEmail(contactEmail);
@@ -8,6 +8,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +33,7 @@ import org.pmiops.workbench.api.CloudTaskRdrExportApi;
 import org.pmiops.workbench.api.ProfileApi;
 import org.pmiops.workbench.api.UserAdminApiController;
 import org.pmiops.workbench.api.UserAdminController;
+import org.pmiops.workbench.auth.AuthenticationCache;
 import org.pmiops.workbench.auth.UserInfoService;
 import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.db.dao.UserDao;
@@ -90,9 +92,10 @@ public class AuthInterceptorTest {
   @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
 
   @Autowired private AuthInterceptor interceptor;
+  @Autowired private AuthenticationCache authenticationCache;
 
   @TestConfiguration
-  @Import({FakeClockConfiguration.class, AuthInterceptor.class})
+  @Import({FakeClockConfiguration.class, AuthInterceptor.class, AuthenticationCache.class})
   static class Configuration {
     @Bean
     @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
@@ -103,6 +106,7 @@ public class AuthInterceptorTest {
 
   @BeforeEach
   public void setUp() {
+    authenticationCache.invalidateAll();
     workbenchConfig = WorkbenchConfig.createEmptyConfig();
     workbenchConfig.googleDirectoryService.gSuiteDomain = "fake-domain.org";
     workbenchConfig.auth.serviceAccountApiUsers.add("service-account@appspot.gserviceaccount.com");
@@ -286,6 +290,67 @@ public class AuthInterceptorTest {
     assertThat(interceptor.preHandle(mockRequest, mockResponse, mockHandler)).isTrue();
   }
 
+  @Test
+  public void preHandleGet_cachesUserInfo() throws Exception {
+    mockGetCallWithBearerToken();
+    mockUserInfoSuccess();
+
+    assertThat(interceptor.preHandle(mockRequest, mockResponse, mockHandler)).isTrue();
+    assertThat(interceptor.preHandle(mockRequest, mockResponse, mockHandler)).isTrue();
+
+    verify(userInfoService, times(1)).getUserInfo("foo");
+    // the user row is still read on every request, so disabling takes effect immediately
+    verify(userDao, times(2)).findUserByUsername("bob@fake-domain.org");
+  }
+
+  @Test
+  public void preHandleGet_cachesPetServiceAccountOwner() throws Exception {
+    mockGetCallWithBearerToken();
+    Userinfo userInfo = new Userinfo();
+    userInfo.setEmail("bob@fake-project.iam.gserviceaccount.com");
+    when(userInfoService.getUserInfo("foo")).thenReturn(userInfo);
+    FirecloudUserInfo fcUserInfo = new FirecloudUserInfo();
+    fcUserInfo.setUserEmail("bob@fake-domain.org");
+    FirecloudMe me = new FirecloudMe();
+    me.setUserInfo(fcUserInfo);
+    when(fireCloudService.getMe()).thenReturn(me);
+    when(userDao.findUserByUsername("bob@fake-domain.org")).thenReturn(user);
+
+    assertThat(interceptor.preHandle(mockRequest, mockResponse, mockHandler)).isTrue();
+    assertThat(interceptor.preHandle(mockRequest, mockResponse, mockHandler)).isTrue();
+
+    verify(fireCloudService, times(1)).getMe();
+  }
+
+  @Test
+  public void preHandleGet_userInfoFailureNotCached() throws Exception {
+    mockGetCallWithBearerToken();
+    Userinfo userInfo = new Userinfo();
+    userInfo.setEmail("bob@fake-domain.org");
+    when(userInfoService.getUserInfo("foo"))
+        .thenThrow(new NotFoundException())
+        .thenReturn(userInfo);
+    when(userDao.findUserByUsername("bob@fake-domain.org")).thenReturn(user);
+
+    assertThrows(
+        NotFoundException.class,
+        () -> interceptor.preHandle(mockRequest, mockResponse, mockHandler));
+    assertThat(interceptor.preHandle(mockRequest, mockResponse, mockHandler)).isTrue();
+  }
+
+  @Test
+  public void preHandleGet_invalidatedUserReloaded() throws Exception {
+    mockGetCallWithBearerToken();
+    mockUserInfoSuccess();
+    user.setUsername("bob@fake-domain.org");
+
+    assertThat(interceptor.preHandle(mockRequest, mockResponse, mockHandler)).isTrue();
+    authenticationCache.invalidateUser(user);
+    assertThat(interceptor.preHandle(mockRequest, mockResponse, mockHandler)).isTrue();
+
+    verify(userInfoService, times(2)).getUserInfo("foo");
+  }
+
   @Test
   public void preHandleGet_disabledUser() {
     mockGetCallWithBearerToken();
@@ -425,6 +490,23 @@ public class AuthInterceptorTest {
         .isTrue();
   }
 
+  @Test
+  public void authorityCheckCachesAuthorities() throws Exception {
+    DbUser userWithAuthorities =
+        new DbUser().setAuthoritiesEnum(Collections.singleton(Authority.SECURITY_ADMIN));
+    when(userDao.findUserWithAuthorities(USER_ID)).thenReturn(userWithAuthorities);
+    Method apiControllerMethod = FakeController.class.getMethod("handle");
+
+    assertThat(interceptor.hasRequiredAuthority(apiControllerMethod, user)).isTrue();
+    assertThat(interceptor.hasRequiredAuthority(apiControllerMethod, user)).isTrue();
+    verify(userDao, times(1)).findUserWithAuthorities(USER_ID);
+
+    // revoking an authority takes effect once the user is invalidated
+    when(userDao.findUserWithAuthorities(USER_ID)).thenReturn(new DbUser());
+    authenticationCache.invalidateUser(user);
+    assertThat(interceptor.hasRequiredAuthority(apiControllerMethod, user)).isFalse();
+  }
+
   @Test
   public void preHandle_apiBaseUrlNotMatch_forbidden() throws Exception {
     when(mockHandler.getMethod()).thenReturn(getTestMethod());
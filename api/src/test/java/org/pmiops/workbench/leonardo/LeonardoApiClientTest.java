@@ -6,6 +6,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pmiops.workbench.utils.TestMockFactory.createControlledTier;
@@ -15,12 +19,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.broadinstitute.dsde.workbench.client.leonardo.ApiException;
 import org.broadinstitute.dsde.workbench.client.leonardo.api.AppsApi;
 import org.broadinstitute.dsde.workbench.client.leonardo.api.DisksApi;
 import org.broadinstitute.dsde.workbench.client.leonardo.model.AllowedChartName;
+import org.broadinstitute.dsde.workbench.client.leonardo.model.AppStatus;
+import org.broadinstitute.dsde.workbench.client.leonardo.model.AuditInfo;
 import org.broadinstitute.dsde.workbench.client.leonardo.model.CloudContext;
 import org.broadinstitute.dsde.workbench.client.leonardo.model.CloudProvider;
 import org.broadinstitute.dsde.workbench.client.leonardo.model.DiskStatus;
+import org.broadinstitute.dsde.workbench.client.leonardo.model.ListAppResponse;
 import org.broadinstitute.dsde.workbench.client.leonardo.model.ListPersistentDiskResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,8 +42,15 @@ import org.pmiops.workbench.db.model.DbCdrVersion;
 import org.pmiops.workbench.db.model.DbUser;
 import org.pmiops.workbench.db.model.DbWorkspace;
 import org.pmiops.workbench.exceptions.BadRequestException;
+import org.pmiops.workbench.exceptions.ServerErrorException;
 import org.pmiops.workbench.firecloud.FireCloudService;
+import org.pmiops.workbench.legacy_leonardo_client.ApiClient;
 import org.pmiops.workbench.legacy_leonardo_client.api.RuntimesApi;
+import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoAuditInfo;
+import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoCloudContext;
+import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoCloudProvider;
+import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoListRuntimeResponse;
+import org.pmiops.workbench.legacy_leonardo_client.model.LeonardoRuntimeStatus;
 import org.pmiops.workbench.model.AppType;
 import org.pmiops.workbench.model.CreateAppRequest;
 import org.pmiops.workbench.model.DataprocConfig;
@@ -50,6 +65,7 @@ import org.pmiops.workbench.model.WorkspaceAccessLevel;
 import org.pmiops.workbench.notebooks.NotebooksRetryHandler;
 import org.pmiops.workbench.rawls.model.RawlsWorkspaceDetails;
 import org.pmiops.workbench.rawls.model.RawlsWorkspaceResponse;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
 import org.pmiops.workbench.utils.mappers.CommonMappers;
 import org.pmiops.workbench.utils.mappers.FirecloudMapper;
 import org.pmiops.workbench.utils.mappers.FirecloudMapperImpl;
@@ -83,6 +99,7 @@ public class LeonardoApiClientTest {
     LeonardoRetryHandler.class,
     NoBackOffPolicy.class,
     NotebooksRetryHandler.class,
+    RemoteFanOutExecutor.class,
   })
   static class Configuration {
     @Bean
@@ -102,6 +119,10 @@ public class LeonardoApiClientTest {
   @MockitoBean
   AppsApi mockUserAppsApi;
 
+  @Qualifier(LeonardoConfig.SERVICE_APPS_API)
+  @MockitoBean
+  AppsApi mockServiceAppsApi;
+
   @Qualifier(LeonardoConfig.USER_DISKS_API)
   @MockitoBean
   DisksApi mockUserDisksApi;
@@ -110,6 +131,10 @@ public class LeonardoApiClientTest {
   @MockitoBean
   RuntimesApi userRuntimesApi;
 
+  @Qualifier(LeonardoConfig.SERVICE_RUNTIMES_API)
+  @MockitoBean
+  RuntimesApi mockServiceRuntimesApi;
+
   @MockitoBean FireCloudService mockFireCloudService;
   @MockitoBean WorkspaceDao mockWorkspaceDao;
 
@@ -479,6 +504,133 @@ public class LeonardoApiClientTest {
     verify(userRuntimesApi).updateRuntime(any(), any(), any());
   }
 
+  @Test
+  public void testDeleteUserAppsAsService() throws Exception {
+    when(mockServiceAppsApi.listApp(any(), eq(false), any(), any()))
+        .thenReturn(
+            List.of(
+                userApp("rstudio", AppStatus.RUNNING),
+                userApp("sas", AppStatus.ERROR),
+                userApp("already-gone", AppStatus.RUNNING),
+                userApp("deleting", AppStatus.DELETING),
+                userApp("cromwell", AppStatus.RUNNING)
+                    .appType(
+                        org.broadinstitute.dsde.workbench.client.leonardo.model.AppType.CROMWELL)));
+    doThrow(new ApiException(404, "not found"))
+        .when(mockServiceAppsApi)
+        .deleteApp(GOOGLE_PROJECT_ID, "already-gone", false);
+
+    assertThat(leonardoApiClient.deleteUserAppsAsService(LOGGED_IN_USER_EMAIL)).isEqualTo(3);
+
+    verify(mockServiceAppsApi).deleteApp(GOOGLE_PROJECT_ID, "rstudio", false);
+    verify(mockServiceAppsApi).deleteApp(GOOGLE_PROJECT_ID, "sas", false);
+    verify(mockServiceAppsApi, never()).deleteApp(GOOGLE_PROJECT_ID, "deleting", false);
+    verify(mockServiceAppsApi, never()).deleteApp(GOOGLE_PROJECT_ID, "cromwell", false);
+  }
+
+  @Test
+  public void testDeleteUserAppsAsService_failure() throws Exception {
+    when(mockServiceAppsApi.listApp(any(), eq(false), any(), any()))
+        .thenReturn(
+            List.of(userApp("rstudio", AppStatus.RUNNING), userApp("sas", AppStatus.RUNNING)));
+    doThrow(new ApiException(400, "bad request"))
+        .when(mockServiceAppsApi)
+        .deleteApp(GOOGLE_PROJECT_ID, "sas", false);
+
+    assertThrows(
+        ServerErrorException.class,
+        () -> leonardoApiClient.deleteUserAppsAsService(LOGGED_IN_USER_EMAIL));
+
+    // the failure doesn't stop the other apps from being deleted
+    verify(mockServiceAppsApi).deleteApp(GOOGLE_PROJECT_ID, "rstudio", false);
+  }
+
+  @Test
+  public void testStopAllUserRuntimesAsService() throws Exception {
+    when(mockServiceRuntimesApi.listRuntimes(any()))
+        .thenReturn(
+            List.of(
+                userRuntime("running", LeonardoRuntimeStatus.RUNNING),
+                userRuntime("stopped", LeonardoRuntimeStatus.STOPPED),
+                userRuntime("someone-elses", LeonardoRuntimeStatus.RUNNING)
+                    .auditInfo(new LeonardoAuditInfo().creator("alice@gmail.com"))));
+    final ApiClient impersonatedApiClient = stubImpersonatedApiClient();
+
+    assertThat(leonardoApiClient.stopAllUserRuntimesAsService(LOGGED_IN_USER_EMAIL)).isEqualTo(1);
+
+    // the stop request is built for the user's running runtime only
+    verify(impersonatedApiClient).escapeString("running");
+    verify(impersonatedApiClient, never()).escapeString("stopped");
+    verify(impersonatedApiClient, never()).escapeString("someone-elses");
+    verify(impersonatedApiClient, times(1)).execute(any());
+  }
+
+  @Test
+  public void testStopAllUserRuntimesAsService_notFoundIsStopped() throws Exception {
+    when(mockServiceRuntimesApi.listRuntimes(any()))
+        .thenReturn(List.of(userRuntime("already-gone", LeonardoRuntimeStatus.RUNNING)));
+    final ApiClient impersonatedApiClient = stubImpersonatedApiClient();
+    doThrow(new org.pmiops.workbench.legacy_leonardo_client.ApiException(404, "not found"))
+        .when(impersonatedApiClient)
+        .execute(any());
+
+    assertThat(leonardoApiClient.stopAllUserRuntimesAsService(LOGGED_IN_USER_EMAIL)).isEqualTo(1);
+  }
+
+  @Test
+  public void testStopAllUserRuntimesAsService_failure() throws Exception {
+    when(mockServiceRuntimesApi.listRuntimes(any()))
+        .thenReturn(
+            List.of(
+                userRuntime("rstudio", LeonardoRuntimeStatus.RUNNING),
+                userRuntime("jupyter", LeonardoRuntimeStatus.RUNNING)));
+    final ApiClient impersonatedApiClient = stubImpersonatedApiClient();
+    doThrow(new org.pmiops.workbench.legacy_leonardo_client.ApiException(400, "bad request"))
+        .when(impersonatedApiClient)
+        .execute(any());
+
+    assertThrows(
+        ServerErrorException.class,
+        () -> leonardoApiClient.stopAllUserRuntimesAsService(LOGGED_IN_USER_EMAIL));
+
+    // a failure doesn't stop the other runtimes from being stopped
+    verify(impersonatedApiClient, times(2)).execute(any());
+  }
+
+  /**
+   * Runtimes are stopped as their creator, through a RuntimesApi built on the factory's client, so
+   * the requests are observed on that client rather than on a mocked RuntimesApi.
+   */
+  private ApiClient stubImpersonatedApiClient() throws Exception {
+    final ApiClient impersonatedApiClient = mock(ApiClient.class);
+    when(impersonatedApiClient.escapeString(any())).thenAnswer(i -> i.getArgument(0));
+    when(leonardoApiClientFactory.newImpersonatedLegacyApiClient(LOGGED_IN_USER_EMAIL))
+        .thenReturn(impersonatedApiClient);
+    return impersonatedApiClient;
+  }
+
+  private LeonardoListRuntimeResponse userRuntime(
+      String runtimeName, LeonardoRuntimeStatus status) {
+    return new LeonardoListRuntimeResponse()
+        .runtimeName(runtimeName)
+        .status(status)
+        .cloudContext(
+            new LeonardoCloudContext()
+                .cloudProvider(LeonardoCloudProvider.GCP)
+                .cloudResource(GOOGLE_PROJECT_ID))
+        .auditInfo(new LeonardoAuditInfo().creator(LOGGED_IN_USER_EMAIL));
+  }
+
+  private ListAppResponse userApp(String appName, AppStatus status) {
+    return new ListAppResponse()
+        .appName(appName)
+        .appType(org.broadinstitute.dsde.workbench.client.leonardo.model.AppType.ALLOWED)
+        .status(status)
+        .cloudContext(
+            new CloudContext().cloudProvider(CloudProvider.GCP).cloudResource(GOOGLE_PROJECT_ID))
+        .auditInfo(new AuditInfo().creator(LOGGED_IN_USER_EMAIL));
+  }
+
   private void stubGetFcWorkspace(WorkspaceAccessLevel accessLevel) {
     RawlsWorkspaceDetails fcWorkspaceDetail =
         new RawlsWorkspaceDetails()
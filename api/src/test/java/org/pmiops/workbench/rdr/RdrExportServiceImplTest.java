@@ -20,7 +20,9 @@ import java.sql.Timestamp;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
+import java.util.stream.StreamSupport;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,9 +34,11 @@ import org.pmiops.workbench.db.dao.RdrExportDao;
 import org.pmiops.workbench.db.dao.UserDao;
 import org.pmiops.workbench.db.dao.VerifiedInstitutionalAffiliationDao;
 import org.pmiops.workbench.db.dao.WorkspaceDao;
+import org.pmiops.workbench.db.model.DbAccessTier;
 import org.pmiops.workbench.db.model.DbDemographicSurveyV2;
 import org.pmiops.workbench.db.model.DbDemographicSurveyV2.DbEducationV2;
 import org.pmiops.workbench.db.model.DbInstitution;
+import org.pmiops.workbench.db.model.DbRdrExport;
 import org.pmiops.workbench.db.model.DbUser;
 import org.pmiops.workbench.db.model.DbVerifiedInstitutionalAffiliation;
 import org.pmiops.workbench.db.model.DbWorkspace;
@@ -47,13 +51,20 @@ import org.pmiops.workbench.model.RdrEntity;
 import org.pmiops.workbench.model.SpecificPopulationEnum;
 import org.pmiops.workbench.model.WorkspaceActiveStatus;
 import org.pmiops.workbench.profile.DemographicSurveyMapperImpl;
+import org.pmiops.workbench.rawls.model.RawlsWorkspaceAccessEntry;
 import org.pmiops.workbench.rdr.api.RdrApi;
 import org.pmiops.workbench.rdr.model.RdrResearcher;
 import org.pmiops.workbench.rdr.model.RdrWorkspace;
 import org.pmiops.workbench.rdr.model.RdrWorkspaceCreator;
 import org.pmiops.workbench.rdr.model.RdrWorkspaceDemographic;
+import org.pmiops.workbench.rdr.model.RdrWorkspaceUser;
 import org.pmiops.workbench.test.FakeClock;
-import org.pmiops.workbench.workspaces.WorkspaceService;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
+import org.pmiops.workbench.utils.TestMockFactory;
+import org.pmiops.workbench.utils.mappers.CommonMappers;
+import org.pmiops.workbench.utils.mappers.FirecloudMapperImpl;
+import org.pmiops.workbench.utils.mappers.UserMapperImpl;
+import org.pmiops.workbench.workspaces.WorkspaceAuthService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -69,7 +80,7 @@ public class RdrExportServiceImplTest {
   @MockitoBean private ApiClient apiClient;
   @MockitoBean private RdrApi rdrApi;
   @MockitoBean private InstitutionService institutionService;
-  @MockitoBean private WorkspaceService workspaceService;
+  @MockitoBean private WorkspaceAuthService workspaceAuthService;
   @MockitoBean private VerifiedInstitutionalAffiliationDao verifiedInstitutionalAffiliationDao;
 
   @Autowired private RdrExportService rdrExportService;
@@ -78,7 +89,8 @@ public class RdrExportServiceImplTest {
   @Autowired private AccessTierService mockAccessTierService;
   @Autowired private ApiClient mockApiClient;
   @Autowired private RdrApi mockRdrApi;
-  @Autowired private WorkspaceService mockWorkspaceService;
+  @Autowired private WorkspaceAuthService mockWorkspaceAuthService;
+  @Autowired private VerifiedInstitutionalAffiliationDao mockVerifiedInstitutionalAffiliationDao;
   @Autowired private RdrExportDao rdrExportDao;
   @Autowired private UserDao userDao;
   @Autowired private WorkspaceDao workspaceDao;
@@ -96,11 +108,15 @@ public class RdrExportServiceImplTest {
 
   @TestConfiguration
   @Import({
+    CommonMappers.class,
     FakeClockConfiguration.class,
     FakeJpaDateTimeConfiguration.class,
     DemographicSurveyMapperImpl.class,
+    FirecloudMapperImpl.class,
     RdrExportServiceImpl.class,
-    RdrMapperImpl.class
+    RdrMapperImpl.class,
+    RemoteFanOutExecutor.class,
+    UserMapperImpl.class
   })
   static class Configuration {
     @Bean
@@ -115,7 +131,7 @@ public class RdrExportServiceImplTest {
     workbenchConfig.auth.serviceAccountApiUsers = ImmutableList.of("appspot@gserviceaccount.com");
 
     rdrExportService = spy(rdrExportService);
-    when(mockAccessTierService.getAccessTiersForUser(any())).thenReturn(ImmutableList.of());
+    when(mockAccessTierService.getAccessTiersForUsers(any())).thenReturn(Map.of());
     when(mockRdrApi.getApiClient()).thenReturn(mockApiClient);
 
     dbUserWithEmail =
@@ -254,12 +270,93 @@ public class RdrExportServiceImplTest {
     verify(mockRdrApi).exportResearchers(Collections.singletonList(expectedWithSurvey), backfill);
   }
 
+  @Test
+  public void exportUsers_bulkLookups() throws ApiException {
+    DbAccessTier registeredTier = TestMockFactory.createRegisteredTier();
+    DbVerifiedInstitutionalAffiliation affiliation =
+        new DbVerifiedInstitutionalAffiliation()
+            .setUser(dbUserWithEmail)
+            .setInstitution(new DbInstitution().setShortName("mockInstitution"))
+            .setInstitutionalRoleEnum(InstitutionalRole.PROJECT_PERSONNEL);
+    when(mockAccessTierService.getAccessTiersForUsers(any()))
+        .thenReturn(Map.of(dbUserWithEmail.getUserId(), List.of(registeredTier)));
+    when(mockVerifiedInstitutionalAffiliationDao.findAllByUserIn(any()))
+        .thenReturn(List.of(affiliation));
+
+    List<Long> userIds =
+        ImmutableList.of(dbUserWithEmail.getUserId(), dbUserWithoutEmail.getUserId());
+    rdrExportService.exportUsers(userIds, NO_BACKFILL);
+
+    verify(mockRdrApi)
+        .exportResearchers(
+            ImmutableList.of(
+                rdrMapper.toRdrResearcher(dbUserWithEmail, List.of(registeredTier), affiliation),
+                rdrMapper.toRdrResearcher(dbUserWithoutEmail, List.of(), null)),
+            NO_BACKFILL);
+    verify(mockAccessTierService, never()).getAccessTiersForUser(any());
+    verify(mockVerifiedInstitutionalAffiliationDao, never()).findFirstByUser(any());
+  }
+
+  @Test
+  public void exportUsers_updatesExistingExports() {
+    List<Long> userIds =
+        ImmutableList.of(dbUserWithEmail.getUserId(), dbUserWithoutEmail.getUserId());
+    rdrExportService.exportUsers(ImmutableList.of(dbUserWithEmail.getUserId()), NO_BACKFILL);
+
+    clock.increment(Duration.ofMinutes(5).toMillis());
+    rdrExportService.exportUsers(userIds, NO_BACKFILL);
+
+    assertThat(rdrExportDao.findAll()).hasSize(2);
+    assertThat(
+            StreamSupport.stream(rdrExportDao.findAll().spliterator(), false)
+                .map(DbRdrExport::getLastExportDate)
+                .toList())
+        .containsExactly(Timestamp.from(clock.instant()), Timestamp.from(clock.instant()));
+  }
+
+  @Test
+  public void exportWorkspace_collaborators() throws ApiException {
+    Map<String, RawlsWorkspaceAccessEntry> acl =
+        Map.of(
+            dbUserWithoutEmail.getUsername(),
+            new RawlsWorkspaceAccessEntry().accessLevel("READER"),
+            dbUserWithEmail.getUsername(),
+            new RawlsWorkspaceAccessEntry().accessLevel("OWNER"),
+            "some-group@firecloud.org",
+            new RawlsWorkspaceAccessEntry().accessLevel("WRITER"));
+    when(mockWorkspaceAuthService.getFirecloudWorkspaceAcl(
+            workspace.getWorkspaceNamespace(), workspace.getFirecloudName()))
+        .thenReturn(acl);
+
+    rdrExportService.exportWorkspaces(
+        ImmutableList.of(workspace.getWorkspaceId(), creatorWorkspace.getWorkspaceId()),
+        NO_BACKFILL);
+
+    // the group is left out, and the users are ordered by role, highest first
+    RdrWorkspace rdrWorkspace =
+        toDefaultRdrWorkspace(workspace)
+            .workspaceUsers(
+                ImmutableList.of(
+                    new RdrWorkspaceUser()
+                        .userId((int) dbUserWithEmail.getUserId())
+                        .role(RdrWorkspaceUser.RoleEnum.OWNER)
+                        .status(RdrWorkspaceUser.StatusEnum.ACTIVE),
+                    new RdrWorkspaceUser()
+                        .userId((int) dbUserWithoutEmail.getUserId())
+                        .role(RdrWorkspaceUser.RoleEnum.READER)
+                        .status(RdrWorkspaceUser.StatusEnum.ACTIVE)));
+    verify(mockRdrApi)
+        .exportWorkspaces(
+            ImmutableList.of(rdrWorkspace, toDefaultRdrWorkspace(creatorWorkspace)), NO_BACKFILL);
+    assertThat(rdrExportDao.findAll()).hasSize(2);
+  }
+
   @Test
   public void exportWorkspace() throws ApiException {
     RdrWorkspace rdrWorkspace = toDefaultRdrWorkspace(workspace);
     rdrExportService.exportWorkspaces(ImmutableList.of(workspace.getWorkspaceId()), NO_BACKFILL);
-    verify(mockWorkspaceService)
-        .getFirecloudUserRoles(workspace.getWorkspaceNamespace(), workspace.getFirecloudName());
+    verify(mockWorkspaceAuthService)
+        .getFirecloudWorkspaceAcl(workspace.getWorkspaceNamespace(), workspace.getFirecloudName());
     assertThat(rdrExportDao.findAll()).hasSize(1);
 
     verify(mockRdrApi).exportWorkspaces(ImmutableList.of(rdrWorkspace), NO_BACKFILL);
@@ -267,7 +364,7 @@ public class RdrExportServiceImplTest {
 
   @Test
   public void exportWorkspace_firecloudCallFail_skipUpdateRdrEntity() throws ApiException {
-    when(mockWorkspaceService.getFirecloudUserRoles(
+    when(mockWorkspaceAuthService.getFirecloudWorkspaceAcl(
             workspace.getWorkspaceNamespace(), workspace.getFirecloudName()))
         .thenThrow(WorkbenchException.class);
 
@@ -279,12 +376,48 @@ public class RdrExportServiceImplTest {
     assertThat(rdrExportDao.findAll()).hasSize(1);
   }
 
+  @Test
+  public void exportWorkspace_collaboratorMappingFail_skipUpdateRdrEntity() throws ApiException {
+    Map<String, RawlsWorkspaceAccessEntry> acl =
+        Map.of(
+            dbUserWithEmail.getUsername(), new RawlsWorkspaceAccessEntry().accessLevel("UNKNOWN"));
+    when(mockWorkspaceAuthService.getFirecloudWorkspaceAcl(
+            workspace.getWorkspaceNamespace(), workspace.getFirecloudName()))
+        .thenReturn(acl);
+
+    // Mapping workspace.getWorkspaceId()'s collaborators fails, so skip that export. There should
+    // be only one workspace exported
+    rdrExportService.exportWorkspaces(
+        ImmutableList.of(workspace.getWorkspaceId(), creatorWorkspace.getWorkspaceId()),
+        NO_BACKFILL);
+    verify(mockRdrApi)
+        .exportWorkspaces(ImmutableList.of(toDefaultRdrWorkspace(creatorWorkspace)), NO_BACKFILL);
+    assertThat(rdrExportDao.findAll()).hasSize(1);
+  }
+
+  @Test
+  public void exportWorkspace_noCreator() throws ApiException {
+    DbWorkspace noCreatorWorkspace =
+        workspaceDao.save(
+            buildDbWorkspace(
+                4, "workspace_name_4", "workspaceNS", WorkspaceActiveStatus.ACTIVE, null));
+
+    rdrExportService.exportWorkspaces(
+        ImmutableList.of(noCreatorWorkspace.getWorkspaceId(), workspace.getWorkspaceId()),
+        NO_BACKFILL);
+    verify(mockRdrApi)
+        .exportWorkspaces(
+            ImmutableList.of(
+                toDefaultRdrWorkspace(workspace), toDefaultRdrWorkspace(noCreatorWorkspace)),
+            NO_BACKFILL);
+  }
+
   @Test
   public void exportWorkspaceBackfill() throws ApiException {
     RdrWorkspace rdrWorkspace = toDefaultRdrWorkspace(workspace);
     rdrExportService.exportWorkspaces(ImmutableList.of(workspace.getWorkspaceId()), true);
-    verify(mockWorkspaceService)
-        .getFirecloudUserRoles(workspace.getWorkspaceNamespace(), workspace.getFirecloudName());
+    verify(mockWorkspaceAuthService)
+        .getFirecloudWorkspaceAcl(workspace.getWorkspaceNamespace(), workspace.getFirecloudName());
     assertThat(rdrExportDao.findAll()).isEmpty();
 
     verify(mockRdrApi).exportWorkspaces(ImmutableList.of(rdrWorkspace), true);
@@ -299,8 +432,8 @@ public class RdrExportServiceImplTest {
     RdrWorkspace rdrWorkspace = toDefaultRdrWorkspace(workspace);
 
     rdrExportService.exportWorkspaces(ImmutableList.of(workspace.getWorkspaceId()), NO_BACKFILL);
-    verify(mockWorkspaceService)
-        .getFirecloudUserRoles(workspace.getWorkspaceNamespace(), workspace.getFirecloudName());
+    verify(mockWorkspaceAuthService)
+        .getFirecloudWorkspaceAcl(workspace.getWorkspaceNamespace(), workspace.getFirecloudName());
     assertThat(rdrExportDao.findAll()).hasSize(1);
 
     rdrWorkspace
@@ -335,8 +468,8 @@ public class RdrExportServiceImplTest {
 
     rdrExportService.exportWorkspaces(
         ImmutableList.of(deletedWorkspace.getWorkspaceId()), NO_BACKFILL);
-    verify(mockWorkspaceService, never())
-        .getFirecloudUserRoles(
+    verify(mockWorkspaceAuthService, never())
+        .getFirecloudWorkspaceAcl(
             deletedWorkspace.getWorkspaceNamespace(), deletedWorkspace.getFirecloudName());
     assertThat(rdrExportDao.findAll()).hasSize(1);
 
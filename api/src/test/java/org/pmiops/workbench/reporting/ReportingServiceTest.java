@@ -12,6 +12,7 @@ import java.time.Clock;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +21,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.pmiops.workbench.cloudtasks.TaskQueueService;
 import org.pmiops.workbench.db.dao.ReportingUploadVerificationDao;
+import org.pmiops.workbench.db.jdbc.PrimaryKeyRange;
 import org.pmiops.workbench.db.jdbc.ReportingQueryService;
 import org.pmiops.workbench.model.ReportingBase;
 import org.pmiops.workbench.model.ReportingCohort;
@@ -242,6 +244,52 @@ public class ReportingServiceTest {
     verify(mockReportingUploadService).uploadVerifiedSnapshot(captureTimestamp);
   }
 
+  @Test
+  public void testSplitUploadIntoTasksAndQueue_keyRanges() {
+    ReportingTableParams<ReportingUser> userTableParams = createMockTableParams("user");
+    List<PrimaryKeyRange> ranges = List.of(new PrimaryKeyRange(0, 50), new PrimaryKeyRange(50, 99));
+
+    when(mockReportingTableService.getAll()).thenReturn(List.of(userTableParams));
+    when(mockReportingTableService.getUploadRanges(userTableParams)).thenReturn(ranges);
+    when(mockClock.millis()).thenReturn(NOW_MILLIS);
+
+    reportingService.splitUploadIntoTasksAndQueue();
+
+    // one verification entry and one task per range
+    verify(mockReportingUploadVerificationDao).createVerificationEntry("user(0,50]", NOW_MILLIS);
+    verify(mockReportingUploadVerificationDao).createVerificationEntry("user(50,99]", NOW_MILLIS);
+    verify(mockTaskQueueService).pushReportingUploadTask("user", NOW_MILLIS, ranges.get(0));
+    verify(mockTaskQueueService).pushReportingUploadTask("user", NOW_MILLIS, ranges.get(1));
+    verify(mockTaskQueueService, times(0)).pushReportingUploadTask(any(), any());
+  }
+
+  @Test
+  public void testCollectRangeAndUpload() {
+    long captureTimestamp = 1640995200000L;
+    PrimaryKeyRange range = new PrimaryKeyRange(0, 50);
+    ReportingTableParams<ReportingUser> userTableParams = createMockTableParams("user", false);
+    ReportingKeysetParams<ReportingUser> keysetParams =
+        new ReportingKeysetParams<>(
+            "user", "user_id", "user_id", mockReportingQueryService::getUserKeysetBatch);
+    List<ReportingUser> batch = List.of(new ReportingUser().userId(1L));
+
+    when(mockReportingTableService.getAll(List.of("user"))).thenReturn(List.of(userTableParams));
+    when(userTableParams.keysetParams()).thenReturn(keysetParams);
+    when(userTableParams.batchSize()).thenReturn(10);
+    Stream<List<ReportingUser>> batches = Stream.of(batch);
+    when(mockReportingQueryService.getKeysetBatchedStream(
+            keysetParams.rwbKeysetBatchQueryFn(), 10, range))
+        .thenReturn(batches);
+    when(mockReportingVerificationService.verifySnapshot(captureTimestamp)).thenReturn(true);
+
+    reportingService.collectRangeAndUpload("user", range, captureTimestamp);
+
+    verify(mockReportingUploadService).uploadBatches(userTableParams, batches, captureTimestamp);
+    verify(mockReportingVerificationService)
+        .verifyRangeAndLog(userTableParams, range, captureTimestamp);
+    verify(mockReportingUploadService).uploadVerifiedSnapshot(captureTimestamp);
+  }
+
   /** Helper method to create a mock ReportingTableParams with the specified table name. */
   @SuppressWarnings("unchecked")
   private <T extends ReportingBase> ReportingTableParams<T> createMockTableParams(
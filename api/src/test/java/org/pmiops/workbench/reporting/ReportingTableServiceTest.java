@@ -7,12 +7,15 @@ import jakarta.inject.Provider;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.pmiops.workbench.config.WorkbenchConfig;
+import org.pmiops.workbench.db.jdbc.PrimaryKeyRange;
 import org.pmiops.workbench.db.jdbc.ReportingQueryService;
 import org.pmiops.workbench.model.ReportingBase;
 
@@ -23,11 +26,12 @@ public class ReportingTableServiceTest {
   @Mock private ReportingQueryService mockReportingQueryService;
 
   private ReportingTableService reportingTableService;
+  private WorkbenchConfig workbenchConfig;
 
   @BeforeEach
   public void setUp() {
     // Create real config objects since they have public fields, not getter methods
-    WorkbenchConfig workbenchConfig = WorkbenchConfig.createEmptyConfig();
+    workbenchConfig = WorkbenchConfig.createEmptyConfig();
     workbenchConfig.reporting.maxRowsPerInsert = 1000;
 
     when(mockWorkbenchConfigProvider.get()).thenReturn(workbenchConfig);
@@ -163,4 +167,48 @@ public class ReportingTableServiceTest {
 
     assertThat(returnedTableNames).containsExactly("cohort", "user", "workspace");
   }
+
+  @Test
+  public void testGetUploadRanges_notConfigured_returnsEmptyList() {
+    assertThat(reportingTableService.getUploadRanges(reportingTableService.user())).isEmpty();
+  }
+
+  @Test
+  public void testGetUploadRanges_splitsKeyBounds() {
+    workbenchConfig.reporting.uploadRangeCounts = Map.of("user", 3);
+    when(mockReportingQueryService.getPrimaryKeyBounds("user", "user_id"))
+        .thenReturn(Optional.of(new PrimaryKeyRange(0, 9)));
+
+    assertThat(reportingTableService.getUploadRanges(reportingTableService.user()))
+        .containsExactly(
+            new PrimaryKeyRange(0, 3),
+            new PrimaryKeyRange(3, 6),
+            new PrimaryKeyRange(6, Long.MAX_VALUE))
+        .inOrder();
+  }
+
+  @Test
+  public void testGetUploadRanges_emptyTable_returnsEmptyList() {
+    workbenchConfig.reporting.uploadRangeCounts = Map.of("workspace", 4);
+    when(mockReportingQueryService.getPrimaryKeyBounds("workspace", "workspace_id"))
+        .thenReturn(Optional.empty());
+
+    assertThat(reportingTableService.getUploadRanges(reportingTableService.workspace())).isEmpty();
+  }
+
+  @Test
+  public void testGetUploadRanges_tableWithoutBqKey_returnsEmptyList() {
+    // workspace_user supports keyset batching but not range verification
+    workbenchConfig.reporting.uploadRangeCounts = Map.of("workspace_user", 4);
+
+    assertThat(reportingTableService.getUploadRanges(reportingTableService.workspaceUser()))
+        .isEmpty();
+  }
+
+  @Test
+  public void testGetUploadRanges_tableWithoutKeyset_returnsEmptyList() {
+    workbenchConfig.reporting.uploadRangeCounts = Map.of("cohort", 4);
+
+    assertThat(reportingTableService.getUploadRanges(reportingTableService.cohort())).isEmpty();
+  }
 }
@@ -1,10 +1,12 @@
 package org.pmiops.workbench.reporting;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.pmiops.workbench.cohortbuilder.util.QueryParameterValues.rowToInsertStringToOffsetTimestamp;
 import static org.pmiops.workbench.testconfig.ReportingTestUtils.createReportingNewUserSatisfactionSurvey;
@@ -21,12 +23,14 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.pmiops.workbench.FakeClockConfiguration;
 import org.pmiops.workbench.api.BigQueryService;
+import org.pmiops.workbench.config.WorkbenchConfig;
 import org.pmiops.workbench.db.jdbc.ReportingQueryService;
 import org.pmiops.workbench.db.model.DbUser;
 import org.pmiops.workbench.db.model.DbUser.DbGeneralDiscoverySource;
@@ -45,6 +49,7 @@ import org.pmiops.workbench.reporting.insertion.UserPartnerDiscoverySourceColumn
 import org.pmiops.workbench.reporting.insertion.WorkspaceColumnValueExtractor;
 import org.pmiops.workbench.testconfig.ReportingTestConfig;
 import org.pmiops.workbench.testconfig.fixtures.ReportingTestFixture;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Import;
@@ -75,11 +80,14 @@ public class ReportingUploadServiceTest {
 
   @Autowired private ReportingTestFixture<DbUser, ReportingUser> userFixture;
 
+  @Autowired private WorkbenchConfig workbenchConfig;
+
   @Captor private ArgumentCaptor<InsertAllRequest> insertAllRequestCaptor;
 
   @TestConfiguration
   @Import({
     FakeClockConfiguration.class,
+    RemoteFanOutExecutor.class,
     ReportingTableService.class,
     ReportingTestConfig.class,
     ReportingUploadServiceImpl.class,
@@ -121,6 +129,11 @@ public class ReportingUploadServiceTest {
         .insertAll(any(InsertAllRequest.class));
   }
 
+  @AfterEach
+  public void tearDown() {
+    workbenchConfig.reporting.maxInFlightUploadBatches = null;
+  }
+
   @Test
   public void testUploadBatch_workspace() {
     final InsertAllResponse mockInsertAllResponse = mock(InsertAllResponse.class);
@@ -326,4 +339,67 @@ public class ReportingUploadServiceTest {
     final Map<String, Object> content = insertAllRequest.getRows().get(0).getContent();
     assertThat(content).hasSize(2);
   }
+
+  @Test
+  public void testUploadBatches_sequential() {
+    workbenchConfig.reporting.maxInFlightUploadBatches = null;
+
+    reportingUploadService.uploadBatches(
+        reportingTableService.workspace(),
+        reportingWorkspaces.stream().map(List::of),
+        NOW.toEpochMilli());
+
+    verify(mockBigQueryService, times(3)).insertAll(insertAllRequestCaptor.capture());
+    assertThat(
+            insertAllRequestCaptor.getAllValues().stream()
+                .map(
+                    r ->
+                        r.getRows()
+                            .get(0)
+                            .getContent()
+                            .get(WorkspaceColumnValueExtractor.WORKSPACE_ID.getParameterName())))
+        .containsExactly(201L, 202L, 203L)
+        .inOrder();
+  }
+
+  @Test
+  public void testUploadBatches_pipelined() {
+    workbenchConfig.reporting.maxInFlightUploadBatches = 2;
+
+    reportingUploadService.uploadBatches(
+        reportingTableService.workspace(),
+        reportingWorkspaces.stream().map(List::of),
+        NOW.toEpochMilli());
+
+    verify(mockBigQueryService, times(3)).insertAll(insertAllRequestCaptor.capture());
+    // uploads may complete in any order
+    assertThat(
+            insertAllRequestCaptor.getAllValues().stream()
+                .map(
+                    r ->
+                        r.getRows()
+                            .get(0)
+                            .getContent()
+                            .get(WorkspaceColumnValueExtractor.WORKSPACE_ID.getParameterName())))
+        .containsExactly(201L, 202L, 203L);
+  }
+
+  @Test
+  public void testUploadBatches_pipelinedInsertErrorsFail() {
+    workbenchConfig.reporting.maxInFlightUploadBatches = 2;
+    final InsertAllResponse mockInsertAllResponse = mock(InsertAllResponse.class);
+    doReturn(true).when(mockInsertAllResponse).hasErrors();
+    doReturn(Collections.emptyMap()).when(mockInsertAllResponse).getInsertErrors();
+    doReturn(mockInsertAllResponse)
+        .when(mockBigQueryService)
+        .insertAll(any(InsertAllRequest.class));
+
+    assertThrows(
+        RuntimeException.class,
+        () ->
+            reportingUploadService.uploadBatches(
+                reportingTableService.workspace(),
+                reportingWorkspaces.stream().map(List::of),
+                NOW.toEpochMilli()));
+  }
 }
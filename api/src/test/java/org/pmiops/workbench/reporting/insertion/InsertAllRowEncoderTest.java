@@ -0,0 +1,97 @@
+package org.pmiops.workbench.reporting.insertion;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.pmiops.workbench.testconfig.ReportingTestUtils.createDtoWorkspace;
+
+import com.google.cloud.bigquery.InsertAllRequest;
+import com.google.cloud.bigquery.InsertAllRequest.RowToInsert;
+import com.google.cloud.bigquery.TableId;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.model.ReportingBase;
+import org.pmiops.workbench.model.ReportingUser;
+import org.pmiops.workbench.model.ReportingWorkspace;
+import org.pmiops.workbench.testconfig.fixtures.ReportingUserFixture;
+
+public class InsertAllRowEncoderTest {
+
+  private static final InsertAllRequestPayloadTransformer<ReportingUser> USER_TRANSFORMER =
+      UserColumnValueExtractor::values;
+  private static final InsertAllRequestPayloadTransformer<ReportingWorkspace>
+      WORKSPACE_TRANSFORMER = WorkspaceColumnValueExtractor::values;
+  private static final Map<String, Object> FIXED_VALUES =
+      ImmutableMap.of("snapshot_timestamp", 946684799990L);
+  private static final TableId TABLE_ID = TableId.of("project ID", "dataset", "researcher");
+
+  @Test
+  public void testBuild_matchesTransformer_users() {
+    final ReportingUser allFields = new ReportingUserFixture().createDto();
+    final List<ReportingUser> users =
+        List.of(
+            allFields,
+            new ReportingUser().username("user1").givenName("Onceler").disabled(false).userId(1L),
+            new ReportingUser().username(null).givenName(null).disabled(true).userId(313L));
+
+    assertEquivalent(USER_TRANSFORMER, users);
+  }
+
+  @Test
+  public void testBuild_matchesTransformer_workspaces() {
+    final List<ReportingWorkspace> workspaces =
+        LongStream.range(0, 100)
+            .mapToObj(id -> createDtoWorkspace().workspaceId(id).name("Workspace " + id))
+            .collect(Collectors.toList());
+
+    assertEquivalent(WORKSPACE_TRANSFORMER, workspaces);
+  }
+
+  @Test
+  public void testBuild_emptyInputs() {
+    final InsertAllRequest request =
+        InsertAllRowEncoder.compile(USER_TRANSFORMER)
+            .build(TABLE_ID, Collections.emptyList(), Collections.emptyMap());
+    assertThat(request.getTable()).isEqualTo(TABLE_ID);
+    assertThat(request.ignoreUnknownValues()).isFalse();
+    assertThat(request.getRows()).isEmpty();
+  }
+
+  @Test
+  public void testEncodeRow_duplicateFixedColumn() {
+    // same failure as the transformer if a fixed value collides with a column
+    final Map<String, Object> collidingFixedValues = ImmutableMap.of("user_id", 1L);
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            InsertAllRowEncoder.compile(USER_TRANSFORMER)
+                .encodeRow(new ReportingUser().userId(2L), collidingFixedValues));
+  }
+
+  @Test
+  public void testGenerateInsertId() {
+    final String insertId = InsertAllRowEncoder.generateInsertId();
+    assertThat(insertId).hasLength(InsertAllRequestPayloadTransformer.INSERT_ID_LENGTH);
+    assertThat(insertId).matches("[a-z]+");
+  }
+
+  private static <T extends ReportingBase> void assertEquivalent(
+      InsertAllRequestPayloadTransformer<T> transformer, List<T> models) {
+    final InsertAllRowEncoder<T> encoder = InsertAllRowEncoder.compile(transformer);
+    assertThat(encoder.getColumnCount()).isEqualTo(transformer.getQueryParameterColumns().length);
+
+    final InsertAllRequest expected = transformer.build(TABLE_ID, models, FIXED_VALUES);
+    final InsertAllRequest actual = encoder.build(TABLE_ID, models, FIXED_VALUES);
+
+    assertThat(actual.getTable()).isEqualTo(expected.getTable());
+    assertThat(actual.ignoreUnknownValues()).isEqualTo(expected.ignoreUnknownValues());
+    assertThat(actual.getRows().stream().map(RowToInsert::getContent).toList())
+        .containsExactlyElementsIn(
+            expected.getRows().stream().map(RowToInsert::getContent).toList())
+        .inOrder();
+  }
+}
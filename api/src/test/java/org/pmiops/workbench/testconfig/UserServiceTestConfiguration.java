@@ -2,6 +2,7 @@ package org.pmiops.workbench.testconfig;
 
 import org.pmiops.workbench.access.AccessModuleNameMapperImpl;
 import org.pmiops.workbench.access.AccessSyncServiceImpl;
+import org.pmiops.workbench.auth.AuthenticationCache;
 import org.pmiops.workbench.db.dao.UserServiceImpl;
 import org.pmiops.workbench.institution.InstitutionMapperImpl;
 import org.pmiops.workbench.institution.InstitutionServiceImpl;
@@ -27,5 +28,6 @@ import org.springframework.context.annotation.Import;
   AccessModuleNameMapperImpl.class,
   AccessSyncServiceImpl.class,
   DiscoverySourceMapperImpl.class,
+  AuthenticationCache.class,
 })
 public class UserServiceTestConfiguration {}
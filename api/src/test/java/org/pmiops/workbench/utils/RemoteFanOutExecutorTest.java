@@ -0,0 +1,153 @@
+package org.pmiops.workbench.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.AbstractIterator;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.utils.RemoteFanOutExecutor.FanOutReport;
+
+public class RemoteFanOutExecutorTest {
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private RemoteFanOutExecutor remoteFanOutExecutor;
+
+  @BeforeEach
+  public void setUp() {
+    remoteFanOutExecutor = new RemoteFanOutExecutor(4);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    remoteFanOutExecutor.shutdown();
+  }
+
+  @Test
+  public void testRunAll_reportsOutcomes() {
+    final FanOutReport report =
+        remoteFanOutExecutor.runAll(
+            "test",
+            List.of(1, 2, 3, 4, 5),
+            i -> {
+              if (i == 5) {
+                throw new IllegalStateException("call failed");
+              }
+              return i % 2 == 0;
+            },
+            2,
+            TIMEOUT);
+
+    assertThat(report).isEqualTo(new FanOutReport(2, 3, 0));
+    assertThat(report.total()).isEqualTo(5);
+    assertThat(report.allSucceeded()).isFalse();
+  }
+
+  @Test
+  public void testRunAll_noInputs() {
+    final FanOutReport report =
+        remoteFanOutExecutor.runAll("test", List.of(), i -> false, 2, TIMEOUT);
+
+    assertThat(report.total()).isEqualTo(0);
+    assertThat(report.allSucceeded()).isTrue();
+  }
+
+  @Test
+  public void testRunAll_boundsCallsInFlight() {
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+
+    final FanOutReport report =
+        remoteFanOutExecutor.runAll(
+            "test",
+            IntStream.range(0, 20).boxed().toList(),
+            i -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              try {
+                Thread.sleep(5);
+              } catch (InterruptedException e) {
+                return false;
+              } finally {
+                inFlight.decrementAndGet();
+              }
+              return true;
+            },
+            3,
+            TIMEOUT);
+
+    assertThat(report.succeeded()).isEqualTo(20);
+    assertThat(maxInFlight.get()).isAtMost(3);
+  }
+
+  @Test
+  public void testRunAll_readsIteratorInputsAsCallsFreeUp() {
+    final AtomicInteger read = new AtomicInteger();
+    final AtomicInteger ended = new AtomicInteger();
+    final AtomicInteger maxReadAhead = new AtomicInteger();
+    final Iterator<Integer> inputs =
+        new AbstractIterator<>() {
+          @Override
+          protected Integer computeNext() {
+            if (read.get() == 20) {
+              return endOfData();
+            }
+            maxReadAhead.accumulateAndGet(read.incrementAndGet() - ended.get(), Math::max);
+            return read.get();
+          }
+        };
+
+    final FanOutReport report =
+        remoteFanOutExecutor.runAll(
+            "test",
+            inputs,
+            i -> {
+              try {
+                Thread.sleep(5);
+              } catch (InterruptedException e) {
+                return false;
+              } finally {
+                ended.incrementAndGet();
+              }
+              return true;
+            },
+            3,
+            TIMEOUT);
+
+    assertThat(report.succeeded()).isEqualTo(20);
+    // the calls in flight, and the one input waiting for a call to free up
+    assertThat(maxReadAhead.get()).isAtMost(4);
+  }
+
+  @Test
+  public void testRunAll_timesOutSlowCalls() throws Exception {
+    final CountDownLatch interrupted = new CountDownLatch(1);
+
+    final FanOutReport report =
+        remoteFanOutExecutor.runAll(
+            "test",
+            List.of(1, 2),
+            i -> {
+              if (i == 1) {
+                return true;
+              }
+              try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+              } catch (InterruptedException e) {
+                interrupted.countDown();
+              }
+              return true;
+            },
+            2,
+            Duration.ofMillis(50));
+
+    assertThat(report).isEqualTo(new FanOutReport(1, 0, 1));
+    assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+}
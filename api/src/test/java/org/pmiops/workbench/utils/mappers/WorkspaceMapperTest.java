@@ -2,6 +2,9 @@ package org.pmiops.workbench.utils.mappers;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.pmiops.workbench.config.WorkbenchConfig.createEmptyConfig;
 
 import java.sql.Timestamp;
@@ -316,6 +319,35 @@ public class WorkspaceMapperTest {
     assertThat(wsResp.getWorkspace().getGoogleBucketName()).isEqualTo(FIRECLOUD_BUCKET_NAME);
   }
 
+  @Test
+  public void testConvertsFirecloudResponsesToApiResponseList_initialCreditsBatched() {
+    RawlsWorkspaceListResponse rawlsResponse =
+        new RawlsWorkspaceListResponse()
+            .workspace(sourceFirecloudWorkspace)
+            .accessLevel(RawlsWorkspaceAccessLevel.PROJECT_OWNER);
+    String fcUuid = sourceFirecloudWorkspace.getWorkspaceId();
+    sourceDbWorkspace.setFirecloudUuid(fcUuid).setInitialCreditsExhausted(true);
+
+    final List<WorkspaceResponse> result =
+        workspaceMapper.toApiWorkspaceResponseList(
+            List.of(sourceDbWorkspace), Map.of(fcUuid, rawlsResponse), initialCreditsService);
+
+    // looked up for all creators at once, rather than per workspace
+    verify(workspaceFreeTierUsageDao).totalCostByUserIn(List.of(sourceDbWorkspace.getCreator()));
+    verify(workspaceFreeTierUsageDao, never()).totalCostByUser(any());
+    verify(institutionService)
+        .getUserIdsBypassingCreditsExpiration(List.of(sourceDbWorkspace.getCreator()));
+    verify(institutionService, never()).shouldBypassForCreditsExpiration(any());
+
+    // the same as the single-workspace mapping
+    final Workspace expected =
+        workspaceMapper.toApiWorkspace(
+            sourceDbWorkspace, sourceFirecloudWorkspace, initialCreditsService);
+    assertThat(result).hasSize(1);
+    assertThat(result.get(0).getWorkspace()).isEqualTo(expected);
+    assertThat(result.get(0).getWorkspace().getInitialCredits().isExhausted()).isTrue();
+  }
+
   @Test
   public void testConvertsFirecloudResponsesToApiResponseList_listVersion_missing_aou() {
     RawlsWorkspaceListResponse rawlsResponse =
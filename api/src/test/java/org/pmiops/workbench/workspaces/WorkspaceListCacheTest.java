@@ -0,0 +1,161 @@
+package org.pmiops.workbench.workspaces;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.base.Ticker;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pmiops.workbench.rawls.model.RawlsWorkspaceDetails;
+import org.pmiops.workbench.rawls.model.RawlsWorkspaceListResponse;
+
+public class WorkspaceListCacheTest {
+  private static final String ALICE = "alice@fake-research-aou.org";
+  private static final String BOB = "bob@fake-research-aou.org";
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return nanos.get();
+        }
+      };
+
+  private WorkspaceListCache cache;
+  private AtomicInteger loadCount;
+
+  @BeforeEach
+  public void setUp() {
+    cache = new WorkspaceListCache(ticker);
+    loadCount = new AtomicInteger();
+  }
+
+  @Test
+  public void testGetWorkspaces_cachedUntilExpiry() {
+    final List<RawlsWorkspaceListResponse> first = cache.getWorkspaces(ALICE, this::load);
+    advance(WorkspaceListCache.TTL.minusSeconds(1));
+    assertThat(cache.getWorkspaces(ALICE, this::load)).isSameInstanceAs(first);
+    assertThat(loadCount.get()).isEqualTo(1);
+
+    advance(Duration.ofSeconds(2));
+    assertThat(workspaceName(cache.getWorkspaces(ALICE, this::load))).isEqualTo("load-2");
+
+    assertThat(cache.getStats().hitCount()).isEqualTo(1);
+    assertThat(cache.getStats().missCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGetWorkspaces_cachedPerUser() {
+    cache.getWorkspaces(ALICE, this::load);
+    cache.getWorkspaces(BOB, this::load);
+    cache.getWorkspaces(ALICE, this::load);
+
+    assertThat(loadCount.get()).isEqualTo(2);
+    assertThat(cache.getSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGetWorkspaces_copiesLoadedList() {
+    final List<RawlsWorkspaceListResponse> loaded = new ArrayList<>(load());
+
+    final List<RawlsWorkspaceListResponse> cached = cache.getWorkspaces(ALICE, () -> loaded);
+    loaded.clear();
+
+    assertThat(cached).hasSize(1);
+    assertThrows(UnsupportedOperationException.class, cached::clear);
+  }
+
+  @Test
+  public void testInvalidateUsers() {
+    cache.getWorkspaces(ALICE, this::load);
+    cache.getWorkspaces(BOB, this::load);
+    advance(Duration.ofSeconds(1));
+
+    cache.invalidateUsers(List.of(ALICE));
+
+    assertThat(workspaceName(cache.getWorkspaces(ALICE, this::load))).isEqualTo("load-3");
+    assertThat(workspaceName(cache.getWorkspaces(BOB, this::load))).isEqualTo("load-2");
+  }
+
+  @Test
+  public void testInvalidateAll() {
+    cache.getWorkspaces(ALICE, this::load);
+    cache.getWorkspaces(BOB, this::load);
+    advance(Duration.ofSeconds(1));
+
+    cache.invalidateAll();
+
+    assertThat(workspaceName(cache.getWorkspaces(ALICE, this::load))).isEqualTo("load-3");
+    assertThat(workspaceName(cache.getWorkspaces(BOB, this::load))).isEqualTo("load-4");
+  }
+
+  @Test
+  public void testGetWorkspaces_invalidatedDuringLoad() {
+    // e.g. a workspace is shared with this user while their list is being fetched from Rawls
+    final Supplier<List<RawlsWorkspaceListResponse>> invalidatingLoader =
+        () -> {
+          final List<RawlsWorkspaceListResponse> workspaces = load();
+          if (loadCount.get() == 1) {
+            advance(Duration.ofMillis(100));
+            cache.invalidateUsers(List.of(ALICE));
+          }
+          return workspaces;
+        };
+
+    assertThat(workspaceName(cache.getWorkspaces(ALICE, invalidatingLoader))).isEqualTo("load-2");
+    assertThat(workspaceName(cache.getWorkspaces(ALICE, invalidatingLoader))).isEqualTo("load-2");
+    assertThat(loadCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGetWorkspaces_failuresNotCached() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            cache.getWorkspaces(
+                ALICE,
+                () -> {
+                  throw new IllegalStateException("Rawls unavailable");
+                }));
+
+    assertThat(workspaceName(cache.getWorkspaces(ALICE, this::load))).isEqualTo("load-1");
+    assertThat(cache.getStats().loadExceptionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testAddLoadListener() {
+    final List<Duration> loadTimes = new ArrayList<>();
+    cache.addLoadListener(loadTimes::add);
+    final Supplier<List<RawlsWorkspaceListResponse>> slowLoader =
+        () -> {
+          advance(Duration.ofMillis(250));
+          return load();
+        };
+
+    cache.getWorkspaces(ALICE, slowLoader);
+    cache.getWorkspaces(ALICE, slowLoader);
+
+    assertThat(loadTimes).containsExactly(Duration.ofMillis(250));
+  }
+
+  private List<RawlsWorkspaceListResponse> load() {
+    return List.of(
+        new RawlsWorkspaceListResponse()
+            .workspace(new RawlsWorkspaceDetails().name("load-" + loadCount.incrementAndGet())));
+  }
+
+  private void advance(Duration duration) {
+    nanos.addAndGet(duration.toNanos());
+  }
+
+  private static String workspaceName(List<RawlsWorkspaceListResponse> workspaces) {
+    return workspaces.get(0).getWorkspace().getName();
+  }
+}
@@ -19,6 +19,7 @@ import com.google.api.services.cloudbilling.model.ProjectBillingInfo;
 import com.google.common.base.Stopwatch;
 import jakarta.inject.Provider;
 import jakarta.mail.MessagingException;
+import jakarta.persistence.EntityManager;
 import java.sql.Timestamp;
 import java.time.Clock;
 import java.time.Instant;
@@ -30,6 +31,8 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -124,6 +127,7 @@ public class WorkspaceServiceTest {
     FirecloudMapperImpl.class,
     ObjectNameLengthServiceImpl.class,
     WorkspaceMapperImpl.class,
+    WorkspaceListCache.class,
     WorkspaceServiceImpl.class
   })
   static class Configuration {
@@ -164,7 +168,9 @@ public class WorkspaceServiceTest {
 
   @Autowired private AccessTierDao accessTierDao;
   @Autowired private CdrVersionDao cdrVersionDao;
+  @Autowired private EntityManager entityManager;
   @Autowired private WorkspaceDao workspaceDao;
+  @Autowired private WorkspaceListCache workspaceListCache;
   @Autowired private WorkspaceService workspaceService;
 
   private static DbUser currentUser;
@@ -177,6 +183,7 @@ public class WorkspaceServiceTest {
   private static final String DEFAULT_WORKSPACE_NAMESPACE = "namespace";
 
   private final AtomicLong workspaceIdIncrementer = new AtomicLong(1);
+  private final AtomicLong creatorIncrementer = new AtomicLong(1);
 
   private static WorkbenchConfig workbenchConfig;
 
@@ -358,6 +365,8 @@ public class WorkspaceServiceTest {
             workspaceTerraUuid, workspaceTerraName, workspaceNamespace, accessLevel);
 
     firecloudWorkspaceResponses.add(mockWorkspaceListResponse);
+    // added to Terra behind the service's back
+    workspaceListCache.invalidateAll();
 
     DbWorkspace dbWorkspace =
         workspaceDao.save(
@@ -404,6 +413,8 @@ public class WorkspaceServiceTest {
             workspaceNamespace,
             accessLevel);
     firecloudWorkspaceResponses.add(mockWorkspaceListResponse);
+    // added to Terra behind the service's back
+    workspaceListCache.invalidateAll();
     when(mockFireCloudService.listWorkspaces()).thenReturn(firecloudWorkspaceResponses);
   }
 
@@ -453,6 +464,52 @@ public class WorkspaceServiceTest {
     assertThat(workspaceService.listWorkspaces().size()).isEqualTo(currentWorkspacesSize + 1);
   }
 
+  @Test
+  public void listWorkspaces_queryCountIndependentOfWorkspaceCount() {
+    DbCdrVersion dbCdrVersion = createControlledTierCdrVersion(1);
+    accessTierDao.save(dbCdrVersion.getAccessTier());
+    cdrVersionDao.save(dbCdrVersion);
+    dbWorkspaces.forEach(
+        dbWorkspace ->
+            workspaceDao.save(dbWorkspace.setCdrVersion(dbCdrVersion).setCreator(persistUser())));
+    long queriesForFewWorkspaces = countListWorkspacesQueries();
+
+    // each with its own creator, so that per-creator queries would also be caught
+    for (int i = 0; i < 20; i++) {
+      DbWorkspace dbWorkspace =
+          addMockedWorkspace(
+              workspaceIdIncrementer.getAndIncrement(),
+              "more_" + i,
+              DEFAULT_WORKSPACE_NAMESPACE,
+              RawlsWorkspaceAccessLevel.OWNER,
+              WorkspaceActiveStatus.ACTIVE);
+      workspaceDao.save(dbWorkspace.setCdrVersion(dbCdrVersion).setCreator(persistUser()));
+    }
+    long queriesForManyWorkspaces = countListWorkspacesQueries();
+
+    assertThat(queriesForManyWorkspaces).isEqualTo(queriesForFewWorkspaces);
+  }
+
+  private DbUser persistUser() {
+    DbUser user =
+        new DbUser().setUsername("creator" + creatorIncrementer.getAndIncrement() + "@mock.com");
+    entityManager.persist(user);
+    return user;
+  }
+
+  // the number of SQL statements prepared by listWorkspaces, starting from an empty session
+  private long countListWorkspacesQueries() {
+    entityManager.flush();
+    entityManager.clear();
+    Statistics statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+
+    assertThat(workspaceService.listWorkspaces()).hasSize(dbWorkspaces.size());
+    return statistics.getPrepareStatementCount();
+  }
+
   @Test
   public void activeStatus() {
     EnumSet.allOf(WorkspaceActiveStatus.class)